@@ -0,0 +1,109 @@
+/*******************************************************************************
+ * Copyright (c) 2017 Red Hat, Inc and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.reddeer.common.adaptable;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.eclipse.reddeer.common.exception.AdaptableException;
+
+/**
+ * Cache of constructors of adapted objects used by
+ * {@link RedDeerAdaptable#getAdapter(Class)}. Constructor of an adapted class is
+ * looked up only once per adapted class and constructor argument classes and
+ * it is then invoked through a method handle.
+ *
+ * @since 2.0
+ */
+final class AdapterFactories {
+
+	private static final MethodType FACTORY_TYPE = MethodType.methodType(Object.class, Object[].class);
+
+	// weakly bound to adapted classes so bundles can be unloaded
+	private static final ClassValue<ConcurrentMap<List<Class<?>>, MethodHandle>> FACTORIES =
+			new ClassValue<ConcurrentMap<List<Class<?>>, MethodHandle>>() {
+				@Override
+				protected ConcurrentMap<List<Class<?>>, MethodHandle> computeValue(Class<?> type) {
+					return new ConcurrentHashMap<>();
+				}
+			};
+
+	private AdapterFactories() {
+		super();
+	}
+
+	/**
+	 * Creates a new instance of the adapted class.
+	 *
+	 * @param clazz adapted class
+	 * @param argumentClasses classes of constructor arguments, ignored if there are no arguments
+	 * @param arguments constructor arguments
+	 * @return new adapted object
+	 */
+	static <V> V newAdapter(Class<V> clazz, Class<?>[] argumentClasses, Object[] arguments) {
+		Object[] args = arguments == null ? new Object[0] : arguments;
+		List<Class<?>> key = args.length == 0 ? Collections.<Class<?>>emptyList()
+				: Arrays.<Class<?>>asList(argumentClasses == null ? new Class<?>[0] : argumentClasses.clone());
+		if (key.size() != args.length) {
+			throw new AdaptableException("Cannot create adapted object of class " + clazz.getName() + ". There are "
+					+ args.length + " constructor arguments, but " + key.size()
+					+ " constructor argument classes. Check getAdapterConstructorArguments and "
+					+ "getAdapterConstructorClasses methods.");
+		}
+
+		ConcurrentMap<List<Class<?>>, MethodHandle> factories = FACTORIES.get(clazz);
+		MethodHandle factory = factories.get(key);
+		if (factory == null) {
+			factory = createFactory(clazz, key);
+			factories.putIfAbsent(key, factory);
+		}
+
+		try {
+			return clazz.cast((Object) factory.invokeExact(args));
+		} catch (Error e) {
+			throw e;
+		} catch (Throwable e) {
+			// thrown by the constructor or by conversion of arguments not matching parameters
+			throw new AdaptableException("Could not create a new adapted object of class " + clazz.getName()
+					+ " with constructor parameters " + key + ". ", e);
+		}
+	}
+
+	private static MethodHandle createFactory(Class<?> clazz, List<Class<?>> parameterClasses) {
+		if (Modifier.isAbstract(clazz.getModifiers())) {
+			throw new AdaptableException("Could not instantiate a new adapted object. Class " + clazz.getName()
+					+ " is abstract or an interface.");
+		}
+		Constructor<?> constructor;
+		try {
+			constructor = clazz.getConstructor(parameterClasses.toArray(new Class<?>[parameterClasses.size()]));
+		} catch (NoSuchMethodException | SecurityException e) {
+			throw new AdaptableException("There is no suitable constructor to get adapted object. Class "
+					+ clazz.getName() + " has no public constructor with parameters " + parameterClasses
+					+ ". Check whether getAdapterConstructorArguments methods is properly implemented and class "
+					+ "has proper constructor(s)");
+		}
+		try {
+			return MethodHandles.publicLookup().unreflectConstructor(constructor)
+					.asSpreader(Object[].class, parameterClasses.size()).asType(FACTORY_TYPE);
+		} catch (IllegalAccessException e) {
+			throw new AdaptableException("Constructor of adapted class " + clazz.getName() + " is not accessible.", e);
+		}
+	}
+}
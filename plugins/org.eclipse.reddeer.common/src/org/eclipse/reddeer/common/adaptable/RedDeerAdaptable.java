@@ -10,9 +10,6 @@
  *******************************************************************************/
 package org.eclipse.reddeer.common.adaptable;
 
-import java.lang.reflect.Constructor;
-import java.lang.reflect.InvocationTargetException;
-
 import org.eclipse.reddeer.common.exception.AdaptableException;
 
 /**
@@ -29,7 +26,8 @@ import org.eclipse.reddeer.common.exception.AdaptableException;
 public interface RedDeerAdaptable<K> {
 
 	/**
-	 * Gets adapted object of a specific class
+	 * Gets adapted object of a specific class. Constructor of the adapted class
+	 * is resolved only once per class and constructor argument classes.
 	 * 
 	 * @param <V> class extending top level adaptable object
 	 * @param clazz
@@ -41,47 +39,7 @@ public interface RedDeerAdaptable<K> {
 			throw new AdaptableException("Class provided to get adapted object cannot be null."); 
 		}
 	
-		Object[] constructorArguments = getAdapterConstructorArguments();
-		Constructor<V> constructor = null;
-		
-		try {
-			if (constructorArguments == null | constructorArguments.length == 0) {
-				for (Constructor constr: clazz.getConstructors()) {
-					if (constr.getParameterCount() == 0) {
-						constructor = constr;
-						break;
-					}
-				}
-			} else {
-				constructor = clazz.getConstructor(getAdapterConstructorClasses());
-			} 
-		} catch (NoSuchMethodException | SecurityException e) {
-			throw new AdaptableException("There is no suitable constructor to get adapted object. Check whether "
-					+ "getAdapterConstructorArguments methods is properly implemented and class has proper "
-					+ "constructor(s)");
-		}
-		
-		if (constructor == null) {
-			throw new AdaptableException("There is no suitable constructor to get adapted object. Check whether "
-					+ "getAdapterConstructorArguments methods is properly implemented and class has proper "
-					+ "constructor(s)");
-		}
-		
-		V adapter = null;
-		try {
-			adapter = constructor.newInstance(constructorArguments);
-		} catch (IllegalAccessException | IllegalArgumentException
-				| InvocationTargetException e) {
-			// Should not happen, but if happens, throw an adaptable exception
-			throw new AdaptableException("Could not create a new adapted object. ", e.getCause());
-		} catch (InstantiationException ex) {
-			throw new AdaptableException("Could not instantiate a new adapted object. Be sure you are "
-					+ "overriding @{link RedDeerAdaptable.getAdapterConstructorArguments} method correctly,"
-					+ " if your adapted instance have different constructor. And make sure that instance can"
-					+ " be created by those arguments (constructor check on arguments pass)" + ex.getCause());
-		}
-		
-		return adapter;
+		return AdapterFactories.newAdapter(clazz, getAdapterConstructorClasses(), getAdapterConstructorArguments());
 	}
 
 	/**
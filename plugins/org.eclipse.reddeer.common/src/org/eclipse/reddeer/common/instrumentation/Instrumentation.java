@@ -0,0 +1,217 @@
+/*******************************************************************************
+ * Copyright (c) 2017 Red Hat, Inc and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.reddeer.common.instrumentation;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.eclipse.reddeer.common.condition.WaitCondition;
+import org.eclipse.reddeer.common.logging.Logger;
+import org.eclipse.reddeer.common.util.Display;
+import org.eclipse.reddeer.common.wait.Wait;
+
+/**
+ * Registry of {@link InstrumentationListener}s. Waits and {@link Display}
+ * report events here only if {@link #isEnabled()} returns true, so there is
+ * no overhead when no listener is registered.
+ *
+ * @since 2.0
+ */
+public class Instrumentation {
+
+	private static final Logger log = Logger.getLogger(Instrumentation.class);
+
+	private static final List<InstrumentationListener> listeners = new CopyOnWriteArrayList<>();
+
+	private static volatile boolean enabled;
+
+	private static volatile String currentTest;
+
+	private Instrumentation() {
+		super();
+	}
+
+	/**
+	 * Registers a listener.
+	 *
+	 * @param listener listener to register
+	 */
+	public static void addListener(InstrumentationListener listener) {
+		listeners.add(listener);
+		enabled = true;
+	}
+
+	/**
+	 * Unregisters a listener.
+	 *
+	 * @param listener listener to unregister
+	 */
+	public static void removeListener(InstrumentationListener listener) {
+		listeners.remove(listener);
+		enabled = !listeners.isEmpty();
+	}
+
+	/**
+	 * Finds out whether there is any registered listener.
+	 *
+	 * @return true if events should be reported, false otherwise
+	 */
+	public static boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Sets the name of the currently running test.
+	 *
+	 * @param testName test name or null if no test is running
+	 */
+	public static void setCurrentTest(String testName) {
+		currentTest = testName;
+	}
+
+	/**
+	 * Gets the name of the currently running test.
+	 *
+	 * @return test name or null if no test is running
+	 */
+	public static String getCurrentTest() {
+		return currentTest;
+	}
+
+	/**
+	 * Reports start of a wait.
+	 *
+	 * @param wait wait
+	 * @param condition wait condition
+	 * @param timeoutNanos timeout of the wait
+	 */
+	public static void waitStarted(Wait wait, WaitCondition condition, long timeoutNanos) {
+		for (InstrumentationListener listener : listeners) {
+			try {
+				listener.waitStarted(wait, condition, timeoutNanos);
+			} catch (RuntimeException e) {
+				logListenerFailure(listener, e);
+			}
+		}
+	}
+
+	/**
+	 * Reports test of a wait condition.
+	 *
+	 * @param wait wait
+	 * @param condition wait condition
+	 * @param stopWaiting whether the wait is going to stop
+	 * @param testNanos time spent by testing the condition
+	 */
+	public static void conditionTested(Wait wait, WaitCondition condition, boolean stopWaiting, long testNanos) {
+		for (InstrumentationListener listener : listeners) {
+			try {
+				listener.conditionTested(wait, condition, stopWaiting, testNanos);
+			} catch (RuntimeException e) {
+				logListenerFailure(listener, e);
+			}
+		}
+	}
+
+	/**
+	 * Reports met wait condition.
+	 *
+	 * @param wait wait
+	 * @param condition wait condition
+	 * @param elapsedNanos time since the wait started
+	 */
+	public static void waitSatisfied(Wait wait, WaitCondition condition, long elapsedNanos) {
+		for (InstrumentationListener listener : listeners) {
+			try {
+				listener.waitSatisfied(wait, condition, elapsedNanos);
+			} catch (RuntimeException e) {
+				logListenerFailure(listener, e);
+			}
+		}
+	}
+
+	/**
+	 * Reports timed out wait.
+	 *
+	 * @param wait wait
+	 * @param condition wait condition
+	 * @param elapsedNanos time since the wait started
+	 */
+	public static void waitTimedOut(Wait wait, WaitCondition condition, long elapsedNanos) {
+		for (InstrumentationListener listener : listeners) {
+			try {
+				listener.waitTimedOut(wait, condition, elapsedNanos);
+			} catch (RuntimeException e) {
+				logListenerFailure(listener, e);
+			}
+		}
+	}
+
+	/**
+	 * Reports finished synchronous execution in UI thread.
+	 *
+	 * @param caller method which requested the execution
+	 * @param totalNanos time including waiting for UI thread
+	 * @param runNanos time spent by the execution in UI thread
+	 */
+	public static void syncExecFinished(String caller, long totalNanos, long runNanos) {
+		for (InstrumentationListener listener : listeners) {
+			try {
+				listener.syncExecFinished(caller, totalNanos, runNanos);
+			} catch (RuntimeException e) {
+				logListenerFailure(listener, e);
+			}
+		}
+	}
+
+	/**
+	 * Gets the first method on the current stack which does not belong to the
+	 * specified class or to JDK, in form <i>class#method</i>.
+	 *
+	 * @param skippedClass class whose frames are skipped
+	 * @return caller method or "unknown"
+	 */
+	public static String getCaller(Class<?> skippedClass) {
+		return getCaller(Thread.currentThread().getStackTrace(), skippedClass);
+	}
+
+	/**
+	 * Gets the first method on the specified stack which does not belong to any of
+	 * the specified classes or to JDK, in form <i>class#method</i>.
+	 *
+	 * @param stack stack trace, e.g. of another thread
+	 * @param skippedClasses classes whose frames are skipped
+	 * @return caller method or "unknown"
+	 */
+	public static String getCaller(StackTraceElement[] stack, Class<?>... skippedClasses) {
+		for (StackTraceElement element : stack) {
+			String className = element.getClassName();
+			if (!isSkipped(className, skippedClasses) && !className.startsWith("java.") && !className.startsWith("sun.")
+					&& !className.startsWith("jdk.") && !className.equals(Instrumentation.class.getName())) {
+				return className + "#" + element.getMethodName();
+			}
+		}
+		return "unknown";
+	}
+
+	private static boolean isSkipped(String className, Class<?>... skippedClasses) {
+		for (Class<?> skippedClass : skippedClasses) {
+			if (className.startsWith(skippedClass.getName())) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static void logListenerFailure(InstrumentationListener listener, RuntimeException e) {
+		log.warn("Instrumentation listener " + listener.getClass().getName() + " failed: " + e.getMessage());
+	}
+}
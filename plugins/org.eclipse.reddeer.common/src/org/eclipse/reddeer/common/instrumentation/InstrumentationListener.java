@@ -0,0 +1,77 @@
+/*******************************************************************************
+ * Copyright (c) 2017 Red Hat, Inc and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.reddeer.common.instrumentation;
+
+import org.eclipse.reddeer.common.condition.WaitCondition;
+import org.eclipse.reddeer.common.wait.Wait;
+
+/**
+ * Listener notified about waits and synchronous executions in UI thread. All
+ * times are in nanoseconds. Listeners are notified in the thread which performs
+ * the wait or requests the synchronous execution and should return quickly.
+ * Register listeners via {@link Instrumentation#addListener(InstrumentationListener)}.
+ *
+ * @since 2.0
+ */
+public interface InstrumentationListener {
+
+	/**
+	 * Called when a wait starts.
+	 *
+	 * @param wait started wait
+	 * @param condition wait condition
+	 * @param timeoutNanos timeout of the wait
+	 */
+	default void waitStarted(Wait wait, WaitCondition condition, long timeoutNanos) {
+	}
+
+	/**
+	 * Called after each test of a wait condition.
+	 *
+	 * @param wait wait
+	 * @param condition tested wait condition
+	 * @param stopWaiting whether the wait is going to stop
+	 * @param testNanos time spent by testing the condition
+	 */
+	default void conditionTested(Wait wait, WaitCondition condition, boolean stopWaiting, long testNanos) {
+	}
+
+	/**
+	 * Called when a wait condition is met.
+	 *
+	 * @param wait wait
+	 * @param condition met wait condition
+	 * @param elapsedNanos time since the wait started
+	 */
+	default void waitSatisfied(Wait wait, WaitCondition condition, long elapsedNanos) {
+	}
+
+	/**
+	 * Called when a wait times out.
+	 *
+	 * @param wait wait
+	 * @param condition unmet wait condition
+	 * @param elapsedNanos time since the wait started
+	 */
+	default void waitTimedOut(Wait wait, WaitCondition condition, long elapsedNanos) {
+	}
+
+	/**
+	 * Called after a synchronous execution in UI thread finished.
+	 *
+	 * @param caller method which requested the execution, e.g.
+	 *            <i>org.eclipse.reddeer.core.handler.WidgetHandler#getText</i>
+	 * @param totalNanos time including waiting for UI thread
+	 * @param runNanos time spent by the execution in UI thread
+	 */
+	default void syncExecFinished(String caller, long totalNanos, long runNanos) {
+	}
+}
@@ -0,0 +1,126 @@
+/*******************************************************************************
+ * Copyright (c) 2017 Red Hat, Inc and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.reddeer.common.instrumentation;
+
+/**
+ * Histogram of latencies in nanoseconds with log-linear buckets (similar to HDR
+ * histogram). Each power of two range is split into 16 sub-buckets, so recorded
+ * values are reproduced with relative error lower than 7 %. Histogram has fixed
+ * size and recording does not allocate.
+ *
+ * @since 2.0
+ */
+public class LatencyHistogram {
+
+	private static final int SUB_BUCKET_BITS = 4;
+
+	private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+	private static final int SIZE = (64 - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+
+	private final long[] counts = new long[SIZE];
+
+	private long count;
+
+	private long total;
+
+	private long max;
+
+	/**
+	 * Records a value.
+	 *
+	 * @param nanos value in nanoseconds, negative values are recorded as 0
+	 */
+	public synchronized void record(long nanos) {
+		long value = Math.max(0, nanos);
+		counts[getIndex(value)]++;
+		count++;
+		total += value;
+		max = Math.max(max, value);
+	}
+
+	/**
+	 * Gets number of recorded values.
+	 *
+	 * @return count of values
+	 */
+	public synchronized long getCount() {
+		return count;
+	}
+
+	/**
+	 * Gets sum of recorded values.
+	 *
+	 * @return sum in nanoseconds
+	 */
+	public synchronized long getTotal() {
+		return total;
+	}
+
+	/**
+	 * Gets maximal recorded value.
+	 *
+	 * @return maximum in nanoseconds
+	 */
+	public synchronized long getMax() {
+		return max;
+	}
+
+	/**
+	 * Gets mean of recorded values.
+	 *
+	 * @return mean in nanoseconds or 0 if nothing was recorded
+	 */
+	public synchronized long getMean() {
+		return count == 0 ? 0 : total / count;
+	}
+
+	/**
+	 * Gets value at the specified percentile. Returned value is the highest value
+	 * of the bucket containing the percentile, but never higher than maximum.
+	 *
+	 * @param percentile percentile between 0 and 1
+	 * @return value in nanoseconds or 0 if nothing was recorded
+	 */
+	public synchronized long getPercentile(double percentile) {
+		if (count == 0) {
+			return 0;
+		}
+		long threshold = Math.max(1, (long) Math.ceil(count * percentile));
+		long cumulative = 0;
+		for (int i = 0; i < SIZE; i++) {
+			cumulative += counts[i];
+			if (cumulative >= threshold) {
+				return Math.min(getHighestValue(i), max);
+			}
+		}
+		return max;
+	}
+
+	private static int getIndex(long value) {
+		if (value < SUB_BUCKETS) {
+			return (int) value;
+		}
+		int exponent = 63 - Long.numberOfLeadingZeros(value);
+		int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) - SUB_BUCKETS;
+		return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+	}
+
+	private static long getHighestValue(int index) {
+		if (index < SUB_BUCKETS) {
+			return index;
+		}
+		int bucket = index >>> SUB_BUCKET_BITS;
+		long subBucket = index & (SUB_BUCKETS - 1);
+		long lowest = (SUB_BUCKETS + subBucket) << (bucket - 1);
+		return lowest + (1L << (bucket - 1)) - 1;
+	}
+}
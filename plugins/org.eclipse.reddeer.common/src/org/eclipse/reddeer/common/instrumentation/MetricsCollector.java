@@ -0,0 +1,275 @@
+/*******************************************************************************
+ * Copyright (c) 2017 Red Hat, Inc and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.reddeer.common.instrumentation;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.reddeer.common.condition.WaitCondition;
+import org.eclipse.reddeer.common.wait.Wait;
+
+/**
+ * Default {@link InstrumentationListener} which aggregates latency histograms
+ * per wait condition class, per method requesting synchronous execution in UI
+ * thread and per test. Collected metrics can be exported to JSON and CSV.
+ *
+ * @since 2.0
+ */
+public class MetricsCollector implements InstrumentationListener {
+
+	/** Category of wait durations per wait condition class. */
+	public static final String WAIT = "wait";
+
+	/** Category of timed out wait durations per wait condition class. */
+	public static final String WAIT_TIMEOUT = "waitTimeout";
+
+	/** Category of synchronous executions in UI thread per calling method. */
+	public static final String SYNC_EXEC = "syncExec";
+
+	/** Category of test durations per test. */
+	public static final String TEST = "test";
+
+	/** Category of time spent by waiting per test. */
+	public static final String TEST_WAIT = "testWait";
+
+	private final ConcurrentMap<Metric, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+
+	@Override
+	public void waitSatisfied(Wait wait, WaitCondition condition, long elapsedNanos) {
+		record(WAIT, condition.getClass().getName(), elapsedNanos);
+		recordTest(TEST_WAIT, elapsedNanos);
+	}
+
+	@Override
+	public void waitTimedOut(Wait wait, WaitCondition condition, long elapsedNanos) {
+		record(WAIT_TIMEOUT, condition.getClass().getName(), elapsedNanos);
+		recordTest(TEST_WAIT, elapsedNanos);
+	}
+
+	@Override
+	public void syncExecFinished(String caller, long totalNanos, long runNanos) {
+		record(SYNC_EXEC, caller, totalNanos);
+	}
+
+	/**
+	 * Records a value to the histogram of specified category and name.
+	 *
+	 * @param category category, e.g. {@link #TEST}
+	 * @param name name within category
+	 * @param nanos value in nanoseconds
+	 */
+	public void record(String category, String name, long nanos) {
+		Metric metric = new Metric(category, name);
+		LatencyHistogram histogram = histograms.get(metric);
+		if (histogram == null) {
+			LatencyHistogram newHistogram = new LatencyHistogram();
+			histogram = histograms.putIfAbsent(metric, newHistogram);
+			if (histogram == null) {
+				histogram = newHistogram;
+			}
+		}
+		histogram.record(nanos);
+	}
+
+	private void recordTest(String category, long nanos) {
+		String test = Instrumentation.getCurrentTest();
+		if (test != null) {
+			record(category, test, nanos);
+		}
+	}
+
+	/**
+	 * Gets histogram of specified category and name.
+	 *
+	 * @param category category
+	 * @param name name within category
+	 * @return histogram or null if nothing was recorded
+	 */
+	public LatencyHistogram getHistogram(String category, String name) {
+		return histograms.get(new Metric(category, name));
+	}
+
+	/**
+	 * Gets metrics with the highest total time. Per test categories are not
+	 * included because they overlap with the others.
+	 *
+	 * @param limit maximal number of returned metrics
+	 * @return metrics sorted by total time, descending
+	 */
+	public List<Metric> getTopTimeSinks(int limit) {
+		List<Metric> metrics = new ArrayList<>();
+		for (Metric metric : histograms.keySet()) {
+			if (!TEST.equals(metric.getCategory()) && !TEST_WAIT.equals(metric.getCategory())) {
+				metrics.add(metric);
+			}
+		}
+		Collections.sort(metrics, new Comparator<Metric>() {
+
+			@Override
+			public int compare(Metric m1, Metric m2) {
+				return Long.compare(histograms.get(m2).getTotal(), histograms.get(m1).getTotal());
+			}
+		});
+		return metrics.subList(0, Math.min(limit, metrics.size()));
+	}
+
+	/**
+	 * Gets summary of the metrics with the highest total time.
+	 *
+	 * @param limit maximal number of metrics in summary
+	 * @return human readable summary
+	 */
+	public String getSummary(int limit) {
+		StringBuilder sb = new StringBuilder("Top " + limit + " time sinks:");
+		for (Metric metric : getTopTimeSinks(limit)) {
+			LatencyHistogram histogram = histograms.get(metric);
+			sb.append(System.lineSeparator()).append(String.format("%10d ms %8dx p99 %8d ms  %s %s",
+					toMillis(histogram.getTotal()), histogram.getCount(), toMillis(histogram.getPercentile(0.99)),
+					metric.getCategory(), metric.getName()));
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * Writes all metrics as JSON array.
+	 *
+	 * @param file target file
+	 * @throws IOException if the file cannot be written
+	 */
+	public void writeJson(File file) throws IOException {
+		try (PrintWriter out = new PrintWriter(file, StandardCharsets.UTF_8.name())) {
+			out.println("[");
+			boolean first = true;
+			for (Map.Entry<Metric, LatencyHistogram> entry : histograms.entrySet()) {
+				LatencyHistogram histogram = entry.getValue();
+				if (!first) {
+					out.println(",");
+				}
+				first = false;
+				out.print("  {\"category\": " + quoteJson(entry.getKey().getCategory())
+						+ ", \"name\": " + quoteJson(entry.getKey().getName())
+						+ ", \"count\": " + histogram.getCount()
+						+ ", \"totalMs\": " + toMillis(histogram.getTotal())
+						+ ", \"meanMs\": " + toMillis(histogram.getMean())
+						+ ", \"p50Ms\": " + toMillis(histogram.getPercentile(0.5))
+						+ ", \"p90Ms\": " + toMillis(histogram.getPercentile(0.9))
+						+ ", \"p99Ms\": " + toMillis(histogram.getPercentile(0.99))
+						+ ", \"maxMs\": " + toMillis(histogram.getMax()) + "}");
+			}
+			out.println();
+			out.println("]");
+		}
+	}
+
+	/**
+	 * Writes all metrics as CSV.
+	 *
+	 * @param file target file
+	 * @throws IOException if the file cannot be written
+	 */
+	public void writeCsv(File file) throws IOException {
+		try (PrintWriter out = new PrintWriter(file, StandardCharsets.UTF_8.name())) {
+			out.println("category,name,count,totalMs,meanMs,p50Ms,p90Ms,p99Ms,maxMs");
+			for (Map.Entry<Metric, LatencyHistogram> entry : histograms.entrySet()) {
+				LatencyHistogram histogram = entry.getValue();
+				out.println(quoteCsv(entry.getKey().getCategory()) + "," + quoteCsv(entry.getKey().getName()) + ","
+						+ histogram.getCount() + "," + toMillis(histogram.getTotal()) + ","
+						+ toMillis(histogram.getMean()) + "," + toMillis(histogram.getPercentile(0.5)) + ","
+						+ toMillis(histogram.getPercentile(0.9)) + "," + toMillis(histogram.getPercentile(0.99))
+						+ "," + toMillis(histogram.getMax()));
+			}
+		}
+	}
+
+	private static long toMillis(long nanos) {
+		return TimeUnit.NANOSECONDS.toMillis(nanos);
+	}
+
+	private static String quoteJson(String value) {
+		StringBuilder sb = new StringBuilder("\"");
+		for (char c : value.toCharArray()) {
+			if (c == '"' || c == '\\') {
+				sb.append('\\').append(c);
+			} else if (c < 0x20) {
+				sb.append(String.format("\\u%04x", (int) c));
+			} else {
+				sb.append(c);
+			}
+		}
+		return sb.append('"').toString();
+	}
+
+	private static String quoteCsv(String value) {
+		return "\"" + value.replace("\"", "\"\"") + "\"";
+	}
+
+	/**
+	 * Identification of a histogram, category and name.
+	 */
+	public static class Metric {
+
+		private final String category;
+
+		private final String name;
+
+		private Metric(String category, String name) {
+			this.category = category;
+			this.name = name;
+		}
+
+		/**
+		 * Gets category of the metric.
+		 *
+		 * @return category
+		 */
+		public String getCategory() {
+			return category;
+		}
+
+		/**
+		 * Gets name of the metric within its category.
+		 *
+		 * @return name
+		 */
+		public String getName() {
+			return name;
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * category.hashCode() + name.hashCode();
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof Metric)) {
+				return false;
+			}
+			Metric other = (Metric) obj;
+			return category.equals(other.category) && name.equals(other.name);
+		}
+
+		@Override
+		public String toString() {
+			return category + " " + name;
+		}
+	}
+}
@@ -0,0 +1,246 @@
+/*******************************************************************************
+ * Copyright (c) 2017 Red Hat, Inc and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.reddeer.common.instrumentation;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.reddeer.common.logging.Logger;
+import org.eclipse.reddeer.common.properties.RedDeerProperties;
+import org.eclipse.reddeer.common.util.Display;
+
+/**
+ * Profiler of {@link Display#syncExec(org.eclipse.reddeer.common.util.ResultRunnable)}
+ * round trips. For each calling method it records latency between enqueueing a
+ * runnable and its start in UI thread and time of its execution. Looking up the
+ * calling method on the stack is expensive, so only every {@link #SAMPLE_PERIOD}-th
+ * synchronous execution and every execution longer than the stall threshold is
+ * recorded. A watchdog thread
+ * logs stack traces of UI thread and of the calling thread whenever a synchronous
+ * execution lasts longer than the stall threshold.<br>
+ * Profiler is enabled by {@link RedDeerProperties#SYNC_EXEC_PROFILER}, stall
+ * threshold in milliseconds is set by {@link RedDeerProperties#UI_STALL_THRESHOLD}.
+ *
+ * @since 2.0
+ */
+public class SyncExecProfiler {
+
+	private static final Logger log = Logger.getLogger(SyncExecProfiler.class);
+
+	/** Category of latency between enqueueing and start of execution per calling method. */
+	public static final String QUEUE = "syncExecQueue";
+
+	/** Category of execution time in UI thread per calling method. */
+	public static final String RUN = "syncExecRun";
+
+	/** Only every n-th synchronous execution shorter than the stall threshold is recorded. */
+	public static final int SAMPLE_PERIOD = 16;
+
+	private static final int MAX_STACK_DEPTH = 30;
+
+	private static volatile SyncExecProfiler active = RedDeerProperties.SYNC_EXEC_PROFILER.getBooleanValue()
+			? new SyncExecProfiler()
+			: null;
+
+	private final long stallThresholdNanos;
+
+	private final AtomicLong count = new AtomicLong();
+
+	private final MetricsCollector collector = new MetricsCollector();
+
+	private final Set<PendingSyncExec> pending = ConcurrentHashMap.newKeySet();
+
+	private Thread watchdog;
+
+	/**
+	 * Creates a new profiler with stall threshold specified by
+	 * {@link RedDeerProperties#UI_STALL_THRESHOLD}.
+	 */
+	public SyncExecProfiler() {
+		this(RedDeerProperties.UI_STALL_THRESHOLD.getLongValue());
+	}
+
+	/**
+	 * Creates a new profiler.
+	 *
+	 * @param stallThresholdMillis time in milliseconds after which a synchronous
+	 *            execution is reported as UI stall
+	 */
+	public SyncExecProfiler(long stallThresholdMillis) {
+		this.stallThresholdNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, stallThresholdMillis));
+	}
+
+	/**
+	 * Gets time in milliseconds after which a synchronous execution is reported as UI stall.
+	 *
+	 * @return stall threshold in milliseconds
+	 */
+	public long getStallThreshold() {
+		return TimeUnit.NANOSECONDS.toMillis(stallThresholdNanos);
+	}
+
+	/**
+	 * Gets active profiler.
+	 *
+	 * @return active profiler or null if profiling is disabled
+	 */
+	public static SyncExecProfiler getActive() {
+		return active;
+	}
+
+	/**
+	 * Sets active profiler. Watchdog of previously active profiler is stopped.
+	 *
+	 * @param profiler profiler to activate or null to disable profiling
+	 */
+	public static void setActive(SyncExecProfiler profiler) {
+		SyncExecProfiler previous = active;
+		active = profiler;
+		if (previous != null && previous != profiler) {
+			previous.stopWatchdog();
+		}
+	}
+
+	/**
+	 * Gets collected metrics, categories {@link #QUEUE} and {@link #RUN}.
+	 *
+	 * @return metrics collector
+	 */
+	public MetricsCollector getCollector() {
+		return collector;
+	}
+
+	/**
+	 * Notifies profiler that a runnable is going to be enqueued to UI thread.
+	 *
+	 * @param uiThread UI thread
+	 * @return token to be passed to {@link #finished(Object, long, long)}
+	 */
+	public Object enqueued(Thread uiThread) {
+		PendingSyncExec syncExec = new PendingSyncExec(Thread.currentThread(), uiThread, System.nanoTime());
+		pending.add(syncExec);
+		startWatchdog();
+		return syncExec;
+	}
+
+	/**
+	 * Notifies profiler that enqueued runnable finished. Has to be called in the
+	 * thread which enqueued the runnable.
+	 *
+	 * @param token token returned by {@link #enqueued(Thread)}
+	 * @param startNanos time when the runnable started in UI thread, 0 if it
+	 *            did not run, e.g. because the display was disposed
+	 * @param runNanos execution time of the runnable
+	 */
+	public void finished(Object token, long startNanos, long runNanos) {
+		PendingSyncExec syncExec = (PendingSyncExec) token;
+		pending.remove(syncExec);
+		if (startNanos == 0) {
+			return;
+		}
+		long queueNanos = startNanos - syncExec.enqueuedNanos;
+		boolean stalled = syncExec.reported || queueNanos + runNanos > stallThresholdNanos;
+		if (!stalled && count.incrementAndGet() % SAMPLE_PERIOD != 0) {
+			return;
+		}
+		String caller = syncExec.caller != null ? syncExec.caller : getCaller(Thread.currentThread().getStackTrace());
+		collector.record(QUEUE, caller, queueNanos);
+		collector.record(RUN, caller, runNanos);
+		if (syncExec.reported) {
+			log.warn("UI stall finished: syncExec from " + caller + " waited "
+					+ TimeUnit.NANOSECONDS.toMillis(queueNanos) + " ms and ran "
+					+ TimeUnit.NANOSECONDS.toMillis(runNanos) + " ms");
+		}
+	}
+
+	private synchronized void startWatchdog() {
+		if (watchdog != null) {
+			return;
+		}
+		watchdog = new Thread("RedDeer UI stall watchdog") {
+			@Override
+			public void run() {
+				long period = Math.max(1, TimeUnit.NANOSECONDS.toMillis(stallThresholdNanos) / 2);
+				while (!isInterrupted()) {
+					try {
+						Thread.sleep(period);
+					} catch (InterruptedException e) {
+						return;
+					}
+					checkStalls();
+				}
+			}
+		};
+		watchdog.setDaemon(true);
+		watchdog.start();
+	}
+
+	private synchronized void stopWatchdog() {
+		if (watchdog != null) {
+			watchdog.interrupt();
+			watchdog = null;
+		}
+	}
+
+	private void checkStalls() {
+		long now = System.nanoTime();
+		for (PendingSyncExec syncExec : pending) {
+			if (!syncExec.reported && now - syncExec.enqueuedNanos > stallThresholdNanos) {
+				StackTraceElement[] callingStack = syncExec.callingThread.getStackTrace();
+				syncExec.caller = getCaller(callingStack);
+				syncExec.reported = true;
+				log.warn("UI stall: syncExec from " + syncExec.caller + " is waiting for "
+						+ TimeUnit.NANOSECONDS.toMillis(now - syncExec.enqueuedNanos) + " ms" + System.lineSeparator()
+						+ "UI thread " + formatStack(syncExec.uiThread, syncExec.uiThread.getStackTrace())
+						+ System.lineSeparator() + "Calling thread "
+						+ formatStack(syncExec.callingThread, callingStack));
+			}
+		}
+	}
+
+	private static String getCaller(StackTraceElement[] stack) {
+		return Instrumentation.getCaller(stack, Display.class, SyncExecProfiler.class);
+	}
+
+	private static String formatStack(Thread thread, StackTraceElement[] stack) {
+		StringBuilder sb = new StringBuilder("\"").append(thread.getName()).append("\" ")
+				.append(thread.getState());
+		for (int i = 0; i < stack.length && i < MAX_STACK_DEPTH; i++) {
+			sb.append(System.lineSeparator()).append("\tat ").append(stack[i]);
+		}
+		if (stack.length > MAX_STACK_DEPTH) {
+			sb.append(System.lineSeparator()).append("\t...");
+		}
+		return sb.toString();
+	}
+
+	private static class PendingSyncExec {
+
+		// looked up by the watchdog when a stall is reported
+		private volatile String caller;
+
+		private final Thread callingThread;
+
+		private final Thread uiThread;
+
+		private final long enqueuedNanos;
+
+		private volatile boolean reported;
+
+		private PendingSyncExec(Thread callingThread, Thread uiThread, long enqueuedNanos) {
+			this.callingThread = callingThread;
+			this.uiThread = uiThread;
+			this.enqueuedNanos = enqueuedNanos;
+		}
+	}
+}
@@ -49,7 +49,49 @@ public enum RedDeerProperties {
 
 	OPEN_ASSOCIATED_PERSPECTIVE("rd.openAssociatedPerspective", "never"),
 
-	TIME_PERIOD_FACTOR("rd.timePeriodFactor", 1.f);
+	TIME_PERIOD_FACTOR("rd.timePeriodFactor", 1.f),
+
+	/**
+	 * System property pointing to the file where durations of satisfied waits are stored.
+	 * Wait statistics are not recorded if the property is not set.
+	 */
+	WAIT_STATISTICS_FILE("rd.waitStatisticsFile", (String) null),
+
+	/**
+	 * Shortens wait timeouts according to recorded wait statistics.
+	 */
+	ADAPTIVE_TIMEOUT("rd.adaptiveTimeout", false),
+
+	ADAPTIVE_TIMEOUT_MARGIN("rd.adaptiveTimeoutMargin", 3.f),
+
+	/**
+	 * Collects latency metrics of waits and UI thread executions and exports them after the suite.
+	 */
+	METRICS("rd.metrics", false),
+
+	METRICS_DIRECTORY("rd.metricsDirectory", "target/reddeer-metrics"),
+
+	/**
+	 * Profiles Display.syncExec round trips and reports UI thread stalls.
+	 */
+	SYNC_EXEC_PROFILER("rd.syncExecProfiler", false),
+
+	/**
+	 * Time in milliseconds after which a waiting syncExec is reported as UI thread stall.
+	 */
+	UI_STALL_THRESHOLD("rd.uiStallThreshold", 2000L),
+
+	/**
+	 * Directory where computed suite plans (configuration sets and their test classes) are cached.
+	 * Suite plans are not cached if the property is not set. The directory has to be deleted when code called
+	 * by requirement restrictions or system properties and environment variables read by them change.
+	 */
+	SUITE_PLAN_CACHE("rd.suitePlanCache", (String) null),
+
+	/**
+	 * Throttle period of widget tracking of RedDeer Spy in milliseconds.
+	 */
+	SPY_THROTTLE("rd.spy.throttle", 70L);
 
 	private String name;
 
@@ -90,6 +132,13 @@ public enum RedDeerProperties {
 		checkSystemValue(getValueInternal());
 	}
 
+	private RedDeerProperties(String name, Long defaultValue){
+		this.name = name;
+		this.type = RedDeerPropertyType.LONG;
+		this.defaultValue = defaultValue.toString();
+		this.supportedValues = new String[0];
+	}
+
 	/**
 	 * Returns the enumeration by its name.
 	 *
@@ -146,6 +195,24 @@ public enum RedDeerProperties {
 		return Float.parseFloat(propertyValue.toLowerCase());
 	}
 
+	/**
+	 * Returns {@link #getValue()} converted to the long. If the value is not
+	 * a number, default value is returned.
+	 *
+	 * @return the long value
+	 */
+	public long getLongValue(){
+		if (getType() != RedDeerPropertyType.LONG){
+			throw new RedDeerException("Requested long system value from non long property [" 
+					+ getName() + ", " + getType() + "]");
+		}
+		try {
+			return Long.parseLong(getValue().trim());
+		} catch (NumberFormatException e) {
+			return Long.parseLong(getDefaultValue());
+		}
+	}
+
 	/**
 	 * Property name.
 	 *
@@ -186,7 +253,7 @@ public enum RedDeerProperties {
 	 * Checks if the defined system value is of supported value
 	 */
 	private void checkSystemValue(String systemValue) {
-		if (getType() == RedDeerPropertyType.TEXT){
+		if (getType() == RedDeerPropertyType.TEXT || getType() == RedDeerPropertyType.LONG){
 			return;
 		}
 
@@ -18,5 +18,5 @@ package org.eclipse.reddeer.common.properties;
  */
 public enum RedDeerPropertyType {
 
-	BOOLEAN, ENUMERATION, TEXT, FLOAT;
+	BOOLEAN, ENUMERATION, TEXT, FLOAT, LONG;
 }
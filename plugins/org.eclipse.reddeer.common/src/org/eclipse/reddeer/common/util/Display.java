@@ -10,7 +10,10 @@
  *******************************************************************************/
 package org.eclipse.reddeer.common.util;
 
+import org.eclipse.swt.SWTException;
 import org.eclipse.reddeer.common.exception.RedDeerException;
+import org.eclipse.reddeer.common.instrumentation.Instrumentation;
+import org.eclipse.reddeer.common.instrumentation.SyncExecProfiler;
 import org.eclipse.reddeer.common.logging.Logger;
 
 
@@ -24,30 +27,96 @@ public class Display {
 
 	private static final Logger log = Logger.getLogger(Display.class);
 
-	private static org.eclipse.swt.widgets.Display display;
+	private static DisplayProvider displayProvider = new ThreadDisplayProvider();
+
+	// found display with its thread, reset when the display is disposed
+	private static volatile DisplayState state;
 
 	private Display(){
 		super();
 	}
 	
 	/**
-	 * Returns {@link org.eclipse.swt.widgets.Display} instance.
+	 * Returns {@link org.eclipse.swt.widgets.Display} instance. Display is found by
+	 * {@link DisplayProvider} only once and cached until it is disposed.
 	 *    
 	 * @return current Display instance or throws CoreLayerException if there is no display
 	 */
 	public static org.eclipse.swt.widgets.Display getDisplay() {
-		if ((display == null) || display.isDisposed()) {
-			display = null;
-			Thread[] allThreads = allThreads();
-			for (Thread thread : allThreads) {
-				org.eclipse.swt.widgets.Display d = org.eclipse.swt.widgets.Display.findDisplay(thread);
-				if (d != null && !d.isDisposed())
-					display = d;
+		return getState().display;
+	}
+
+	/**
+	 * Finds out whether the current thread is UI thread of the display.
+	 * 
+	 * @return true if current thread is UI thread, false otherwise
+	 */
+	public static boolean isUIThread() {
+		return getState().thread == Thread.currentThread();
+	}
+
+	/**
+	 * Sets provider used to find the display. Cached display is forgotten.
+	 * 
+	 * @param provider display provider
+	 */
+	public static synchronized void setDisplayProvider(DisplayProvider provider) {
+		if (provider == null) {
+			throw new IllegalArgumentException("Display provider can't be null");
+		}
+		displayProvider = provider;
+		state = null;
+	}
+
+	private static DisplayState getState() {
+		DisplayState current = state;
+		// dispose listener is registered asynchronously, the display can be disposed before it runs
+		if (current != null && !current.display.isDisposed()) {
+			return current;
+		}
+		return findState();
+	}
+
+	private static synchronized DisplayState findState() {
+		if (state != null && !state.display.isDisposed()) {
+			return state;
+		}
+		state = null;
+		final org.eclipse.swt.widgets.Display display = displayProvider.findDisplay();
+		if (display == null || display.isDisposed()) {
+			throw new RedDeerException("Could not find a display");
+		}
+		final DisplayState found = new DisplayState(display, display.getThread());
+		state = found;
+		final Runnable resetOnDispose = new Runnable() {
+			@Override
+			public void run() {
+				reset(found);
+			}
+		};
+		if (found.thread == Thread.currentThread()) {
+			display.disposeExec(resetOnDispose);
+		} else {
+			try {
+				// disposeExec has to be called in UI thread
+				display.asyncExec(new Runnable() {
+					@Override
+					public void run() {
+						display.disposeExec(resetOnDispose);
+					}
+				});
+			} catch (SWTException e) {
+				log.debug("Display was disposed while registering dispose listener");
+				reset(found);
 			}
-			if (display == null)
-				throw new RedDeerException("Could not find a display");
 		}
-		return display;
+		return found;
+	}
+
+	private static synchronized void reset(DisplayState disposed) {
+		if (state == disposed) {
+			state = null;
+		}
 	}
 
 	/**
@@ -69,15 +138,33 @@ public class Display {
 	@SuppressWarnings("unchecked")
 	public static <T> T syncExec(final ResultRunnable<T> runnable) {
 		ErrorHandlingRunnable<T> errorHandlingRunnable = new ErrorHandlingRunnable<T>(runnable);
-
-		if (!isUIThread()) {
-			Display.getDisplay().syncExec(errorHandlingRunnable);
+		boolean instrumented = Instrumentation.isEnabled();
+		long start = instrumented ? System.nanoTime() : 0;
+
+		DisplayState current = getState();
+		if (current.thread != Thread.currentThread()) {
+			SyncExecProfiler profiler = SyncExecProfiler.getActive();
+			if (profiler == null) {
+				current.display.syncExec(errorHandlingRunnable);
+			} else {
+				Object token = profiler.enqueued(current.thread);
+				try {
+					current.display.syncExec(errorHandlingRunnable);
+				} finally {
+					profiler.finished(token, errorHandlingRunnable.getStartNanos(), errorHandlingRunnable.getRunNanos());
+				}
+			}
 		} else {
 			if (runnable instanceof ErrorHandlingRunnable){
 				errorHandlingRunnable = (ErrorHandlingRunnable<T>) runnable;
 			}
 			errorHandlingRunnable.run();
 		}
+
+		if (instrumented) {
+			Instrumentation.syncExecFinished(Instrumentation.getCaller(Display.class), System.nanoTime() - start,
+					errorHandlingRunnable.getRunNanos());
+		}
 		
 		if (errorHandlingRunnable.exceptionOccurred()){
 			handleErrorOccured(errorHandlingRunnable, true);
@@ -111,27 +198,19 @@ public class Display {
 		throw new RedDeerException("Exception during " +syncType+ " execution in UI thread", e);
 	}
 
-	private static boolean isUIThread() {
-		return getDisplay().getThread() == Thread.currentThread();			
-	}
-
-	private static Thread[] allThreads() {
-		ThreadGroup threadGroup = primaryThreadGroup();
-
-		Thread[] threads = new Thread[64];
-		int enumerate = threadGroup.enumerate(threads, true);
+	/**
+	 * Display together with its UI thread.
+	 */
+	private static class DisplayState {
 
-		Thread[] result = new Thread[enumerate];
-		System.arraycopy(threads, 0, result, 0, enumerate);
+		private final org.eclipse.swt.widgets.Display display;
 
-		return result;
-	}
+		private final Thread thread;
 
-	private static ThreadGroup primaryThreadGroup() {
-		ThreadGroup threadGroup = Thread.currentThread().getThreadGroup();
-		while (threadGroup.getParent() != null)
-			threadGroup = threadGroup.getParent();
-		return threadGroup;
+		private DisplayState(org.eclipse.swt.widgets.Display display, Thread thread) {
+			this.display = display;
+			this.thread = thread;
+		}
 	}
 
 	/**
@@ -150,6 +229,10 @@ public class Display {
 
 		private Exception exception;
 
+		private long startNanos;
+
+		private long runNanos;
+
 		private ErrorHandlingRunnable(ResultRunnable<T> runnable) {
 			super();
 			this.runnable = runnable;
@@ -157,13 +240,24 @@ public class Display {
 
 		@Override
 		public void run() {
+			startNanos = System.nanoTime();
 			try {
 				result = runnable.run();
 			} catch (Exception e) {
 				exception = e;
+			} finally {
+				runNanos = System.nanoTime() - startNanos;
 			}
 		}
 
+		public long getStartNanos() {
+			return startNanos;
+		}
+
+		public long getRunNanos() {
+			return runNanos;
+		}
+
 		public boolean exceptionOccurred(){
 			return getException() != null;
 		}
@@ -0,0 +1,29 @@
+/*******************************************************************************
+ * Copyright (c) 2017 Red Hat, Inc and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.reddeer.common.util;
+
+/**
+ * Finds the SWT display RedDeer works with. Provider is consulted only when
+ * there is no cached display or the cached display was disposed, see
+ * {@link Display#setDisplayProvider(DisplayProvider)}. Implement it to choose
+ * a display explicitly if the application runs several displays.
+ * 
+ * @since 2.0
+ */
+public interface DisplayProvider {
+
+	/**
+	 * Finds the display.
+	 * 
+	 * @return not disposed display or null if there is no such display
+	 */
+	org.eclipse.swt.widgets.Display findDisplay();
+}
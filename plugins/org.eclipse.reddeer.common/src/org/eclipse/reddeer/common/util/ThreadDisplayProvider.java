@@ -0,0 +1,58 @@
+/*******************************************************************************
+ * Copyright (c) 2017 Red Hat, Inc and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.reddeer.common.util;
+
+/**
+ * Default {@link DisplayProvider}. Looks for a display bound to any running
+ * thread. If there are more displays, the one found last is returned.
+ * 
+ * @author Jiri Peterka
+ * @author Lucia Jelinkova
+ * @since 2.0
+ */
+public class ThreadDisplayProvider implements DisplayProvider {
+
+	@Override
+	public org.eclipse.swt.widgets.Display findDisplay() {
+		org.eclipse.swt.widgets.Display display = null;
+		for (Thread thread : allThreads()) {
+			org.eclipse.swt.widgets.Display d = org.eclipse.swt.widgets.Display.findDisplay(thread);
+			if (d != null && !d.isDisposed()) {
+				display = d;
+			}
+		}
+		return display;
+	}
+
+	private static Thread[] allThreads() {
+		ThreadGroup threadGroup = primaryThreadGroup();
+
+		// the array has to be bigger than number of threads, otherwise some are silently left out
+		Thread[] threads = new Thread[threadGroup.activeCount() + 16];
+		int enumerate = threadGroup.enumerate(threads, true);
+		while (enumerate == threads.length) {
+			threads = new Thread[threads.length * 2];
+			enumerate = threadGroup.enumerate(threads, true);
+		}
+
+		Thread[] result = new Thread[enumerate];
+		System.arraycopy(threads, 0, result, 0, enumerate);
+
+		return result;
+	}
+
+	private static ThreadGroup primaryThreadGroup() {
+		ThreadGroup threadGroup = Thread.currentThread().getThreadGroup();
+		while (threadGroup.getParent() != null)
+			threadGroup = threadGroup.getParent();
+		return threadGroup;
+	}
+}
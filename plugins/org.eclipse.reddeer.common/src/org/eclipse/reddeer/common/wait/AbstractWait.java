@@ -10,8 +10,11 @@
  *******************************************************************************/
 package org.eclipse.reddeer.common.wait;
 
+import java.util.concurrent.TimeUnit;
+
 import org.eclipse.reddeer.common.condition.WaitCondition;
 import org.eclipse.reddeer.common.exception.WaitTimeoutExpiredException;
+import org.eclipse.reddeer.common.instrumentation.Instrumentation;
 import org.eclipse.reddeer.common.logging.Logger;
 import org.eclipse.reddeer.common.util.Display;
 
@@ -135,23 +138,54 @@ public abstract class AbstractWait implements Wait {
 	public void wait(WaitCondition condition, long testPeriod) {
 		log.debug(this.description() + condition.description() + "...");
 
-		long limit;
-		if ((Long.MAX_VALUE - System.currentTimeMillis()) / 1000 > getTimeout().getSeconds()) {
-			limit = System.currentTimeMillis() + getTimeout().getSeconds() * 1000;
-		} else {
-			limit = Long.MAX_VALUE;
+		// monotonic deadline, immune to wall clock changes
+		long start = System.nanoTime();
+		WaitStatistics statistics = WaitStatistics.getInstance();
+		TimePeriod effectiveTimeout = statistics == null ? getTimeout()
+				: statistics.getTimeout(this, condition, getTimeout(), testPeriod);
+		long timeoutNanos = effectiveTimeout.getNanoseconds();
+		boolean eternal = timeoutNanos == Long.MAX_VALUE;
+		boolean instrumented = Instrumentation.isEnabled();
+		if (instrumented) {
+			Instrumentation.waitStarted(this, condition, timeoutNanos);
 		}
 
 		while (true) {
-			if (stopWaiting(condition)) {
+			if (instrumented) {
+				long testStart = System.nanoTime();
+				boolean stop = stopWaiting(condition);
+				Instrumentation.conditionTested(this, condition, stop, System.nanoTime() - testStart);
+				if (stop) {
+					break;
+				}
+			} else if (stopWaiting(condition)) {
 				break;
 			}
 
-			if (timeoutExceeded(condition, limit)) {
+			long remainingNanos = eternal ? Long.MAX_VALUE : timeoutNanos - (System.nanoTime() - start);
+			if (remainingNanos < 0) {
+				long elapsedNanos = System.nanoTime() - start;
+				if (statistics != null) {
+					// censored sample, otherwise waits cut short by adaptive timeout would never be recorded
+					statistics.recordTimeout(this, condition, elapsedNanos);
+				}
+				if (instrumented) {
+					Instrumentation.waitTimedOut(this, condition, elapsedNanos);
+				}
+			}
+			if (timeoutExceeded(condition, effectiveTimeout, remainingNanos)) {
 				return;
 			}
 
-			sleep(testPeriod);
+			sleep(Math.min(testPeriod, toSleepMillis(remainingNanos)));
+		}
+
+		long elapsedNanos = System.nanoTime() - start;
+		if (statistics != null) {
+			statistics.record(this, condition, elapsedNanos);
+		}
+		if (instrumented) {
+			Instrumentation.waitSatisfied(this, condition, elapsedNanos);
 		}
 
 		log.debug(this.description() + condition.description() + " finished successfully");
@@ -183,12 +217,23 @@ public abstract class AbstractWait implements Wait {
 	 *            time period to sleep
 	 */
 	public static void sleep(TimePeriod timePeriod) {
-		log.debug("Wait for " + timePeriod.getSeconds() + " seconds");
-		sleep(timePeriod.getSeconds() * 1000);
+		log.debug("Wait for " + timePeriod.getMilliseconds() + " milliseconds");
+		sleep(timePeriod.getMilliseconds());
+	}
+
+	/**
+	 * Converts remaining nanoseconds to milliseconds to sleep. Rounds up so the
+	 * deadline is passed after sleeping.
+	 */
+	private static long toSleepMillis(long remainingNanos) {
+		if (remainingNanos == Long.MAX_VALUE) {
+			return Long.MAX_VALUE;
+		}
+		return TimeUnit.NANOSECONDS.toMillis(remainingNanos + 999999) + 1;
 	}
 	
 	private static void sleep(long milliseconds) {
-		if (Thread.currentThread().equals(Display.getDisplay().getThread())) {
+		if (Display.isUIThread()) {
 			throw new RuntimeException("Tried to execute sleep in UI thread!");
 		}
 		try {
@@ -198,8 +243,8 @@ public abstract class AbstractWait implements Wait {
 		}
 	}
 	
-	private boolean timeoutExceeded(WaitCondition condition, long limit) {
-		if (System.currentTimeMillis() > limit) {
+	private boolean timeoutExceeded(WaitCondition condition, TimePeriod timeout, long remainingNanos) {
+		if (remainingNanos < 0) {
 			if (throwTimeoutException()) {
 				log.debug(this.description() + condition.description() + " failed, an exception will be thrown");
 				throwWaitTimeOutException(timeout, condition);
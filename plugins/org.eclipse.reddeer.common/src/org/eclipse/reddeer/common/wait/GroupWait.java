@@ -37,15 +37,15 @@ public class GroupWait {
 			throw new IllegalArgumentException("There are no waiting to wait for, pass one or more waitings "
 					+ "as a constructor arguments to start waiting");
 		}
+		long start = System.nanoTime();
 		for (WaitWrapper waitWrapper: waitings) {
-			long startTimeOfWait = System.currentTimeMillis();
 			if (WaitType.WHILE.equals(waitWrapper.getWaitType())) {
 				new WaitWhile(waitWrapper.getWaitCondition(), remainingTimeout, waitWrapper.throwRuntimeException());
 				
 			} else if (WaitType.UNTIL.equals(waitWrapper.getWaitType())) {
 				new WaitUntil(waitWrapper.getWaitCondition(), remainingTimeout, waitWrapper.throwRuntimeException());
 			}
-			remainingTimeout = getRemainingTimeoutPeriod(remainingTimeout, startTimeOfWait);
+			remainingTimeout = timeout.getRemaining(start);
 		}
 	}
 	
@@ -67,13 +67,4 @@ public class GroupWait {
 	public TimePeriod getRemainingTimeout() {
 		return remainingTimeout;
 	}
-	
-	private TimePeriod getRemainingTimeoutPeriod(TimePeriod oldTimeout, long startTimeOfWait) {
-		long diffTime = Math.round((System.currentTimeMillis() - startTimeOfWait) / 1000);
-		long remainingTimeout = oldTimeout.getSeconds() - diffTime;
-		if (remainingTimeout <= 0) {
-			return TimePeriod.NONE;
-		}
-		return TimePeriod.getCustom(remainingTimeout);
-	}
 }
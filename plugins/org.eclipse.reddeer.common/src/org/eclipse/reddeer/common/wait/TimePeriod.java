@@ -10,12 +10,15 @@
  *******************************************************************************/
 package org.eclipse.reddeer.common.wait;
 
+import java.time.Duration;
+
 import org.eclipse.reddeer.common.properties.RedDeerProperties;
 
 /**
  * Represents the time period for how long the user operation might last. 
  * Predefined values should cover most of the use cases. There is also a 
- * possibility to define own time period - see {@link #getCustom(long)} method. 
+ * possibility to define own time period - see {@link #getCustom(long)}, 
+ * {@link #getCustomMilliseconds(long)} and {@link #getCustom(Duration)} methods. 
  * 
  * @author Lucia Jelinkova
  *
@@ -23,54 +26,129 @@ import org.eclipse.reddeer.common.properties.RedDeerProperties;
 public class TimePeriod {
 
 	/** Time period 0 seconds. */
-	public static final TimePeriod NONE = new TimePeriod(0);
+	public static final TimePeriod NONE = new TimePeriod(Duration.ZERO);
 
 	/** Time period 1 second. */
-	public static final TimePeriod SHORT = new TimePeriod(1);
+	public static final TimePeriod SHORT = new TimePeriod(Duration.ofSeconds(1));
 	
 	/** Time period 3 seconds. */
-	public static final TimePeriod MEDIUM = new TimePeriod(3);
+	public static final TimePeriod MEDIUM = new TimePeriod(Duration.ofSeconds(3));
 
 	/** Time period 10 seconds. */
-	public static final TimePeriod DEFAULT = new TimePeriod(10);
+	public static final TimePeriod DEFAULT = new TimePeriod(Duration.ofSeconds(10));
 
 	/** Time period 60 seconds. */
-	public static final TimePeriod LONG = new TimePeriod(60);
+	public static final TimePeriod LONG = new TimePeriod(Duration.ofSeconds(60));
 
 	/** Time period 300 seconds. */
-	public static final TimePeriod VERY_LONG = new TimePeriod(300);
+	public static final TimePeriod VERY_LONG = new TimePeriod(Duration.ofSeconds(300));
 
 	/** Time period for eternity */
-	public static final TimePeriod ETERNAL = new TimePeriod(Long.MAX_VALUE);
+	public static final TimePeriod ETERNAL = new TimePeriod(Duration.ofSeconds(Long.MAX_VALUE));
 
 	private static Float FACTOR = RedDeerProperties.TIME_PERIOD_FACTOR.getFloatValue();
 
-	private long seconds;
+	private static final long NANOS_PER_SECOND = 1000000000L;
+
+	private final Duration duration;
+
+	private final boolean scaled;
+
+	private TimePeriod(Duration duration) {
+		this(duration, false);
+	}
+
+	private TimePeriod(Duration duration, boolean scaled) {
+		this.duration = duration;
+		this.scaled = scaled;
+	}
+
+	/**
+	 * Gets duration of a time period with time period factor applied.
+	 * Eternal time period has duration of {@link Long#MAX_VALUE} seconds.
+	 * 
+	 * @return duration of time period
+	 */
+	public Duration getDuration() {
+		if (scaled || isEternal() || duration.isZero() || FACTOR == 1) {
+			return duration;
+		}
 
-	private TimePeriod(long seconds) {
-		this.seconds = seconds;
+		// do not exceed max value of Long
+		if (duration.getSeconds() >= Long.MAX_VALUE / FACTOR) {
+			return ETERNAL.duration;
+		}
+		double scaledSeconds = (duration.getSeconds() + (double) duration.getNano() / NANOS_PER_SECOND) * FACTOR;
+		if (scaledSeconds < Long.MAX_VALUE / NANOS_PER_SECOND) {
+			return Duration.ofNanos(Math.round(scaledSeconds * NANOS_PER_SECOND));
+		}
+		return Duration.ofSeconds(Math.round(scaledSeconds));
 	}
 
 	/**
-	 * Gets duration of a time period in seconds.
+	 * Gets duration of a time period in seconds. Fractions of second are rounded.
 	 * 
 	 * @return duration of time period in seconds
 	 */
 	public long getSeconds() {
-		if (seconds == Long.MAX_VALUE || seconds == 0) {
-			return seconds;
+		Duration scaled = getDuration();
+		if (scaled.getSeconds() == Long.MAX_VALUE) {
+			return Long.MAX_VALUE;
 		}
+		return scaled.getSeconds() + (scaled.getNano() >= NANOS_PER_SECOND / 2 ? 1 : 0);
+	}
 
-		if (FACTOR == 1) {
-			return seconds;
+	/**
+	 * Gets duration of a time period in milliseconds. Time periods too long to be
+	 * expressed in milliseconds return {@link Long#MAX_VALUE}.
+	 * 
+	 * @return duration of time period in milliseconds
+	 */
+	public long getMilliseconds() {
+		Duration scaled = getDuration();
+		if (scaled.getSeconds() >= Long.MAX_VALUE / 1000) {
+			return Long.MAX_VALUE;
 		}
+		return scaled.toMillis();
+	}
 
-		// do not exceed max value of Long
-		if (seconds >= Long.MAX_VALUE / FACTOR) {
+	/**
+	 * Gets duration of a time period in nanoseconds. Time periods too long to be
+	 * expressed in nanoseconds (approx. 292 years) return {@link Long#MAX_VALUE}.
+	 * 
+	 * @return duration of time period in nanoseconds
+	 */
+	public long getNanoseconds() {
+		Duration scaled = getDuration();
+		if (scaled.getSeconds() >= Long.MAX_VALUE / NANOS_PER_SECOND) {
 			return Long.MAX_VALUE;
-		} else {
-			return Math.round((double) seconds * FACTOR);
 		}
+		return scaled.toNanos();
+	}
+
+	/**
+	 * Finds out whether this time period lasts forever.
+	 * 
+	 * @return true if time period is eternal, false otherwise
+	 */
+	public boolean isEternal() {
+		return duration.getSeconds() == Long.MAX_VALUE;
+	}
+
+	/**
+	 * Gets remaining part of this time period which started at the specified
+	 * time. Returned time period is not scaled by time period factor again, so
+	 * one time period can be shared by several consecutive waits.
+	 * 
+	 * @param startNanos start of the time period as returned by {@link System#nanoTime()}
+	 * @return remaining time period, {@link #NONE} if the time period elapsed
+	 */
+	public TimePeriod getRemaining(long startNanos) {
+		if (isEternal()) {
+			return this;
+		}
+		long remainingNanos = getNanoseconds() - (System.nanoTime() - startNanos);
+		return remainingNanos <= 0 ? NONE : getScaled(Duration.ofNanos(remainingNanos));
 	}
 
 	/**
@@ -83,7 +161,44 @@ public class TimePeriod {
 		if (seconds < 0) {
 			throw new IllegalArgumentException("Time in seconds has to be positive number");
 		}
-		return new TimePeriod(seconds);
+		return new TimePeriod(Duration.ofSeconds(seconds));
+	}
+
+	/**
+	 * Gets custom duration of a time period specified by milliseconds.
+	 * 
+	 * @param milliseconds how many milliseconds should time period last
+	 * @return time period with custom time frame in milliseconds
+	 */
+	public static TimePeriod getCustomMilliseconds(long milliseconds) {
+		if (milliseconds < 0) {
+			throw new IllegalArgumentException("Time in milliseconds has to be positive number");
+		}
+		return new TimePeriod(Duration.ofMillis(milliseconds));
+	}
+
+	/**
+	 * Gets custom duration of a time period specified by duration.
+	 * 
+	 * @param duration how long should time period last
+	 * @return time period with custom time frame
+	 */
+	public static TimePeriod getCustom(Duration duration) {
+		if (duration == null || duration.isNegative()) {
+			throw new IllegalArgumentException("Duration has to be positive");
+		}
+		return new TimePeriod(duration);
+	}
+
+	/**
+	 * Gets time period of the specified duration to which time period factor
+	 * has already been applied, e.g. remaining part of a scaled time period.
+	 * 
+	 * @param duration duration with time period factor applied
+	 * @return time period not scaled by time period factor again
+	 */
+	static TimePeriod getScaled(Duration duration) {
+		return new TimePeriod(duration, true);
 	}
 
 	/* (non-Javadoc)
@@ -91,7 +206,11 @@ public class TimePeriod {
 	 */
 	@Override
 	public String toString() {
-		return "Time period " + seconds + " s (factor " + FACTOR + " was used).";
+		String factor = scaled ? " (already scaled)." : " (factor " + FACTOR + " was used).";
+		if (duration.getNano() == 0) {
+			return "Time period " + duration.getSeconds() + " s" + factor;
+		}
+		return "Time period " + duration.toMillis() + " ms" + factor;
 	}
 	
 	/**
@@ -0,0 +1,316 @@
+/*******************************************************************************
+ * Copyright (c) 2017 Red Hat, Inc and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.reddeer.common.wait;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.reddeer.common.condition.WaitCondition;
+import org.eclipse.reddeer.common.logging.Logger;
+import org.eclipse.reddeer.common.properties.RedDeerProperties;
+
+/**
+ * Records how long it took to satisfy waits and computes adaptive timeouts from
+ * the recorded durations. Durations are kept in small histograms keyed by wait
+ * type, wait condition class and description and stored in the file specified
+ * by {@link RedDeerProperties#WAIT_STATISTICS_FILE}.<br>
+ * If {@link RedDeerProperties#ADAPTIVE_TIMEOUT} is enabled, wait timeout is
+ * shortened to 99th percentile of recorded durations multiplied by
+ * {@link RedDeerProperties#ADAPTIVE_TIMEOUT_MARGIN}. Adaptive timeout never
+ * exceeds declared time period and is used only when there are enough samples.
+ * Waits which timed out are recorded as censored samples, their real duration is
+ * unknown so they are counted as unbounded and the declared timeout is used as long
+ * as such a sample is recorded. Otherwise waits cut short by adaptive timeout would
+ * never be recorded and adaptive timeout could shrink toward its own cutoffs.
+ *
+ * @since 2.0
+ */
+public class WaitStatistics {
+
+	private static final Logger log = Logger.getLogger(WaitStatistics.class);
+
+	/** Minimal number of samples needed to compute adaptive timeout. */
+	public static final int MIN_SAMPLES = 20;
+
+	/** Adaptive timeout is never shorter than this. */
+	public static final Duration MIN_ADAPTIVE_TIMEOUT = Duration.ofSeconds(1);
+
+	// when a histogram reaches this count, all its buckets are halved so old samples fade out
+	private static final int MAX_SAMPLES = 1000;
+
+	private static final int BUCKETS = 64;
+
+	private static final double BUCKET_GROWTH = 1.25;
+
+	// upper bounds of histogram buckets in milliseconds, the last bucket is unbounded
+	private static final long[] BUCKET_BOUNDS = new long[BUCKETS];
+
+	static {
+		double bound = 1;
+		for (int i = 0; i < BUCKETS; i++) {
+			BUCKET_BOUNDS[i] = (long) Math.ceil(bound);
+			bound *= BUCKET_GROWTH;
+		}
+		BUCKET_BOUNDS[BUCKETS - 1] = Long.MAX_VALUE;
+	}
+
+	private static WaitStatistics instance;
+
+	private final File file;
+
+	private final Map<String, int[]> histograms = new HashMap<>();
+
+	private boolean dirty;
+
+	/**
+	 * Creates wait statistics backed by the specified file. If the file is null,
+	 * statistics are kept in memory only.
+	 *
+	 * @param file file with stored statistics, may be null
+	 */
+	public WaitStatistics(File file) {
+		this.file = file;
+		load();
+	}
+
+	/**
+	 * Gets wait statistics specified by {@link RedDeerProperties#WAIT_STATISTICS_FILE}.
+	 *
+	 * @return wait statistics or null if no statistics file is specified
+	 */
+	public static synchronized WaitStatistics getInstance() {
+		if (instance == null) {
+			String fileName = RedDeerProperties.WAIT_STATISTICS_FILE.getValue();
+			if (fileName == null || fileName.isEmpty()) {
+				return null;
+			}
+			instance = new WaitStatistics(new File(fileName));
+			Runtime.getRuntime().addShutdownHook(new Thread("RedDeer wait statistics") {
+				@Override
+				public void run() {
+					instance.save();
+				}
+			});
+		}
+		return instance;
+	}
+
+	/**
+	 * Records duration needed to satisfy wait condition.
+	 *
+	 * @param wait wait which was satisfied
+	 * @param condition satisfied wait condition
+	 * @param durationNanos time in nanoseconds after which the condition was satisfied
+	 */
+	public synchronized void record(Wait wait, WaitCondition condition, long durationNanos) {
+		add(wait, condition, getBucket(TimeUnit.NANOSECONDS.toMillis(durationNanos)));
+	}
+
+	/**
+	 * Records wait which timed out. The condition was not satisfied within elapsed
+	 * time, so the sample is censored and it is counted in the unbounded bucket.
+	 *
+	 * @param wait wait which timed out
+	 * @param condition unsatisfied wait condition
+	 * @param elapsedNanos time in nanoseconds after which the wait timed out
+	 */
+	public synchronized void recordTimeout(Wait wait, WaitCondition condition, long elapsedNanos) {
+		log.debug("Timeout after " + TimeUnit.NANOSECONDS.toMillis(elapsedNanos) + " ms is recorded for "
+				+ getKey(wait, condition));
+		add(wait, condition, BUCKETS - 1);
+	}
+
+	private void add(Wait wait, WaitCondition condition, int bucket) {
+		String key = getKey(wait, condition);
+		int[] histogram = histograms.get(key);
+		if (histogram == null) {
+			histogram = new int[BUCKETS];
+			histograms.put(key, histogram);
+		}
+		histogram[bucket]++;
+		if (count(histogram) >= MAX_SAMPLES) {
+			for (int i = 0; i < BUCKETS; i++) {
+				histogram[i] /= 2;
+			}
+		}
+		dirty = true;
+	}
+
+	/**
+	 * Gets the duration in which the specified percentile of recorded waits was satisfied.
+	 *
+	 * @param wait wait
+	 * @param condition wait condition
+	 * @param percentile percentile between 0 and 1
+	 * @return duration of percentile or null if there are less than {@link #MIN_SAMPLES} samples
+	 */
+	public synchronized Duration getPercentile(Wait wait, WaitCondition condition, double percentile) {
+		int[] histogram = histograms.get(getKey(wait, condition));
+		if (histogram == null) {
+			return null;
+		}
+		int count = count(histogram);
+		if (count < MIN_SAMPLES) {
+			return null;
+		}
+		long threshold = (long) Math.ceil(count * percentile);
+		long cumulative = 0;
+		for (int i = 0; i < BUCKETS; i++) {
+			cumulative += histogram[i];
+			if (cumulative >= threshold) {
+				return BUCKET_BOUNDS[i] == Long.MAX_VALUE ? null : Duration.ofMillis(BUCKET_BOUNDS[i]);
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Gets timeout for the wait. If adaptive timeout is enabled and there are enough
+	 * samples, returns 99th percentile of recorded durations multiplied by margin,
+	 * but at least {@link #MIN_ADAPTIVE_TIMEOUT} and at most declared timeout.
+	 * Otherwise returns declared timeout. Eternal and zero timeouts are never adapted
+	 * and neither are waits with a recorded timeout.
+	 *
+	 * @param wait wait
+	 * @param condition wait condition
+	 * @param declared declared timeout of the wait
+	 * @param testPeriod time between testing of the wait condition in milliseconds
+	 * @return timeout to use
+	 */
+	public TimePeriod getTimeout(Wait wait, WaitCondition condition, TimePeriod declared, long testPeriod) {
+		if (!RedDeerProperties.ADAPTIVE_TIMEOUT.getBooleanValue() || declared.isEternal()
+				|| declared.getNanoseconds() == 0) {
+			return declared;
+		}
+		if (hasTimeout(wait, condition)) {
+			return declared;
+		}
+		Duration p99 = getPercentile(wait, condition, 0.99);
+		if (p99 == null) {
+			return declared;
+		}
+		float margin = RedDeerProperties.ADAPTIVE_TIMEOUT_MARGIN.getFloatValue();
+		long adaptiveNanos = Math.round(p99.toNanos() * (double) margin);
+		adaptiveNanos = Math.max(adaptiveNanos, MIN_ADAPTIVE_TIMEOUT.toNanos());
+		adaptiveNanos = Math.max(adaptiveNanos, TimeUnit.MILLISECONDS.toNanos(2 * testPeriod));
+		if (adaptiveNanos >= declared.getNanoseconds()) {
+			return declared;
+		}
+		log.debug("Adaptive timeout " + TimeUnit.NANOSECONDS.toMillis(adaptiveNanos) + " ms is used instead of "
+				+ declared.getMilliseconds() + " ms for " + getKey(wait, condition));
+		return TimePeriod.getScaled(Duration.ofNanos(adaptiveNanos));
+	}
+
+	/**
+	 * Stores recorded statistics to the file.
+	 */
+	public synchronized void save() {
+		if (file == null || !dirty) {
+			return;
+		}
+		Properties properties = new Properties();
+		for (Map.Entry<String, int[]> entry : histograms.entrySet()) {
+			properties.setProperty(entry.getKey(), encode(entry.getValue()));
+		}
+		File parent = file.getAbsoluteFile().getParentFile();
+		if (parent != null) {
+			parent.mkdirs();
+		}
+		try (OutputStream out = new FileOutputStream(file)) {
+			properties.store(out, "RedDeer wait statistics");
+			dirty = false;
+		} catch (IOException e) {
+			log.warn("Wait statistics could not be saved to " + file + ": " + e.getMessage());
+		}
+	}
+
+	private void load() {
+		if (file == null || !file.isFile()) {
+			return;
+		}
+		Properties properties = new Properties();
+		try (InputStream in = new FileInputStream(file)) {
+			properties.load(in);
+		} catch (IOException e) {
+			log.warn("Wait statistics could not be loaded from " + file + ": " + e.getMessage());
+			return;
+		}
+		for (String key : properties.stringPropertyNames()) {
+			int[] histogram = decode(properties.getProperty(key));
+			if (histogram != null) {
+				histograms.put(key, histogram);
+			}
+		}
+	}
+
+	private synchronized boolean hasTimeout(Wait wait, WaitCondition condition) {
+		int[] histogram = histograms.get(getKey(wait, condition));
+		return histogram != null && histogram[BUCKETS - 1] > 0;
+	}
+
+	private static String getKey(Wait wait, WaitCondition condition) {
+		return wait.getClass().getSimpleName() + ":" + condition.getClass().getName() + ":"
+				+ condition.description();
+	}
+
+	private static int getBucket(long millis) {
+		for (int i = 0; i < BUCKETS; i++) {
+			if (millis <= BUCKET_BOUNDS[i]) {
+				return i;
+			}
+		}
+		return BUCKETS - 1;
+	}
+
+	private static int count(int[] histogram) {
+		int count = 0;
+		for (int bucket : histogram) {
+			count += bucket;
+		}
+		return count;
+	}
+
+	private static String encode(int[] histogram) {
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < histogram.length; i++) {
+			if (i > 0) {
+				sb.append(',');
+			}
+			sb.append(histogram[i]);
+		}
+		return sb.toString();
+	}
+
+	private static int[] decode(String value) {
+		String[] counts = value.split(",");
+		if (counts.length != BUCKETS) {
+			return null;
+		}
+		int[] histogram = new int[BUCKETS];
+		try {
+			for (int i = 0; i < BUCKETS; i++) {
+				histogram[i] = Integer.parseInt(counts[i].trim());
+			}
+		} catch (NumberFormatException e) {
+			return null;
+		}
+		return histogram;
+	}
+}
@@ -405,6 +405,15 @@ public class TreeItemHandler extends ItemHandler{
 			new WaitUntil(new TreeHeardExpandNotification(swtTreeItem, tel, false), timePeriod);
 		} catch (WaitTimeoutExpiredException ex) {
 			new WaitUntil(new TreeHeardExpandNotification(swtTreeItem, tel, true), timePeriod);
+		} finally {
+			Display.syncExec(new Runnable() {
+				@Override
+				public void run() {
+					if (!swtTreeItem.isDisposed()) {
+						swtTreeItem.getParent().removeListener(SWT.Expand, tel);
+					}
+				}
+			});
 		}
 		logger.info("Expanded: " + getText(swtTreeItem));
 
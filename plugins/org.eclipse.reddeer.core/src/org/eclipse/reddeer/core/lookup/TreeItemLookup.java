@@ -11,12 +11,17 @@
 package org.eclipse.reddeer.core.lookup;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import org.eclipse.swt.widgets.Tree;
 import org.eclipse.swt.widgets.TreeItem;
 import org.hamcrest.Matcher;
 import org.eclipse.reddeer.common.condition.AbstractWaitCondition;
+import org.eclipse.reddeer.common.exception.WaitTimeoutExpiredException;
+import org.eclipse.reddeer.common.logging.Logger;
+import org.eclipse.reddeer.common.util.Display;
+import org.eclipse.reddeer.common.util.ResultRunnable;
 import org.eclipse.reddeer.common.wait.TimePeriod;
 import org.eclipse.reddeer.common.wait.WaitUntil;
 import org.eclipse.reddeer.core.exception.CoreLayerException;
@@ -32,6 +37,11 @@ import org.eclipse.reddeer.core.handler.TreeItemHandler;
 @SuppressWarnings("unchecked")
 public class TreeItemLookup {
 
+	private static final Logger log = Logger.getLogger(TreeItemLookup.class);
+
+	/** Time period shared by all levels of a path lookup. */
+	private static final TimePeriod PATH_TIMEOUT = TimePeriod.DEFAULT;
+
 	private static TreeItemLookup instance = null;
 	
 	private TreeItemLookup() {
@@ -79,9 +89,10 @@ public class TreeItemLookup {
 	 * @return tree items matching specified matchers in specified tree
 	 */
 	public List<TreeItem> getTreeItems(Tree tree, Matcher<TreeItem>... pathItemMatchers){
-		new WaitUntil(new TreeHasChildren(tree));
+		long start = System.nanoTime();
+		new WaitUntil(new TreeHasChildren(tree), PATH_TIMEOUT.getRemaining(start));
 		List<TreeItem> items = TreeHandler.getInstance().getSWTItems(tree);
-		return getTreeItems(items, pathItemMatchers);
+		return getTreeItems(items, start, pathItemMatchers);
 	}
 
 	/**
@@ -116,11 +127,19 @@ public class TreeItemLookup {
 	 * @return tree items matching specified matchers in specified tree item
 	 */
 	public List<TreeItem> getTreeItems(TreeItem treeItem, Matcher<TreeItem>... pathItemMatchers){
-		List<TreeItem> items = TreeItemHandler.getInstance().getChildrenItems(treeItem);
-		return getTreeItems(items, pathItemMatchers);
+		long start = System.nanoTime();
+		List<TreeItem> items = getChildItems(treeItem, start);
+		return getTreeItems(items, start, pathItemMatchers);
 	}
 	
-	private List<TreeItem> getTreeItems(List<TreeItem> items, Matcher<TreeItem>... pathItemMatchers) {
+	/**
+	 * Resolves path level by level. Only items matching the matcher of the
+	 * current level are expanded and all levels share one time period for
+	 * waiting for children. If none of matching items has children, e.g. because
+	 * children are still being populated after a refresh, it is waited for any of
+	 * them to get children.
+	 */
+	private List<TreeItem> getTreeItems(List<TreeItem> items, long start, Matcher<TreeItem>... pathItemMatchers) {
 		if (pathItemMatchers.length == 0){
 			return items;
 		}
@@ -136,19 +155,85 @@ public class TreeItemLookup {
 				return matchingItems;
 			}
 
-			items = getChildItems(matchingItems);
+			items = getChildItems(matchingItems, start);
+			if (items.isEmpty()) {
+				new WaitUntil(new AnyTreeItemHasChildren(matchingItems), PATH_TIMEOUT.getRemaining(start), false);
+				items = getChildItems(matchingItems, start);
+			}
 		}
 		
 		throw new IllegalStateException("It should never get here. This is probably flaw in lookup algoritnus");
 	}
-		
-	private List<TreeItem> getChildItems(List<TreeItem> parentItems) {
-		List<TreeItem> children = new ArrayList<TreeItem>();
-		for (TreeItem parentItem : parentItems){
-			new WaitUntil(new TreeItemHasChildren(parentItem), TimePeriod.DEFAULT, false);	
-			children.addAll(TreeItemHandler.getInstance().getChildrenItems(parentItem));
+
+	private List<TreeItem> getChildItems(List<TreeItem> parentItems, long start) {
+		List<TreeItem> items = new ArrayList<TreeItem>();
+		for (TreeItem parentItem : parentItems) {
+			items.addAll(getChildItems(parentItem, start));
 		}
-		return children;
+		return items;
+	}
+
+	/**
+	 * Gets children of the tree item. Items without children are leaves and
+	 * they are neither expanded nor waited for. Other items are expanded and
+	 * children are waited for only within the remaining part of the path time
+	 * period.
+	 */
+	private List<TreeItem> getChildItems(final TreeItem parentItem, long start) {
+		ChildrenState state = getChildrenState(parentItem);
+		if (state == ChildrenState.NONE) {
+			return new ArrayList<TreeItem>();
+		}
+		if (state != ChildrenState.POPULATED || !TreeItemHandler.getInstance().isExpanded(parentItem)) {
+			TimePeriod remaining = PATH_TIMEOUT.getRemaining(start);
+			try {
+				TreeItemHandler.getInstance().expand(parentItem,
+						remaining.getNanoseconds() < TimePeriod.SHORT.getNanoseconds() ? remaining : TimePeriod.SHORT);
+			} catch (WaitTimeoutExpiredException e) {
+				log.debug("Tree item was not expanded in time, using its current children");
+			}
+			new WaitUntil(new TreeItemIsPopulated(parentItem), PATH_TIMEOUT.getRemaining(start), false);
+		}
+		return Display.syncExec(new ResultRunnable<List<TreeItem>>() {
+			@Override
+			public List<TreeItem> run() {
+				return Arrays.asList(parentItem.getItems());
+			}
+		});
+	}
+
+	private enum ChildrenState {
+		/** Item has no children, it is a leaf. */
+		NONE,
+		/** Item has only placeholder children, e.g. not yet expanded JFace tree item. */
+		PLACEHOLDER,
+		/** Item has real children. */
+		POPULATED
+	}
+
+	/**
+	 * Gets state of children of the tree item. Only the first child is checked,
+	 * children created by JFace viewers for items not expanded yet are replaced
+	 * by a single placeholder without data. Getting text of an item of a virtual
+	 * tree sends SWT.SetData event, so the first child of a virtual tree is
+	 * populated by the check itself while the other children stay virtual.
+	 */
+	private ChildrenState getChildrenState(final TreeItem item) {
+		return Display.syncExec(new ResultRunnable<ChildrenState>() {
+			@Override
+			public ChildrenState run() {
+				if (item.isDisposed() || item.getItemCount() == 0) {
+					return ChildrenState.NONE;
+				}
+				TreeItem child = item.getItem(0);
+				// sends SetData to a virtual item
+				child.getText();
+				if (item.getData() != null && child.getData() == null) {
+					return ChildrenState.PLACEHOLDER;
+				}
+				return ChildrenState.POPULATED;
+			}
+		});
 	}
 
 	private List<TreeItem> getMatchingTreeItems(List<TreeItem> items, Matcher<TreeItem> matcher){
@@ -197,6 +282,60 @@ public class TreeItemLookup {
 		}
 	}
 	
+	/**
+	 * Condition is met when tree item has real children or no children at all.
+	 */
+	private class TreeItemIsPopulated extends AbstractWaitCondition {
+
+		private final TreeItem treeItem;
+
+		private TreeItemIsPopulated(TreeItem treeItem) {
+			this.treeItem = treeItem;
+		}
+
+		@Override
+		public boolean test() {
+			return getChildrenState(treeItem) != ChildrenState.PLACEHOLDER;
+		}
+
+		@Override
+		public String description() {
+			return "children of tree item " + TreeItemHandler.getInstance().getText(treeItem, 0) + " are populated";
+		}
+	}
+
+	/**
+	 * Condition is met when any of tree items has at least one child.
+	 */
+	private class AnyTreeItemHasChildren extends AbstractWaitCondition {
+
+		private final List<TreeItem> treeItems;
+
+		private AnyTreeItemHasChildren(List<TreeItem> treeItems) {
+			this.treeItems = treeItems;
+		}
+
+		@Override
+		public boolean test() {
+			return Display.syncExec(new ResultRunnable<Boolean>() {
+				@Override
+				public Boolean run() {
+					for (TreeItem treeItem : treeItems) {
+						if (!treeItem.isDisposed() && treeItem.getItemCount() > 0) {
+							return true;
+						}
+					}
+					return false;
+				}
+			});
+		}
+
+		@Override
+		public String description() {
+			return "any of " + treeItems.size() + " matching tree items has children";
+		}
+	}
+
 	/**
 	 * Condition is met when tree item has at least one child. 
 	 * 
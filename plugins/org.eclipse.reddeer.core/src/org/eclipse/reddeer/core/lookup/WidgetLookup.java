@@ -16,7 +16,6 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.ListIterator;
 
-import org.eclipse.swt.SWTException;
 import org.eclipse.swt.custom.CLabel;
 import org.eclipse.swt.layout.FormData;
 import org.eclipse.swt.widgets.Control;
@@ -43,6 +42,8 @@ import org.eclipse.reddeer.core.handler.ShellHandler;
 import org.eclipse.reddeer.core.matcher.ClassMatcher;
 import org.eclipse.reddeer.core.reference.ReferencedComposite;
 import org.eclipse.reddeer.core.resolver.WidgetResolver;
+import org.eclipse.reddeer.core.traversal.ChildResolver;
+import org.eclipse.reddeer.core.traversal.TreeTraversal;
 import org.eclipse.reddeer.core.util.DiagnosticTool;
 import org.eclipse.reddeer.workbench.core.lookup.WorkbenchPartLookup;
 
@@ -56,6 +57,8 @@ public class WidgetLookup {
 
 	private static WidgetLookup instance = null;
 	private static final Logger logger = Logger.getLogger(WidgetLookup.class);
+	private static final TreeTraversal<Widget> WIDGET_TREE = new TreeTraversal<Widget>(new VisibleWidgetResolver());
+	private static final TreeTraversal<Widget> WIDGET = new TreeTraversal<Widget>(new VisibleWidgetResolver(), 0, false);
 
 	private WidgetLookup() {
 	}
@@ -301,23 +304,7 @@ public class WidgetLookup {
 
 	private <T extends Widget> T findControl(final Widget parentWidget, 
 			final Matcher<T> matcher, final boolean recursive, final int index) {
-		return findControlUI(parentWidget, matcher, recursive, new Index(index));
-	}
-
-	private static class Index {
-		private int value;
-
-		public Index(int index) {
-			value = index;
-		}
-
-		public boolean isFirst() {
-			return value <= 0;
-		}
-
-		public void passed() {
-			value--;
-		}
+		return findControlUI(parentWidget, matcher, recursive, index);
 	}
 
 	/**
@@ -339,131 +326,63 @@ public class WidgetLookup {
 
 	/**
 	 * Gets list of children control widgets located within specified 
-	 * parent widget matching specified matcher.
+	 * parent widget matching specified matcher. Whole widget tree is traversed
+	 * in a single UI thread call, invisible widgets and their children are skipped.
 	 * 
 	 * @param parentWidget parent widget
 	 * @param matcher matcher to match widgets
 	 * @param recursive true for recursive search, false otherwise
 	 * @return children control widget matching specified matcher
 	 */
-	@SuppressWarnings("unchecked")
 	private <T extends Widget> List<T> findControlsUI(final Widget parentWidget, final Matcher<T> matcher, final boolean recursive) {
-
-		if ((parentWidget == null) || parentWidget.isDisposed())
-			return new ArrayList<T>();
-
-
-		if (!visible(parentWidget)) {
+		if (parentWidget == null || parentWidget.isDisposed()) {
 			return new ArrayList<T>();
 		}
+		return Display.syncExec(new ResultRunnable<List<T>>() {
 
-		LinkedHashSet<T> controls = new LinkedHashSet<T>();
-
-		if (matcher.matches(parentWidget) && !controls.contains(parentWidget))
-			try {
-				controls.add((T) parentWidget);
-			} catch (ClassCastException exception) {
-				throw new IllegalArgumentException("The specified matcher should only match against is declared type.", exception);
+			@Override
+			public List<T> run() {
+				List<T> controls = getTraversal(recursive).findAll(parentWidget, matcher);
+				// widget resolver can return the same widget for more parents
+				return new ArrayList<T>(new LinkedHashSet<T>(controls));
 			}
-		if (recursive) {
-			List<Widget> children = Display.syncExec(new ResultRunnable<List<Widget>>() {
-
-				@Override
-				public List<Widget> run() {
-					List<Widget> children = null;
-					try{
-						children = WidgetResolver.getInstance().getChildren(parentWidget);
-					} catch (SWTException e) {
-						if(!parentWidget.isDisposed()){
-							throw e;
-						}
-						//otherwise ok, parentWidget is disposed so it has no children
-					}
-					return children;
-				}
-			});
-			controls.addAll(findControlsUI(children, matcher, recursive));
-		}
-		return new ArrayList<T>(controls);
+		});
 	}
 
-	@SuppressWarnings("unchecked")
-	private <T extends Widget> T findControlUI(final Widget parentWidget, final Matcher<T> matcher, final boolean recursive, Index index) {
-		if ((parentWidget == null) || parentWidget.isDisposed() || !visible(parentWidget)) {
+	private <T extends Widget> T findControlUI(final Widget parentWidget, final Matcher<T> matcher, final boolean recursive, final int index) {
+		if (parentWidget == null || parentWidget.isDisposed()) {
 			return null;
 		}
+		return Display.syncExec(new ResultRunnable<T>() {
 
-		if (matcher.matches(parentWidget))
-			try {
-				T control = (T) parentWidget;
-				if(index.isFirst()) {
-					return control;
-				} else {
-					index.passed();
-				}
-			} catch (ClassCastException exception) {
-				throw new IllegalArgumentException("The specified matcher should only match against is declared type.", exception);
+			@Override
+			public T run() {
+				return getTraversal(recursive).find(parentWidget, matcher, index);
 			}
-		if (recursive) {
-			List<Widget> children = Display.syncExec(new ResultRunnable<List<Widget>>() {
+		});
+	}
 
-				@Override
-				public List<Widget> run() {
-					return WidgetResolver.getInstance().getChildren(parentWidget);
-				}
-			});
-			return findControlUI(children, matcher, recursive, index);
-		}
-		return null;
+	private static TreeTraversal<Widget> getTraversal(boolean recursive) {
+		return recursive ? WIDGET_TREE : WIDGET;
 	}
 
 	/**
-	 * Gets list of children control widgets matching specified matcher from specified list of widgets. Method
-	 * can be used recursively to get all children in descendants.
+	 * Resolves children of visible widgets. Invisible or disposed widgets are
+	 * not traversed.
 	 * 
 	 * Note: Must be used in UI Thread
-	 * 
-	 * @param widgets list of widgets to get children from
-	 * @param matcher matcher to match widgets
-	 * @param recursive true for recursive search, false otherwise
-	 * @return list of children widgets of widgets from specified list
 	 */
-	private <T extends Widget> List<T> findControlsUI(final List<Widget> widgets, final Matcher<T> matcher, final boolean recursive) {
-		LinkedHashSet<T> list = new LinkedHashSet<T>();
-		for (Widget w : widgets) {
-			list.addAll(findControlsUI(w, matcher, recursive));
-		}
-		return new ArrayList<T>(list);
-	}
+	private static class VisibleWidgetResolver implements ChildResolver<Widget> {
 
-	private <T extends Widget> T findControlUI(final List<Widget> widgets, final Matcher<T> matcher, final boolean recursive, Index index) {
-		for (Widget w : widgets) {
-			T control = findControlUI(w, matcher, recursive, index);
-			if(control != null) {
-				return control;
-			}
+		@Override
+		public List<? extends Widget> getChildren(Widget widget) {
+			return WidgetResolver.getInstance().getChildren(widget);
 		}
-		return null;
-	}
 
-	/**
-	 * Finds out whether widget is visible or not.
-	 * 
-	 * @param w widget to resolve
-	 * @return true if widget is visible, false otherwise
-	 */
-	private boolean visible(final Widget w) {
-		if (w.isDisposed()) {
-			return false;
+		@Override
+		public boolean isTraversable(Widget widget) {
+			return !widget.isDisposed() && !((widget instanceof Control) && !((Control) widget).getVisible());
 		}
-		
-		return Display.syncExec(new ResultRunnable<Boolean>() {
-
-			@Override
-			public Boolean run() {
-				return !((w instanceof Control) && !((Control) w).getVisible());
-			}
-		});
 	}
 
 	private String createMatcherDebugMsg(Matcher<?>[] matchers) {
@@ -0,0 +1,41 @@
+/*******************************************************************************
+ * Copyright (c) 2017 Red Hat, Inc and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.reddeer.core.traversal;
+
+import java.util.List;
+
+/**
+ * Resolves children of nodes of a tree traversed by {@link TreeTraversal}.
+ *
+ * @param <T> type of tree nodes
+ * @since 2.0
+ */
+public interface ChildResolver<T> {
+
+	/**
+	 * Gets children of the node.
+	 *
+	 * @param node tree node
+	 * @return children of the node, may be null or empty
+	 */
+	List<? extends T> getChildren(T node);
+
+	/**
+	 * Finds out whether the node and its subtree should be traversed. Nodes
+	 * which are not traversable are neither matched nor descended into.
+	 *
+	 * @param node tree node, never null
+	 * @return true if the node should be traversed, true by default
+	 */
+	default boolean isTraversable(T node) {
+		return true;
+	}
+}
@@ -0,0 +1,241 @@
+/*******************************************************************************
+ * Copyright (c) 2017 Red Hat, Inc and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.reddeer.core.traversal;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+import org.hamcrest.Matcher;
+
+/**
+ * Iterative depth-first traversal of a tree. Children of nodes are resolved by
+ * {@link ChildResolver}, so the same traversal is used for widgets, edit parts,
+ * figures or any other tree. Nodes are visited in pre-order. Traversal uses a
+ * stack which is reused by subsequent traversals in the same thread and it can
+ * be terminated early, e.g. when a node with the requested index is found.<br>
+ * Traversal itself does not switch threads. Callers traversing UI trees are
+ * supposed to run the whole traversal in a single UI thread call.
+ *
+ * @param <T> type of tree nodes
+ * @since 2.0
+ */
+public class TreeTraversal<T> {
+
+	/** Maximal depth meaning that the whole tree is traversed. */
+	public static final int UNLIMITED_DEPTH = Integer.MAX_VALUE;
+
+	// larger stacks are not kept for reuse
+	private static final int MAX_RETAINED_CAPACITY = 4096;
+
+	private static final ThreadLocal<NodeStack> STACKS = new ThreadLocal<NodeStack>() {
+		@Override
+		protected NodeStack initialValue() {
+			return new NodeStack();
+		}
+	};
+
+	private final ChildResolver<T> resolver;
+
+	private final int maxDepth;
+
+	private final boolean reverseChildOrder;
+
+	/**
+	 * Creates a new traversal of whole trees visiting children in their order.
+	 *
+	 * @param resolver resolver of children
+	 */
+	public TreeTraversal(ChildResolver<T> resolver) {
+		this(resolver, UNLIMITED_DEPTH, false);
+	}
+
+	/**
+	 * Creates a new traversal.
+	 *
+	 * @param resolver resolver of children
+	 * @param maxDepth maximal depth of visited nodes, 0 visits only the root
+	 * @param reverseChildOrder true to visit children of a node from the last one
+	 */
+	public TreeTraversal(ChildResolver<T> resolver, int maxDepth, boolean reverseChildOrder) {
+		if (maxDepth < 0) {
+			throw new IllegalArgumentException("Maximal depth cannot be negative");
+		}
+		this.resolver = resolver;
+		this.maxDepth = maxDepth;
+		this.reverseChildOrder = reverseChildOrder;
+	}
+
+	/**
+	 * Traverses the tree. Null nodes and nodes which are not traversable are
+	 * skipped.
+	 *
+	 * @param root root of the tree
+	 * @param visitor visitor of nodes
+	 * @return true if the whole tree was traversed, false if the visitor terminated the traversal
+	 */
+	@SuppressWarnings("unchecked")
+	public boolean traverse(T root, TreeVisitor<? super T> visitor) {
+		NodeStack stack = acquireStack();
+		try {
+			stack.push(root, 0);
+			while (!stack.isEmpty()) {
+				int depth = stack.peekDepth();
+				T node = (T) stack.pop();
+				if (node == null || !resolver.isTraversable(node)) {
+					continue;
+				}
+				if (!visitor.visit(node, depth)) {
+					return false;
+				}
+				if (depth < maxDepth) {
+					pushChildren(stack, resolver.getChildren(node), depth + 1);
+				}
+			}
+			return true;
+		} finally {
+			releaseStack(stack);
+		}
+	}
+
+	/**
+	 * Finds all nodes matching the matcher.
+	 *
+	 * @param <R> type of matching nodes
+	 * @param root root of the tree
+	 * @param matcher node matcher
+	 * @return matching nodes in traversal order
+	 */
+	@SuppressWarnings("unchecked")
+	public <R extends T> List<R> findAll(T root, final Matcher<?> matcher) {
+		final List<R> found = new ArrayList<R>();
+		traverse(root, new TreeVisitor<T>() {
+			@Override
+			public boolean visit(T node, int depth) {
+				if (matcher.matches(node)) {
+					found.add((R) node);
+				}
+				return true;
+			}
+		});
+		return found;
+	}
+
+	/**
+	 * Finds node matching the matcher with the specified index among all
+	 * matching nodes. Traversal terminates as soon as the node is found.
+	 *
+	 * @param <R> type of matching node
+	 * @param root root of the tree
+	 * @param matcher node matcher
+	 * @param index index of matching node in traversal order
+	 * @return matching node or null if there is no such node
+	 */
+	@SuppressWarnings("unchecked")
+	public <R extends T> R find(T root, final Matcher<?> matcher, final int index) {
+		final Object[] found = new Object[1];
+		traverse(root, new TreeVisitor<T>() {
+
+			private int remaining = index;
+
+			@Override
+			public boolean visit(T node, int depth) {
+				if (matcher.matches(node) && remaining-- <= 0) {
+					found[0] = node;
+					return false;
+				}
+				return true;
+			}
+		});
+		return (R) found[0];
+	}
+
+	private void pushChildren(NodeStack stack, List<? extends T> children, int depth) {
+		if (children == null || children.isEmpty()) {
+			return;
+		}
+		List<? extends T> list = children instanceof RandomAccess ? children : new ArrayList<T>(children);
+		int size = list.size();
+		// stack is LIFO, children are pushed in opposite order than they are visited
+		if (reverseChildOrder) {
+			for (int i = 0; i < size; i++) {
+				stack.push(list.get(i), depth);
+			}
+		} else {
+			for (int i = size - 1; i >= 0; i--) {
+				stack.push(list.get(i), depth);
+			}
+		}
+	}
+
+	private static NodeStack acquireStack() {
+		NodeStack stack = STACKS.get();
+		if (stack.inUse) {
+			// nested traversal in the same thread, e.g. from a matcher
+			stack = new NodeStack();
+		}
+		stack.inUse = true;
+		return stack;
+	}
+
+	private static void releaseStack(NodeStack stack) {
+		stack.clear();
+		stack.inUse = false;
+		if (stack.nodes.length > MAX_RETAINED_CAPACITY && STACKS.get() == stack) {
+			STACKS.remove();
+		}
+	}
+
+	/**
+	 * Array based stack of nodes and their depths.
+	 */
+	private static class NodeStack {
+
+		private Object[] nodes = new Object[64];
+
+		private int[] depths = new int[64];
+
+		private int size;
+
+		private boolean inUse;
+
+		private void push(Object node, int depth) {
+			if (size == nodes.length) {
+				nodes = Arrays.copyOf(nodes, size * 2);
+				depths = Arrays.copyOf(depths, size * 2);
+			}
+			nodes[size] = node;
+			depths[size] = depth;
+			size++;
+		}
+
+		private boolean isEmpty() {
+			return size == 0;
+		}
+
+		private int peekDepth() {
+			return depths[size - 1];
+		}
+
+		private Object pop() {
+			Object node = nodes[--size];
+			nodes[size] = null;
+			return node;
+		}
+
+		private void clear() {
+			// nodes are released so the stack does not keep widgets alive
+			Arrays.fill(nodes, 0, size, null);
+			size = 0;
+		}
+	}
+}
@@ -0,0 +1,29 @@
+/*******************************************************************************
+ * Copyright (c) 2017 Red Hat, Inc and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.reddeer.core.traversal;
+
+/**
+ * Visitor of nodes of a tree traversed by {@link TreeTraversal}.
+ *
+ * @param <T> type of tree nodes
+ * @since 2.0
+ */
+public interface TreeVisitor<T> {
+
+	/**
+	 * Visits the node.
+	 *
+	 * @param node visited node
+	 * @param depth depth of the node, root has depth 0
+	 * @return true to continue the traversal, false to terminate it
+	 */
+	boolean visit(T node, int depth);
+}
@@ -10,6 +10,9 @@
  *******************************************************************************/
 package org.eclipse.reddeer.core.util;
 
+import java.util.Arrays;
+import java.util.List;
+
 import org.eclipse.swt.widgets.Composite;
 import org.eclipse.swt.widgets.Control;
 import org.eclipse.swt.widgets.Shell;
@@ -19,6 +22,9 @@ import org.eclipse.reddeer.core.handler.ControlHandler;
 import org.eclipse.reddeer.core.handler.ShellHandler;
 import org.eclipse.reddeer.core.lookup.ShellLookup;
 import org.eclipse.reddeer.core.lookup.WidgetLookup;
+import org.eclipse.reddeer.core.traversal.ChildResolver;
+import org.eclipse.reddeer.core.traversal.TreeTraversal;
+import org.eclipse.reddeer.core.traversal.TreeVisitor;
 
 /**
  * A diagnostic tool which can be used for getting information about available
@@ -32,6 +38,8 @@ public class DiagnosticTool {
 	public static final String DEFAULT_LINE_DELIMITER = "\n";
 	public static final String DEFAULT_INDENT = "\t";
 
+	private static final TreeTraversal<Control> CONTROL_TREE = new TreeTraversal<Control>(new ControlChildResolver());
+
 	private int initialIndentation;
 	private String indentation;
 	private String lineDelimiter;
@@ -102,21 +110,45 @@ public class DiagnosticTool {
 	 *            Depth in the widget tree; used for indentation
 	 * @return information about all available widgets in the parent
 	 */
-	private String getDiagnosticInformation(Control parent, int depth) {
-		StringBuffer result = new StringBuffer();
+	private String getDiagnosticInformation(Control parent, final int depth) {
+		final StringBuffer result = new StringBuffer();
+		if (parent == null) {
+			appendWidgetInformation(result, null, depth);
+			return result.toString();
+		}
+		CONTROL_TREE.traverse(parent, new TreeVisitor<Control>() {
+
+			@Override
+			public boolean visit(Control control, int controlDepth) {
+				appendWidgetInformation(result, control, depth + controlDepth);
+				return true;
+			}
+		});
+		return result.toString();
+	}
+
+	private void appendWidgetInformation(StringBuffer result, Control control, int depth) {
 		for (int i = 0; i < depth; i++) {
 			result.append(indentation);
 		}
-		result.append(getWidgetInformation(parent)).append(lineDelimiter);
-		if (parent instanceof Composite) {
-			Composite composite = (Composite) parent;
-			if (composite != null && !composite.isDisposed() && composite.getChildren() != null){
-				for (Control child : composite.getChildren()) {
-					result.append(getDiagnosticInformation(child, depth + 1));
+		result.append(getWidgetInformation(control)).append(lineDelimiter);
+	}
+
+	/**
+	 * Resolves children of composites.
+	 */
+	private static class ControlChildResolver implements ChildResolver<Control> {
+
+		@Override
+		public List<Control> getChildren(Control control) {
+			if (control instanceof Composite && !control.isDisposed()) {
+				Control[] children = ((Composite) control).getChildren();
+				if (children != null) {
+					return Arrays.asList(children);
 				}
 			}
+			return null;
 		}
-		return result.toString();
 	}
 
 	/**
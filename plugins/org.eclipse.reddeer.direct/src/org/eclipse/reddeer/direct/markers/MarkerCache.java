@@ -0,0 +1,174 @@
+/*******************************************************************************
+ * Copyright (c) 2017 Red Hat, Inc and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.reddeer.direct.markers;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.core.resources.IMarker;
+import org.eclipse.core.resources.IMarkerDelta;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceChangeListener;
+import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.resources.IWorkspace;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.reddeer.common.exception.RedDeerException;
+
+/**
+ * Cache of all workspace markers. Cache is loaded once and then it is kept up
+ * to date by marker deltas of resource change events.
+ * 
+ * @since 2.0
+ */
+class MarkerCache implements IResourceChangeListener {
+
+	private static MarkerCache instance;
+
+	// marker ids are unique within the workspace
+	private final Map<Long, IMarker> markers = new LinkedHashMap<>();
+
+	private long version;
+
+	private MarkerCache() {
+		super();
+	}
+
+	/**
+	 * Gets cache of workspace markers. Cache is created and starts tracking
+	 * marker changes on the first call.
+	 * 
+	 * @return marker cache
+	 */
+	static synchronized MarkerCache getInstance() {
+		if (instance == null) {
+			MarkerCache cache = new MarkerCache();
+			IWorkspace workspace = ResourcesPlugin.getWorkspace();
+			// listen first so no change is missed while the cache is loaded
+			workspace.addResourceChangeListener(cache, IResourceChangeEvent.POST_CHANGE);
+			try {
+				cache.load(workspace);
+			} catch (RedDeerException e) {
+				workspace.removeResourceChangeListener(cache);
+				throw e;
+			}
+			instance = cache;
+		}
+		return instance;
+	}
+
+	/**
+	 * Stops tracking marker changes and discards the cache.
+	 */
+	static synchronized void dispose() {
+		if (instance != null) {
+			ResourcesPlugin.getWorkspace().removeResourceChangeListener(instance);
+			instance = null;
+		}
+	}
+
+	private void load(IWorkspace workspace) {
+		IMarker[] found;
+		try {
+			found = workspace.getRoot().findMarkers(null, true, IResource.DEPTH_INFINITE);
+		} catch (CoreException e) {
+			throw new RedDeerException("Cannot get markers of the workspace", e);
+		}
+		synchronized (this) {
+			for (IMarker marker : found) {
+				markers.put(marker.getId(), marker);
+			}
+			version++;
+		}
+	}
+
+	@Override
+	public void resourceChanged(IResourceChangeEvent event) {
+		IMarkerDelta[] deltas = event.findMarkerDeltas(null, true);
+		if (deltas.length == 0) {
+			return;
+		}
+		synchronized (this) {
+			for (IMarkerDelta delta : deltas) {
+				switch (delta.getKind()) {
+				case IResourceDelta.ADDED:
+					markers.put(delta.getId(), delta.getMarker());
+					break;
+				case IResourceDelta.REMOVED:
+					markers.remove(delta.getId());
+					break;
+				default:
+					// markers are handles, changed attributes are read when the marker is queried
+					break;
+				}
+			}
+			version++;
+			notifyAll();
+		}
+	}
+
+	/**
+	 * Gets counter of marker changes.
+	 * 
+	 * @return version of the cache
+	 */
+	synchronized long getVersion() {
+		return version;
+	}
+
+	/**
+	 * Waits until markers change.
+	 * 
+	 * @param sinceVersion version known by the caller
+	 * @param timeoutMillis maximal time to wait in milliseconds
+	 * @return true if markers changed, false if the timeout expired
+	 */
+	synchronized boolean waitForChange(long sinceVersion, long timeoutMillis) {
+		long deadline = System.nanoTime() + timeoutMillis * 1000000L;
+		while (version == sinceVersion) {
+			long remaining = (deadline - System.nanoTime()) / 1000000L;
+			if (remaining <= 0) {
+				return false;
+			}
+			try {
+				wait(remaining);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Finds cached markers accepted by the filter.
+	 * 
+	 * @param filter marker filter
+	 * @return accepted markers
+	 */
+	List<IMarker> find(MarkerFilter filter) {
+		List<IMarker> candidates;
+		synchronized (this) {
+			candidates = new ArrayList<>(markers.values());
+		}
+		// attributes are read outside of the lock so resource change notification is not blocked
+		List<IMarker> result = new ArrayList<>();
+		for (IMarker marker : candidates) {
+			if (filter.accept(marker)) {
+				result.add(marker);
+			}
+		}
+		return result;
+	}
+}
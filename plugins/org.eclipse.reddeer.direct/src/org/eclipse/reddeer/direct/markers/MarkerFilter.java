@@ -0,0 +1,169 @@
+/*******************************************************************************
+ * Copyright (c) 2017 Red Hat, Inc and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.reddeer.direct.markers;
+
+import java.util.Arrays;
+
+import org.eclipse.core.resources.IMarker;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.runtime.CoreException;
+
+/**
+ * Filter of workspace markers by marker type, severity and resource. Filter
+ * without any criteria accepts all markers.<br>
+ * Example: <code>new MarkerFilter().ofType(IMarker.PROBLEM).withSeverity(IMarker.SEVERITY_ERROR)</code>
+ * 
+ * @since 2.0
+ */
+public class MarkerFilter {
+
+	private String type;
+	private boolean includeSubtypes = true;
+	private int[] severities;
+	private IResource resource;
+	private int depth = IResource.DEPTH_INFINITE;
+
+	/**
+	 * Accepts only markers of the specified type or its subtypes.
+	 * 
+	 * @param type marker type, e.g. {@link IMarker#PROBLEM}
+	 * @return this filter
+	 */
+	public MarkerFilter ofType(String type) {
+		return ofType(type, true);
+	}
+
+	/**
+	 * Accepts only markers of the specified type.
+	 * 
+	 * @param type marker type, e.g. {@link IMarker#PROBLEM}
+	 * @param includeSubtypes whether markers of subtypes are accepted
+	 * @return this filter
+	 */
+	public MarkerFilter ofType(String type, boolean includeSubtypes) {
+		this.type = type;
+		this.includeSubtypes = includeSubtypes;
+		return this;
+	}
+
+	/**
+	 * Accepts only markers with one of the specified severities.
+	 * 
+	 * @param severities severities, e.g. {@link IMarker#SEVERITY_ERROR}
+	 * @return this filter
+	 */
+	public MarkerFilter withSeverity(int... severities) {
+		this.severities = severities.length == 0 ? null : severities.clone();
+		return this;
+	}
+
+	/**
+	 * Accepts only markers on the specified resource or its members.
+	 * 
+	 * @param resource resource
+	 * @param depth {@link IResource#DEPTH_ZERO}, {@link IResource#DEPTH_ONE}
+	 *            or {@link IResource#DEPTH_INFINITE}
+	 * @return this filter
+	 */
+	public MarkerFilter onResource(IResource resource, int depth) {
+		this.resource = resource;
+		this.depth = depth;
+		return this;
+	}
+
+	/**
+	 * Gets marker type of this filter.
+	 * 
+	 * @return marker type or null if markers of any type are accepted
+	 */
+	public String getType() {
+		return type;
+	}
+
+	/**
+	 * Finds out whether markers of subtypes of the marker type are accepted.
+	 * 
+	 * @return true if subtypes are accepted
+	 */
+	public boolean isIncludeSubtypes() {
+		return includeSubtypes;
+	}
+
+	/**
+	 * Gets resource of this filter.
+	 * 
+	 * @return resource or null if markers on any resource are accepted
+	 */
+	public IResource getResource() {
+		return resource;
+	}
+
+	/**
+	 * Gets depth of resource members accepted by this filter.
+	 * 
+	 * @return depth
+	 */
+	public int getDepth() {
+		return depth;
+	}
+
+	/**
+	 * Finds out whether the marker is accepted by this filter.
+	 * 
+	 * @param marker marker
+	 * @return true if marker is accepted, false otherwise or if the marker does not exist
+	 */
+	public boolean accept(IMarker marker) {
+		if (!marker.exists()) {
+			return false;
+		}
+		if (resource != null && !isOnResource(marker.getResource())) {
+			return false;
+		}
+		if (severities != null) {
+			int severity = marker.getAttribute(IMarker.SEVERITY, -1);
+			boolean found = false;
+			for (int s : severities) {
+				found |= s == severity;
+			}
+			if (!found) {
+				return false;
+			}
+		}
+		if (type != null) {
+			try {
+				return includeSubtypes ? marker.isSubtypeOf(type) : type.equals(marker.getType());
+			} catch (CoreException e) {
+				// marker was deleted meanwhile
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private boolean isOnResource(IResource markerResource) {
+		if (resource.equals(markerResource)) {
+			return true;
+		}
+		if (depth == IResource.DEPTH_ZERO || !resource.getFullPath().isPrefixOf(markerResource.getFullPath())) {
+			return false;
+		}
+		return depth == IResource.DEPTH_INFINITE
+				|| markerResource.getFullPath().segmentCount() == resource.getFullPath().segmentCount() + 1;
+	}
+
+	@Override
+	public String toString() {
+		return "markers" + (type == null ? "" : " of type " + type + (includeSubtypes ? " and subtypes" : ""))
+				+ (severities == null ? "" : " with severity " + Arrays.toString(severities))
+				+ (resource == null ? "" : " on " + resource.getFullPath());
+	}
+}
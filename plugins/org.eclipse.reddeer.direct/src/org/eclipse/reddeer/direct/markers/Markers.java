@@ -0,0 +1,104 @@
+/*******************************************************************************
+ * Copyright (c) 2017 Red Hat, Inc and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.reddeer.direct.markers;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.core.resources.IMarker;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.reddeer.common.exception.RedDeerException;
+
+/**
+ * Queries workspace markers via Eclipse API without any UI. The first query
+ * loads all workspace markers and starts tracking marker changes by a resource
+ * change listener, subsequent queries are answered from the cache.
+ * 
+ * @since 2.0
+ */
+public class Markers {
+
+	/**
+	 * Finds markers accepted by the filter.
+	 * 
+	 * @param filter marker filter
+	 * @return accepted markers
+	 */
+	public static List<IMarker> find(MarkerFilter filter) {
+		return MarkerCache.getInstance().find(filter);
+	}
+
+	/**
+	 * Counts markers accepted by the filter.
+	 * 
+	 * @param filter marker filter
+	 * @return number of accepted markers
+	 */
+	public static int count(MarkerFilter filter) {
+		return find(filter).size();
+	}
+
+	/**
+	 * Finds markers accepted by the filter directly in the workspace without
+	 * using the cache.
+	 * 
+	 * @param filter marker filter
+	 * @return accepted markers
+	 */
+	public static List<IMarker> findUncached(MarkerFilter filter) {
+		IResource resource = filter.getResource() == null ? ResourcesPlugin.getWorkspace().getRoot()
+				: filter.getResource();
+		IMarker[] found;
+		try {
+			found = resource.findMarkers(filter.getType(), filter.isIncludeSubtypes(), filter.getDepth());
+		} catch (CoreException e) {
+			throw new RedDeerException("Cannot get " + filter, e);
+		}
+		List<IMarker> result = new ArrayList<>();
+		for (IMarker marker : found) {
+			if (filter.accept(marker)) {
+				result.add(marker);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Gets counter of marker changes. Counter changes whenever any marker in the
+	 * workspace is added, removed or changed, so pollers can skip queries while
+	 * it does not change.
+	 * 
+	 * @return version of workspace markers
+	 */
+	public static long getVersion() {
+		return MarkerCache.getInstance().getVersion();
+	}
+
+	/**
+	 * Waits until any marker in the workspace changes.
+	 * 
+	 * @param sinceVersion version returned by {@link #getVersion()}
+	 * @param timeoutMillis maximal time to wait in milliseconds
+	 * @return true if markers changed, false if the timeout expired
+	 */
+	public static boolean waitForChange(long sinceVersion, long timeoutMillis) {
+		return MarkerCache.getInstance().waitForChange(sinceVersion, timeoutMillis);
+	}
+
+	/**
+	 * Stops tracking marker changes. Next query loads markers again.
+	 */
+	public static void stopTracking() {
+		MarkerCache.dispose();
+	}
+}
@@ -36,8 +36,27 @@ public class Preferences {
 	 *         it doesn't exist
 	 */
 	public static String get(String plugin, String key) {
-		IEclipsePreferences prefs = InstanceScope.INSTANCE.getNode(plugin);
-		return prefs.get(key, getDefault(plugin, key));
+		String value = PreferencesCache.get(plugin, key);
+		return value != null ? value : getDefault(plugin, key);
+	}
+
+	/**
+	 * Decides whether plugin/key has the given value. Instance values are read
+	 * from a cache kept up to date by preference change events, so the check is
+	 * cheap enough to be done before every test.
+	 * 
+	 * @param plugin
+	 *            plugin name
+	 * @param key
+	 *            key
+	 * @param value
+	 *            expected value
+	 * @return true if value of plugin/key or its default value equals the
+	 *         given value, false otherwise
+	 */
+	public static boolean isSet(String plugin, String key, String value) {
+		String current = get(plugin, key);
+		return value == null ? current == null : value.equals(current);
 	}
 
 	/**
@@ -0,0 +1,144 @@
+/*******************************************************************************
+ * Copyright (c) 2017 Red Hat, Inc and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.reddeer.direct.preferences;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.core.runtime.Platform;
+import org.eclipse.core.runtime.preferences.IEclipsePreferences;
+import org.eclipse.core.runtime.preferences.IEclipsePreferences.INodeChangeListener;
+import org.eclipse.core.runtime.preferences.IEclipsePreferences.IPreferenceChangeListener;
+import org.eclipse.core.runtime.preferences.IEclipsePreferences.NodeChangeEvent;
+import org.eclipse.core.runtime.preferences.IEclipsePreferences.PreferenceChangeEvent;
+import org.eclipse.core.runtime.preferences.InstanceScope;
+import org.osgi.service.prefs.BackingStoreException;
+
+/**
+ * Read cache of instance preferences. Values of a plugin node are loaded on the
+ * first read and then they are kept up to date by preference change events, so
+ * repeated reads do not access the preference nodes.
+ * 
+ * @since 2.0
+ */
+class PreferencesCache {
+
+	private static final Map<String, NodeCache> nodes = new HashMap<>();
+
+	private static boolean listening;
+
+	private PreferencesCache() {
+		super();
+	}
+
+	/**
+	 * Gets instance value of plugin/key.
+	 * 
+	 * @param plugin plugin name
+	 * @param key key
+	 * @return value or null if it is not set in the instance scope
+	 */
+	static String get(String plugin, String key) {
+		return getNode(plugin).get(key);
+	}
+
+	private static synchronized NodeCache getNode(String plugin) {
+		if (!listening) {
+			// forget nodes removed from the instance scope
+			((IEclipsePreferences) Platform.getPreferencesService().getRootNode().node(InstanceScope.SCOPE))
+					.addNodeChangeListener(new INodeChangeListener() {
+
+						@Override
+						public void added(NodeChangeEvent event) {
+							// loaded on the first read
+						}
+
+						@Override
+						public void removed(NodeChangeEvent event) {
+							synchronized (PreferencesCache.class) {
+								NodeCache node = nodes.remove(event.getChild().name());
+								if (node != null) {
+									node.invalidate();
+								}
+							}
+						}
+					});
+			listening = true;
+		}
+		NodeCache node = nodes.get(plugin);
+		if (node != null && node.isRemoved()) {
+			// nested node (plugin/child) removed without notifying the instance scope root
+			nodes.remove(plugin);
+			node = null;
+		}
+		if (node == null) {
+			node = new NodeCache(InstanceScope.INSTANCE.getNode(plugin));
+			nodes.put(plugin, node);
+		}
+		return node;
+	}
+
+	private static class NodeCache implements IPreferenceChangeListener {
+
+		private final IEclipsePreferences preferences;
+
+		private Map<String, String> values;
+
+		private NodeCache(IEclipsePreferences preferences) {
+			this.preferences = preferences;
+			preferences.addPreferenceChangeListener(this);
+		}
+
+		private synchronized String get(String key) {
+			if (values == null) {
+				load();
+			}
+			return values.get(key);
+		}
+
+		private void load() {
+			values = new HashMap<>();
+			try {
+				for (String key : preferences.keys()) {
+					values.put(key, preferences.get(key, null));
+				}
+			} catch (BackingStoreException | IllegalStateException e) {
+				// node was removed, read it directly next time
+				values = null;
+				throw new RuntimeException("Cannot get keys for plugin '" + preferences.name() + "'", e);
+			}
+		}
+
+		private boolean isRemoved() {
+			try {
+				return !preferences.nodeExists("");
+			} catch (BackingStoreException | IllegalStateException e) {
+				return true;
+			}
+		}
+
+		private synchronized void invalidate() {
+			values = null;
+		}
+
+		@Override
+		public synchronized void preferenceChange(PreferenceChangeEvent event) {
+			if (values == null) {
+				return;
+			}
+			if (event.getNewValue() == null) {
+				values.remove(event.getKey());
+			} else {
+				values.put(event.getKey(), String.valueOf(event.getNewValue()));
+			}
+		}
+	}
+}
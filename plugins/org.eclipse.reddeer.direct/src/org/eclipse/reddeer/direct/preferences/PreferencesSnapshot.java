@@ -0,0 +1,140 @@
+/*******************************************************************************
+ * Copyright (c) 2017 Red Hat, Inc and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.reddeer.direct.preferences;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.core.runtime.Platform;
+import org.eclipse.core.runtime.preferences.IEclipsePreferences;
+import org.eclipse.core.runtime.preferences.InstanceScope;
+import org.osgi.service.prefs.BackingStoreException;
+import org.osgi.service.prefs.Preferences;
+
+/**
+ * Snapshot of whole instance preference nodes of plugins. Restoring the
+ * snapshot sets the recorded values and removes keys added after the snapshot
+ * in a single {@link PreferencesTransaction}. A snapshot of all instance
+ * preferences also covers child nodes of plugin nodes and nodes created after
+ * the snapshot.
+ * 
+ * @since 2.0
+ */
+public class PreferencesSnapshot {
+
+	// plugin (or plugin/child node path) -> key -> value
+	private final Map<String, Map<String, String>> nodes = new LinkedHashMap<>();
+
+	private final boolean all;
+
+	private PreferencesSnapshot(boolean all) {
+		this.all = all;
+	}
+
+	/**
+	 * Captures instance preferences of the plugins.
+	 * 
+	 * @param plugins plugin names
+	 * @return preferences snapshot
+	 */
+	public static PreferencesSnapshot capture(String... plugins) {
+		PreferencesSnapshot snapshot = new PreferencesSnapshot(false);
+		for (String plugin : plugins) {
+			snapshot.captureNode(plugin);
+		}
+		return snapshot;
+	}
+
+	/**
+	 * Captures all instance preferences. Restoring the snapshot also removes
+	 * keys of nodes which were created after the snapshot.
+	 * 
+	 * @return preferences snapshot
+	 */
+	public static PreferencesSnapshot captureAll() {
+		PreferencesSnapshot snapshot = new PreferencesSnapshot(true);
+		for (String node : getNodePaths()) {
+			snapshot.captureNode(node);
+		}
+		return snapshot;
+	}
+
+	private void captureNode(String node) {
+		IEclipsePreferences prefs = InstanceScope.INSTANCE.getNode(node);
+		Map<String, String> values = new HashMap<>();
+		for (String key : getKeys(prefs)) {
+			values.put(key, prefs.get(key, null));
+		}
+		nodes.put(node, values);
+	}
+
+	/**
+	 * Restores instance preferences of the plugins to the snapshot.
+	 * 
+	 * @return number of keys which were changed
+	 */
+	public int restore() {
+		PreferencesTransaction transaction = new PreferencesTransaction();
+		if (all) {
+			for (String node : getNodePaths()) {
+				if (!nodes.containsKey(node)) {
+					for (String key : getKeys(InstanceScope.INSTANCE.getNode(node))) {
+						transaction.remove(node, key);
+					}
+				}
+			}
+		}
+		for (Map.Entry<String, Map<String, String>> node : nodes.entrySet()) {
+			for (String key : getKeys(InstanceScope.INSTANCE.getNode(node.getKey()))) {
+				if (!node.getValue().containsKey(key)) {
+					transaction.remove(node.getKey(), key);
+				}
+			}
+			for (Map.Entry<String, String> value : node.getValue().entrySet()) {
+				transaction.set(node.getKey(), value.getKey(), value.getValue());
+			}
+		}
+		return transaction.commit();
+	}
+
+	/**
+	 * Gets paths of all instance preference nodes relative to the instance scope.
+	 */
+	private static List<String> getNodePaths() {
+		List<String> paths = new ArrayList<>();
+		try {
+			collectNodePaths(Platform.getPreferencesService().getRootNode().node(InstanceScope.SCOPE), null, paths);
+		} catch (BackingStoreException e) {
+			throw new RuntimeException("Cannot get instance preference nodes", e);
+		}
+		return paths;
+	}
+
+	private static void collectNodePaths(Preferences node, String path, List<String> paths)
+			throws BackingStoreException {
+		for (String child : node.childrenNames()) {
+			String childPath = path == null ? child : path + "/" + child;
+			paths.add(childPath);
+			collectNodePaths(node.node(child), childPath, paths);
+		}
+	}
+
+	private static String[] getKeys(IEclipsePreferences prefs) {
+		try {
+			return prefs.keys();
+		} catch (BackingStoreException e) {
+			throw new RuntimeException("Cannot get keys for plugin '" + prefs.name() + "'", e);
+		}
+	}
+}
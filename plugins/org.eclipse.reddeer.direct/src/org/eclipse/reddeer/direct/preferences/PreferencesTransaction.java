@@ -0,0 +1,125 @@
+/*******************************************************************************
+ * Copyright (c) 2017 Red Hat, Inc and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.reddeer.direct.preferences;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.eclipse.core.runtime.preferences.IEclipsePreferences;
+import org.eclipse.core.runtime.preferences.InstanceScope;
+import org.osgi.service.prefs.BackingStoreException;
+
+/**
+ * Transaction of changes of instance preferences. Changes of many keys across
+ * plugins are staged and then applied at once. Keys which already have the
+ * staged value are not written and each changed plugin node is flushed only
+ * once.<br>
+ * Example:<br>
+ * <pre>
+ * {@code new PreferencesTransaction()
+ *     .set("org.eclipse.debug.ui", "Console.limitConsoleOutput", "true")
+ *     .set("org.eclipse.debug.ui", "Console.lowWaterMark", "80000")
+ *     .commit();
+ * }
+ * </pre>
+ * 
+ * @since 2.0
+ */
+public class PreferencesTransaction {
+
+	// plugin -> key -> value, null value removes the key
+	private final Map<String, Map<String, String>> changes = new LinkedHashMap<>();
+
+	/**
+	 * Stages a value of plugin/key.
+	 * 
+	 * @param plugin plugin name
+	 * @param key key
+	 * @param value value, null removes the key
+	 * @return this transaction
+	 */
+	public PreferencesTransaction set(String plugin, String key, String value) {
+		Map<String, String> values = changes.get(plugin);
+		if (values == null) {
+			values = new LinkedHashMap<>();
+			changes.put(plugin, values);
+		}
+		values.put(key, value);
+		return this;
+	}
+
+	/**
+	 * Stages removal of plugin/key, the default value applies then.
+	 * 
+	 * @param plugin plugin name
+	 * @param key key
+	 * @return this transaction
+	 */
+	public PreferencesTransaction remove(String plugin, String key) {
+		return set(plugin, key, null);
+	}
+
+	/**
+	 * Stages the default value of plugin/key.
+	 * 
+	 * @param plugin plugin name
+	 * @param key key
+	 * @return this transaction
+	 */
+	public PreferencesTransaction setDefault(String plugin, String key) {
+		return set(plugin, key, Preferences.getDefault(plugin, key));
+	}
+
+	/**
+	 * Finds out whether there are any staged changes.
+	 * 
+	 * @return true if no change is staged, false otherwise
+	 */
+	public boolean isEmpty() {
+		return changes.isEmpty();
+	}
+
+	/**
+	 * Applies staged changes and flushes changed plugin nodes. Staged changes
+	 * are cleared afterwards.
+	 * 
+	 * @return number of keys which were changed
+	 */
+	public int commit() {
+		int changed = 0;
+		for (Map.Entry<String, Map<String, String>> plugin : changes.entrySet()) {
+			IEclipsePreferences prefs = InstanceScope.INSTANCE.getNode(plugin.getKey());
+			int nodeChanged = 0;
+			for (Map.Entry<String, String> value : plugin.getValue().entrySet()) {
+				String current = PreferencesCache.get(plugin.getKey(), value.getKey());
+				if (value.getValue() == null ? current == null : value.getValue().equals(current)) {
+					continue;
+				}
+				if (value.getValue() == null) {
+					prefs.remove(value.getKey());
+				} else {
+					prefs.put(value.getKey(), value.getValue());
+				}
+				nodeChanged++;
+			}
+			if (nodeChanged > 0) {
+				try {
+					prefs.flush();
+				} catch (BackingStoreException e) {
+					throw new RuntimeException("Cannot store preferences for " + plugin.getKey(), e);
+				}
+				changed += nodeChanged;
+			}
+		}
+		changes.clear();
+		return changed;
+	}
+}
@@ -77,6 +77,9 @@ public class PreferencesUtil {
 	 */
 	public static void setOpenAssociatedPerspective(String value) {
 		oneOf(value, "always", "never", "prompt");
+		if (Preferences.isSet(OPEN_ASSOCIATED_PERSPECTIVE_PLUGIN, OPEN_ASSOCIATED_PERSPECTIVE_KEY, value)) {
+			return;
+		}
 		Preferences.set(OPEN_ASSOCIATED_PERSPECTIVE_PLUGIN, OPEN_ASSOCIATED_PERSPECTIVE_KEY, value);
 	}
 
@@ -113,10 +116,12 @@ public class PreferencesUtil {
 	 * @param size
 	 */
 	public static void setConsoleOutputSize(int size) {
-		setConsoleOutputLimited(true);
-		Preferences.set(CONSOLE_PLUGIN, CONSOLE_LIMIT_OUTPUT_LOW_KEY, String.valueOf(size));
-		// This is how eclipse does it
-		Preferences.set(CONSOLE_PLUGIN, CONSOLE_LIMIT_OUTPUT_HIGH_KEY, String.valueOf(size + 8000));
+		new PreferencesTransaction()
+				.set(CONSOLE_PLUGIN, CONSOLE_LIMIT_OUTPUT_KEY, String.valueOf(true))
+				.set(CONSOLE_PLUGIN, CONSOLE_LIMIT_OUTPUT_LOW_KEY, String.valueOf(size))
+				// This is how eclipse does it
+				.set(CONSOLE_PLUGIN, CONSOLE_LIMIT_OUTPUT_HIGH_KEY, String.valueOf(size + 8000))
+				.commit();
 	}
 
 	/**
@@ -0,0 +1,330 @@
+/*******************************************************************************
+ * Copyright (c) 2017 Red Hat, Inc and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.reddeer.direct.project;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IProjectDescription;
+import org.eclipse.core.resources.IWorkspace;
+import org.eclipse.core.resources.IWorkspaceDescription;
+import org.eclipse.core.resources.IWorkspaceRunnable;
+import org.eclipse.core.resources.IncrementalProjectBuilder;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.reddeer.common.exception.RedDeerException;
+import org.eclipse.reddeer.common.logging.Logger;
+
+/**
+ * Imports projects from prebuilt templates via API. A template is a zip file
+ * or a directory containing either one project (with <i>.project</i> file in
+ * its root) or several projects in its subdirectories. Projects are copied into
+ * the workspace and imported in a single workspace operation with auto building
+ * suspended, then the workspace is built once. If a template cannot be
+ * copied or imported, projects and directories already copied into the
+ * workspace location are deleted.<br>
+ * Templates can contain compiled output (e.g. <i>.class</i> files). Such
+ * templates can be imported without building, then auto building is turned off
+ * and it is left off, otherwise the auto build would do a full build of the
+ * imported projects and clean their compiled output. The caller is responsible
+ * for turning auto building on again.
+ * 
+ * @since 2.0
+ */
+public class ProjectTemplates {
+
+	private static final Logger log = Logger.getLogger(ProjectTemplates.class);
+
+	private static final String PROJECT_FILE = IProjectDescription.DESCRIPTION_FILE_NAME;
+
+	/**
+	 * Imports projects from the template into the workspace and builds the
+	 * workspace.
+	 * 
+	 * @param templatePath path to a zip file or a directory with projects
+	 * @return names of imported projects
+	 */
+	public static List<String> importProjects(String templatePath) {
+		return importProjects(templatePath, true);
+	}
+
+	/**
+	 * Imports projects from the template into the workspace. If the workspace is
+	 * not built, auto building is turned off and it is not turned on again so
+	 * compiled output of the template is used as it is.
+	 * 
+	 * @param templatePath path to a zip file or a directory with projects
+	 * @param build whether the workspace should be built after the import, if
+	 *            false, auto building is left off
+	 * @return names of imported projects
+	 */
+	public static List<String> importProjects(String templatePath, boolean build) {
+		File template = new File(templatePath);
+		if (!template.exists()) {
+			throw new RedDeerException("Project template '" + template.getAbsolutePath() + "' does not exist");
+		}
+		long start = System.currentTimeMillis();
+		IWorkspace workspace = ResourcesPlugin.getWorkspace();
+		Path workspaceLocation = workspace.getRoot().getLocation().toFile().toPath();
+		List<String> projectNames;
+		// project directories created in the workspace location so far
+		List<Path> targets = new ArrayList<>();
+		try {
+			if (template.isDirectory()) {
+				projectNames = copyDirectory(template.toPath(), workspaceLocation, targets);
+			} else {
+				projectNames = unzip(template, workspaceLocation, targets);
+			}
+		} catch (IOException | CoreException e) {
+			deleteDirectories(targets);
+			throw new RedDeerException("Cannot copy project template '" + template.getAbsolutePath() + "'", e);
+		} catch (RuntimeException e) {
+			deleteDirectories(targets);
+			throw e;
+		}
+		if (projectNames.isEmpty()) {
+			throw new RedDeerException("Project template '" + template.getAbsolutePath() + "' contains no project");
+		}
+		try {
+			createProjects(workspace, projectNames, build);
+		} catch (RuntimeException e) {
+			deleteProjects(workspace, projectNames);
+			deleteDirectories(targets);
+			throw e;
+		}
+		log.info("Imported projects " + projectNames + " from template " + template.getAbsolutePath() + " in "
+				+ (System.currentTimeMillis() - start) + " ms");
+		return projectNames;
+	}
+
+	private static void createProjects(final IWorkspace workspace, final List<String> projectNames, boolean build) {
+		IProgressMonitor monitor = new NullProgressMonitor();
+		IWorkspaceDescription description = workspace.getDescription();
+		boolean autoBuilding = description.isAutoBuilding();
+		boolean imported = false;
+		try {
+			if (autoBuilding) {
+				description.setAutoBuilding(false);
+				workspace.setDescription(description);
+			}
+			workspace.run(new IWorkspaceRunnable() {
+
+				@Override
+				public void run(IProgressMonitor monitor) throws CoreException {
+					for (String projectName : projectNames) {
+						IProject project = workspace.getRoot().getProject(projectName);
+						IProjectDescription description = workspace.loadProjectDescription(
+								workspace.getRoot().getLocation().append(projectName).append(PROJECT_FILE));
+						// project lies in the default location
+						description.setLocation(null);
+						project.create(description, monitor);
+						project.open(monitor);
+					}
+				}
+			}, workspace.getRoot(), IWorkspace.AVOID_UPDATE, monitor);
+			if (build) {
+				workspace.build(IncrementalProjectBuilder.INCREMENTAL_BUILD, monitor);
+			}
+			imported = true;
+		} catch (CoreException e) {
+			throw new RedDeerException("Cannot import projects " + projectNames, e);
+		} finally {
+			// turning auto building on would clean compiled output of projects which are not built
+			if (autoBuilding && (build || !imported)) {
+				description.setAutoBuilding(true);
+				try {
+					workspace.setDescription(description);
+				} catch (CoreException e) {
+					log.error("Cannot turn auto building on", e);
+				}
+			}
+		}
+	}
+
+	private static void deleteProjects(IWorkspace workspace, List<String> projectNames) {
+		for (String projectName : projectNames) {
+			IProject project = workspace.getRoot().getProject(projectName);
+			if (!project.exists()) {
+				continue;
+			}
+			try {
+				project.delete(true, true, new NullProgressMonitor());
+			} catch (CoreException e) {
+				log.error("Cannot delete partially imported project " + projectName, e);
+			}
+		}
+	}
+
+	private static List<String> copyDirectory(Path template, Path workspaceLocation, List<Path> targets)
+			throws IOException, CoreException {
+		List<Path> projectDirectories = new ArrayList<>();
+		if (Files.exists(template.resolve(PROJECT_FILE))) {
+			projectDirectories.add(template);
+		} else {
+			File[] children = template.toFile().listFiles();
+			if (children != null) {
+				// deterministic import order
+				Arrays.sort(children);
+				for (File child : children) {
+					if (new File(child, PROJECT_FILE).isFile()) {
+						projectDirectories.add(child.toPath());
+					}
+				}
+			}
+		}
+		List<String> projectNames = new ArrayList<>();
+		for (final Path source : projectDirectories) {
+			String projectName = getProjectName(source.resolve(PROJECT_FILE));
+			final Path target = getTargetDirectory(workspaceLocation, projectName);
+			targets.add(target);
+			Files.walkFileTree(source, new SimpleFileVisitor<Path>() {
+
+				@Override
+				public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+					Files.createDirectories(target.resolve(source.relativize(dir).toString()));
+					return FileVisitResult.CONTINUE;
+				}
+
+				@Override
+				public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+					Path targetFile = target.resolve(source.relativize(file).toString());
+					Files.copy(file, targetFile, StandardCopyOption.COPY_ATTRIBUTES);
+					return FileVisitResult.CONTINUE;
+				}
+			});
+			projectNames.add(projectName);
+		}
+		return projectNames;
+	}
+
+	private static List<String> unzip(File template, Path workspaceLocation, List<Path> targets)
+			throws IOException, CoreException {
+		try (ZipFile zipFile = new ZipFile(template)) {
+			// project directory prefix in the zip file -> project target directory
+			Map<String, Path> projects = new LinkedHashMap<>();
+			Enumeration<? extends ZipEntry> entries = zipFile.entries();
+			while (entries.hasMoreElements()) {
+				ZipEntry entry = entries.nextElement();
+				String prefix = getProjectPrefix(entry.getName());
+				if (prefix != null && !projects.containsKey(prefix)) {
+					try (InputStream in = zipFile.getInputStream(entry)) {
+						String projectName = ResourcesPlugin.getWorkspace().loadProjectDescription(in).getName();
+						Path target = getTargetDirectory(workspaceLocation, projectName);
+						targets.add(target);
+						projects.put(prefix, target);
+					}
+				}
+			}
+			entries = zipFile.entries();
+			while (entries.hasMoreElements()) {
+				ZipEntry entry = entries.nextElement();
+				for (Map.Entry<String, Path> project : projects.entrySet()) {
+					if (entry.getName().startsWith(project.getKey())) {
+						Path target = project.getValue().resolve(entry.getName().substring(project.getKey().length()))
+								.normalize();
+						if (!target.startsWith(project.getValue())) {
+							throw new IOException("Zip entry '" + entry.getName() + "' is outside of the project");
+						}
+						if (entry.isDirectory()) {
+							Files.createDirectories(target);
+						} else {
+							Files.createDirectories(target.getParent());
+							try (InputStream in = zipFile.getInputStream(entry)) {
+								Files.copy(in, target);
+							}
+						}
+						break;
+					}
+				}
+			}
+			List<String> projectNames = new ArrayList<>();
+			for (Path target : projects.values()) {
+				projectNames.add(target.getFileName().toString());
+			}
+			return projectNames;
+		}
+	}
+
+	private static void deleteDirectories(List<Path> directories) {
+		for (Path directory : directories) {
+			if (!Files.exists(directory)) {
+				continue;
+			}
+			try {
+				Files.walkFileTree(directory, new SimpleFileVisitor<Path>() {
+
+					@Override
+					public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+						Files.delete(file);
+						return FileVisitResult.CONTINUE;
+					}
+
+					@Override
+					public FileVisitResult postVisitDirectory(Path dir, IOException exc) throws IOException {
+						Files.delete(dir);
+						return FileVisitResult.CONTINUE;
+					}
+				});
+			} catch (IOException e) {
+				log.error("Cannot delete partially copied project directory " + directory, e);
+			}
+		}
+	}
+
+	/**
+	 * Gets directory prefix of a project in a zip file if the entry is a project
+	 * description file of a project in the root or in a top level directory.
+	 */
+	private static String getProjectPrefix(String entryName) {
+		if (entryName.equals(PROJECT_FILE)) {
+			return "";
+		}
+		int slash = entryName.indexOf('/');
+		if (slash > 0 && entryName.substring(slash + 1).equals(PROJECT_FILE)) {
+			return entryName.substring(0, slash + 1);
+		}
+		return null;
+	}
+
+	private static String getProjectName(Path projectFile) throws CoreException {
+		return ResourcesPlugin.getWorkspace()
+				.loadProjectDescription(new org.eclipse.core.runtime.Path(projectFile.toString())).getName();
+	}
+
+	private static Path getTargetDirectory(Path workspaceLocation, String projectName) {
+		if (ResourcesPlugin.getWorkspace().getRoot().getProject(projectName).exists()) {
+			throw new RedDeerException("Project '" + projectName + "' already exists in the workspace");
+		}
+		Path target = workspaceLocation.resolve(projectName);
+		if (Files.exists(target)) {
+			throw new RedDeerException("Directory '" + target + "' already exists in the workspace location");
+		}
+		return target;
+	}
+}
@@ -0,0 +1,195 @@
+/*******************************************************************************
+ * Copyright (c) 2017 Red Hat, Inc and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.reddeer.direct.workspace;
+
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceChangeListener;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.jobs.IJobManager;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.reddeer.common.exception.RedDeerException;
+import org.eclipse.reddeer.common.util.Display;
+
+/**
+ * Tracker of workspace activity. It records times of the last resource change
+ * and of the last build from resource change events and wakes up waiters
+ * whenever the workspace changes or a build starts or finishes.
+ * 
+ * @since 2.0
+ */
+class WorkspaceActivity implements IResourceChangeListener {
+
+	private static WorkspaceActivity instance;
+
+	private long lastChangeNanos;
+
+	private long lastBuildNanos;
+
+	private boolean building;
+
+	private long version;
+
+	private WorkspaceActivity() {
+		// activity before tracking started is unknown, so it is considered recent
+		lastChangeNanos = System.nanoTime();
+		lastBuildNanos = lastChangeNanos;
+	}
+
+	/**
+	 * Gets workspace activity tracker. Tracker is registered as a resource
+	 * change listener on the first call.
+	 * 
+	 * @return workspace activity tracker
+	 */
+	static synchronized WorkspaceActivity getInstance() {
+		if (instance == null) {
+			instance = new WorkspaceActivity();
+			ResourcesPlugin.getWorkspace().addResourceChangeListener(instance,
+					IResourceChangeEvent.PRE_BUILD | IResourceChangeEvent.POST_BUILD | IResourceChangeEvent.POST_CHANGE);
+		}
+		return instance;
+	}
+
+	@Override
+	public synchronized void resourceChanged(IResourceChangeEvent event) {
+		long now = System.nanoTime();
+		switch (event.getType()) {
+		case IResourceChangeEvent.PRE_BUILD:
+			building = true;
+			lastBuildNanos = now;
+			break;
+		case IResourceChangeEvent.POST_BUILD:
+			building = false;
+			lastBuildNanos = now;
+			break;
+		default:
+			lastChangeNanos = now;
+			break;
+		}
+		version++;
+		notifyAll();
+	}
+
+	/**
+	 * Finds out whether the workspace is settled. Workspace is settled if no
+	 * build is running or scheduled and there was no build during the quiet
+	 * window. If resource changes are included, there also must be no resource
+	 * change during the quiet window.
+	 * 
+	 * @param quietWindowNanos quiet window in nanoseconds
+	 * @param includeChanges whether resource changes break the quiet window
+	 * @return true if the workspace is settled, false otherwise
+	 */
+	boolean isSettled(long quietWindowNanos, boolean includeChanges) {
+		return getQuietNanos(includeChanges) >= quietWindowNanos && !isBuildScheduled();
+	}
+
+	/**
+	 * Waits until the workspace is settled. Scheduled builds are joined and
+	 * resource change events wake up the waiting thread, so it returns shortly
+	 * after the quiet window passes.
+	 * 
+	 * @param quietWindowNanos quiet window in nanoseconds
+	 * @param includeChanges whether resource changes break the quiet window
+	 * @param timeoutNanos maximal time to wait in nanoseconds
+	 * @return true if the workspace is settled, false if the timeout expired
+	 */
+	boolean waitUntilSettled(long quietWindowNanos, boolean includeChanges, long timeoutNanos) {
+		if (Display.isUIThread()) {
+			throw new RedDeerException("Cannot wait for workspace in UI thread, builds could not finish");
+		}
+		long deadline = timeoutNanos == Long.MAX_VALUE ? Long.MAX_VALUE : System.nanoTime() + timeoutNanos;
+		while (true) {
+			if (isBuildScheduled()) {
+				if (!joinBuilds(deadline)) {
+					return false;
+				}
+				continue;
+			}
+			long sinceVersion;
+			long quietNanos;
+			boolean buildRunning;
+			synchronized (this) {
+				sinceVersion = version;
+				quietNanos = getQuietNanos(includeChanges);
+				buildRunning = building;
+			}
+			if (quietNanos >= quietWindowNanos) {
+				// a build could be scheduled while the quiet window was evaluated
+				if (!isBuildScheduled()) {
+					return true;
+				}
+				continue;
+			}
+			long remaining = deadline == Long.MAX_VALUE ? Long.MAX_VALUE : deadline - System.nanoTime();
+			if (remaining <= 0) {
+				return false;
+			}
+			long waitNanos = buildRunning ? remaining : Math.min(remaining, quietWindowNanos - quietNanos);
+			if (!waitForActivity(sinceVersion, waitNanos)) {
+				return false;
+			}
+		}
+	}
+
+	/**
+	 * Waits until any workspace activity happens or the time passes.
+	 * 
+	 * @return false if the thread was interrupted, true otherwise
+	 */
+	private synchronized boolean waitForActivity(long sinceVersion, long nanos) {
+		if (version != sinceVersion) {
+			return true;
+		}
+		try {
+			wait(nanos / 1000000L + 1);
+			return true;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return false;
+		}
+	}
+
+	private synchronized long getQuietNanos(boolean includeChanges) {
+		if (building) {
+			return 0;
+		}
+		long last = includeChanges ? Math.max(lastBuildNanos, lastChangeNanos) : lastBuildNanos;
+		return System.nanoTime() - last;
+	}
+
+	private static boolean isBuildScheduled() {
+		IJobManager jobManager = Job.getJobManager();
+		return jobManager.find(ResourcesPlugin.FAMILY_AUTO_BUILD).length > 0
+				|| jobManager.find(ResourcesPlugin.FAMILY_MANUAL_BUILD).length > 0;
+	}
+
+	private static boolean joinBuilds(final long deadline) {
+		NullProgressMonitor monitor = new NullProgressMonitor() {
+			@Override
+			public boolean isCanceled() {
+				return deadline != Long.MAX_VALUE && System.nanoTime() - deadline >= 0;
+			}
+		};
+		try {
+			Job.getJobManager().join(ResourcesPlugin.FAMILY_MANUAL_BUILD, monitor);
+			Job.getJobManager().join(ResourcesPlugin.FAMILY_AUTO_BUILD, monitor);
+			return true;
+		} catch (OperationCanceledException e) {
+			return false;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return false;
+		}
+	}
+}
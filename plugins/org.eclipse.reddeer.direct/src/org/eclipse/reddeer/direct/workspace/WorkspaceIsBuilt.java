@@ -0,0 +1,96 @@
+/*******************************************************************************
+ * Copyright (c) 2017 Red Hat, Inc and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.reddeer.direct.workspace;
+
+import org.eclipse.reddeer.common.condition.AbstractWaitCondition;
+import org.eclipse.reddeer.common.wait.TimePeriod;
+
+/**
+ * Condition is met when the workspace is built. No auto build or manual build
+ * job is running or scheduled and no build finished during the quiet window,
+ * so a build scheduled shortly after another one is not missed.
+ * 
+ * @since 2.0
+ */
+public class WorkspaceIsBuilt extends AbstractWaitCondition {
+
+	/** Default quiet window. */
+	public static final TimePeriod DEFAULT_QUIET_WINDOW = TimePeriod.getCustomMilliseconds(300);
+
+	private final TimePeriod quietWindow;
+
+	private final boolean includeResourceChanges;
+
+	/**
+	 * Creates the condition with the default quiet window.
+	 */
+	public WorkspaceIsBuilt() {
+		this(DEFAULT_QUIET_WINDOW);
+	}
+
+	/**
+	 * Creates the condition with the specified quiet window.
+	 * 
+	 * @param quietWindow time without any build after which the workspace is considered built
+	 */
+	public WorkspaceIsBuilt(TimePeriod quietWindow) {
+		this(quietWindow, false);
+	}
+
+	/**
+	 * Creates the condition with the specified quiet window.
+	 * 
+	 * @param quietWindow time without any activity after which the workspace is considered settled
+	 * @param includeResourceChanges whether a resource change is considered an activity too
+	 */
+	protected WorkspaceIsBuilt(TimePeriod quietWindow, boolean includeResourceChanges) {
+		if (quietWindow == null) {
+			throw new IllegalArgumentException("quietWindow can't be null");
+		}
+		this.quietWindow = quietWindow;
+		this.includeResourceChanges = includeResourceChanges;
+		// start tracking now so the activity is known when the condition is tested
+		WorkspaceActivity.getInstance();
+	}
+
+	@Override
+	public boolean test() {
+		return WorkspaceActivity.getInstance().isSettled(quietWindow.getNanoseconds(), includeResourceChanges);
+	}
+
+	/**
+	 * Blocks until the condition is met. Unlike polling the condition, the
+	 * calling thread joins build jobs and is woken up by resource change
+	 * events, so it returns shortly after the quiet window passes. Must not be
+	 * called in UI thread.
+	 * 
+	 * @param timeout maximal time to wait
+	 * @return true if the condition is met, false if the timeout expired
+	 */
+	public boolean waitFor(TimePeriod timeout) {
+		return WorkspaceActivity.getInstance().waitUntilSettled(quietWindow.getNanoseconds(), includeResourceChanges,
+				timeout.getNanoseconds());
+	}
+
+	/**
+	 * Gets time without any activity after which the workspace is considered settled.
+	 * 
+	 * @return quiet window
+	 */
+	protected TimePeriod getQuietWindow() {
+		return quietWindow;
+	}
+
+	@Override
+	public String description() {
+		return "workspace is built and no build ran for " + quietWindow.getMilliseconds() + " ms";
+	}
+}
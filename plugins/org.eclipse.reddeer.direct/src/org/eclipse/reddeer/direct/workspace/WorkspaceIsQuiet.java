@@ -0,0 +1,45 @@
+/*******************************************************************************
+ * Copyright (c) 2017 Red Hat, Inc and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.reddeer.direct.workspace;
+
+import org.eclipse.reddeer.common.wait.TimePeriod;
+
+/**
+ * Condition is met when the workspace is quiet. No build job is running or
+ * scheduled and there was neither a build nor a resource change during the
+ * quiet window.
+ * 
+ * @since 2.0
+ */
+public class WorkspaceIsQuiet extends WorkspaceIsBuilt {
+
+	/**
+	 * Creates the condition with the default quiet window.
+	 */
+	public WorkspaceIsQuiet() {
+		this(DEFAULT_QUIET_WINDOW);
+	}
+
+	/**
+	 * Creates the condition with the specified quiet window.
+	 * 
+	 * @param quietWindow time without any build or resource change after which the workspace is considered quiet
+	 */
+	public WorkspaceIsQuiet(TimePeriod quietWindow) {
+		super(quietWindow, true);
+	}
+
+	@Override
+	public String description() {
+		return "workspace is quiet, no build and no resource change for " + getQuietWindow().getMilliseconds()
+				+ " ms";
+	}
+}
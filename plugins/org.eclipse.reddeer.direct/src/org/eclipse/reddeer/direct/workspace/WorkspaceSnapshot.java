@@ -0,0 +1,357 @@
+/*******************************************************************************
+ * Copyright (c) 2017 Red Hat, Inc and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.reddeer.direct.workspace;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IProjectDescription;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IWorkspace;
+import org.eclipse.core.resources.IWorkspaceRoot;
+import org.eclipse.core.resources.IWorkspaceRunnable;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.reddeer.common.exception.RedDeerException;
+import org.eclipse.reddeer.common.logging.Logger;
+import org.eclipse.reddeer.direct.preferences.PreferencesSnapshot;
+
+/**
+ * Snapshot of workspace projects and instance preferences. Files of projects
+ * are copied into a snapshot directory once together with their size and
+ * modification time. Restoring the snapshot compares the current files with the
+ * recorded ones and copies back, deletes or adds only files which differ, so
+ * restoring an unchanged workspace does not write anything. A file whose size and
+ * modification time did not change is considered unchanged. Only files modified
+ * shortly before the snapshot was captured, within the file system timestamp
+ * granularity, could be changed again without changing their modification time,
+ * so a content digest is recorded and compared only for them. Projects created after the
+ * snapshot are deleted, deleted projects are created again and changed
+ * projects are refreshed via {@link IProject#refreshLocal(int, IProgressMonitor)}.
+ * Instance preferences are captured and restored by {@link PreferencesSnapshot}.
+ * 
+ * @since 2.0
+ */
+public class WorkspaceSnapshot {
+
+	private static final Logger log = Logger.getLogger(WorkspaceSnapshot.class);
+
+	// coarsest modification time resolution of common file systems (FAT)
+	private static final long TIMESTAMP_GRANULARITY_MILLIS = 2000;
+
+	private final Path directory;
+
+	private final Map<String, ProjectState> projects = new LinkedHashMap<>();
+
+	private PreferencesSnapshot preferences;
+
+	private WorkspaceSnapshot(Path directory) {
+		this.directory = directory;
+	}
+
+	/**
+	 * Captures the current state of the workspace into a temporary directory.
+	 * 
+	 * @return workspace snapshot
+	 */
+	public static WorkspaceSnapshot capture() {
+		try {
+			return capture(Files.createTempDirectory("reddeer-workspace-snapshot"));
+		} catch (IOException e) {
+			throw new RedDeerException("Cannot create a directory for workspace snapshot", e);
+		}
+	}
+
+	/**
+	 * Captures the current state of the workspace into the specified directory.
+	 * 
+	 * @param directory empty directory where files of the snapshot are stored
+	 * @return workspace snapshot
+	 */
+	public static WorkspaceSnapshot capture(Path directory) {
+		long start = System.currentTimeMillis();
+		WorkspaceSnapshot snapshot = new WorkspaceSnapshot(directory);
+		try {
+			for (IProject project : ResourcesPlugin.getWorkspace().getRoot().getProjects()) {
+				if (project.getLocation() == null) {
+					log.warn("Project " + project.getName() + " has no local location, it is not in the snapshot");
+					continue;
+				}
+				ProjectState state = new ProjectState(project.getLocation().toFile().toPath(), project.isOpen());
+				Path target = directory.resolve(project.getName());
+				if (Files.exists(state.location)) {
+					copyTree(state.location, target, state.files, state.directories);
+				}
+				snapshot.projects.put(project.getName(), state);
+			}
+			snapshot.preferences = PreferencesSnapshot.captureAll();
+		} catch (IOException e) {
+			throw new RedDeerException("Cannot capture workspace snapshot into " + directory, e);
+		}
+		log.info("Workspace snapshot with projects " + snapshot.projects.keySet() + " captured in "
+				+ (System.currentTimeMillis() - start) + " ms");
+		return snapshot;
+	}
+
+	/**
+	 * Gets directory where files of the snapshot are stored.
+	 * 
+	 * @return snapshot directory
+	 */
+	public Path getDirectory() {
+		return directory;
+	}
+
+	/**
+	 * Restores the workspace to the state of the snapshot.
+	 */
+	public void restore() {
+		long start = System.currentTimeMillis();
+		final IWorkspace workspace = ResourcesPlugin.getWorkspace();
+		try {
+			workspace.run(new IWorkspaceRunnable() {
+
+				@Override
+				public void run(IProgressMonitor monitor) throws CoreException {
+					restoreProjects(workspace.getRoot(), monitor);
+				}
+			}, workspace.getRoot(), IWorkspace.AVOID_UPDATE, new NullProgressMonitor());
+			preferences.restore();
+		} catch (CoreException e) {
+			throw new RedDeerException("Cannot restore workspace snapshot from " + directory, e);
+		}
+		log.info("Workspace snapshot restored in " + (System.currentTimeMillis() - start) + " ms");
+	}
+
+	/**
+	 * Deletes files of the snapshot. The snapshot cannot be restored afterwards.
+	 */
+	public void dispose() {
+		try {
+			deleteTree(directory);
+		} catch (IOException e) {
+			log.warn("Cannot delete workspace snapshot " + directory + ": " + e.getMessage());
+		}
+	}
+
+	private void restoreProjects(IWorkspaceRoot root, IProgressMonitor monitor) throws CoreException {
+		for (IProject project : root.getProjects()) {
+			if (!projects.containsKey(project.getName())) {
+				log.debug("Deleting project " + project.getName() + " created after the snapshot");
+				boolean inWorkspace = project.getLocation() != null
+						&& root.getLocation().isPrefixOf(project.getLocation());
+				project.delete(inWorkspace, true, monitor);
+			}
+		}
+		for (Map.Entry<String, ProjectState> entry : projects.entrySet()) {
+			IProject project = root.getProject(entry.getKey());
+			ProjectState state = entry.getValue();
+			Path source = directory.resolve(entry.getKey());
+			int changes;
+			try {
+				changes = restoreTree(source, state);
+			} catch (IOException e) {
+				throw new RedDeerException("Cannot restore files of project " + entry.getKey(), e);
+			}
+			if (!project.exists()) {
+				log.debug("Creating project " + project.getName() + " deleted after the snapshot");
+				IProjectDescription description = project.getWorkspace().loadProjectDescription(
+						new org.eclipse.core.runtime.Path(state.location.resolve(IProjectDescription.DESCRIPTION_FILE_NAME)
+								.toString()));
+				if (root.getLocation().append(project.getName()).toFile().toPath().equals(state.location)) {
+					description.setLocation(null);
+				}
+				project.create(description, monitor);
+			}
+			if (state.open && !project.isOpen()) {
+				project.open(monitor);
+			} else if (!state.open && project.isOpen()) {
+				project.close(monitor);
+			}
+			if (changes > 0 && project.isOpen()) {
+				log.debug("Refreshing project " + project.getName() + ", " + changes + " files were restored");
+				project.refreshLocal(IResource.DEPTH_INFINITE, monitor);
+			}
+		}
+	}
+
+	/**
+	 * Restores files of a project so they match the snapshot.
+	 * 
+	 * @return number of changed files and directories
+	 */
+	private static int restoreTree(final Path source, final ProjectState state) throws IOException {
+		final int[] changes = new int[1];
+		final Set<String> present = new HashSet<>();
+		if (Files.exists(state.location)) {
+			Files.walkFileTree(state.location, new SimpleFileVisitor<Path>() {
+
+				@Override
+				public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+					String path = state.location.relativize(file).toString();
+					FileState recorded = state.files.get(path);
+					if (recorded == null) {
+						Files.delete(file);
+						changes[0]++;
+					} else {
+						present.add(path);
+						if (recorded.size != attrs.size() || recorded.lastModified != attrs.lastModifiedTime().toMillis()
+								|| (recorded.digest != null && !Arrays.equals(recorded.digest, digest(file)))) {
+							Files.copy(source.resolve(path), file, StandardCopyOption.REPLACE_EXISTING,
+									StandardCopyOption.COPY_ATTRIBUTES);
+							changes[0]++;
+						}
+					}
+					return FileVisitResult.CONTINUE;
+				}
+
+				@Override
+				public FileVisitResult postVisitDirectory(Path dir, IOException exc) throws IOException {
+					if (exc != null) {
+						throw exc;
+					}
+					if (!state.directories.contains(state.location.relativize(dir).toString())) {
+						Files.delete(dir);
+						changes[0]++;
+					}
+					return FileVisitResult.CONTINUE;
+				}
+			});
+		}
+		for (String directory : state.directories) {
+			Path dir = state.location.resolve(directory);
+			if (!Files.isDirectory(dir)) {
+				Files.createDirectories(dir);
+				changes[0]++;
+			}
+		}
+		for (String file : state.files.keySet()) {
+			if (!present.contains(file)) {
+				Files.copy(source.resolve(file), state.location.resolve(file), StandardCopyOption.COPY_ATTRIBUTES);
+				changes[0]++;
+			}
+		}
+		return changes[0];
+	}
+
+	private static void copyTree(final Path source, final Path target, final Map<String, FileState> files,
+			final Set<String> directories) throws IOException {
+		Files.walkFileTree(source, new SimpleFileVisitor<Path>() {
+
+			@Override
+			public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+				String path = source.relativize(dir).toString();
+				directories.add(path);
+				Files.createDirectories(target.resolve(path));
+				return FileVisitResult.CONTINUE;
+			}
+
+			@Override
+			public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+				String path = source.relativize(file).toString();
+				long captured = System.currentTimeMillis();
+				Files.copy(file, target.resolve(path), StandardCopyOption.COPY_ATTRIBUTES);
+				long lastModified = attrs.lastModifiedTime().toMillis();
+				// a later change of the file could keep its modification time only within the granularity
+				byte[] digest = lastModified > captured - TIMESTAMP_GRANULARITY_MILLIS ? digest(file) : null;
+				files.put(path, new FileState(attrs.size(), lastModified, digest));
+				return FileVisitResult.CONTINUE;
+			}
+		});
+	}
+
+	private static void deleteTree(Path root) throws IOException {
+		if (!Files.exists(root)) {
+			return;
+		}
+		Files.walkFileTree(root, new SimpleFileVisitor<Path>() {
+
+			@Override
+			public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+				Files.delete(file);
+				return FileVisitResult.CONTINUE;
+			}
+
+			@Override
+			public FileVisitResult postVisitDirectory(Path dir, IOException exc) throws IOException {
+				Files.delete(dir);
+				return FileVisitResult.CONTINUE;
+			}
+		});
+	}
+
+	private static byte[] digest(Path file) throws IOException {
+		MessageDigest digest;
+		try {
+			digest = MessageDigest.getInstance("SHA-1");
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-1 is not supported", e);
+		}
+		byte[] buffer = new byte[8192];
+		try (InputStream in = Files.newInputStream(file)) {
+			int read;
+			while ((read = in.read(buffer)) != -1) {
+				digest.update(buffer, 0, read);
+			}
+		}
+		return digest.digest();
+	}
+
+	private static class ProjectState {
+
+		private final Path location;
+
+		private final boolean open;
+
+		// relative path -> state of the file when the snapshot was captured
+		private final Map<String, FileState> files = new HashMap<>();
+
+		private final Set<String> directories = new HashSet<>();
+
+		private ProjectState(Path location, boolean open) {
+			this.location = location;
+			this.open = open;
+		}
+	}
+
+	private static class FileState {
+
+		private final long size;
+
+		private final long lastModified;
+
+		// null if the file was not modified shortly before the snapshot
+		private final byte[] digest;
+
+		private FileState(long size, long lastModified, byte[] digest) {
+			this.size = size;
+			this.lastModified = lastModified;
+			this.digest = digest;
+		}
+	}
+}
@@ -14,8 +14,11 @@ import java.util.ArrayList;
 import java.util.List;
 
 import org.eclipse.reddeer.common.condition.AbstractWaitCondition;
+import org.eclipse.reddeer.direct.markers.Markers;
 import org.eclipse.reddeer.eclipse.ui.markers.matcher.AbstractMarkerMatcher;
 import org.eclipse.reddeer.eclipse.ui.problems.Problem;
+import org.eclipse.reddeer.eclipse.ui.problems.ProblemsSource;
+import org.eclipse.reddeer.eclipse.ui.problems.WorkspaceProblems;
 import org.eclipse.reddeer.eclipse.ui.views.markers.ProblemsView;
 import org.eclipse.reddeer.eclipse.ui.views.markers.ProblemsView.ProblemType;
 
@@ -34,6 +37,14 @@ public class ExactNumberOfProblemsExists extends AbstractWaitCondition {
 	
 	private List<Problem> problems = new ArrayList<Problem>();
 	
+	private ProblemsSource source;
+	
+	private int markersCount;
+	
+	private int viewProblemsCount;
+	
+	private long markersVersion = -1;
+	
 	/**
 	 * Constructs the condition for the specified problem type and
 	 * the specified count of the problems.
@@ -56,26 +67,72 @@ public class ExactNumberOfProblemsExists extends AbstractWaitCondition {
 	 */
 	@SuppressWarnings("unchecked")
 	public <T extends AbstractMarkerMatcher> ExactNumberOfProblemsExists(ProblemType type, int count, T... matchers) {
+		this(ProblemsSource.PROBLEMS_VIEW, type, count, matchers);
+	}
+
+	/**
+	 * Constructs the condition for the specified problem type and the specified
+	 * count of the problems matching specified marker matchers read from the
+	 * specified source. Problems view is not opened if problems are read only
+	 * from workspace markers.
+	 * 
+	 * @param <T> marker matcher type
+	 * @param source source of problems
+	 * @param type type of the problems
+	 * @param count number of the problems
+	 * @param matchers problem matchers
+	 * @since 2.0
+	 */
+	@SuppressWarnings("unchecked")
+	public <T extends AbstractMarkerMatcher> ExactNumberOfProblemsExists(ProblemsSource source, ProblemType type, int count,
+			T... matchers) {
+		this.source = source;
 		problemType = type;
 		expectedProblemsCount = count;
 		problemMatchers = matchers;
 		
-		problemsView = new ProblemsView();
-		problemsView.open();
+		if (source != ProblemsSource.WORKSPACE_MARKERS) {
+			problemsView = new ProblemsView();
+			problemsView.open();
+		}
 	}
 
 	@Override
 	public boolean test() {
-		problemsView.activate();
+		if (source == ProblemsSource.PROBLEMS_VIEW) {
+			return countProblemsInView() == expectedProblemsCount;
+		}
+		// markers are queried again only if any marker changed
+		long version = Markers.getVersion();
+		if (version != markersVersion) {
+			markersCount = WorkspaceProblems.getProblems(problemType, problemMatchers).size();
+			markersVersion = version;
+		}
+		if (source == ProblemsSource.WORKSPACE_MARKERS_VERIFIED) {
+			return markersCount == expectedProblemsCount && countProblemsInView() == expectedProblemsCount;
+		}
+		return markersCount == expectedProblemsCount;
+	}
 
+	private int countProblemsInView() {
+		problemsView.activate();
 		problems = problemsView.getProblems(problemType, problemMatchers);
-		
-		return problems.size() == expectedProblemsCount;
+		viewProblemsCount = problems.size();
+		return viewProblemsCount;
 	}
 
 	@Override
 	public String description() {
-		return "number of problems in Problems view is " + problems.size() + ".\n"
-				+ "Expected number of problems is: " + expectedProblemsCount;
+		switch (source) {
+		case WORKSPACE_MARKERS:
+			return "number of problems in workspace markers is " + markersCount + ".\n"
+					+ "Expected number of problems is: " + expectedProblemsCount;
+		case WORKSPACE_MARKERS_VERIFIED:
+			return "number of problems in workspace markers is " + markersCount + " and in Problems view is "
+					+ viewProblemsCount + ".\n" + "Expected number of problems is: " + expectedProblemsCount;
+		default:
+			return "number of problems in Problems view is " + viewProblemsCount + ".\n"
+					+ "Expected number of problems is: " + expectedProblemsCount;
+		}
 	}
 }
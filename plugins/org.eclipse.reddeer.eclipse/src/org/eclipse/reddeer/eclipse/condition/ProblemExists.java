@@ -11,7 +11,10 @@
 package org.eclipse.reddeer.eclipse.condition;
 
 import org.eclipse.reddeer.common.condition.AbstractWaitCondition;
+import org.eclipse.reddeer.direct.markers.Markers;
 import org.eclipse.reddeer.eclipse.ui.markers.matcher.AbstractMarkerMatcher;
+import org.eclipse.reddeer.eclipse.ui.problems.ProblemsSource;
+import org.eclipse.reddeer.eclipse.ui.problems.WorkspaceProblems;
 import org.eclipse.reddeer.eclipse.ui.views.markers.ProblemsView;
 import org.eclipse.reddeer.eclipse.ui.views.markers.ProblemsView.ProblemType;
 
@@ -25,7 +28,10 @@ public class ProblemExists extends AbstractWaitCondition {
 
 	private ProblemType problemType;
 	private AbstractMarkerMatcher[] matchers;
+	private ProblemsSource source;
 	private ProblemsView problemsView;
+	private long markersVersion = -1;
+	private boolean markersFound;
 	
 	/**
 	 * Creates a new ProblemExists condition. If provided array of matchers is empty the wait condition is 
@@ -38,21 +44,56 @@ public class ProblemExists extends AbstractWaitCondition {
 	 */
 	@SuppressWarnings("unchecked")
 	public <T extends AbstractMarkerMatcher> ProblemExists(ProblemType problemType, T... matchers) {
+		this(ProblemsSource.PROBLEMS_VIEW, problemType, matchers);
+	}
+	
+	/**
+	 * Creates a new ProblemExists condition reading problems from the specified source. Problems view
+	 * is not opened if problems are read only from workspace markers.
+	 * 
+	 * @param <T> marker matcher type
+	 * @param source source of problems
+	 * @param problemType type of a problem (warning or error)
+	 * @param matchers matchers for a problem
+	 * @since 2.0
+	 */
+	@SuppressWarnings("unchecked")
+	public <T extends AbstractMarkerMatcher> ProblemExists(ProblemsSource source, ProblemType problemType, T... matchers) {
+		this.source = source;
 		this.problemType = problemType;
 		this.matchers = matchers;
-		problemsView = new ProblemsView();
-		problemsView.open();
+		if (source != ProblemsSource.WORKSPACE_MARKERS) {
+			problemsView = new ProblemsView();
+			problemsView.open();
+		}
 	}
 	
 	@Override
 	public boolean test() {
+		if (source == ProblemsSource.PROBLEMS_VIEW) {
+			return problemsExistInView();
+		}
+		// markers are queried again only if any marker changed
+		long version = Markers.getVersion();
+		if (version != markersVersion) {
+			markersFound = !WorkspaceProblems.getProblems(problemType, matchers).isEmpty();
+			markersVersion = version;
+		}
+		if (source == ProblemsSource.WORKSPACE_MARKERS_VERIFIED) {
+			return markersFound && problemsExistInView();
+		}
+		return markersFound;
+	}
+
+	private boolean problemsExistInView() {
 		problemsView.activate();
 		return !problemsView.getProblems(problemType, matchers).isEmpty();
 	}
 
 	@Override
 	public String description() {
-		return " problem of type " + problemType + " exists in Problems view.";
+		return " problem of type " + problemType + " exists in "
+				+ (source == ProblemsSource.WORKSPACE_MARKERS ? "workspace markers." : "Problems view.");
 	}
 
 }
@@ -11,8 +11,10 @@
 package org.eclipse.reddeer.eclipse.condition;
 
 import org.eclipse.reddeer.common.condition.AbstractWaitCondition;
+import org.eclipse.reddeer.eclipse.wst.server.ServerMonitor;
 import org.eclipse.reddeer.eclipse.wst.server.ui.cnf.Server;
 import org.eclipse.reddeer.eclipse.wst.server.ui.cnf.ServersViewEnums.ServerPublishState;
+import org.eclipse.wst.server.core.IServer;
 
 /**
  * 
@@ -26,15 +28,51 @@ public class ServerHasPublishState extends AbstractWaitCondition {
 	private ServerPublishState currentPublishState;
 	private ServerPublishState resultPublishState;
 	private Server server;
+	private IServer eclipseServer;
+	private boolean checkLabel;
 
+	/**
+	 * Creates the condition which checks publish state of the server shown by its label in Servers view.
+	 * 
+	 * @param server server
+	 * @param expectedState expected publish state
+	 */
 	public ServerHasPublishState(Server server, ServerPublishState expectedState) {
 		this.expectedPublishState = expectedState;
 		this.server = server;
 	}
 
+	/**
+	 * Creates the condition which checks publish state of the server via {@link ServerMonitor}.
+	 * Label in Servers view is read only if checking of the label is required and
+	 * the server already has the expected publish state.
+	 * 
+	 * @param server server
+	 * @param expectedState expected publish state
+	 * @param checkLabel whether the label in Servers view has to show the publish state too
+	 * @since 2.0
+	 */
+	public ServerHasPublishState(Server server, ServerPublishState expectedState, boolean checkLabel) {
+		this.expectedPublishState = expectedState;
+		this.server = server;
+		this.checkLabel = checkLabel;
+		this.eclipseServer = ServerMonitor.getServer(server.getTreeItem());
+		if (eclipseServer != null) {
+			ServerMonitor.getInstance();
+		}
+	}
+
 	@Override
 	public boolean test() {
-		this.currentPublishState = server.getLabel().getPublishState();
+		if (eclipseServer != null) {
+			this.currentPublishState = ServerMonitor.getInstance().getPublishState(eclipseServer);
+			if (!expectedPublishState.equals(this.currentPublishState)) {
+				return false;
+			}
+		}
+		if (eclipseServer == null || checkLabel) {
+			this.currentPublishState = server.getLabel().getPublishState();
+		}
 		if (expectedPublishState.equals(this.currentPublishState)) {
 			this.resultPublishState = this.currentPublishState;
 			return true;
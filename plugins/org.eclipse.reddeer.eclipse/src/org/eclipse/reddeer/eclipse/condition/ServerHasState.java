@@ -11,8 +11,10 @@
 package org.eclipse.reddeer.eclipse.condition;
 
 import org.eclipse.reddeer.common.condition.AbstractWaitCondition;
+import org.eclipse.reddeer.eclipse.wst.server.ServerMonitor;
 import org.eclipse.reddeer.eclipse.wst.server.ui.cnf.Server;
 import org.eclipse.reddeer.eclipse.wst.server.ui.cnf.ServersViewEnums.ServerState;
+import org.eclipse.wst.server.core.IServer;
 
 /**
  * 
@@ -26,15 +28,51 @@ public class ServerHasState extends AbstractWaitCondition {
 	private ServerState currentState;
 	private ServerState resultState;
 	private Server server;
+	private IServer eclipseServer;
+	private boolean checkLabel;
 
+	/**
+	 * Creates the condition which checks state of the server shown by its label in Servers view.
+	 * 
+	 * @param server server
+	 * @param expectedState expected state
+	 */
 	public ServerHasState(Server server, ServerState expectedState) {
 		this.expectedState = expectedState;
 		this.server = server;
 	}
 
+	/**
+	 * Creates the condition which checks state of the server via {@link ServerMonitor}.
+	 * Label in Servers view is read only if checking of the label is required and
+	 * the server already has the expected state.
+	 * 
+	 * @param server server
+	 * @param expectedState expected state
+	 * @param checkLabel whether the label in Servers view has to show the state too
+	 * @since 2.0
+	 */
+	public ServerHasState(Server server, ServerState expectedState, boolean checkLabel) {
+		this.expectedState = expectedState;
+		this.server = server;
+		this.checkLabel = checkLabel;
+		this.eclipseServer = ServerMonitor.getServer(server.getTreeItem());
+		if (eclipseServer != null) {
+			ServerMonitor.getInstance();
+		}
+	}
+
 	@Override
 	public boolean test() {
-		this.currentState = server.getLabel().getState();
+		if (eclipseServer != null) {
+			this.currentState = ServerMonitor.getInstance().getState(eclipseServer);
+			if (!expectedState.equals(this.currentState)) {
+				return false;
+			}
+		}
+		if (eclipseServer == null || checkLabel) {
+			this.currentState = server.getLabel().getState();
+		}
 		if ( expectedState.equals(this.currentState)) {
 			this.resultState = currentState;
 			return true;
@@ -11,8 +11,10 @@
 package org.eclipse.reddeer.eclipse.condition;
 
 import org.eclipse.reddeer.common.condition.AbstractWaitCondition;
+import org.eclipse.reddeer.eclipse.wst.server.ServerMonitor;
 import org.eclipse.reddeer.eclipse.wst.server.ui.cnf.ServerModule;
 import org.eclipse.reddeer.eclipse.wst.server.ui.cnf.ServersViewEnums.ServerState;
+import org.eclipse.wst.server.ui.IServerModule;
 
 /**
  * 
@@ -24,14 +26,50 @@ public class ServerModuleHasState extends AbstractWaitCondition{
 	private ServerModule module;
 	private ServerState state;
 	private ServerState resultState;
+	private IServerModule serverModule;
+	private boolean checkLabel;
 	
+	/**
+	 * Creates the condition which checks state of the server module shown by its label in Servers view.
+	 * 
+	 * @param module server module
+	 * @param state expected state
+	 */
 	public ServerModuleHasState(ServerModule module, ServerState state) {
 		this.module = module;
 		this.state = state;
 	}
 
+	/**
+	 * Creates the condition which checks state of the server module via {@link ServerMonitor}.
+	 * Label in Servers view is read only if checking of the label is required and
+	 * the module already has the expected state.
+	 * 
+	 * @param module server module
+	 * @param state expected state
+	 * @param checkLabel whether the label in Servers view has to show the state too
+	 * @since 2.0
+	 */
+	public ServerModuleHasState(ServerModule module, ServerState state, boolean checkLabel) {
+		this.module = module;
+		this.state = state;
+		this.checkLabel = checkLabel;
+		this.serverModule = ServerMonitor.getServerModule(module.getTreeItem());
+		if (serverModule != null) {
+			ServerMonitor.getInstance();
+		}
+	}
+
 	@Override
 	public boolean test() {
+		if (serverModule != null && !state.equals(ServerMonitor.getInstance()
+				.getModuleState(serverModule.getServer(), serverModule.getModule()))) {
+			return false;
+		}
+		if (serverModule != null && !checkLabel) {
+			this.resultState = state;
+			return true;
+		}
 		if (state.equals(module.getLabel().getState())) {
 			this.resultState = state;
 			return true;
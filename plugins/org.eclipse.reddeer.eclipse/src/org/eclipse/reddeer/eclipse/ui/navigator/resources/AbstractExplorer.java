@@ -11,7 +11,10 @@
 package org.eclipse.reddeer.eclipse.ui.navigator.resources;
 
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import org.eclipse.reddeer.common.logging.Logger;
 import org.eclipse.reddeer.common.wait.TimePeriod;
@@ -22,7 +25,7 @@ import org.eclipse.reddeer.eclipse.core.resources.DefaultProjectItem;
 import org.eclipse.reddeer.eclipse.core.resources.ProjectItem;
 import org.eclipse.reddeer.eclipse.exception.EclipseLayerException;
 import org.eclipse.reddeer.eclipse.utils.DeleteUtils;
-import org.eclipse.reddeer.jface.handler.TreeViewerHandler;
+import org.eclipse.reddeer.jface.viewers.TreeItemIndex;
 import org.eclipse.reddeer.swt.api.Shell;
 import org.eclipse.reddeer.swt.api.TreeItem;
 import org.eclipse.reddeer.swt.impl.button.CheckBox;
@@ -85,14 +88,8 @@ public class AbstractExplorer extends WorkbenchView {
 	 * @return true if project exists, false otherwise
 	 */
 	public boolean containsProject(String projectName) {
-		boolean result = false;
-		try{
-			getProject(projectName);
-			result = true;
-			} catch (EclipseLayerException ele){
-				result = false;
-			}
-		return result;
+		return org.eclipse.reddeer.direct.project.Project.isProject(projectName)
+				&& getIndex().contains(projectName);
 	}
 	
 	/**
@@ -103,18 +100,38 @@ public class AbstractExplorer extends WorkbenchView {
 	public List<DefaultProject> getProjects(){
 		List<DefaultProject> projects = new ArrayList<DefaultProject>();
 
-		TreeViewerHandler treeViewerHandler = TreeViewerHandler.getInstance();
-		
-		for (TreeItem item : getTree().getItems()){
-			String projectName = treeViewerHandler.getNonStyledText(item);
-			log.debug("Getting project with name "+projectName);
-			if (org.eclipse.reddeer.direct.project.Project.isProject(projectName)) {
+		for (Map.Entry<String, List<TreeItem>> entry : getIndex().getItemsByText().entrySet()){
+			if (!org.eclipse.reddeer.direct.project.Project.isProject(entry.getKey())) {
+				continue;
+			}
+			log.debug("Getting project with name "+entry.getKey());
+			for (TreeItem item : entry.getValue()) {
 				projects.add(new DefaultProject(item));
 			}
 		}
 		return projects;
 	}
 	
+	/**
+	 * Gets names of all projects located in explorer. Unlike {@link #getProjects()}
+	 * no project is instantiated, so this is the cheap way to list projects.
+	 * 
+	 * @return list of names of projects in explorer
+	 */
+	public List<String> getProjectNames(){
+		return new ArrayList<String>(getProjectNames(getIndex()));
+	}
+	
+	private Set<String> getProjectNames(TreeItemIndex index){
+		Set<String> projectNames = new LinkedHashSet<String>();
+		for (String text : index.getTexts()){
+			if (org.eclipse.reddeer.direct.project.Project.isProject(text)) {
+				projectNames.add(text);
+			}
+		}
+		return projectNames;
+	}
+	
 	/**
 	 * Provides list of all project items in the explorer.
 	 * @return list of explorer items
@@ -153,7 +170,7 @@ public class AbstractExplorer extends WorkbenchView {
 	 */
 	public void deleteAllProjects(boolean deleteFromFileSystem, TimePeriod timeout){
 		activate();
-		if(getProjects().size() > 0){
+		if(!getProjectNames().isEmpty()){
 			selectAllProjects();
 			new ContextMenuItem("Refresh").select();
 			new WaitWhile(new JobIsRunning(), timeout);
@@ -169,6 +186,10 @@ public class AbstractExplorer extends WorkbenchView {
 		activate();
 		return new DefaultTree(cTabItem);
 	}
+	
+	private TreeItemIndex getIndex(){
+		return TreeItemIndex.getIndex(getTree());
+	}
 		
 	/**
 	 * Gets project with specified project name located in explorer.
@@ -177,10 +198,10 @@ public class AbstractExplorer extends WorkbenchView {
 	 * @return project with specified name
 	 */
 	public DefaultProject getProject(String projectName){
-		activate();
-		for (DefaultProject project : getProjects()){
-			if (project.getName().equals(projectName)){
-				return project;
+		if (org.eclipse.reddeer.direct.project.Project.isProject(projectName)) {
+			TreeItem item = getIndex().getItem(projectName);
+			if (item != null) {
+				return new DefaultProject(item);
 			}
 		}
 		throw new EclipseLayerException("There is no project with name " + projectName);
@@ -195,7 +216,7 @@ public class AbstractExplorer extends WorkbenchView {
 	 * @return project of specific type with defined name
 	 */
 	public <T extends AbstractProject> T getProject(final String projectName, Class<T> projectType) {		
-		for (TreeItem item : getTree().getItems()){
+		for (TreeItem item : getIndex().getItems(projectName)){
 			try {
 				T project =  projectType.getDeclaredConstructor(TreeItem.class).newInstance(item);
 				if (project.getName().equals(projectName)) {
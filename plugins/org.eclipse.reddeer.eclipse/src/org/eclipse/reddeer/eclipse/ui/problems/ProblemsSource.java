@@ -0,0 +1,31 @@
+/*******************************************************************************
+ * Copyright (c) 2017 Red Hat, Inc and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.reddeer.eclipse.ui.problems;
+
+/**
+ * Source of problems used by problem wait conditions.
+ * 
+ * @since 2.0
+ */
+public enum ProblemsSource {
+
+	/** Problems are read from Problems view. */
+	PROBLEMS_VIEW,
+
+	/** Problems are read directly from workspace markers, no view is opened. */
+	WORKSPACE_MARKERS,
+
+	/**
+	 * Problems are read from workspace markers and Problems view has to show
+	 * the same number of problems.
+	 */
+	WORKSPACE_MARKERS_VERIFIED
+}
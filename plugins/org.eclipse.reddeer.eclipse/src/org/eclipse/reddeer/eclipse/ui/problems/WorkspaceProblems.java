@@ -0,0 +1,126 @@
+/*******************************************************************************
+ * Copyright (c) 2017 Red Hat, Inc and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.reddeer.eclipse.ui.problems;
+
+import java.text.DateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import org.eclipse.core.resources.IMarker;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IExtension;
+import org.eclipse.core.runtime.Platform;
+import org.eclipse.reddeer.direct.markers.MarkerFilter;
+import org.eclipse.reddeer.direct.markers.Markers;
+import org.eclipse.reddeer.eclipse.ui.markers.matcher.AbstractMarkerMatcher;
+import org.eclipse.reddeer.eclipse.ui.views.markers.AbstractMarkersSupportView.Column;
+import org.eclipse.reddeer.eclipse.ui.views.markers.ProblemsView.ProblemType;
+
+/**
+ * Provides problems of the workspace directly from problem markers without
+ * opening Problems view. Marker matchers are evaluated against texts which
+ * Problems view shows in the respective columns.
+ * 
+ * @since 2.0
+ */
+public class WorkspaceProblems {
+
+	/**
+	 * Gets problem markers of the specified type matching all matchers.
+	 * 
+	 * @param problemType type of problems
+	 * @param matchers matchers of problem columns
+	 * @return matching problem markers
+	 */
+	public static List<IMarker> getProblems(ProblemType problemType, AbstractMarkerMatcher... matchers) {
+		MarkerFilter filter = new MarkerFilter().ofType(IMarker.PROBLEM);
+		switch (problemType) {
+		case ERROR:
+			filter.withSeverity(IMarker.SEVERITY_ERROR);
+			break;
+		case WARNING:
+			filter.withSeverity(IMarker.SEVERITY_WARNING);
+			break;
+		default:
+			filter.withSeverity(IMarker.SEVERITY_ERROR, IMarker.SEVERITY_WARNING);
+			break;
+		}
+		List<IMarker> problems = new ArrayList<IMarker>();
+		for (IMarker marker : Markers.find(filter)) {
+			if (matches(marker, matchers)) {
+				problems.add(marker);
+			}
+		}
+		return problems;
+	}
+
+	private static boolean matches(IMarker marker, AbstractMarkerMatcher... matchers) {
+		for (AbstractMarkerMatcher matcher : matchers) {
+			if (!matcher.matches(getColumnText(marker, matcher.getColumn()))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Gets text of the marker as it is shown in the column of a markers view.
+	 * 
+	 * @param marker marker
+	 * @param column column of a markers view
+	 * @return text of the column, empty string if the marker has no such value
+	 */
+	public static String getColumnText(IMarker marker, Column column) {
+		IResource resource = marker.getResource();
+		switch (column) {
+		case DESCRIPTION:
+			return marker.getAttribute(IMarker.MESSAGE, "");
+		case RESOURCE:
+			return resource.getName();
+		case PATH:
+			return resource.getType() == IResource.ROOT || resource.getType() == IResource.PROJECT ? ""
+					: resource.getParent().getFullPath().toString();
+		case LOCATION:
+			String location = marker.getAttribute(IMarker.LOCATION, null);
+			if (location != null && !location.isEmpty()) {
+				return location;
+			}
+			int line = marker.getAttribute(IMarker.LINE_NUMBER, -1);
+			return line < 0 ? "" : "line " + line;
+		case ID:
+			return String.valueOf(marker.getId());
+		case TYPE:
+			return getTypeLabel(marker);
+		case CREATION_TIME:
+			try {
+				return DateFormat.getDateTimeInstance(DateFormat.LONG, DateFormat.MEDIUM)
+						.format(new Date(marker.getCreationTime()));
+			} catch (CoreException e) {
+				return "";
+			}
+		default:
+			return "";
+		}
+	}
+
+	private static String getTypeLabel(IMarker marker) {
+		try {
+			IExtension extension = Platform.getExtensionRegistry()
+					.getExtension(ResourcesPlugin.PI_RESOURCES + "." + ResourcesPlugin.PT_MARKERS, marker.getType());
+			return extension == null || extension.getLabel().isEmpty() ? marker.getType() : extension.getLabel();
+		} catch (CoreException e) {
+			return "";
+		}
+	}
+}
@@ -0,0 +1,385 @@
+/*******************************************************************************
+ * Copyright (c) 2017 Red Hat, Inc and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.reddeer.eclipse.wst.server;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.reddeer.common.condition.WaitCondition;
+import org.eclipse.reddeer.common.wait.TimePeriod;
+import org.eclipse.reddeer.core.handler.WidgetHandler;
+import org.eclipse.reddeer.eclipse.wst.server.ui.cnf.ServersViewEnums.ServerPublishState;
+import org.eclipse.reddeer.eclipse.wst.server.ui.cnf.ServersViewEnums.ServerState;
+import org.eclipse.reddeer.swt.api.TreeItem;
+import org.eclipse.wst.server.core.IModule;
+import org.eclipse.wst.server.core.IPublishListener;
+import org.eclipse.wst.server.core.IServer;
+import org.eclipse.wst.server.core.IServerLifecycleListener;
+import org.eclipse.wst.server.core.IServerListener;
+import org.eclipse.wst.server.core.ServerCore;
+import org.eclipse.wst.server.core.ServerEvent;
+import org.eclipse.wst.server.core.ServerUtil;
+import org.eclipse.wst.server.ui.IServerModule;
+
+/**
+ * Monitor of WTP servers. It listens to server, publish and server lifecycle
+ * events and provides state of servers and their modules in the same form as
+ * they are displayed in Servers view, without reading the view. Waiting
+ * threads are woken up by server events, so a state change is noticed
+ * immediately. A server which needs publishing while a server job is running
+ * when the monitor starts listening to it is considered publishing until its
+ * publish state changes or the publishing finishes.
+ * 
+ * @since 2.0
+ */
+public class ServerMonitor {
+
+	// state is checked at least this often even without events
+	private static final long MAX_CHECK_PERIOD = 200;
+
+	// launch modes as reported by IServer#getMode()
+	private static final String DEBUG_MODE = "debug";
+
+	private static final String PROFILE_MODE = "profile";
+
+	private static ServerMonitor instance;
+
+	private final Map<IServer, PublishRecord> publishRecords = new HashMap<>();
+
+	private final Listener listener = new Listener();
+
+	private long version;
+
+	private ServerMonitor() {
+		super();
+	}
+
+	/**
+	 * Gets server monitor. Monitor starts listening to all servers on the
+	 * first call.
+	 * 
+	 * @return server monitor
+	 */
+	public static synchronized ServerMonitor getInstance() {
+		if (instance == null) {
+			ServerMonitor monitor = new ServerMonitor();
+			ServerCore.addServerLifecycleListener(monitor.listener);
+			for (IServer server : ServerCore.getServers()) {
+				monitor.listener.serverAdded(server);
+			}
+			instance = monitor;
+		}
+		return instance;
+	}
+
+	/**
+	 * Gets server displayed by a tree item in Servers view.
+	 * 
+	 * @param item tree item of a server
+	 * @return server or null if the item does not represent a server
+	 */
+	public static IServer getServer(TreeItem item) {
+		if (item == null) {
+			return null;
+		}
+		Object data = WidgetHandler.getInstance().getData(item.getSWTWidget());
+		return data instanceof IServer ? (IServer) data : null;
+	}
+
+	/**
+	 * Gets server module displayed by a tree item in Servers view.
+	 * 
+	 * @param item tree item of a server module
+	 * @return server module or null if the item does not represent a server module
+	 */
+	public static IServerModule getServerModule(TreeItem item) {
+		if (item == null) {
+			return null;
+		}
+		Object data = WidgetHandler.getInstance().getData(item.getSWTWidget());
+		return data instanceof IServerModule ? (IServerModule) data : null;
+	}
+
+	/**
+	 * Gets state of the server.
+	 * 
+	 * @param server server
+	 * @return server state
+	 */
+	public ServerState getState(IServer server) {
+		return toServerState(server.getServerState(), server.getMode());
+	}
+
+	/**
+	 * Gets publish state of the server.
+	 * 
+	 * @param server server
+	 * @return server publish state
+	 */
+	public ServerPublishState getPublishState(IServer server) {
+		if (isPublishing(server)) {
+			return ServerPublishState.PUBLISHING;
+		}
+		return toPublishState(server.getServerPublishState(), server.getServerRestartState());
+	}
+
+	/**
+	 * Gets state of the module on the server.
+	 * 
+	 * @param server server
+	 * @param module module path
+	 * @return module state
+	 */
+	public ServerState getModuleState(IServer server, IModule[] module) {
+		return toServerState(server.getModuleState(module), null);
+	}
+
+	/**
+	 * Gets publish state of the module on the server.
+	 * 
+	 * @param server server
+	 * @param module module path
+	 * @return module publish state
+	 */
+	public ServerPublishState getModulePublishState(IServer server, IModule[] module) {
+		return toPublishState(server.getModulePublishState(module), server.getModuleRestartState(module));
+	}
+
+	/**
+	 * Gets number of publish operations of the server finished since the
+	 * monitor started.
+	 * 
+	 * @param server server
+	 * @return number of finished publish operations
+	 */
+	public synchronized long getPublishCount(IServer server) {
+		PublishRecord record = publishRecords.get(server);
+		return record == null ? 0 : record.finished;
+	}
+
+	/**
+	 * Gets counter of server events. It changes whenever any server or module
+	 * changes.
+	 * 
+	 * @return version of the monitor
+	 */
+	public synchronized long getVersion() {
+		return version;
+	}
+
+	/**
+	 * Waits until a server event comes or the timeout expires.
+	 * 
+	 * @param sinceVersion version returned by {@link #getVersion()}
+	 * @param timeoutMillis maximal time to wait in milliseconds
+	 * @return true if there was an event, false otherwise
+	 */
+	public synchronized boolean waitForChange(long sinceVersion, long timeoutMillis) {
+		long deadline = System.nanoTime() + timeoutMillis * 1000000L;
+		while (version == sinceVersion) {
+			long remaining = (deadline - System.nanoTime()) / 1000000L;
+			if (remaining <= 0) {
+				return false;
+			}
+			try {
+				wait(remaining);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Waits until the condition is met. Condition is tested after every server
+	 * event, so it should be cheap to test, e.g. it should not read Servers
+	 * view.
+	 * 
+	 * @param condition condition to test
+	 * @param timeout maximal time to wait
+	 * @return true if the condition is met, false if the timeout expired
+	 */
+	public boolean waitUntil(WaitCondition condition, TimePeriod timeout) {
+		long start = System.nanoTime();
+		while (true) {
+			long sinceVersion = getVersion();
+			if (condition.test()) {
+				return true;
+			}
+			long remaining = timeout.getRemaining(start).getMilliseconds();
+			if (remaining <= 0) {
+				return false;
+			}
+			waitForChange(sinceVersion, Math.min(remaining, MAX_CHECK_PERIOD));
+		}
+	}
+
+	private synchronized boolean isPublishing(IServer server) {
+		PublishRecord record = publishRecords.get(server);
+		return record != null && record.publishing;
+	}
+
+	private synchronized void changed() {
+		version++;
+		notifyAll();
+	}
+
+	private static ServerState toServerState(int state, String mode) {
+		switch (state) {
+		case IServer.STATE_STARTING:
+			return ServerState.STARTING;
+		case IServer.STATE_STARTED:
+			if (DEBUG_MODE.equals(mode)) {
+				return ServerState.DEBUGGING;
+			}
+			if (PROFILE_MODE.equals(mode)) {
+				return ServerState.PROFILING;
+			}
+			return ServerState.STARTED;
+		case IServer.STATE_STOPPING:
+			return ServerState.STOPPING;
+		case IServer.STATE_STOPPED:
+			return ServerState.STOPPED;
+		default:
+			return ServerState.NONE;
+		}
+	}
+
+	private static ServerPublishState toPublishState(int publishState, boolean restart) {
+		boolean republish = publishState == IServer.PUBLISH_STATE_INCREMENTAL
+				|| publishState == IServer.PUBLISH_STATE_FULL;
+		if (restart && republish) {
+			return ServerPublishState.RESTART_REPUBLISH;
+		}
+		if (restart) {
+			return ServerPublishState.RESTART;
+		}
+		if (republish) {
+			return ServerPublishState.REPUBLISH;
+		}
+		if (publishState == IServer.PUBLISH_STATE_NONE) {
+			return ServerPublishState.SYNCHRONIZED;
+		}
+		return ServerPublishState.NONE;
+	}
+
+	private static class PublishRecord {
+
+		private boolean publishing;
+
+		private long finished;
+
+		// publish state of the server when publishing was seeded, null if publishing was reported by events
+		private Integer seededPublishState;
+	}
+
+	private class Listener implements IServerLifecycleListener, IServerListener, IPublishListener {
+
+		@Override
+		public void serverAdded(IServer server) {
+			synchronized (ServerMonitor.this) {
+				if (publishRecords.containsKey(server)) {
+					return;
+				}
+				publishRecords.put(server, new PublishRecord());
+			}
+			server.addServerListener(this);
+			server.addPublishListener(this);
+			seed(server);
+			changed();
+		}
+
+		/**
+		 * Seeds publishing state of a server which could start publishing before
+		 * the listener was added, publishStarted event is missed then.
+		 */
+		private void seed(IServer server) {
+			int publishState = server.getServerPublishState();
+			if (publishState != IServer.PUBLISH_STATE_INCREMENTAL && publishState != IServer.PUBLISH_STATE_FULL) {
+				return;
+			}
+			boolean serverJobRunning = false;
+			for (Job job : Job.getJobManager().find(ServerUtil.SERVER_JOB_FAMILY)) {
+				serverJobRunning |= job.getState() == Job.RUNNING;
+			}
+			if (!serverJobRunning) {
+				return;
+			}
+			synchronized (ServerMonitor.this) {
+				PublishRecord record = publishRecords.get(server);
+				if (record != null && record.finished == 0) {
+					record.publishing = true;
+					record.seededPublishState = publishState;
+				}
+			}
+		}
+
+		@Override
+		public void serverChanged(IServer server) {
+			changed();
+		}
+
+		private void unseed(IServer server) {
+			synchronized (ServerMonitor.this) {
+				PublishRecord record = publishRecords.get(server);
+				if (record != null && record.seededPublishState != null
+						&& record.seededPublishState != server.getServerPublishState()) {
+					record.publishing = false;
+					record.seededPublishState = null;
+				}
+			}
+		}
+
+		@Override
+		public void serverRemoved(IServer server) {
+			server.removeServerListener(this);
+			server.removePublishListener(this);
+			synchronized (ServerMonitor.this) {
+				publishRecords.remove(server);
+			}
+			changed();
+		}
+
+		@Override
+		public void serverChanged(ServerEvent event) {
+			unseed(event.getServer());
+			changed();
+		}
+
+		@Override
+		public void publishStarted(IServer server) {
+			synchronized (ServerMonitor.this) {
+				PublishRecord record = publishRecords.get(server);
+				if (record != null) {
+					record.publishing = true;
+					record.seededPublishState = null;
+				}
+			}
+			changed();
+		}
+
+		@Override
+		public void publishFinished(IServer server, IStatus status) {
+			synchronized (ServerMonitor.this) {
+				PublishRecord record = publishRecords.get(server);
+				if (record != null) {
+					record.publishing = false;
+					record.seededPublishState = null;
+					record.finished++;
+				}
+			}
+			changed();
+		}
+	}
+}
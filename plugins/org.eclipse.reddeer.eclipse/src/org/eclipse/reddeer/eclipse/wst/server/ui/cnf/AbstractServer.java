@@ -38,6 +38,7 @@ import org.eclipse.reddeer.eclipse.condition.ServerExists;
 import org.eclipse.reddeer.eclipse.condition.ServerHasPublishState;
 import org.eclipse.reddeer.eclipse.condition.ServerHasState;
 import org.eclipse.reddeer.eclipse.exception.EclipseLayerException;
+import org.eclipse.reddeer.eclipse.wst.server.ServerMonitor;
 import org.eclipse.reddeer.eclipse.wst.server.ui.cnf.ServersViewEnums.ServerPublishState;
 import org.eclipse.reddeer.eclipse.wst.server.ui.cnf.ServersViewEnums.ServerState;
 import org.eclipse.reddeer.eclipse.wst.server.ui.editor.ServerEditor;
@@ -447,7 +448,10 @@ public abstract class AbstractServer implements Server, RedDeerAdaptable<Server>
 	 * Wait for publish.
 	 */
 	protected void waitForPublish(PublishListenerCondition listenerCondition) {
-		new GroupWait(getServerPublishTimeout(), waitUntil(listenerCondition), 
+		long start = System.nanoTime();
+		// woken up by server events, Servers view is read only after publishing finished
+		ServerMonitor.getInstance().waitUntil(listenerCondition, getServerPublishTimeout());
+		new GroupWait(getServerPublishTimeout().getRemaining(start), waitUntil(listenerCondition), 
 				waitUntil(new ServerHasPublishState(this, ServerPublishState.SYNCHRONIZED)), 
 						waitWhile(new JobIsRunning()));
 	}	
@@ -477,9 +481,12 @@ public abstract class AbstractServer implements Server, RedDeerAdaptable<Server>
 			default: throw new EclipseLayerException("Unknown state "+resultState);
 		}
 		try{
+			long start = System.nanoTime();
 			new ContextMenuItem(menuItem).select();
+			// woken up by server events, Servers view is read only after the state changed
+			ServerMonitor.getInstance().waitUntil(listenerCondition, getServerStateChangeTimeout());
 		
-			new GroupWait(getServerStateChangeTimeout(), waitUntil(listenerCondition), 
+			new GroupWait(getServerStateChangeTimeout().getRemaining(start), waitUntil(listenerCondition), 
 					waitUntil(new ServerHasState(this, resultState)), waitWhile(new JobIsRunning()));
 			
 			log.debug("Operate server's state finished, the result server's state is: '" + getLabel().getState() + "'");
@@ -63,6 +63,16 @@ public class ServerModule implements RedDeerAdaptable<ServerModule>{
 		this.view = view;
 	}
 
+	/**
+	 * Returns tree item of the module in Servers view.
+	 *
+	 * @return the tree item
+	 * @since 2.0
+	 */
+	public TreeItem getTreeItem() {
+		return treeItem;
+	}
+
 	/**
 	 * Returns module's label as {@link ModuleLabel}.
 	 *
@@ -18,6 +18,7 @@ import org.eclipse.reddeer.common.logging.LoggingUtils;
 import org.eclipse.reddeer.core.exception.CoreLayerException;
 import org.eclipse.reddeer.eclipse.exception.EclipseLayerException;
 import org.eclipse.reddeer.eclipse.wst.server.ui.wizard.NewServerWizard;
+import org.eclipse.reddeer.jface.viewers.TreeItemIndex;
 import org.eclipse.reddeer.swt.api.Tree;
 import org.eclipse.reddeer.swt.api.TreeItem;
 import org.eclipse.reddeer.swt.impl.menu.ContextMenuItem;
@@ -100,13 +101,17 @@ public class ServersView2 extends WorkbenchView {
 	 * @return Server of specified type with a given name
 	 */
 	public <T extends Server> T getServer(Class<T> clazz, String name) {
-		for (Server server : getServers()){
-			if (server.isValid() && server.getLabel().getName().equals(name)){
-				return server.getAdapter(clazz);
+		TreeItemIndex index = getServersIndex();
+		if (index != null) {
+			for (TreeItem item : index.getItems(name)){
+				Server server = new DefaultServer(item);
+				if (server.isValid()){
+					return server.getAdapter(clazz);
+				}
 			}
 		}
 		log.info("Requested server '" + name + "' was not found on Servers view");
-		log.info("Available servers are: " + LoggingUtils.format(getServersNames()));
+		log.info("Available servers are: " + LoggingUtils.format(getServersNames().toArray()));
 		throw new EclipseLayerException("There is no server with name " + name);
 	}
 
@@ -120,14 +125,22 @@ public class ServersView2 extends WorkbenchView {
 		return new DefaultTree(this);
 	}
 	
-	private Object[] getServersNames() {
-		List<Server> servers = getServers();
-		Object[] names = new Object[servers.size()];
-		
-		for (int i = 0; i < servers.size(); i++){
-			names[i] = servers.get(i).getLabel().getName();
+	/**
+	 * Gets names of all servers. Unlike {@link #getServers()} no server is
+	 * instantiated and labels are read in a single pass.
+	 * 
+	 * @return list of names of servers
+	 */
+	public List<String> getServersNames() {
+		TreeItemIndex index = getServersIndex();
+		return index == null ? new ArrayList<String>() : index.getTexts();
+	}
+	
+	private TreeItemIndex getServersIndex() {
+		try {
+			return TreeItemIndex.getIndex(getServersTree());
+		} catch (CoreLayerException e){
+			return null;
 		}
-		
-		return names;
 	}
 }
@@ -10,10 +10,10 @@
  *******************************************************************************/
 package org.eclipse.reddeer.gef.finder;
 
-import java.util.ArrayList;
 import java.util.List;
-import java.util.Stack;
 
+import org.eclipse.reddeer.core.traversal.ChildResolver;
+import org.eclipse.reddeer.core.traversal.TreeTraversal;
 import org.hamcrest.Matcher;
 
 /**
@@ -25,6 +25,15 @@ import org.hamcrest.Matcher;
  */
 public abstract class Finder<T> {
 
+	// children are visited from the last one as by the former stack based search
+	private final TreeTraversal<T> traversal = new TreeTraversal<T>(new ChildResolver<T>() {
+
+		@Override
+		public List<T> getChildren(T node) {
+			return Finder.this.getChildren(node);
+		}
+	}, TreeTraversal.UNLIMITED_DEPTH, true);
+
 	/**
 	 * Find.
 	 *
@@ -33,28 +42,21 @@ public abstract class Finder<T> {
 	 * @return the list
 	 */
 	public List<T> find(T parent, Matcher<?> matcher) {
-		List<T> list = new ArrayList<T>();
-		Stack<T> stack = new Stack<T>();
-		// Initial push
-		stack.push(parent);
-		// Depth first search
-		while (!stack.isEmpty()) {
-			// Pop figure
-			T child = stack.pop();
-			// If null then continue
-			if (child == null) {
-				continue;
-			}
-			// Does it matches?
-			if (matcher.matches(child)) {
-				list.add(child);
-			}
-			// Push another children
-			for (T t : getChildren(child)) {
-				stack.push(t);
-			}
-		}
-		return list;
+		return traversal.findAll(parent, matcher);
+	}
+
+	/**
+	 * Returns object discovered from parent which matches a given matcher and
+	 * has a given index among all matching objects. Search stops as soon as the
+	 * object is found.
+	 *
+	 * @param parent parent node
+	 * @param matcher matcher
+	 * @param index index of matching object
+	 * @return matching object or null if there is no such object
+	 */
+	public T find(T parent, Matcher<?> matcher, int index) {
+		return traversal.find(parent, matcher, index);
 	}
 
 	/**
@@ -26,8 +26,9 @@ import org.eclipse.reddeer.common.util.Display;
 import org.eclipse.reddeer.common.util.ResultRunnable;
 import org.eclipse.reddeer.core.handler.WidgetHandler;
 import org.eclipse.reddeer.gef.api.Palette;
-import org.eclipse.reddeer.gef.finder.EditPartFinder;
 import org.eclipse.reddeer.gef.impl.palette.internal.BasicPalette;
+import org.eclipse.reddeer.gef.lookup.EditPartIndex;
+import org.eclipse.reddeer.gef.matcher.IndexableEditPartMatcher;
 
 /**
  * Handler for {@link org.eclipse.gef.GraphicalViewer}.
@@ -94,13 +95,35 @@ public class ViewerHandler {
 		return Display.syncExec(new ResultRunnable<List<EditPart>>() {
 			@Override
 			public List<EditPart> run() {
-				EditPart root = viewer.getContents();
-				return new EditPartFinder().find(root, matcher);
+				EditPartIndex index = EditPartIndex.getIndex(viewer);
+				if (matcher instanceof Any) {
+					return index.getEditParts();
+				}
+				if (matcher instanceof IndexableEditPartMatcher) {
+					return ((IndexableEditPartMatcher) matcher).find(index);
+				}
+				return index.getEditParts(matcher);
 			}
 
 		});
 	}
 
+	/**
+	 * Invalidates the edit part index of a given viewer. Labels and tooltips are always read from figures, use it only
+	 * when edit parts were changed without notifying the viewer, e.g. when a model of an edit part was replaced.
+	 * 
+	 * @param viewer
+	 *            Edit part viewer
+	 */
+	public void invalidateEditPartIndex(final EditPartViewer viewer) {
+		Display.syncExec(new Runnable() {
+			@Override
+			public void run() {
+				EditPartIndex.getIndex(viewer).invalidate();
+			}
+		});
+	}
+
 	/**
 	 * Clicks on a given at the specified coordinates.
 	 *
@@ -11,6 +11,7 @@
 package org.eclipse.reddeer.gef.impl.editpart;
 
 import org.eclipse.draw2d.IFigure;
+import org.eclipse.draw2d.geometry.Point;
 import org.eclipse.draw2d.geometry.Rectangle;
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.widgets.Control;
@@ -24,6 +25,7 @@ import org.eclipse.reddeer.gef.comparator.PositionComparator;
 import org.eclipse.reddeer.gef.handler.EditPartHandler;
 import org.eclipse.reddeer.gef.handler.ViewerHandler;
 import org.eclipse.reddeer.gef.lookup.EditPartLookup;
+import org.eclipse.reddeer.gef.lookup.FigureLookup;
 import org.eclipse.reddeer.swt.api.Text;
 import org.eclipse.reddeer.swt.impl.text.DefaultText;
 
@@ -74,12 +76,15 @@ public abstract class AbstractEditPart implements EditPart, ReferencedComposite
 
 	@Override
 	public void click() {
-		Rectangle bounds = getFigure().getBounds();
-		final Rectangle rec = bounds.getCopy();
-		getFigure().translateToAbsolute(rec);
-		int x = rec.x + rec.width / 2;
-		int y = rec.y + rec.height / 2;
-		ViewerHandler.getInstance().click(editPart.getViewer(), x, y);
+		IFigure figure = getFigure();
+		Point point = FigureLookup.getInstance().findClickablePoint(editPart.getViewer(), figure);
+		if (point == null) {
+			// the figure is covered by other figures, click at its center
+			Rectangle rec = figure.getBounds().getCopy();
+			figure.translateToAbsolute(rec);
+			point = rec.getCenter();
+		}
+		ViewerHandler.getInstance().click(editPart.getViewer(), point.x, point.y);
 	}
 
 	@Override
@@ -0,0 +1,279 @@
+/*******************************************************************************
+ * Copyright (c) 2017 Red Hat, Inc and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.reddeer.gef.lookup;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.gef.EditPart;
+import org.eclipse.gef.EditPartListener;
+import org.eclipse.gef.EditPartViewer;
+import org.eclipse.gef.GraphicalEditPart;
+import org.eclipse.gef.commands.CommandStack;
+import org.eclipse.gef.commands.CommandStackEvent;
+import org.eclipse.gef.commands.CommandStackEventListener;
+import org.eclipse.reddeer.common.logging.Logger;
+import org.eclipse.reddeer.gef.finder.EditPartFinder;
+import org.eclipse.reddeer.gef.matcher.IsEditPartWithLabel;
+import org.eclipse.reddeer.gef.matcher.IsEditPartWithTooltip;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.widgets.Control;
+import org.eclipse.swt.widgets.Event;
+import org.eclipse.swt.widgets.Listener;
+import org.hamcrest.Matcher;
+import org.hamcrest.core.Is;
+import org.hamcrest.core.IsAnything;
+
+/**
+ * Index of edit parts of an {@link org.eclipse.gef.EditPartViewer}. Edit parts are indexed by edit part class name.
+ * The index is stored as a property of its viewer so it does not outlive the viewer. The index is built lazily in one
+ * pass over the edit part tree and it is invalidated when a child edit part is added or removed, when the command stack
+ * of the viewer changes or when the viewer control is disposed. The order of indexed edit parts is the same as the
+ * order returned by {@link EditPartFinder}.<br>
+ * Labels and tooltips are not indexed because figures can be changed without any notification, they are read from
+ * indexed edit parts when queried.<br>
+ * All methods have to be called in UI thread.
+ */
+public class EditPartIndex {
+
+	protected static final Logger log = Logger.getLogger(EditPartIndex.class);
+
+	private static final String PROPERTY = EditPartIndex.class.getName();
+
+	private final EditPartViewer viewer;
+	private final EditPartListener structureListener = new EditPartListener.Stub() {
+
+		@Override
+		public void childAdded(EditPart child, int index) {
+			invalidate();
+		}
+
+		@Override
+		public void removingChild(EditPart child, int index) {
+			invalidate();
+		}
+	};
+	private final CommandStackEventListener commandStackListener = new CommandStackEventListener() {
+
+		@Override
+		public void stackChanged(CommandStackEvent event) {
+			if (event.isPostChangeEvent()) {
+				invalidate();
+			}
+		}
+	};
+
+	private final Listener disposeListener = new Listener() {
+
+		@Override
+		public void handleEvent(Event event) {
+			// command stack can outlive the viewer
+			invalidate();
+		}
+	};
+
+	private boolean valid;
+	private CommandStack commandStack;
+	private Control control;
+	private List<EditPart> editParts;
+	private Map<String, List<EditPart>> byClassName;
+
+	private EditPartIndex(EditPartViewer viewer) {
+		this.viewer = viewer;
+	}
+
+	/**
+	 * Gets the index of a given viewer. The index is created when requested for the first time.
+	 * 
+	 * @param viewer
+	 *            Edit part viewer
+	 * @return Edit part index
+	 */
+	public static EditPartIndex getIndex(EditPartViewer viewer) {
+		EditPartIndex index = (EditPartIndex) viewer.getProperty(PROPERTY);
+		if (index == null) {
+			index = new EditPartIndex(viewer);
+			viewer.setProperty(PROPERTY, index);
+		}
+		return index;
+	}
+
+	/**
+	 * Returns all indexed edit parts.
+	 * 
+	 * @return List of edit parts
+	 */
+	public List<EditPart> getEditParts() {
+		ensureValid();
+		return new ArrayList<EditPart>(editParts);
+	}
+
+	/**
+	 * Returns indexed edit parts fulfilling the specified matcher.
+	 * 
+	 * @param matcher
+	 *            Edit part matcher
+	 * @return List of edit parts
+	 */
+	public List<EditPart> getEditParts(Matcher<?> matcher) {
+		ensureValid();
+		List<EditPart> result = new ArrayList<EditPart>();
+		for (EditPart editPart : editParts) {
+			if (matcher.matches(editPart)) {
+				result.add(editPart);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Returns selectable graphical edit parts whose class has a given simple or canonical name.
+	 * 
+	 * @param className
+	 *            Simple or canonical class name
+	 * @return List of edit parts
+	 */
+	public List<EditPart> getEditPartsOfInstance(String className) {
+		ensureValid();
+		return selectable(get(byClassName, className));
+	}
+
+	/**
+	 * Returns selectable graphical edit parts with a given label.
+	 * 
+	 * @param label
+	 *            Label
+	 * @return List of edit parts
+	 */
+	public List<EditPart> getEditPartsWithLabel(String label) {
+		return getEditPartsWithLabel(Is.<String> is(label));
+	}
+
+	/**
+	 * Returns selectable graphical edit parts with a label fulfilling the specified matcher.
+	 * 
+	 * @param matcher
+	 *            Label matcher
+	 * @return List of edit parts
+	 */
+	public List<EditPart> getEditPartsWithLabel(Matcher<String> matcher) {
+		return getEditParts(new IsEditPartWithLabel(matcher));
+	}
+
+	/**
+	 * Returns graphical edit parts with a given tooltip.
+	 * 
+	 * @param tooltip
+	 *            Tooltip
+	 * @return List of edit parts
+	 */
+	public List<EditPart> getEditPartsWithTooltip(String tooltip) {
+		return getEditPartsWithTooltip(Is.<String> is(tooltip));
+	}
+
+	/**
+	 * Returns graphical edit parts with a tooltip fulfilling the specified matcher.
+	 * 
+	 * @param matcher
+	 *            Tooltip matcher
+	 * @return List of edit parts
+	 */
+	public List<EditPart> getEditPartsWithTooltip(Matcher<String> matcher) {
+		return getEditParts(new IsEditPartWithTooltip(matcher));
+	}
+
+	/**
+	 * Invalidates the index. The index is rebuilt when it is queried next time.
+	 */
+	public void invalidate() {
+		if (!valid) {
+			return;
+		}
+		valid = false;
+		for (EditPart editPart : editParts) {
+			editPart.removeEditPartListener(structureListener);
+		}
+		if (viewer.getRootEditPart() != null) {
+			viewer.getRootEditPart().removeEditPartListener(structureListener);
+		}
+		if (commandStack != null) {
+			commandStack.removeCommandStackEventListener(commandStackListener);
+			commandStack = null;
+		}
+		if (control != null) {
+			if (!control.isDisposed()) {
+				control.removeListener(SWT.Dispose, disposeListener);
+			}
+			control = null;
+		}
+		editParts = null;
+		byClassName = null;
+	}
+
+	private void ensureValid() {
+		if (valid) {
+			return;
+		}
+		long start = System.currentTimeMillis();
+		editParts = new EditPartFinder().find(viewer.getContents(), new IsAnything<EditPart>());
+		byClassName = new HashMap<String, List<EditPart>>();
+		for (EditPart editPart : editParts) {
+			put(byClassName, editPart.getClass().getSimpleName(), editPart);
+			String canonicalName = editPart.getClass().getCanonicalName();
+			if (canonicalName != null && !canonicalName.equals(editPart.getClass().getSimpleName())) {
+				put(byClassName, canonicalName, editPart);
+			}
+			editPart.addEditPartListener(structureListener);
+		}
+		if (viewer.getRootEditPart() != null) {
+			viewer.getRootEditPart().addEditPartListener(structureListener);
+		}
+		if (viewer.getEditDomain() != null) {
+			commandStack = viewer.getEditDomain().getCommandStack();
+			if (commandStack != null) {
+				commandStack.addCommandStackEventListener(commandStackListener);
+			}
+		}
+		control = viewer.getControl();
+		if (control != null) {
+			control.addListener(SWT.Dispose, disposeListener);
+		}
+		valid = true;
+		log.debug("Indexed " + editParts.size() + " edit parts in " + (System.currentTimeMillis() - start) + " ms");
+	}
+
+	private List<EditPart> selectable(List<EditPart> candidates) {
+		List<EditPart> result = new ArrayList<EditPart>();
+		for (EditPart editPart : candidates) {
+			if (editPart instanceof GraphicalEditPart && editPart.isSelectable()) {
+				result.add(editPart);
+			}
+		}
+		return result;
+	}
+
+	private static <K> List<EditPart> get(Map<K, List<EditPart>> map, K key) {
+		List<EditPart> list = map.get(key);
+		return list == null ? Collections.<EditPart> emptyList() : list;
+	}
+
+	private static <K> void put(Map<K, List<EditPart>> map, K key, EditPart editPart) {
+		List<EditPart> list = map.get(key);
+		if (list == null) {
+			list = new ArrayList<EditPart>();
+			map.put(key, list);
+		}
+		list.add(editPart);
+	}
+}
@@ -14,9 +14,13 @@ import java.util.List;
 
 import org.eclipse.draw2d.FigureCanvas;
 import org.eclipse.draw2d.IFigure;
+import org.eclipse.draw2d.geometry.Point;
+import org.eclipse.draw2d.geometry.Rectangle;
 import org.eclipse.gef.EditPartViewer;
 import org.hamcrest.Matcher;
 import org.eclipse.reddeer.common.logging.Logger;
+import org.eclipse.reddeer.common.util.Display;
+import org.eclipse.reddeer.common.util.ResultRunnable;
 import org.eclipse.reddeer.gef.GEFLayerException;
 import org.eclipse.reddeer.gef.finder.FigureFinder;
 
@@ -99,4 +103,100 @@ public class FigureLookup {
 		return figures.get(index);
 	}
 
+	/**
+	 * Finds the top most figure at the specified absolute coordinates which is fulfilled by a given matcher. The figure
+	 * is searched in a given viewer using its {@link FigureSpatialIndex}.
+	 * 
+	 * @param viewer
+	 *            Edit part viewer
+	 * @param x
+	 *            X-axis
+	 * @param y
+	 *            Y-axis
+	 * @param matcher
+	 *            Figure matcher
+	 * @return Figure
+	 */
+	public IFigure findFigureAt(final EditPartViewer viewer, final int x, final int y, final Matcher<?> matcher) {
+		IFigure figure = Display.syncExec(new ResultRunnable<IFigure>() {
+
+			@Override
+			public IFigure run() {
+				return FigureSpatialIndex.getIndex(viewer).findFigureAt(x, y, matcher);
+			}
+		});
+		if (figure == null) {
+			throw new GEFLayerException("Cannot find figure with matcher " + matcher + " at [" + x + ", " + y + "]");
+		}
+		return figure;
+	}
+
+	/**
+	 * Finds a point where a click is received by a given figure. The point is searched in a given viewer using its
+	 * {@link FigureSpatialIndex}, the center of the figure is preferred.
+	 * 
+	 * @param viewer
+	 *            Edit part viewer
+	 * @param figure
+	 *            Figure
+	 * @return Point in absolute coordinates or null if the figure is not showing or it is covered by other figures
+	 */
+	public Point findClickablePoint(final EditPartViewer viewer, final IFigure figure) {
+		return Display.syncExec(new ResultRunnable<Point>() {
+
+			@Override
+			public Point run() {
+				return FigureSpatialIndex.getIndex(viewer).findClickablePoint(figure);
+			}
+		});
+	}
+
+	/**
+	 * Finds all figures intersecting the specified rectangle in absolute coordinates which are fulfilled by a given
+	 * matcher. The figures are searched in a given viewer using its {@link FigureSpatialIndex}.
+	 * 
+	 * @param viewer
+	 *            Edit part viewer
+	 * @param rectangle
+	 *            Rectangle in absolute coordinates
+	 * @param matcher
+	 *            Figure matcher
+	 * @return List of figures
+	 */
+	public List<IFigure> findFigures(final EditPartViewer viewer, final Rectangle rectangle, final Matcher<?> matcher) {
+		return Display.syncExec(new ResultRunnable<List<IFigure>>() {
+
+			@Override
+			public List<IFigure> run() {
+				return FigureSpatialIndex.getIndex(viewer).findFigures(rectangle, matcher);
+			}
+		});
+	}
+
+	/**
+	 * Finds the connection anchor reference point which is the nearest to the specified absolute coordinates. The
+	 * anchor is searched in a given viewer using its {@link FigureSpatialIndex}.
+	 * 
+	 * @param viewer
+	 *            Edit part viewer
+	 * @param x
+	 *            X-axis
+	 * @param y
+	 *            Y-axis
+	 * @return Anchor reference point in absolute coordinates
+	 */
+	public Point findNearestConnectionAnchor(final EditPartViewer viewer, final int x, final int y) {
+		Point point = Display.syncExec(new ResultRunnable<Point>() {
+
+			@Override
+			public Point run() {
+				return FigureSpatialIndex.getIndex(viewer).findNearestConnectionAnchor(x, y);
+			}
+		});
+		if (point == null) {
+			throw new GEFLayerException("Cannot find any connection anchor");
+		}
+		return point;
+	}
+
 }
@@ -0,0 +1,545 @@
+/*******************************************************************************
+ * Copyright (c) 2017 Red Hat, Inc and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.reddeer.gef.lookup;
+
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.draw2d.Connection;
+import org.eclipse.draw2d.ConnectionAnchor;
+import org.eclipse.draw2d.CoordinateListener;
+import org.eclipse.draw2d.FigureCanvas;
+import org.eclipse.draw2d.FigureListener;
+import org.eclipse.draw2d.IFigure;
+import org.eclipse.draw2d.Layer;
+import org.eclipse.draw2d.LayoutListener;
+import org.eclipse.draw2d.geometry.Point;
+import org.eclipse.draw2d.geometry.Rectangle;
+import org.eclipse.gef.EditPartViewer;
+import org.eclipse.reddeer.common.logging.Logger;
+import org.hamcrest.Matcher;
+import org.hamcrest.core.IsAnything;
+
+/**
+ * Spatial index of figures in an {@link org.eclipse.gef.EditPartViewer}. Figure bounds are kept in a uniform grid so
+ * "figure at point", "figures in rectangle" and "nearest connection anchor" queries do not need to walk the whole
+ * figure tree as {@link org.eclipse.reddeer.gef.finder.FigureFinder} does.<br>
+ * The index is built lazily in one pass over the figure tree. It is updated incrementally when a figure is moved
+ * (FigureListener#figureMoved), when a coordinate system changes (e.g. a nested viewport scrolls) or when connection
+ * points change and it is rebuilt when a figure is added or removed. Moving a figure which uses local coordinates
+ * updates its whole subtree since its children do not move in their own coordinates. Bounds are stored relatively to
+ * the canvas contents so scrolling of the canvas does not invalidate the index. All coordinates in the API are
+ * absolute (canvas) coordinates, the same as the ones used for clicking. Hit testing follows
+ * {@link IFigure#findFigureAt(int, int)}, so transparent layers are never found at a point. The index is stored as a
+ * property of its viewer so it does not outlive the viewer.<br>
+ * All methods have to be called in UI thread.
+ */
+public class FigureSpatialIndex {
+
+	protected static final Logger log = Logger.getLogger(FigureSpatialIndex.class);
+
+	/**
+	 * Default size of a grid cell in pixels.
+	 */
+	public static final int DEFAULT_CELL_SIZE = 64;
+
+	private static final int MAX_RINGS = 16;
+
+	// relative positions tried when looking for a clickable point, the center first
+	private static final double[][] CLICK_POINTS = new double[][] { { 0.5, 0.5 }, { 0.25, 0.25 }, { 0.75, 0.25 },
+			{ 0.25, 0.75 }, { 0.75, 0.75 }, { 0.5, 0.25 }, { 0.5, 0.75 }, { 0.25, 0.5 }, { 0.75, 0.5 } };
+
+	private static final String PROPERTY = FigureSpatialIndex.class.getName();
+
+	private final EditPartViewer viewer;
+	private final int cellSize;
+
+	private final FigureListener moveListener = new FigureListener() {
+
+		@Override
+		public void figureMoved(IFigure source) {
+			// children of a figure using local coordinates are not moved, only their absolute position changes
+			update(source, source.isCoordinateSystem());
+		}
+	};
+	private final CoordinateListener coordinateListener = new CoordinateListener() {
+
+		@Override
+		public void coordinateSystemChanged(IFigure source) {
+			update(source, true);
+		}
+	};
+	private final PropertyChangeListener pointsListener = new PropertyChangeListener() {
+
+		@Override
+		public void propertyChange(PropertyChangeEvent event) {
+			update((IFigure) event.getSource(), false);
+		}
+	};
+	private final LayoutListener structureListener = new LayoutListener.Stub() {
+
+		@Override
+		public void invalidate(IFigure container) {
+			Entry entry = entries == null ? null : entries.get(container);
+			if (entry != null && entry.children != container.getChildren().size()) {
+				invalidateIndex();
+			}
+		}
+
+		@Override
+		public void remove(IFigure child) {
+			invalidateIndex();
+		}
+	};
+
+	private boolean valid;
+	private IFigure reference;
+	private Map<IFigure, Entry> entries;
+	private Map<Long, List<Entry>> cells;
+	private Map<Long, List<Anchor>> anchorCells;
+	private Map<Connection, Anchor[]> anchors;
+
+	private FigureSpatialIndex(EditPartViewer viewer, int cellSize) {
+		this.viewer = viewer;
+		this.cellSize = cellSize;
+	}
+
+	/**
+	 * Gets the spatial index of a given viewer. The index is created when requested for the first time.
+	 * 
+	 * @param viewer
+	 *            Edit part viewer
+	 * @return Figure spatial index
+	 */
+	public static FigureSpatialIndex getIndex(EditPartViewer viewer) {
+		FigureSpatialIndex index = (FigureSpatialIndex) viewer.getProperty(PROPERTY);
+		if (index == null) {
+			index = new FigureSpatialIndex(viewer, DEFAULT_CELL_SIZE);
+			viewer.setProperty(PROPERTY, index);
+		}
+		return index;
+	}
+
+	/**
+	 * Finds the top most showing figure containing a given point.
+	 * 
+	 * @param x
+	 *            X-axis
+	 * @param y
+	 *            Y-axis
+	 * @return Figure or null if there is no figure at the point
+	 */
+	public IFigure findFigureAt(int x, int y) {
+		return findFigureAt(x, y, new IsAnything<IFigure>());
+	}
+
+	/**
+	 * Finds the top most showing figure containing a given point which is fulfilled by the specified matcher.
+	 * 
+	 * @param x
+	 *            X-axis
+	 * @param y
+	 *            Y-axis
+	 * @param matcher
+	 *            Figure matcher
+	 * @return Figure or null if there is no such figure at the point
+	 */
+	public IFigure findFigureAt(int x, int y, Matcher<?> matcher) {
+		ensureValid();
+		Point point = new Point(x, y);
+		reference.translateToRelative(point);
+		Entry top = findTop(point, matcher);
+		return top == null ? null : top.figure;
+	}
+
+	/**
+	 * Finds a point where a click is received by a given figure, i.e. a point inside the figure where the top most
+	 * figure is the figure itself or one of its descendants. The center of the figure is preferred.
+	 * 
+	 * @param figure
+	 *            Figure
+	 * @return Point in absolute coordinates or null if the figure is not showing or it is covered by other figures
+	 */
+	public Point findClickablePoint(IFigure figure) {
+		ensureValid();
+		Entry entry = entries.get(figure);
+		if (entry == null || !figure.isShowing()) {
+			return null;
+		}
+		Rectangle bounds = entry.bounds;
+		for (double[] position : CLICK_POINTS) {
+			Point point = new Point(bounds.x + (int) (bounds.width * position[0]),
+					bounds.y + (int) (bounds.height * position[1]));
+			Entry top = findTop(point, new IsAnything<IFigure>());
+			if (top != null && isDescendant(top.figure, figure)) {
+				reference.translateToAbsolute(point);
+				return point;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Finds all showing figures intersecting a given rectangle. Figures are ordered by their paint order, i.e. a parent
+	 * precedes its children and figures painted on top come last.
+	 * 
+	 * @param rectangle
+	 *            Rectangle in absolute coordinates
+	 * @param matcher
+	 *            Figure matcher
+	 * @return List of figures
+	 */
+	public List<IFigure> findFigures(Rectangle rectangle, Matcher<?> matcher) {
+		ensureValid();
+		Rectangle area = rectangle.getCopy();
+		reference.translateToRelative(area);
+		Set<Entry> candidates = new LinkedHashSet<Entry>();
+		for (int cx = cell(area.x); cx <= cell(area.right()); cx++) {
+			for (int cy = cell(area.y); cy <= cell(area.bottom()); cy++) {
+				List<Entry> cell = cells.get(key(cx, cy));
+				if (cell != null) {
+					candidates.addAll(cell);
+				}
+			}
+		}
+		List<Entry> result = new ArrayList<Entry>();
+		for (Entry entry : candidates) {
+			if (entry.bounds.intersects(area) && entry.figure.isShowing() && matcher.matches(entry.figure)) {
+				result.add(entry);
+			}
+		}
+		Collections.sort(result, new Comparator<Entry>() {
+
+			@Override
+			public int compare(Entry first, Entry second) {
+				return first.order - second.order;
+			}
+		});
+		List<IFigure> figures = new ArrayList<IFigure>();
+		for (Entry entry : result) {
+			figures.add(entry.figure);
+		}
+		return figures;
+	}
+
+	/**
+	 * Finds the connection anchor reference point which is the nearest to a given point.
+	 * 
+	 * @param x
+	 *            X-axis
+	 * @param y
+	 *            Y-axis
+	 * @return Anchor reference point in absolute coordinates or null if there is no connection
+	 */
+	public Point findNearestConnectionAnchor(int x, int y) {
+		ensureValid();
+		if (anchors.isEmpty()) {
+			return null;
+		}
+		Point point = new Point(x, y);
+		reference.translateToRelative(point);
+		int cx = cell(point.x);
+		int cy = cell(point.y);
+		Anchor nearest = null;
+		long nearestDistance = Long.MAX_VALUE;
+		// search rings of cells around the point until no closer anchor can exist
+		for (int ring = 0;; ring++) {
+			for (int i = cx - ring; i <= cx + ring; i++) {
+				for (int j = cy - ring; j <= cy + ring; j++) {
+					if (Math.abs(i - cx) != ring && Math.abs(j - cy) != ring) {
+						continue;
+					}
+					List<Anchor> cell = anchorCells.get(key(i, j));
+					if (cell == null) {
+						continue;
+					}
+					for (Anchor anchor : cell) {
+						long dx = anchor.point.x - point.x;
+						long dy = anchor.point.y - point.y;
+						long distance = dx * dx + dy * dy;
+						if (distance < nearestDistance) {
+							nearest = anchor;
+							nearestDistance = distance;
+						}
+					}
+				}
+			}
+			long searched = (long) ring * cellSize;
+			if (nearest != null && searched * searched >= nearestDistance) {
+				break;
+			}
+			if (ring >= MAX_RINGS) {
+				// anchors are far away, scanning all of them is cheaper than scanning empty cells
+				for (Anchor[] connectionAnchors : anchors.values()) {
+					for (Anchor anchor : connectionAnchors) {
+						long dx = anchor.point.x - point.x;
+						long dy = anchor.point.y - point.y;
+						long distance = dx * dx + dy * dy;
+						if (distance < nearestDistance) {
+							nearest = anchor;
+							nearestDistance = distance;
+						}
+					}
+				}
+				break;
+			}
+		}
+		Point result = nearest.point.getCopy();
+		reference.translateToAbsolute(result);
+		return result;
+	}
+
+	private Entry findTop(Point point, Matcher<?> matcher) {
+		Entry top = null;
+		List<Entry> cell = cells.get(key(cell(point.x), cell(point.y)));
+		if (cell != null) {
+			for (Entry entry : cell) {
+				if (entry.bounds.contains(point) && (top == null || entry.order > top.order)
+						&& entry.figure.isShowing() && isHit(entry.figure, point) && matcher.matches(entry.figure)) {
+					top = entry;
+				}
+			}
+		}
+		return top;
+	}
+
+	/*
+	 * The same semantics as IFigure#findFigureAt, transparent layers (e.g. connection, handle or feedback layers which
+	 * cover the whole diagram) never receive a click and a figure decides itself whether it contains a point (e.g. a
+	 * connection contains only points close to its line).
+	 */
+	private boolean isHit(IFigure figure, Point point) {
+		if (figure instanceof Layer && !figure.isOpaque()) {
+			return false;
+		}
+		if (figure.getParent() == null) {
+			return figure.containsPoint(point);
+		}
+		Point local = point.getCopy();
+		reference.translateToAbsolute(local);
+		figure.getParent().translateToRelative(local);
+		return figure.containsPoint(local);
+	}
+
+	private static boolean isDescendant(IFigure figure, IFigure ancestor) {
+		for (IFigure parent = figure; parent != null; parent = parent.getParent()) {
+			if (parent == ancestor) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Invalidates the index. The index is rebuilt when it is queried next time.
+	 */
+	public void invalidateIndex() {
+		if (!valid) {
+			return;
+		}
+		valid = false;
+		for (Entry entry : entries.values()) {
+			entry.figure.removeFigureListener(moveListener);
+			entry.figure.removeCoordinateListener(coordinateListener);
+			entry.figure.removeLayoutListener(structureListener);
+			if (entry.figure instanceof Connection) {
+				entry.figure.removePropertyChangeListener(Connection.PROPERTY_POINTS, pointsListener);
+			}
+		}
+		entries = null;
+		cells = null;
+		anchorCells = null;
+		anchors = null;
+		reference = null;
+	}
+
+	private void ensureValid() {
+		if (valid) {
+			return;
+		}
+		long start = System.currentTimeMillis();
+		reference = ((FigureCanvas) viewer.getControl()).getContents();
+		entries = new HashMap<IFigure, Entry>();
+		cells = new HashMap<Long, List<Entry>>();
+		anchorCells = new HashMap<Long, List<Anchor>>();
+		anchors = new HashMap<Connection, Anchor[]>();
+		List<IFigure> figures = getFiguresInPaintOrder(reference);
+		for (int i = 0; i < figures.size(); i++) {
+			IFigure figure = figures.get(i);
+			Entry entry = new Entry(figure, i);
+			entries.put(figure, entry);
+			insert(entry);
+			figure.addFigureListener(moveListener);
+			figure.addCoordinateListener(coordinateListener);
+			figure.addLayoutListener(structureListener);
+			if (figure instanceof Connection) {
+				figure.addPropertyChangeListener(Connection.PROPERTY_POINTS, pointsListener);
+				insertAnchors((Connection) figure);
+			}
+		}
+		valid = true;
+		log.debug("Indexed " + figures.size() + " figures in " + (System.currentTimeMillis() - start) + " ms");
+	}
+
+	@SuppressWarnings("unchecked")
+	private static List<IFigure> getFiguresInPaintOrder(IFigure root) {
+		List<IFigure> figures = new ArrayList<IFigure>();
+		Deque<IFigure> stack = new ArrayDeque<IFigure>();
+		stack.push(root);
+		while (!stack.isEmpty()) {
+			IFigure figure = stack.pop();
+			figures.add(figure);
+			List<IFigure> children = figure.getChildren();
+			for (int i = children.size() - 1; i >= 0; i--) {
+				stack.push(children.get(i));
+			}
+		}
+		return figures;
+	}
+
+	@SuppressWarnings("unchecked")
+	private void update(IFigure figure, boolean subtree) {
+		if (!valid) {
+			return;
+		}
+		Entry entry = entries.get(figure);
+		if (entry == null) {
+			invalidateIndex();
+			return;
+		}
+		remove(entry);
+		entry.bounds = getRelativeBounds(figure);
+		insert(entry);
+		if (figure instanceof Connection) {
+			removeAnchors((Connection) figure);
+			insertAnchors((Connection) figure);
+		}
+		if (subtree) {
+			for (IFigure child : (List<IFigure>) figure.getChildren()) {
+				update(child, true);
+			}
+		}
+	}
+
+	private void insert(Entry entry) {
+		Rectangle bounds = entry.bounds;
+		for (int cx = cell(bounds.x); cx <= cell(bounds.right()); cx++) {
+			for (int cy = cell(bounds.y); cy <= cell(bounds.bottom()); cy++) {
+				Long key = key(cx, cy);
+				List<Entry> cell = cells.get(key);
+				if (cell == null) {
+					cell = new ArrayList<Entry>();
+					cells.put(key, cell);
+				}
+				cell.add(entry);
+			}
+		}
+	}
+
+	private void remove(Entry entry) {
+		Rectangle bounds = entry.bounds;
+		for (int cx = cell(bounds.x); cx <= cell(bounds.right()); cx++) {
+			for (int cy = cell(bounds.y); cy <= cell(bounds.bottom()); cy++) {
+				List<Entry> cell = cells.get(key(cx, cy));
+				if (cell != null) {
+					cell.remove(entry);
+				}
+			}
+		}
+	}
+
+	private void insertAnchors(Connection connection) {
+		List<Anchor> connectionAnchors = new ArrayList<Anchor>();
+		for (ConnectionAnchor connectionAnchor : new ConnectionAnchor[] { connection.getSourceAnchor(),
+				connection.getTargetAnchor() }) {
+			if (connectionAnchor == null) {
+				continue;
+			}
+			Point point = connectionAnchor.getReferencePoint().getCopy();
+			reference.translateToRelative(point);
+			Anchor anchor = new Anchor(point);
+			Long key = key(cell(point.x), cell(point.y));
+			List<Anchor> cell = anchorCells.get(key);
+			if (cell == null) {
+				cell = new ArrayList<Anchor>();
+				anchorCells.put(key, cell);
+			}
+			cell.add(anchor);
+			connectionAnchors.add(anchor);
+		}
+		anchors.put(connection, connectionAnchors.toArray(new Anchor[connectionAnchors.size()]));
+	}
+
+	private void removeAnchors(Connection connection) {
+		Anchor[] connectionAnchors = anchors.remove(connection);
+		if (connectionAnchors == null) {
+			return;
+		}
+		for (Anchor anchor : connectionAnchors) {
+			List<Anchor> cell = anchorCells.get(key(cell(anchor.point.x), cell(anchor.point.y)));
+			if (cell != null) {
+				cell.remove(anchor);
+				if (cell.isEmpty()) {
+					anchorCells.remove(key(cell(anchor.point.x), cell(anchor.point.y)));
+				}
+			}
+		}
+	}
+
+	private Rectangle getRelativeBounds(IFigure figure) {
+		Rectangle bounds = figure.getBounds().getCopy();
+		figure.translateToAbsolute(bounds);
+		reference.translateToRelative(bounds);
+		return bounds;
+	}
+
+	private int cell(int coordinate) {
+		return Math.floorDiv(coordinate, cellSize);
+	}
+
+	private static Long key(int cx, int cy) {
+		return ((long) cx << 32) | (cy & 0xffffffffL);
+	}
+
+	private class Entry {
+
+		private final IFigure figure;
+		private final int order;
+		private final int children;
+		private Rectangle bounds;
+
+		private Entry(IFigure figure, int order) {
+			this.figure = figure;
+			this.order = order;
+			this.children = figure.getChildren().size();
+			this.bounds = getRelativeBounds(figure);
+		}
+	}
+
+	private static class Anchor {
+
+		private final Point point;
+
+		private Anchor(Point point) {
+			this.point = point;
+		}
+	}
+}
@@ -0,0 +1,34 @@
+/*******************************************************************************
+ * Copyright (c) 2017 Red Hat, Inc and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.reddeer.gef.matcher;
+
+import java.util.List;
+
+import org.eclipse.gef.EditPart;
+import org.eclipse.reddeer.gef.lookup.EditPartIndex;
+
+/**
+ * Edit part matcher which can be answered from {@link EditPartIndex} without walking the edit part tree.
+ */
+public interface IndexableEditPartMatcher {
+
+	/**
+	 * Finds all edit parts matching this matcher in a given index. The result has to be the same as if the matcher
+	 * was applied to each edit part found by {@link org.eclipse.reddeer.gef.finder.EditPartFinder}, subclasses which
+	 * override matching have to be answered by {@link EditPartIndex#getEditParts(org.hamcrest.Matcher)}. Called in UI
+	 * thread.
+	 * 
+	 * @param index
+	 *            Edit part index
+	 * @return List of matching edit parts
+	 */
+	List<EditPart> find(EditPartIndex index);
+}
@@ -10,10 +10,13 @@
  *******************************************************************************/
 package org.eclipse.reddeer.gef.matcher;
 
+import java.util.List;
+
 import org.eclipse.gef.EditPart;
 import org.eclipse.gef.GraphicalEditPart;
 import org.hamcrest.BaseMatcher;
 import org.hamcrest.Description;
+import org.eclipse.reddeer.gef.lookup.EditPartIndex;
 
 /**
  * Returns true if an object is an instance of a given instance.
@@ -21,7 +24,7 @@ import org.hamcrest.Description;
  * @author Andrej Podhradsky (andrej.podhradsky@gmail.com)
  *
  */
-public class IsEditPartOfInstance extends BaseMatcher<EditPart> {
+public class IsEditPartOfInstance extends BaseMatcher<EditPart> implements IndexableEditPartMatcher {
 
 	private String instance;
 
@@ -48,6 +51,18 @@ public class IsEditPartOfInstance extends BaseMatcher<EditPart> {
 		return false;
 	}
 
+	/* (non-Javadoc)
+	 * @see org.eclipse.reddeer.gef.matcher.IndexableEditPartMatcher#find(org.eclipse.reddeer.gef.lookup.EditPartIndex)
+	 */
+	@Override
+	public List<EditPart> find(EditPartIndex index) {
+		if (getClass() != IsEditPartOfInstance.class) {
+			// subclass can override matches()
+			return index.getEditParts(this);
+		}
+		return index.getEditPartsOfInstance(instance);
+	}
+
 	/* (non-Javadoc)
 	 * @see org.hamcrest.SelfDescribing#describeTo(org.hamcrest.Description)
 	 */
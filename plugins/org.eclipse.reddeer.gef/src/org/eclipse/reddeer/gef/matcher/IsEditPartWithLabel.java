@@ -23,6 +23,7 @@ import org.hamcrest.Matcher;
 import org.hamcrest.core.Is;
 import org.hamcrest.core.IsInstanceOf;
 import org.eclipse.reddeer.gef.finder.FigureFinder;
+import org.eclipse.reddeer.gef.lookup.EditPartIndex;
 
 /**
  * Matches edit part which contains {@link org.eclipse.draw2d.Label} or {@link org.eclipse.draw2d.text.TextFlow} with a
@@ -31,7 +32,7 @@ import org.eclipse.reddeer.gef.finder.FigureFinder;
  * @author Andrej Podhradsky (andrej.podhradsky@gmail.com)
  *
  */
-public class IsEditPartWithLabel extends BaseMatcher<EditPart> {
+public class IsEditPartWithLabel extends BaseMatcher<EditPart> implements IndexableEditPartMatcher {
 
 	private Matcher<String> matcher;
 
@@ -84,6 +85,16 @@ public class IsEditPartWithLabel extends BaseMatcher<EditPart> {
 		return false;
 	}
 
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see org.eclipse.reddeer.gef.matcher.IndexableEditPartMatcher#find(org.eclipse.reddeer.gef.lookup.EditPartIndex)
+	 */
+	@Override
+	public List<EditPart> find(EditPartIndex index) {
+		return index.getEditParts(this);
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * 
@@ -10,6 +10,8 @@
  *******************************************************************************/
 package org.eclipse.reddeer.gef.matcher;
 
+import java.util.List;
+
 import org.eclipse.draw2d.IFigure;
 import org.eclipse.gef.EditPart;
 import org.eclipse.gef.GraphicalEditPart;
@@ -18,6 +20,7 @@ import org.hamcrest.Description;
 import org.hamcrest.Matcher;
 import org.hamcrest.core.Is;
 import org.eclipse.reddeer.gef.handler.FigureHandler;
+import org.eclipse.reddeer.gef.lookup.EditPartIndex;
 
 /**
  * Matcher which returns true if an edit part has a given tooltip.
@@ -25,7 +28,7 @@ import org.eclipse.reddeer.gef.handler.FigureHandler;
  * @author Andrej Podhradsky (andrej.podhradsky@gmail.com)
  * 
  */
-public class IsEditPartWithTooltip extends BaseMatcher<EditPart> {
+public class IsEditPartWithTooltip extends BaseMatcher<EditPart> implements IndexableEditPartMatcher {
 
 	private Matcher<String> matcher;
 
@@ -47,6 +50,11 @@ public class IsEditPartWithTooltip extends BaseMatcher<EditPart> {
 		return false;
 	}
 
+	@Override
+	public List<EditPart> find(EditPartIndex index) {
+		return index.getEditParts(this);
+	}
+
 	@Override
 	public void describeTo(Description description) {
 		description.appendText("with tooltip '" + matcher.toString() + "'");
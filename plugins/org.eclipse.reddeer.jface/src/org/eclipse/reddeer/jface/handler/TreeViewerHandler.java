@@ -137,7 +137,10 @@ public class TreeViewerHandler {
 	}
 	
 	private TreeItemTexts parseText(TreeItem item) {
-		final org.eclipse.swt.widgets.TreeItem swtTreeItem = (org.eclipse.swt.widgets.TreeItem) item.getSWTWidget();
+		return parseText((org.eclipse.swt.widgets.TreeItem) item.getSWTWidget());
+	}
+
+	private TreeItemTexts parseText(final org.eclipse.swt.widgets.TreeItem swtTreeItem) {
 		return Display.syncExec(new ResultRunnable<TreeViewerHandler.TreeItemTexts>() {
 
 			@Override
@@ -220,6 +223,17 @@ public class TreeViewerHandler {
 	public String getNonStyledText(TreeItem item) {
 		return parseText(item).getNonStyledText();
 	}
+
+	/**
+	 * Gets non-styled text of the SWT tree item. If called in UI thread, text
+	 * is parsed directly without another synchronous execution.
+	 *
+	 * @param swtTreeItem the SWT tree item
+	 * @return non-styled text (without decorators) of the tree item
+	 */
+	public String getNonStyledText(org.eclipse.swt.widgets.TreeItem swtTreeItem) {
+		return parseText(swtTreeItem).getNonStyledText();
+	}
 	
 	/**
 	 * Gets styled texts on the tree item. There could be more than 1
@@ -0,0 +1,187 @@
+/*******************************************************************************
+ * Copyright (c) 2017 Red Hat, Inc and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.reddeer.jface.viewers;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.reddeer.common.util.Display;
+import org.eclipse.reddeer.common.util.ResultRunnable;
+import org.eclipse.reddeer.jface.handler.TreeViewerHandler;
+import org.eclipse.reddeer.swt.api.Tree;
+import org.eclipse.reddeer.swt.api.TreeItem;
+import org.eclipse.reddeer.swt.impl.tree.DefaultTreeItem;
+
+/**
+ * Lookup of top level items of a tree viewer by their non-styled text (text
+ * without decorators). Viewers reuse tree items when elements are renamed or
+ * re-sorted without firing any event, so nothing is cached and each query scans
+ * the live items of the tree once. Each query is answered in one synchronous
+ * execution in UI thread, non-styled text of each item is computed at most once
+ * and only the requested items are wrapped into RedDeer tree items.
+ *
+ * @since 2.0
+ */
+public class TreeItemIndex {
+
+	private final org.eclipse.swt.widgets.Tree tree;
+
+	private TreeItemIndex(org.eclipse.swt.widgets.Tree tree) {
+		this.tree = tree;
+	}
+
+	/**
+	 * Gets lookup of top level items of the tree.
+	 *
+	 * @param tree tree to look up items in
+	 * @return lookup of top level items of the tree
+	 */
+	public static TreeItemIndex getIndex(Tree tree) {
+		return new TreeItemIndex(tree.getSWTWidget());
+	}
+
+	/**
+	 * Gets non-styled texts of all top level items in the order of the tree.
+	 *
+	 * @return texts of top level items
+	 */
+	public List<String> getTexts() {
+		return Display.syncExec(new ResultRunnable<List<String>>() {
+
+			@Override
+			public List<String> run() {
+				List<String> result = new ArrayList<>();
+				for (org.eclipse.swt.widgets.TreeItem item : getTreeItems()) {
+					result.add(getText(item));
+				}
+				return result;
+			}
+		});
+	}
+
+	/**
+	 * Gets all top level items grouped by their non-styled text.
+	 *
+	 * @return items by their text, texts and items are in the order of the tree
+	 */
+	public Map<String, List<TreeItem>> getItemsByText() {
+		Map<String, List<org.eclipse.swt.widgets.TreeItem>> swtItems = Display
+				.syncExec(new ResultRunnable<Map<String, List<org.eclipse.swt.widgets.TreeItem>>>() {
+
+					@Override
+					public Map<String, List<org.eclipse.swt.widgets.TreeItem>> run() {
+						Map<String, List<org.eclipse.swt.widgets.TreeItem>> found = new LinkedHashMap<>();
+						for (org.eclipse.swt.widgets.TreeItem item : getTreeItems()) {
+							String text = getText(item);
+							List<org.eclipse.swt.widgets.TreeItem> sameText = found.get(text);
+							if (sameText == null) {
+								sameText = new ArrayList<>(1);
+								found.put(text, sameText);
+							}
+							sameText.add(item);
+						}
+						return found;
+					}
+				});
+		Map<String, List<TreeItem>> result = new LinkedHashMap<>();
+		for (Map.Entry<String, List<org.eclipse.swt.widgets.TreeItem>> entry : swtItems.entrySet()) {
+			List<TreeItem> items = new ArrayList<>(entry.getValue().size());
+			for (org.eclipse.swt.widgets.TreeItem swtItem : entry.getValue()) {
+				items.add(new DefaultTreeItem(swtItem));
+			}
+			result.put(entry.getKey(), items);
+		}
+		return result;
+	}
+
+	/**
+	 * Gets top level items with the specified non-styled text.
+	 *
+	 * @param text non-styled text of items
+	 * @return items with the text in the order of the tree, empty list if there is no such item
+	 */
+	public List<TreeItem> getItems(final String text) {
+		List<org.eclipse.swt.widgets.TreeItem> swtItems = Display
+				.syncExec(new ResultRunnable<List<org.eclipse.swt.widgets.TreeItem>>() {
+
+					@Override
+					public List<org.eclipse.swt.widgets.TreeItem> run() {
+						List<org.eclipse.swt.widgets.TreeItem> found = new ArrayList<>();
+						for (org.eclipse.swt.widgets.TreeItem item : getTreeItems()) {
+							if (text.equals(getText(item))) {
+								found.add(item);
+							}
+						}
+						return found;
+					}
+				});
+		List<TreeItem> result = new ArrayList<>(swtItems.size());
+		for (org.eclipse.swt.widgets.TreeItem swtItem : swtItems) {
+			result.add(new DefaultTreeItem(swtItem));
+		}
+		return result;
+	}
+
+	/**
+	 * Gets the first top level item with the specified non-styled text.
+	 *
+	 * @param text non-styled text of the item
+	 * @return item with the text or null if there is no such item
+	 */
+	public TreeItem getItem(final String text) {
+		org.eclipse.swt.widgets.TreeItem swtItem = Display
+				.syncExec(new ResultRunnable<org.eclipse.swt.widgets.TreeItem>() {
+
+					@Override
+					public org.eclipse.swt.widgets.TreeItem run() {
+						return find(text);
+					}
+				});
+		return swtItem == null ? null : new DefaultTreeItem(swtItem);
+	}
+
+	/**
+	 * Finds out whether there is a top level item with the specified non-styled text.
+	 *
+	 * @param text non-styled text of the item
+	 * @return true if there is such item, false otherwise
+	 */
+	public boolean contains(final String text) {
+		return Display.syncExec(new ResultRunnable<Boolean>() {
+
+			@Override
+			public Boolean run() {
+				return find(text) != null;
+			}
+		});
+	}
+
+	// has to be called in UI thread
+	private org.eclipse.swt.widgets.TreeItem find(String text) {
+		for (org.eclipse.swt.widgets.TreeItem item : getTreeItems()) {
+			if (text.equals(getText(item))) {
+				return item;
+			}
+		}
+		return null;
+	}
+
+	// has to be called in UI thread
+	private org.eclipse.swt.widgets.TreeItem[] getTreeItems() {
+		return tree.isDisposed() ? new org.eclipse.swt.widgets.TreeItem[0] : tree.getItems();
+	}
+
+	private static String getText(org.eclipse.swt.widgets.TreeItem item) {
+		return TreeViewerHandler.getInstance().getNonStyledText(item);
+	}
+}
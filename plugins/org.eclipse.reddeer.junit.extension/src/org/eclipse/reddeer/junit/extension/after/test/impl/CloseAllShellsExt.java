@@ -12,25 +12,40 @@ package org.eclipse.reddeer.junit.extension.after.test.impl;
 
 import java.util.ArrayList;
 import java.util.List;
-
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+
+import org.eclipse.swt.graphics.ImageData;
+import org.eclipse.swt.graphics.Rectangle;
 import org.eclipse.swt.widgets.Shell;
 import org.eclipse.reddeer.common.logging.Logger;
 import org.eclipse.reddeer.common.properties.RedDeerProperties;
+import org.eclipse.reddeer.common.util.Display;
+import org.eclipse.reddeer.common.util.ResultRunnable;
 import org.eclipse.reddeer.core.handler.IBeforeShellIsClosed;
 import org.eclipse.reddeer.core.handler.ShellHandler;
+import org.eclipse.reddeer.core.lookup.ShellLookup;
 import org.eclipse.reddeer.junit.TestInfo;
 import org.eclipse.reddeer.junit.extension.ExtensionPriority;
+import org.eclipse.reddeer.junit.extensionpoint.ExtensionMetrics;
 import org.eclipse.reddeer.junit.extensionpoint.IAfterTest;
 import org.eclipse.reddeer.junit.screenshot.CaptureScreenshotException;
 import org.eclipse.reddeer.junit.screenshot.ScreenshotCapturer;
 import org.junit.Assert;
 import org.junit.runners.model.FrameworkMethod;
 import org.junit.runners.model.TestClass;
+import org.eclipse.reddeer.workbench.core.lookup.WorkbenchShellLookup;
 import org.eclipse.reddeer.workbench.handler.WorkbenchShellHandler;
 
 /**
  * Extension for Extension point org.eclipse.reddeer.junit.after.test. It closes
  * all shells after each test. If there is an open shell the test will fail.<br>
+ * All leftover shells are captured in one UI pass (one screenshot per shell
+ * region, encoded off the UI thread) and closed innermost first. Timing of the
+ * capture and close phases is reported through {@link ExtensionMetrics}.<br>
  * Use this system property to enable/disable it:
  * 
  * - rd.closeShells=[true|false] (default=true)
@@ -42,23 +57,21 @@ public class CloseAllShellsExt implements IAfterTest {
 
 	public static final boolean CLOSE_ALL_SHELLS = RedDeerProperties.CLOSE_ALL_SHELLS.getBooleanValue();
 	private static final Logger log = Logger.getLogger(CloseAllShellsExt.class);
+	private static final String SCREENSHOT_DETAIL = "CloseAllShellsExt_closing_";
 
-	private String config;
-
-	private TestClass testClass;
-
-	private Object target;
+	private static final ExecutorService encoder = Executors.newSingleThreadExecutor(new ThreadFactory() {
 
-	private FrameworkMethod method;
+		@Override
+		public Thread newThread(Runnable runnable) {
+			Thread thread = new Thread(runnable, "CloseAllShellsExt screenshot encoder");
+			thread.setDaemon(true);
+			return thread;
+		}
+	});
 
 	@Override
 	public void runAfterTestClass(String config, TestClass testClass) {
-		this.config = config;
-		this.testClass = testClass;
-		this.target = null;
-		this.method = null;
-
-		run();
+		run(config, testClass.getJavaClass(), null);
 	}
 
 	/**
@@ -66,19 +79,101 @@ public class CloseAllShellsExt implements IAfterTest {
 	 */
 	@Override
 	public void runAfterTest(String config, Object target, FrameworkMethod method) {
-		this.config = config;
-		this.testClass = null;
-		this.target = target;
-		this.method = method;
-
-		run();
+		if (target instanceof TestInfo) {
+			TestInfo testInfo = (TestInfo) target;
+			run(testInfo.getConfig(), testInfo.getTestObjectClass(), testInfo.getMethodName());
+		} else {
+			run(config, target.getClass(), method.getName());
+		}
 	}
 
-	private void run() {
-		BeforeShellIsClosedAdapter beforeShellIsClosedAdapter = new BeforeShellIsClosedAdapter();
+	private void run(final String config, final Class<?> testClass, final String methodName) {
+		long start = System.nanoTime();
+		final Shell workbenchShell = WorkbenchShellLookup.getInstance().getWorkbenchShell();
+		final LeftoverShells leftovers = Display.syncExec(new ResultRunnable<LeftoverShells>() {
+
+			@Override
+			public LeftoverShells run() {
+				return captureLeftoverShells(workbenchShell);
+			}
+		});
+		long captured = System.nanoTime();
+		ExtensionMetrics.report(config, CloseAllShellsExt.class, "capture", captured - start);
+		if (leftovers.shells.isEmpty()) {
+			return;
+		}
+
+		Future<?> encoding = encoder.submit(new Runnable() {
+
+			@Override
+			public void run() {
+				saveScreenshots(config, testClass, methodName, leftovers);
+			}
+		});
+
+		WorkbenchShellHandler.getInstance().closeShells(leftovers.shells);
+		// shells opened while closing (e.g. confirmation dialogs) are closed one by one
+		BeforeShellIsClosedAdapter beforeShellIsClosedAdapter = new BeforeShellIsClosedAdapter(config, testClass,
+				methodName);
 		WorkbenchShellHandler.getInstance().closeAllNonWorbenchShells(beforeShellIsClosedAdapter);
-		if (beforeShellIsClosedAdapter.getClosedShellsTitles().size() > 0) {
-			Assert.fail("The following shells remained open " + beforeShellIsClosedAdapter.getClosedShellsTitles());
+		long closed = System.nanoTime();
+		ExtensionMetrics.report(config, CloseAllShellsExt.class, "close", closed - captured);
+
+		try {
+			encoding.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} catch (ExecutionException e) {
+			log.error("Saving screenshots of leftover shells failed", e.getCause());
+		}
+		ExtensionMetrics.report(config, CloseAllShellsExt.class, "encode", System.nanoTime() - closed);
+
+		List<String> closedShellsTitles = new ArrayList<>(leftovers.titles);
+		closedShellsTitles.addAll(beforeShellIsClosedAdapter.getClosedShellsTitles());
+		Assert.fail("The following shells remained open " + closedShellsTitles);
+	}
+
+	/**
+	 * Collects all visible non-workbench shells with their titles and bounds and
+	 * captures the display. Runs in UI thread.
+	 */
+	private static LeftoverShells captureLeftoverShells(Shell workbenchShell) {
+		LeftoverShells leftovers = new LeftoverShells();
+		for (Shell shell : ShellLookup.getInstance().getShells()) {
+			if (shell != workbenchShell && !shell.isDisposed()) {
+				leftovers.shells.add(shell);
+				leftovers.titles.add(shell.getText());
+				leftovers.bounds.add(shell.getBounds());
+			}
+		}
+		if (!leftovers.shells.isEmpty() && RedDeerProperties.CAPTURE_SCREENSHOT.getBooleanValue()) {
+			org.eclipse.swt.widgets.Display display = Display.getDisplay();
+			leftovers.displayBounds = display.getBounds();
+			leftovers.imageData = ScreenshotCapturer.getInstance().captureImageData(display);
+		}
+		return leftovers;
+	}
+
+	private static void saveScreenshots(String config, Class<?> testClass, String methodName,
+			LeftoverShells leftovers) {
+		if (leftovers.imageData == null) {
+			return;
+		}
+		for (int i = 0; i < leftovers.shells.size(); i++) {
+			Rectangle bounds = leftovers.bounds.get(i);
+			Rectangle region = new Rectangle(bounds.x - leftovers.displayBounds.x,
+					bounds.y - leftovers.displayBounds.y, bounds.width, bounds.height);
+			ImageData imageData = ScreenshotCapturer.crop(leftovers.imageData, region);
+			if (imageData == null) {
+				imageData = leftovers.imageData;
+			}
+			String fileName = ScreenshotCapturer.getScreenshotFileName(testClass, methodName,
+					SCREENSHOT_DETAIL + leftovers.titles.get(i));
+			try {
+				ScreenshotCapturer.getInstance().saveScreenshotOnFailure(config, fileName, imageData);
+			} catch (CaptureScreenshotException e) {
+				e.printStackTrace();
+			}
 		}
 	}
 
@@ -90,14 +185,32 @@ public class CloseAllShellsExt implements IAfterTest {
 		return CLOSE_ALL_SHELLS;
 	}
 
+	/**
+	 * Shells which remained open after a test, captured in one UI pass.
+	 */
+	private static class LeftoverShells {
+
+		private final List<Shell> shells = new ArrayList<>();
+		private final List<String> titles = new ArrayList<>();
+		private final List<Rectangle> bounds = new ArrayList<>();
+		private Rectangle displayBounds;
+		private ImageData imageData;
+	}
+
 	/**
 	 * See {@link IBeforeShellIsClosed}
 	 */
-	private class BeforeShellIsClosedAdapter implements IBeforeShellIsClosed {
+	private static class BeforeShellIsClosedAdapter implements IBeforeShellIsClosed {
 
+		private final String config;
+		private final Class<?> testClass;
+		private final String methodName;
 		private List<String> closedShellsTitles;
 
-		public BeforeShellIsClosedAdapter() {
+		public BeforeShellIsClosedAdapter(String config, Class<?> testClass, String methodName) {
+			this.config = config;
+			this.testClass = testClass;
+			this.methodName = methodName;
 			this.closedShellsTitles = new ArrayList<>();
 		}
 
@@ -106,19 +219,8 @@ public class CloseAllShellsExt implements IAfterTest {
 
 			closedShellsTitles.add(shellTitle);
 			try {
-				String fileName;
-				if (testClass != null) {
-					fileName = ScreenshotCapturer.getScreenshotFileName(testClass.getJavaClass(), null,
-							"CloseAllShellsExt_closing_" + shellTitle);
-				} else if (target instanceof TestInfo) {
-					TestInfo testInfo = (TestInfo) target;
-					config = testInfo.getConfig();
-					fileName = ScreenshotCapturer.getScreenshotFileName(testInfo.getTestObjectClass(),
-							testInfo.getMethodName(), "CloseAllShellsExt_closing_" + shellTitle);
-				} else {
-					fileName = ScreenshotCapturer.getScreenshotFileName(target.getClass(), method.getName(),
-							"CloseAllShellsExt_closing_" + shellTitle);
-				}
+				String fileName = ScreenshotCapturer.getScreenshotFileName(testClass, methodName,
+						SCREENSHOT_DETAIL + shellTitle);
 				ScreenshotCapturer.getInstance().captureScreenshotOnFailure(config, fileName);
 			} catch (CaptureScreenshotException e) {
 				e.printStackTrace();
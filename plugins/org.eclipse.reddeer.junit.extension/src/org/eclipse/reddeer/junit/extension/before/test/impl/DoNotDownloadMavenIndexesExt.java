@@ -14,6 +14,7 @@ import org.eclipse.core.runtime.Platform;
 import org.eclipse.reddeer.common.exception.RedDeerException;
 import org.eclipse.reddeer.common.logging.Logger;
 import org.eclipse.reddeer.common.properties.RedDeerProperties;
+import org.eclipse.reddeer.direct.preferences.Preferences;
 import org.eclipse.reddeer.eclipse.m2e.core.ui.preferences.MavenPreferencePage;
 import org.eclipse.reddeer.junit.extension.ExtensionPriority;
 import org.eclipse.reddeer.junit.extensionpoint.IBeforeTest;
@@ -37,6 +38,10 @@ public class DoNotDownloadMavenIndexesExt implements IBeforeTest {
 	private static final Logger log = Logger
 			.getLogger(DoNotDownloadMavenIndexesExt.class);
 
+	private static final String M2E_PLUGIN = "org.eclipse.m2e.core";
+
+	private static final String M2E_UPDATE_INDEXES_KEY = "eclipse.m2.updateIndexes";
+
 	private static final boolean DISABLE_MAVEN_DOWNLOAD_REPO_INDEX = RedDeerProperties.DISABLE_MAVEN_REPOSITORY_DOWNLOAD.getBooleanValue();
 
 	@Override
@@ -56,9 +61,14 @@ public class DoNotDownloadMavenIndexesExt implements IBeforeTest {
 	 * Disables downloading Maven repo indexes on startup.
 	 */
 	private void disableMavenDownloadRepoIndexOnStartup() {
+		// cached read, it is cheap when the preference was already disabled
+		if (Preferences.isSet(M2E_PLUGIN, M2E_UPDATE_INDEXES_KEY, "false")) {
+			return;
+		}
+
 		String updateIndexesPreferenceString = Platform
 				.getPreferencesService()
-				.getString("org.eclipse.m2e.core", "eclipse.m2.updateIndexes",
+				.getString(M2E_PLUGIN, M2E_UPDATE_INDEXES_KEY,
 						"true", null);
 
 		// Maven is not installed
@@ -0,0 +1,48 @@
+/*******************************************************************************
+ * Copyright (c) 2017 Red Hat, Inc and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.reddeer.junit.extensionpoint;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.reddeer.common.logging.Logger;
+import org.eclipse.reddeer.junit.runner.RedDeerSuite;
+
+/**
+ * Reports timing of extensions to all {@link IExtensionMetrics} extensions.
+ *
+ */
+public class ExtensionMetrics {
+
+	private static final Logger log = Logger.getLogger(ExtensionMetrics.class);
+
+	private ExtensionMetrics() {
+	}
+
+	/**
+	 * Reports a metric of an extension.
+	 * 
+	 * @param config Config ID, can be null
+	 * @param extension Class of the extension
+	 * @param metric Name of the metric
+	 * @param durationNanos Duration in nanoseconds
+	 */
+	public static void report(String config, Class<?> extension, String metric, long durationNanos) {
+		log.debug(extension.getSimpleName() + "." + metric + " took "
+				+ TimeUnit.NANOSECONDS.toMillis(durationNanos) + " ms");
+		for (IExtensionMetrics metrics : RedDeerSuite.getExtensionMetricsExtensions()) {
+			try {
+				metrics.extensionMeasured(config, extension, metric, durationNanos);
+			} catch (RuntimeException e) {
+				log.error("Extension metrics " + metrics.getClass().getCanonicalName() + " failed", e);
+			}
+		}
+	}
+}
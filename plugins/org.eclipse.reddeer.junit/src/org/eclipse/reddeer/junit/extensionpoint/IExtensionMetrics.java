@@ -0,0 +1,30 @@
+/*******************************************************************************
+ * Copyright (c) 2017 Red Hat, Inc and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.reddeer.junit.extensionpoint;
+
+/**
+ * Eclipse extension collecting timing of before/after test extensions. Run time
+ * of each extension is reported by the runner, extensions can report
+ * finer-grained metrics through {@link ExtensionMetrics}.
+ *
+ */
+public interface IExtensionMetrics {
+
+	/**
+	 * Called when an extension (or a phase of an extension) finished.
+	 * 
+	 * @param config Config ID, can be null
+	 * @param extension Class of the extension
+	 * @param metric Name of the metric, e.g. runAfterTest or a phase of the extension
+	 * @param durationNanos Duration in nanoseconds
+	 */
+	void extensionMeasured(String config, Class<?> extension, String metric, long durationNanos);
+}
@@ -11,7 +11,6 @@
 package org.eclipse.reddeer.junit.internal.configuration;
 
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -89,6 +88,14 @@ public class SuiteConfiguration {
 			throw new InitializationError("Suite class given is null");
 		}
 		List<Class<?>> testClasses = getTestClasses(suiteClass);
+		SuitePlanCache cache = SuitePlanCache.create(suiteClass, testClasses);
+		if (cache != null) {
+			Map<RequirementConfigurationSet, List<Class<?>>> cachedPlan = cache.load(testClasses);
+			if (cachedPlan != null) {
+				configurationSetSuites = cachedPlan;
+				return;
+			}
+		}
 		for (Class<?> clazz : testClasses) {
 			List<Requirement<?>> requirements = RequirementHelper.getRequirements(clazz);
 			List<List<RequirementConfiguration>> requirementConfigurationsLists = new ArrayList<>();
@@ -118,6 +125,9 @@ public class SuiteConfiguration {
 				}
 			}
 		}
+		if (cache != null) {
+			cache.store(configurationSetSuites);
+		}
 	}
 	
 	@SuppressWarnings("unchecked")
@@ -144,15 +154,12 @@ public class SuiteConfiguration {
 	}
 
 	private void updateMap(RequirementConfigurationSet requirementConfigurationSet, Class<?> clazz) {
-		if (configurationSetSuites.containsKey(requirementConfigurationSet)) {
-			List<Class<?>> classes = configurationSetSuites.get(requirementConfigurationSet);
-			List<Class<?>> updatedList = new ArrayList<>();
-			updatedList.addAll(classes);
-			updatedList.add(clazz);;
-			configurationSetSuites.put(requirementConfigurationSet, updatedList);
-		} else {
-			configurationSetSuites.put(requirementConfigurationSet, Arrays.asList(clazz));
+		List<Class<?>> classes = configurationSetSuites.get(requirementConfigurationSet);
+		if (classes == null) {
+			classes = new ArrayList<>();
+			configurationSetSuites.put(requirementConfigurationSet, classes);
 		}
+		classes.add(clazz);
 	}
 	
 	/**
@@ -0,0 +1,289 @@
+/*******************************************************************************
+ * Copyright (c) 2017 Red Hat, Inc and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.reddeer.junit.internal.configuration;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.reddeer.common.logging.Logger;
+import org.eclipse.reddeer.common.properties.RedDeerProperties;
+import org.eclipse.reddeer.junit.annotation.AnnotationUtils;
+import org.eclipse.reddeer.junit.annotation.RequirementRestriction;
+import org.eclipse.reddeer.junit.requirement.configuration.MissingRequirementConfiguration;
+import org.eclipse.reddeer.junit.requirement.configuration.RequirementConfiguration;
+import org.eclipse.reddeer.junit.requirement.configuration.RequirementConfigurationPool;
+
+/**
+ * Disk cache of a suite plan, i.e. of configuration sets and test classes
+ * executed for them. Cache is opt-in, it is enabled by
+ * {@link RedDeerProperties#SUITE_PLAN_CACHE} pointing to a directory. A cached
+ * plan is valid as long as class files of test classes, their super classes,
+ * their annotations and requirement classes enclosing the annotations and the
+ * configuration file do not change.<br>
+ * Methods annotated by {@link RequirementRestriction} are part of the hashed
+ * test classes, but code they call and system properties or environment
+ * variables they read are not part of the key. The cache directory has to be
+ * deleted whenever such code or values change.<br>
+ * Configurations are stored by their class and ID and they are resolved
+ * against the configuration pool when the plan is loaded. Plan is not cached
+ * if IDs of configurations are not unique.
+ *
+ * @since 2.0
+ */
+class SuitePlanCache {
+
+	private static final Logger log = Logger.getLogger(SuitePlanCache.class);
+
+	private static final String FORMAT = "reddeer-suite-plan-2";
+
+	private static final String SUITE = "S";
+
+	private static final String CONFIGURATION = "C";
+
+	private static final String TEST_CLASS = "T";
+
+	private final File file;
+
+	private final String key;
+
+	// configurations of the pool by class name and ID, null value for ambiguous ID
+	private Map<String, RequirementConfiguration> configurations;
+
+	private SuitePlanCache(File file, String key) {
+		this.file = file;
+		this.key = key;
+	}
+
+	/**
+	 * Creates cache of a suite plan.
+	 *
+	 * @param suiteClass suite class
+	 * @param testClasses all test classes of the suite
+	 * @return cache or null if caching is disabled or the plan cannot be cached
+	 */
+	static SuitePlanCache create(Class<?> suiteClass, List<Class<?>> testClasses) {
+		String directory = RedDeerProperties.SUITE_PLAN_CACHE.getValue();
+		if (directory == null || directory.isEmpty()) {
+			return null;
+		}
+		try {
+			String key = computeKey(suiteClass, testClasses);
+			if (key == null) {
+				return null;
+			}
+			return new SuitePlanCache(new File(directory, "suite-plan-" + suiteClass.getName() + ".txt"), key);
+		} catch (IOException | NoSuchAlgorithmException e) {
+			log.warn("Suite plan of " + suiteClass.getName() + " cannot be cached: " + e.getMessage());
+			return null;
+		}
+	}
+
+	/**
+	 * Loads cached plan.
+	 *
+	 * @param testClasses all test classes of the suite
+	 * @return plan or null if there is no valid cached plan
+	 */
+	Map<RequirementConfigurationSet, List<Class<?>>> load(List<Class<?>> testClasses) {
+		if (!file.isFile()) {
+			return null;
+		}
+		Map<String, Class<?>> classes = new HashMap<>();
+		for (Class<?> clazz : testClasses) {
+			classes.put(clazz.getName(), clazz);
+		}
+		List<Set<RequirementConfiguration>> configurationSets = new ArrayList<>();
+		List<List<Class<?>>> suites = new ArrayList<>();
+		try (BufferedReader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+			if (!FORMAT.equals(reader.readLine()) || !key.equals(reader.readLine())) {
+				return null;
+			}
+			Set<RequirementConfiguration> configurations = null;
+			List<Class<?>> suiteClasses = null;
+			String line;
+			while ((line = reader.readLine()) != null) {
+				String[] parts = line.split("\t", 3);
+				if (SUITE.equals(parts[0])) {
+					configurations = new HashSet<>();
+					suiteClasses = new ArrayList<>();
+					configurationSets.add(configurations);
+					suites.add(suiteClasses);
+				} else if (CONFIGURATION.equals(parts[0]) && parts.length == 3 && configurations != null) {
+					RequirementConfiguration configuration = findConfiguration(parts[1], parts[2]);
+					if (configuration == null) {
+						return null;
+					}
+					configurations.add(configuration);
+				} else if (TEST_CLASS.equals(parts[0]) && parts.length == 2 && suiteClasses != null) {
+					Class<?> clazz = classes.get(parts[1]);
+					if (clazz == null) {
+						return null;
+					}
+					suiteClasses.add(clazz);
+				} else {
+					return null;
+				}
+			}
+		} catch (IOException e) {
+			log.warn("Cached suite plan " + file.getAbsolutePath() + " cannot be read: " + e.getMessage());
+			return null;
+		}
+		Map<RequirementConfigurationSet, List<Class<?>>> plan = new HashMap<>();
+		for (int i = 0; i < suites.size(); i++) {
+			if (plan.put(new RequirementConfigurationSet(configurationSets.get(i)), suites.get(i)) != null) {
+				return null;
+			}
+		}
+		log.info("Suite plan loaded from " + file.getAbsolutePath());
+		return plan;
+	}
+
+	/**
+	 * Stores plan to the cache.
+	 *
+	 * @param plan plan to store
+	 */
+	void store(Map<RequirementConfigurationSet, List<Class<?>>> plan) {
+		List<String> lines = new ArrayList<>();
+		lines.add(FORMAT);
+		lines.add(key);
+		for (Map.Entry<RequirementConfigurationSet, List<Class<?>>> entry : plan.entrySet()) {
+			lines.add(SUITE);
+			for (RequirementConfiguration configuration : entry.getKey().getConfigurationSet()) {
+				String id = configuration.getId();
+				if (id == null || id.indexOf('\n') >= 0 || id.indexOf('\r') >= 0
+						|| findConfiguration(configuration.getClass().getName(), id) == null) {
+					log.debug("Suite plan is not cached, configuration " + id + " cannot be identified");
+					return;
+				}
+				lines.add(CONFIGURATION + "\t" + configuration.getClass().getName() + "\t" + id);
+			}
+			for (Class<?> clazz : entry.getValue()) {
+				lines.add(TEST_CLASS + "\t" + clazz.getName());
+			}
+		}
+		try {
+			file.getParentFile().mkdirs();
+			File tmp = new File(file.getParentFile(), file.getName() + ".tmp");
+			try (BufferedWriter writer = Files.newBufferedWriter(tmp.toPath(), StandardCharsets.UTF_8)) {
+				for (String line : lines) {
+					writer.write(line);
+					writer.newLine();
+				}
+			}
+			Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		} catch (IOException e) {
+			log.warn("Suite plan cannot be stored to " + file.getAbsolutePath() + ": " + e.getMessage());
+		}
+	}
+
+	/**
+	 * Finds a copy of configuration with given class and ID in configuration pool.
+	 *
+	 * @return configuration or null if there is no such configuration or it is not unique
+	 */
+	private RequirementConfiguration findConfiguration(String className, String id) {
+		if (MissingRequirementConfiguration.class.getName().equals(className)) {
+			return new MissingRequirementConfiguration();
+		}
+		if (configurations == null) {
+			configurations = new HashMap<>();
+			// copies all configurations of the pool once
+			for (RequirementConfiguration configuration : RequirementConfigurationPool.getInstance()
+					.getConfigurations(RequirementConfiguration.class)) {
+				String configurationKey = configuration.getClass().getName() + "\t" + configuration.getId();
+				if (configurations.containsKey(configurationKey)) {
+					configurations.put(configurationKey, null);
+				} else {
+					configurations.put(configurationKey, configuration);
+				}
+			}
+		}
+		return configurations.get(className + "\t" + id);
+	}
+
+	private static String computeKey(Class<?> suiteClass, List<Class<?>> testClasses)
+			throws IOException, NoSuchAlgorithmException {
+		MessageDigest digest = MessageDigest.getInstance("SHA-256");
+		update(digest, FORMAT);
+		update(digest, suiteClass.getName());
+		Set<Class<?>> hashed = new LinkedHashSet<>();
+		for (Class<?> testClass : testClasses) {
+			update(digest, testClass.getName());
+			for (Class<?> clazz = testClass; clazz != null && clazz != Object.class; clazz = clazz.getSuperclass()) {
+				if (!hashClass(digest, clazz, hashed)) {
+					return null;
+				}
+				for (java.lang.annotation.Annotation annotation : clazz.getDeclaredAnnotations()) {
+					if (!hashClass(digest, annotation.annotationType(), hashed)) {
+						return null;
+					}
+					Class<?> requirementClass = AnnotationUtils.getEnclosingRequirementClass(annotation.annotationType());
+					while (requirementClass != null && requirementClass != Object.class) {
+						if (!hashClass(digest, requirementClass, hashed)) {
+							return null;
+						}
+						requirementClass = requirementClass.getSuperclass();
+					}
+				}
+			}
+		}
+		File configurationFile = RequirementConfigurationPool.getConfigurationFile();
+		if (configurationFile != null) {
+			update(digest, configurationFile.getAbsolutePath());
+			digest.update(Files.readAllBytes(configurationFile.toPath()));
+		}
+		StringBuilder sb = new StringBuilder();
+		for (byte b : digest.digest()) {
+			sb.append(String.format("%02x", b));
+		}
+		return sb.toString();
+	}
+
+	// returns false if class file is not available
+	private static boolean hashClass(MessageDigest digest, Class<?> clazz, Set<Class<?>> hashed) throws IOException {
+		if (!hashed.add(clazz)) {
+			return true;
+		}
+		update(digest, clazz.getName());
+		try (InputStream in = clazz.getResourceAsStream("/" + clazz.getName().replace('.', '/') + ".class")) {
+			if (in == null) {
+				return false;
+			}
+			byte[] buffer = new byte[8192];
+			int read;
+			while ((read = in.read(buffer)) != -1) {
+				digest.update(buffer, 0, read);
+			}
+		}
+		return true;
+	}
+
+	private static void update(MessageDigest digest, String value) {
+		digest.update(value.getBytes(StandardCharsets.UTF_8));
+		digest.update((byte) 0);
+	}
+}
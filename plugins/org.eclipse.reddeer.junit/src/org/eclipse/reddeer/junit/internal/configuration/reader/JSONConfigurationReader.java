@@ -11,12 +11,14 @@
 package org.eclipse.reddeer.junit.internal.configuration.reader;
 
 import java.io.File;
-import java.io.FileNotFoundException;
-import java.io.FileReader;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
 import java.lang.annotation.Annotation;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.ArrayList;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -27,29 +29,36 @@ import org.eclipse.reddeer.junit.requirement.ConfigurableRequirement;
 import org.eclipse.reddeer.junit.requirement.Requirement;
 import org.eclipse.reddeer.junit.requirement.RequirementException;
 import org.eclipse.reddeer.junit.requirement.configuration.RequirementConfiguration;
-import org.json.JSONObject;
 import org.yaml.snakeyaml.Yaml;
 
-import com.fasterxml.jackson.core.JsonParseException;
-import com.fasterxml.jackson.databind.JsonMappingException;
-import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.type.CollectionType;
+import com.fasterxml.jackson.databind.ObjectReader;
 import com.fasterxml.jackson.databind.type.TypeFactory;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
 
 /**
  * JSON requirement reader read a requirements configurations from JSON/YAML file.
+ * JSON files are streamed and each list of configurations is bound directly to
+ * its configuration class without building a tree of the whole file. Readers
+ * for configuration classes are cached.
  * 
  * @author mlabuda@redhat.com
  * @author Andrej Podhradsky (apodhrad@redhat.com)
  */
 public class JSONConfigurationReader implements ConfigurationReader {
 
-	private ObjectMapper mapper;
+	private static final ObjectMapper MAPPER = new ObjectMapper();
 
-	public JSONConfigurationReader() {
-		mapper = new ObjectMapper();
-	}
+	// one reader per configuration class, readers and the shared mapper keep the classes
+	// strongly reachable for the whole test run
+	private static final ClassValue<ObjectReader> READERS = new ClassValue<ObjectReader>() {
+		@Override
+		protected ObjectReader computeValue(Class<?> configurationClass) {
+			return MAPPER.readerFor(TypeFactory.defaultInstance().constructCollectionType(List.class, configurationClass));
+		}
+	};
 
 	@Override
 	public List<RequirementConfiguration> loadConfigurations(File file) {
@@ -59,21 +68,16 @@ public class JSONConfigurationReader implements ConfigurationReader {
 		}
 		String fileName = file.getName().toLowerCase(); 
 		try {
-			JsonNode root;
 			if (fileName.endsWith(".json")) {
-				root = mapper.readTree(file);
+				return readJson(file);
 			} else if (fileName.endsWith(".yaml") || fileName.endsWith(".yml")) {
-				root = mapper.readTree(convertYamlToJson(file));	 
+				return readYaml(file);
 			} else {
 				throw new RedDeerConfigurationException("Only JSON and YAML files are supported");
 			}
-			return getConfigurationsFromRootNode(root);
 		} catch (IOException ioe) {
 			throw new RedDeerConfigurationException("Could not create configurations for requirements from file "
 					+ file.getAbsolutePath() + " due to IO exception", ioe);
-		} catch (ClassNotFoundException cnfe) {
-			throw new RedDeerConfigurationException("Could not create configurations due to not existing declared "
-					+ "configuration class in configuration file " + file.getAbsolutePath(), cnfe);
 		} catch (ClassCastException cce) {
 			throw new RedDeerConfigurationException(
 					"Could not create configurations for requirements from file " + file.getAbsolutePath()
@@ -82,39 +86,64 @@ public class JSONConfigurationReader implements ConfigurationReader {
 		}
 	}
 	
-	@SuppressWarnings("unchecked")
-	private String convertYamlToJson(File file) throws FileNotFoundException {
-		Map<String,Object> map= (Map<String, Object>) new Yaml().load(new FileReader(file));
-		JSONObject jsonObject = new JSONObject(map);
-		return jsonObject.toString();
+	private List<RequirementConfiguration> readJson(File file) throws IOException {
+		List<RequirementConfiguration> configs = new ArrayList<RequirementConfiguration>();
+		try (JsonParser parser = MAPPER.getFactory().createParser(file)) {
+			if (parser.nextToken() != JsonToken.START_OBJECT) {
+				throw new RedDeerConfigurationException(
+						"Configuration file " + file.getAbsolutePath() + " does not contain a JSON object");
+			}
+			while (parser.nextToken() == JsonToken.FIELD_NAME) {
+				String annotationClassString = parser.getCurrentName();
+				parser.nextToken();
+				// reader consumes the whole value of the field
+				List<RequirementConfiguration> resultList = getReader(annotationClassString).readValue(parser);
+				configs.addAll(resultList);
+			}
+		}
+		return configs;
 	}
 	
-	private List<RequirementConfiguration> getConfigurationsFromRootNode(JsonNode root)
-			throws ClassNotFoundException, JsonParseException, JsonMappingException, IOException {
+	@SuppressWarnings("unchecked")
+	private List<RequirementConfiguration> readYaml(File file) throws IOException {
+		Map<String, Object> map;
+		try (InputStream in = Files.newInputStream(file.toPath());
+				Reader reader = new InputStreamReader(in, StandardCharsets.UTF_8)) {
+			map = (Map<String, Object>) new Yaml().load(reader);
+		}
 		List<RequirementConfiguration> configs = new ArrayList<RequirementConfiguration>();
-		Iterator<Entry<String, JsonNode>> it = root.fields();
-
-		while (it.hasNext()) {
-			Entry<String, JsonNode> node = it.next();
-			String annotationClassString = node.getKey();
-			String requirementClassString = annotationClassString.substring(0, annotationClassString.lastIndexOf("."));
-
-			Requirement<Annotation> requirement = getRequirement(requirementClassString);
-			if (ConfigurableRequirement.class.isAssignableFrom(requirement.getClass())) {
-				ConfigurableRequirement<?, ?> configurableRequirement = (ConfigurableRequirement<?, ?>) requirement;
-				CollectionType typeReference = TypeFactory.defaultInstance().constructCollectionType(List.class,
-						configurableRequirement.getConfigurationClass());
-				List<RequirementConfiguration> resultList = mapper.readValue(node.getValue().toString(), typeReference);
+		if (map == null) {
+			return configs;
+		}
+		for (Entry<String, Object> entry : map.entrySet()) {
+			// bind loaded YAML values via tokens without serializing them to a string
+			TokenBuffer buffer = new TokenBuffer(MAPPER, false);
+			MAPPER.writeValue(buffer, entry.getValue());
+			try (JsonParser parser = buffer.asParser()) {
+				List<RequirementConfiguration> resultList = getReader(entry.getKey()).readValue(parser);
 				configs.addAll(resultList);
-			} else {
-				throw new RequirementException("Annotation class for requirement " + requirement + " located in "
-						+ "configuration file is not encapsulated in configurable requirement. Annotation class"
-						+ " must belong to a requirement implementing ConfigurableRequirement interface");
 			}
 		}
-
 		return configs;
 	}
+	
+	/**
+	 * Gets cached reader of a list of configurations of requirement with the
+	 * specified annotation.
+	 * 
+	 * @param annotationClassString name of requirement annotation class
+	 * @return reader binding a list of configurations
+	 */
+	private ObjectReader getReader(String annotationClassString) {
+		String requirementClassString = annotationClassString.substring(0, annotationClassString.lastIndexOf("."));
+		Requirement<Annotation> requirement = getRequirement(requirementClassString);
+		if (!ConfigurableRequirement.class.isAssignableFrom(requirement.getClass())) {
+			throw new RequirementException("Annotation class for requirement " + requirement + " located in "
+					+ "configuration file is not encapsulated in configurable requirement. Annotation class"
+					+ " must belong to a requirement implementing ConfigurableRequirement interface");
+		}
+		return READERS.get(((ConfigurableRequirement<?, ?>) requirement).getConfigurationClass());
+	}
 
 	/**
 	 * 
@@ -0,0 +1,58 @@
+/*******************************************************************************
+ * Copyright (c) 2017 Red Hat, Inc and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.reddeer.junit.internal.extensionpoint;
+
+import java.util.LinkedList;
+import java.util.List;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IConfigurationElement;
+import org.eclipse.core.runtime.Platform;
+import org.eclipse.reddeer.common.logging.Logger;
+import org.eclipse.reddeer.junit.extensionpoint.IExtensionMetrics;
+
+/**
+ * Handles Initialization of all Extension Metrics extensions. Has to be separate class
+ * because it's using eclipse libraries and will not run for normal pure JUnit
+ * tests
+ * 
+ */
+public class ExtensionMetricsInitialization {
+	private static final Logger log = Logger.getLogger(ExtensionMetricsInitialization.class);
+
+	/**
+	 * Initializes all Extension Metrics extensions.
+	 *
+	 * @return the list
+	 */
+	public static List<IExtensionMetrics> initialize() {
+		final String extensionMetricsID = "org.eclipse.reddeer.junit.extension.metrics";
+		LinkedList<IExtensionMetrics> extensionMetricsExts = new LinkedList<IExtensionMetrics>();
+		IConfigurationElement[] configElements = Platform.getExtensionRegistry().getConfigurationElementsFor(
+				extensionMetricsID);
+		try {
+			log.debug("Number of found extensions for extension point " + extensionMetricsID + "="
+					+ configElements.length);
+			for (IConfigurationElement e : configElements) {
+				final Object object = e.createExecutableExtension("class");
+				if (object instanceof IExtensionMetrics) {
+					extensionMetricsExts.add((IExtensionMetrics) object);
+				} else {
+					log.warn("Invalid class used for extension point " + extensionMetricsID + ":" + object.getClass());
+				}
+			}
+		} catch (CoreException ex) {
+			log.error("Error when processing extension for " + extensionMetricsID, ex.getMessage());
+		}
+
+		return extensionMetricsExts;
+	}
+}
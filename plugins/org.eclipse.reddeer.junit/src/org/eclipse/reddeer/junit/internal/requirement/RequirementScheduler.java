@@ -0,0 +1,231 @@
+/*******************************************************************************
+ * Copyright (c) 2017 Red Hat, Inc and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.reddeer.junit.internal.requirement;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.reddeer.common.logging.Logger;
+import org.eclipse.reddeer.junit.requirement.ConcurrentRequirement;
+import org.eclipse.reddeer.junit.requirement.Requirement;
+import org.eclipse.reddeer.junit.requirement.RequirementException;
+
+/**
+ * Fulfills requirements of one test class with respect to their priorities and
+ * dependencies. A requirement starts only after all requirements with higher
+ * priority and all its dependencies are fulfilled. Phases of
+ * {@link ConcurrentRequirement}s which do not touch UI run concurrently on
+ * background threads, phases touching UI run serially on the calling (test)
+ * thread in the order given by priorities and dependencies.
+ * When a phase fails, phases not yet started are skipped and the scheduler
+ * waits for running phases before it returns.
+ *
+ * @since 2.0
+ */
+class RequirementScheduler {
+
+	private static final Logger log = Logger.getLogger(RequirementScheduler.class);
+
+	private static final AtomicInteger threadCounter = new AtomicInteger();
+
+	private final List<Requirement<?>> requirements;
+
+	private Requirement<?> failedRequirement;
+
+	private Throwable failure;
+
+	/**
+	 * Creates a new scheduler.
+	 *
+	 * @param requirements requirements ordered by priority
+	 */
+	RequirementScheduler(List<Requirement<?>> requirements) {
+		this.requirements = orderByDependencies(requirements);
+	}
+
+	/**
+	 * Finds out whether requirements need a scheduler, i.e. there is at least
+	 * one concurrent requirement.
+	 *
+	 * @param requirements requirements
+	 * @return true if some requirement is concurrent, false otherwise
+	 */
+	static boolean isNeeded(List<Requirement<?>> requirements) {
+		for (Requirement<?> requirement : requirements) {
+			if (requirement instanceof ConcurrentRequirement) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Fulfills all requirements. It does not throw exceptions thrown by
+	 * requirements, use {@link #getFailure()} to find out whether fulfilling
+	 * failed.
+	 */
+	void fulfill() {
+		ExecutorService executor = Executors.newFixedThreadPool(
+				Math.min(requirements.size(), Runtime.getRuntime().availableProcessors()), runnable -> {
+					Thread thread = new Thread(runnable,
+							"RedDeer requirement fulfiller " + threadCounter.incrementAndGet());
+					thread.setDaemon(true);
+					return thread;
+				});
+		try {
+			Map<Requirement<?>, CompletableFuture<Void>> fulfilled = new HashMap<>();
+			List<Requirement<?>> serial = new ArrayList<>();
+			Map<Requirement<?>, CompletableFuture<Void>> prepared = new HashMap<>();
+
+			for (int i = 0; i < requirements.size(); i++) {
+				Requirement<?> requirement = requirements.get(i);
+				List<CompletableFuture<Void>> dependencies = new ArrayList<>();
+				for (Requirement<?> dependency : getDependencies(requirement, requirements)) {
+					dependencies.add(fulfilled.get(dependency));
+				}
+				// requirements with higher priority are fulfilled first, only equal priorities overlap
+				for (Requirement<?> previous : requirements.subList(0, i)) {
+					if (previous.getPriority() > requirement.getPriority()) {
+						dependencies.add(fulfilled.get(previous));
+					}
+				}
+				CompletableFuture<Void> ready = CompletableFuture
+						.allOf(dependencies.toArray(new CompletableFuture<?>[dependencies.size()]));
+				if (requirement instanceof ConcurrentRequirement) {
+					ConcurrentRequirement<?> concurrent = (ConcurrentRequirement<?>) requirement;
+					ready = ready.thenRunAsync(phase(requirement, "Preparing", concurrent::prepare), executor);
+					if (!concurrent.isUIRequired()) {
+						fulfilled.put(requirement,
+								ready.thenRunAsync(phase(requirement, "Fulfilling", requirement::fulfill), executor));
+						continue;
+					}
+				}
+				prepared.put(requirement, ready);
+				fulfilled.put(requirement, new CompletableFuture<Void>());
+				serial.add(requirement);
+			}
+
+			for (Requirement<?> requirement : serial) {
+				CompletableFuture<Void> done = fulfilled.get(requirement);
+				try {
+					prepared.get(requirement).join();
+					phase(requirement, "Fulfilling", requirement::fulfill).run();
+					done.complete(null);
+				} catch (CompletionException | CancellationException e) {
+					// preparation or a dependency failed, failure is already recorded
+					done.completeExceptionally(e);
+				} catch (Throwable e) {
+					done.completeExceptionally(e);
+				}
+			}
+
+			// wait for running background phases, failures are recorded by phases
+			for (CompletableFuture<Void> future : fulfilled.values()) {
+				try {
+					future.join();
+				} catch (CompletionException | CancellationException e) {
+					// recorded
+				}
+			}
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	/**
+	 * Gets the first failure of fulfilling.
+	 *
+	 * @return failure or null if all requirements were fulfilled
+	 */
+	synchronized Throwable getFailure() {
+		return failure;
+	}
+
+	/**
+	 * Gets requirement which failed first.
+	 *
+	 * @return failed requirement or null if all requirements were fulfilled
+	 */
+	synchronized Requirement<?> getFailedRequirement() {
+		return failedRequirement;
+	}
+
+	private Runnable phase(final Requirement<?> requirement, final String phaseName, final Runnable action) {
+		return () -> {
+			if (getFailure() != null) {
+				throw new CancellationException(phaseName + " of " + requirement.getClass() + " skipped");
+			}
+			try {
+				log.info(phaseName + " requirement of " + requirement.getClass());
+				action.run();
+			} catch (Throwable e) {
+				failed(requirement, e);
+				throw e;
+			}
+		};
+	}
+
+	private synchronized void failed(Requirement<?> requirement, Throwable e) {
+		if (failure == null) {
+			failure = e;
+			failedRequirement = requirement;
+		}
+	}
+
+	private static Set<Requirement<?>> getDependencies(Requirement<?> requirement, List<Requirement<?>> all) {
+		Set<Requirement<?>> dependencies = new LinkedHashSet<>();
+		if (requirement instanceof ConcurrentRequirement) {
+			for (Class<?> dependencyClass : ((ConcurrentRequirement<?>) requirement).getDependencies()) {
+				for (Requirement<?> candidate : all) {
+					if (candidate != requirement && dependencyClass.isInstance(candidate)) {
+						dependencies.add(candidate);
+					}
+				}
+			}
+		}
+		return dependencies;
+	}
+
+	// stable topological order, requirements keep their priority order unless a dependency forces otherwise
+	private static List<Requirement<?>> orderByDependencies(List<Requirement<?>> requirements) {
+		List<Requirement<?>> ordered = new ArrayList<>(requirements.size());
+		List<Requirement<?>> remaining = new ArrayList<>(requirements);
+		while (!remaining.isEmpty()) {
+			Requirement<?> next = null;
+			for (Requirement<?> candidate : remaining) {
+				if (ordered.containsAll(getDependencies(candidate, requirements))) {
+					next = candidate;
+					break;
+				}
+			}
+			if (next == null) {
+				List<Class<?>> classes = new ArrayList<>();
+				for (Requirement<?> requirement : remaining) {
+					classes.add(requirement.getClass());
+				}
+				throw new RequirementException("There is a cyclic dependency between requirements " + classes);
+			}
+			ordered.add(next);
+			remaining.remove(next);
+		}
+		return ordered;
+	}
+}
@@ -13,10 +13,13 @@ package org.eclipse.reddeer.junit.internal.requirement;
 import java.lang.annotation.Annotation;
 import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import org.eclipse.reddeer.common.logging.Logger;
 import org.eclipse.reddeer.junit.execution.PriorityComparator;
+import org.eclipse.reddeer.junit.requirement.ConcurrentRequirement;
 import org.eclipse.reddeer.junit.requirement.Requirement;
+import org.eclipse.reddeer.junit.requirement.RequirementException;
 import org.eclipse.reddeer.junit.screenshot.CaptureScreenshotException;
 import org.eclipse.reddeer.junit.screenshot.ScreenshotCapturer;
 
@@ -68,17 +71,51 @@ public class Requirements implements Requirement<Annotation>, Iterable<Requireme
 		return requirements.size();
 	}
 
+	/**
+	 * Fulfills requirements. Requirements are fulfilled serially in the order of
+	 * their priorities unless there is a {@link ConcurrentRequirement}. In such
+	 * case phases of requirements with equal priority not touching UI run
+	 * concurrently while phases touching UI stay serialized on the calling
+	 * thread.
+	 */
 	@Override
 	public void fulfill() {
-		for (Requirement<?> r : requirements) {
-			try {
-				log.info("Fulfilling requirement of " + r.getClass());
-				r.fulfill();
-			} catch (Throwable ex) {
-				handleException(ex, r);
-				throw ex;
+		long start = System.nanoTime();
+		if (RequirementScheduler.isNeeded(requirements)) {
+			fulfillConcurrently();
+		} else {
+			for (Requirement<?> r : requirements) {
+				try {
+					log.info("Fulfilling requirement of " + r.getClass());
+					r.fulfill();
+				} catch (Throwable ex) {
+					handleException(ex, r);
+					throw ex;
+				}
 			}
 		}
+		if (!requirements.isEmpty()) {
+			log.info("Requirements of " + clazz.getName() + " fulfilled in "
+					+ TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) + " ms");
+		}
+	}
+	
+	private void fulfillConcurrently() {
+		RequirementScheduler scheduler = new RequirementScheduler(requirements);
+		scheduler.fulfill();
+		Throwable ex = scheduler.getFailure();
+		if (ex == null) {
+			return;
+		}
+		handleException(ex, scheduler.getFailedRequirement());
+		if (ex instanceof RuntimeException) {
+			throw (RuntimeException) ex;
+		}
+		if (ex instanceof Error) {
+			throw (Error) ex;
+		}
+		throw new RequirementException("Requirement " + scheduler.getFailedRequirement().getClass()
+				+ " could not be fulfilled", ex);
 	}
 	
 	@Override
@@ -0,0 +1,116 @@
+/*******************************************************************************
+ * Copyright (c) 2017 Red Hat, Inc and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.reddeer.junit.internal.runner;
+
+import java.io.File;
+import java.io.IOException;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+
+import org.eclipse.reddeer.common.instrumentation.Instrumentation;
+import org.eclipse.reddeer.common.instrumentation.MetricsCollector;
+import org.eclipse.reddeer.common.instrumentation.SyncExecProfiler;
+import org.eclipse.reddeer.common.logging.Logger;
+import org.eclipse.reddeer.common.properties.RedDeerProperties;
+import org.junit.runner.Description;
+import org.junit.runner.Result;
+import org.junit.runner.notification.RunListener;
+
+/**
+ * Run listener which collects wait and UI thread metrics during the test run
+ * via {@link MetricsCollector} and exports them as <i>&lt;prefix&gt;-metrics.json</i>
+ * and <i>&lt;prefix&gt;-metrics.csv</i> into directory specified by
+ * {@link RedDeerProperties#METRICS_DIRECTORY}. If {@link SyncExecProfiler} is
+ * active, its metrics are exported as <i>&lt;prefix&gt;-syncexec-profile.json</i>
+ * and <i>&lt;prefix&gt;-syncexec-profile.csv</i>. The prefix consists of the suite
+ * name and the start time of the run so several runs do not overwrite each other's
+ * metrics. Summary of the top time sinks is logged after export.
+ *
+ * @since 2.0
+ */
+public class MetricsRunListener extends RunListener {
+
+	private static final Logger log = Logger.getLogger(MetricsRunListener.class);
+
+	private static final int SUMMARY_SIZE = 20;
+
+	private final MetricsCollector collector = new MetricsCollector();
+
+	private final String prefix;
+
+	private long testStart;
+
+	private boolean registered;
+
+	/**
+	 * Creates a run listener for the suite with the specified name.
+	 *
+	 * @param suiteName name of the suite
+	 */
+	public MetricsRunListener(String suiteName) {
+		prefix = suiteName + "_" + new SimpleDateFormat("yyyy-MM-dd_HH-mm-ss-SSS").format(new Date());
+	}
+
+	/**
+	 * Starts collecting metrics.
+	 */
+	public synchronized void register() {
+		if (!registered) {
+			Instrumentation.addListener(collector);
+			registered = true;
+		}
+	}
+
+	@Override
+	public void testStarted(Description description) throws Exception {
+		Instrumentation.setCurrentTest(description.getDisplayName());
+		testStart = System.nanoTime();
+	}
+
+	@Override
+	public void testFinished(Description description) throws Exception {
+		collector.record(MetricsCollector.TEST, description.getDisplayName(), System.nanoTime() - testStart);
+		Instrumentation.setCurrentTest(null);
+	}
+
+	@Override
+	public void testRunFinished(Result result) throws Exception {
+		export();
+	}
+
+	/**
+	 * Stops collecting metrics and exports collected metrics. Does nothing if
+	 * the metrics were already exported.
+	 */
+	public synchronized void export() {
+		if (!registered) {
+			return;
+		}
+		Instrumentation.removeListener(collector);
+		registered = false;
+
+		File directory = new File(RedDeerProperties.METRICS_DIRECTORY.getValue());
+		directory.mkdirs();
+		try {
+			collector.writeJson(new File(directory, prefix + "-metrics.json"));
+			collector.writeCsv(new File(directory, prefix + "-metrics.csv"));
+			SyncExecProfiler profiler = SyncExecProfiler.getActive();
+			if (profiler != null) {
+				profiler.getCollector().writeJson(new File(directory, prefix + "-syncexec-profile.json"));
+				profiler.getCollector().writeCsv(new File(directory, prefix + "-syncexec-profile.csv"));
+			}
+			log.info("Metrics exported to " + directory.getAbsolutePath());
+		} catch (IOException e) {
+			log.error("Metrics could not be exported to " + directory.getAbsolutePath(), e);
+		}
+		log.info(collector.getSummary(SUMMARY_SIZE));
+	}
+}
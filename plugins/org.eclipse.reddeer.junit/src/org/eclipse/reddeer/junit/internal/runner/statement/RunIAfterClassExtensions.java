@@ -14,6 +14,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 import org.eclipse.reddeer.common.logging.Logger;
+import org.eclipse.reddeer.junit.extensionpoint.ExtensionMetrics;
 import org.eclipse.reddeer.junit.execution.PriorityComparator;
 import org.eclipse.reddeer.junit.extensionpoint.IAfterTest;
 import org.eclipse.reddeer.junit.screenshot.ScreenshotCapturer;
@@ -67,7 +68,12 @@ public class RunIAfterClassExtensions extends AbstractStatementWithScreenshot {
 			try {
 				if (after.hasToRun()){
 					log.debug("Run method runAfterTestClass() of class " + after.getClass().getCanonicalName());
-					after.runAfterTestClass(config, testClass);
+					long start = System.nanoTime();
+					try {
+						after.runAfterTestClass(config, testClass);
+					} finally {
+						ExtensionMetrics.report(config, after.getClass(), "runAfterTestClass", System.nanoTime() - start);
+					}
 				}
 			} catch (Throwable e) {
 				if(ScreenshotCapturer.shouldCaptureScreenshotOnException(e)){
@@ -14,6 +14,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 import org.eclipse.reddeer.common.logging.Logger;
+import org.eclipse.reddeer.junit.extensionpoint.ExtensionMetrics;
 import org.eclipse.reddeer.junit.extensionpoint.IAfterTest;
 import org.eclipse.reddeer.junit.screenshot.ScreenshotCapturer;
 import org.junit.runners.model.FrameworkMethod;
@@ -68,7 +69,12 @@ public class RunIAfterTestExtensions extends AbstractStatementWithScreenshot {
 				after = each;
 				if (after.hasToRun()){
 					log.debug("Run method runAfterTest() of class " + after.getClass().getCanonicalName());
-					after.runAfterTest(config, target, frameworkMethod);
+					long start = System.nanoTime();
+					try {
+						after.runAfterTest(config, target, frameworkMethod);
+					} finally {
+						ExtensionMetrics.report(config, after.getClass(), "runAfterTest", System.nanoTime() - start);
+					}
 				}
 			} catch (Throwable e) {
 				if(ScreenshotCapturer.shouldCaptureScreenshotOnException(e)){
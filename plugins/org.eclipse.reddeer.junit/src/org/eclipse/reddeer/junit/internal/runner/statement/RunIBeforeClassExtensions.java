@@ -13,6 +13,7 @@ package org.eclipse.reddeer.junit.internal.runner.statement;
 import java.util.List;
 
 import org.eclipse.reddeer.common.logging.Logger;
+import org.eclipse.reddeer.junit.extensionpoint.ExtensionMetrics;
 import org.eclipse.reddeer.junit.execution.PriorityComparator;
 import org.eclipse.reddeer.junit.extensionpoint.IBeforeTest;
 import org.eclipse.reddeer.junit.screenshot.ScreenshotCapturer;
@@ -57,7 +58,12 @@ public class RunIBeforeClassExtensions extends AbstractStatementWithScreenshot {
 				before = bfr;
 				if (before.hasToRun()){
 					log.debug("Run method runBeforeTestClass() of class " + before.getClass().getCanonicalName());
-					before.runBeforeTestClass(config, testClass);
+					long start = System.nanoTime();
+					try {
+						before.runBeforeTestClass(config, testClass);
+					} finally {
+						ExtensionMetrics.report(config, before.getClass(), "runBeforeTestClass", System.nanoTime() - start);
+					}
 				}
 			}
 		} catch (Throwable e) {
@@ -13,6 +13,7 @@ package org.eclipse.reddeer.junit.internal.runner.statement;
 import java.util.List;
 
 import org.eclipse.reddeer.common.logging.Logger;
+import org.eclipse.reddeer.junit.extensionpoint.ExtensionMetrics;
 import org.eclipse.reddeer.junit.extensionpoint.IBeforeTest;
 import org.eclipse.reddeer.junit.screenshot.ScreenshotCapturer;
 import org.junit.runners.model.FrameworkMethod;
@@ -58,7 +59,12 @@ public class RunIBeforeTestExtensions extends AbstractStatementWithScreenshot {
 				before = bfr;
 				if (before.hasToRun()){
 					log.debug("Run method runBeforeTest() of class " + before.getClass().getCanonicalName());
-					before.runBeforeTest(config, target, frameworkMethod);
+					long start = System.nanoTime();
+					try {
+						before.runBeforeTest(config, target, frameworkMethod);
+					} finally {
+						ExtensionMetrics.report(config, before.getClass(), "runBeforeTest", System.nanoTime() - start);
+					}
 				}
 			}
 		} catch (Throwable e) {
@@ -0,0 +1,64 @@
+/*******************************************************************************
+ * Copyright (c) 2017 Red Hat, Inc and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.reddeer.junit.requirement;
+
+import java.lang.annotation.Annotation;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Requirement which can be fulfilled concurrently with other requirements of
+ * the same test class. Fulfilling has two phases. {@link #prepare()} never
+ * touches UI and runs on a background thread together with preparation of
+ * other requirements. {@link #fulfill()} runs after the preparation; it is
+ * executed serially on the test thread if {@link #isUIRequired()} is true,
+ * otherwise on a background thread as well.<br>
+ * Both phases start only after all requirements with higher priority and all
+ * requirements returned by {@link #getDependencies()} are fulfilled.
+ * Requirements which do not implement this interface are fulfilled on the test
+ * thread and have no dependencies.<br>
+ * Implement this interface only if a requirement does slow work independent of
+ * other requirements, e.g. checks driver jars or extracts a server runtime.
+ * Quick requirements gain nothing from running on another thread.
+ *
+ * @param <T> annotation of a requirement
+ * @since 2.0
+ */
+public interface ConcurrentRequirement<T extends Annotation> extends Requirement<T> {
+
+	/**
+	 * Prepares requirement without touching UI, e.g. reads files or checks
+	 * configuration. Called on a background thread before {@link #fulfill()}.
+	 */
+	default void prepare() {
+	}
+
+	/**
+	 * Finds out whether {@link #fulfill()} touches UI and has to run on the test
+	 * thread.
+	 *
+	 * @return true if fulfill has to run on the test thread, false otherwise
+	 */
+	default boolean isUIRequired() {
+		return true;
+	}
+
+	/**
+	 * Gets classes of requirements which have to be fulfilled before this
+	 * requirement. Classes of requirements not declared on the test class are
+	 * ignored.
+	 *
+	 * @return classes of requirements this requirement depends on
+	 */
+	default List<Class<?>> getDependencies() {
+		return Collections.emptyList();
+	}
+}
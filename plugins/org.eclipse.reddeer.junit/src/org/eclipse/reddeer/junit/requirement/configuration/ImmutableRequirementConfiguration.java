@@ -0,0 +1,22 @@
+/*******************************************************************************
+ * Copyright (c) 2017 Red Hat, Inc and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.reddeer.junit.requirement.configuration;
+
+/**
+ * Requirement configuration which is not modified after it is loaded.
+ * {@link RequirementConfigurationPool} hands out such configurations as they
+ * are, without creating a deep copy for each requirement.
+ * 
+ * @since 2.0
+ */
+public interface ImmutableRequirementConfiguration extends RequirementConfiguration {
+
+}
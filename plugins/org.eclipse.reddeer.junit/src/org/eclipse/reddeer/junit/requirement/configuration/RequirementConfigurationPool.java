@@ -11,10 +11,12 @@
 package org.eclipse.reddeer.junit.requirement.configuration;
 
 import java.io.File;
+import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 
 import org.eclipse.reddeer.common.properties.RedDeerProperties;
 import org.eclipse.reddeer.junit.configuration.RedDeerConfigurationException;
@@ -31,6 +33,18 @@ public class RequirementConfigurationPool {
 
 	private static RequirementConfigurationPool instance;
 
+	// copy constructors are looked up only once per configuration class
+	private static final ClassValue<Optional<Constructor<?>>> COPY_CONSTRUCTORS = new ClassValue<Optional<Constructor<?>>>() {
+		@Override
+		protected Optional<Constructor<?>> computeValue(Class<?> type) {
+			try {
+				return Optional.<Constructor<?>>of(type.getConstructor(type));
+			} catch (NoSuchMethodException | SecurityException e) {
+				return Optional.empty();
+			}
+		}
+	};
+
 	private List<RequirementConfiguration> requirementsConfigurations;
 
 	/**
@@ -171,7 +185,7 @@ public class RequirementConfigurationPool {
 
 	/**
 	 * Creates a deep copy of configuration, if it has a constructor taking an
-	 * instance of the same class.
+	 * instance of the same class. Immutable configurations are not copied.
 	 * 
 	 * @param configuration
 	 *            configuration to clone
@@ -179,10 +193,17 @@ public class RequirementConfigurationPool {
 	 */
 	@SuppressWarnings("unchecked")
 	private <T extends RequirementConfiguration> T deepCopyConfiguration(T configuration) {
+		if (configuration instanceof ImmutableRequirementConfiguration) {
+			return configuration;
+		}
+		Optional<Constructor<?>> constructor = COPY_CONSTRUCTORS.get(configuration.getClass());
+		if (!constructor.isPresent()) {
+			return null;
+		}
 		try {
-			return (T) configuration.getClass().getConstructor(configuration.getClass()).newInstance(configuration);
-		} catch (NoSuchMethodException | SecurityException | InstantiationException | IllegalAccessException
-				| IllegalArgumentException | InvocationTargetException e) {
+			return (T) constructor.get().newInstance(configuration);
+		} catch (InstantiationException | IllegalAccessException | IllegalArgumentException
+				| InvocationTargetException e) {
 			return null;
 		}
 	}
@@ -16,15 +16,19 @@ import java.util.List;
 import java.util.Map;
 
 import org.eclipse.reddeer.common.logging.Logger;
+import org.eclipse.reddeer.common.properties.RedDeerProperties;
 import org.eclipse.reddeer.junit.extensionpoint.IAfterTest;
 import org.eclipse.reddeer.junit.extensionpoint.IBeforeTest;
+import org.eclipse.reddeer.junit.extensionpoint.IExtensionMetrics;
 import org.eclipse.reddeer.junit.extensionpoint.IIssueTracker;
 import org.eclipse.reddeer.junit.internal.configuration.RequirementConfigurationSet;
 import org.eclipse.reddeer.junit.internal.configuration.SuiteConfiguration;
 import org.eclipse.reddeer.junit.internal.extensionpoint.AfterTestInitialization;
 import org.eclipse.reddeer.junit.internal.extensionpoint.BeforeTestInitialization;
+import org.eclipse.reddeer.junit.internal.extensionpoint.ExtensionMetricsInitialization;
 import org.eclipse.reddeer.junit.internal.extensionpoint.IssueTrackerInitialization;
 import org.eclipse.reddeer.junit.internal.runner.EmptySuite;
+import org.eclipse.reddeer.junit.internal.runner.MetricsRunListener;
 import org.eclipse.reddeer.junit.internal.runner.NamedSuite;
 import org.eclipse.reddeer.junit.internal.runner.RequirementsRunnerBuilder;
 import org.eclipse.reddeer.junit.internal.runner.TestsExecutionManager;
@@ -32,6 +36,7 @@ import org.eclipse.reddeer.junit.internal.runner.TestsWithoutExecutionSuite;
 import org.eclipse.reddeer.junit.requirement.configuration.MissingRequirementConfiguration;
 import org.junit.runner.Runner;
 import org.junit.runner.notification.RunListener;
+import org.junit.runner.notification.RunNotifier;
 import org.junit.runners.Suite;
 import org.junit.runners.model.InitializationError;
 import org.junit.runners.model.RunnerBuilder;
@@ -59,6 +64,8 @@ public class RedDeerSuite extends Suite {
 	private static List<IAfterTest> afterTestExtensions = RedDeerSuite.initializeAfterTestExtensions();
 
 	private static List<IIssueTracker> issueTrackerExtensions;
+
+	private static List<IExtensionMetrics> extensionMetricsExtensions;
 	
 	private String suiteName;
 
@@ -146,6 +153,27 @@ public class RedDeerSuite extends Suite {
 		return suiteName;
 	}
 
+	/**
+	 * Runs the suite. If {@link RedDeerProperties#METRICS} is enabled, wait and UI
+	 * thread metrics are collected and exported after the suite.
+	 */
+	@Override
+	public void run(RunNotifier notifier) {
+		if (!RedDeerProperties.METRICS.getBooleanValue()) {
+			super.run(notifier);
+			return;
+		}
+		MetricsRunListener metricsRunListener = new MetricsRunListener(suiteName);
+		metricsRunListener.register();
+		notifier.addListener(metricsRunListener);
+		try {
+			super.run(notifier);
+		} finally {
+			notifier.removeListener(metricsRunListener);
+			metricsRunListener.export();
+		}
+	}
+
 	/**
 	 * Initializes all Before Test extensions
 	 */
@@ -212,4 +240,34 @@ public class RedDeerSuite extends Suite {
 		return issueTrackerExts;
 	}
 
+	/**
+	 * Gets a list of extension metrics extensions.
+	 * 
+	 * @return a list of extension metrics extensions
+	 */
+	public static synchronized List<IExtensionMetrics> getExtensionMetricsExtensions() {
+		if (extensionMetricsExtensions == null) {
+			extensionMetricsExtensions = initializeExtensionMetricsExtensions();
+		}
+		return extensionMetricsExtensions;
+	}
+
+	/**
+	 * Initializes all Extension metrics extensions
+	 */
+	private static List<IExtensionMetrics> initializeExtensionMetricsExtensions() {
+		List<IExtensionMetrics> extensionMetricsExts;
+		// check if eclipse is running
+		try {
+			Class.forName("org.eclipse.core.runtime.Platform");
+			log.debug("Eclipse is running");
+			extensionMetricsExts = ExtensionMetricsInitialization.initialize();
+		} catch (ClassNotFoundException e) {
+			// do nothing extension is implemented only for eclipse right now
+			log.debug("Eclipse is not running");
+			extensionMetricsExts = new LinkedList<IExtensionMetrics>();
+		}
+		return extensionMetricsExts;
+	}
+
 }
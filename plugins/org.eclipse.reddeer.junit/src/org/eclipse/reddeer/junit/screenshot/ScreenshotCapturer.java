@@ -17,6 +17,7 @@ import org.eclipse.swt.graphics.GC;
 import org.eclipse.swt.graphics.Image;
 import org.eclipse.swt.graphics.ImageData;
 import org.eclipse.swt.graphics.ImageLoader;
+import org.eclipse.swt.graphics.Rectangle;
 import org.eclipse.swt.widgets.Display;
 import org.eclipse.reddeer.common.logging.Logger;
 import org.eclipse.reddeer.common.properties.RedDeerProperties;
@@ -159,6 +160,82 @@ public class ScreenshotCapturer {
 		return fileName;
 	}
 
+	/**
+	 * Captures image data of the whole display. Has to be called in UI thread.
+	 * Returned image data can be cropped by {@link #crop(ImageData, Rectangle)}
+	 * and saved by {@link #saveScreenshotOnFailure(String, String, ImageData)}
+	 * in any thread.
+	 * 
+	 * @param display display to capture
+	 * @return image data of the display
+	 */
+	public ImageData captureImageData(Display display) {
+		GC gc = new GC(display);
+		Image image = null;
+		try {
+			Rectangle bounds = display.getBounds();
+			image = new Image(display, bounds.width, bounds.height);
+			gc.copyArea(image, bounds.x, bounds.y);
+			return image.getImageData();
+		} finally {
+			gc.dispose();
+			if (image != null) {
+				image.dispose();
+			}
+		}
+	}
+
+	/**
+	 * Crops given region from image data. Does not require UI thread.
+	 * 
+	 * @param source image data
+	 * @param region region relative to the image data
+	 * @return cropped image data or null if the region is outside of the image
+	 */
+	public static ImageData crop(ImageData source, Rectangle region) {
+		Rectangle clipped = region.intersection(new Rectangle(0, 0, source.width, source.height));
+		if (clipped.isEmpty()) {
+			return null;
+		}
+		ImageData result = new ImageData(clipped.width, clipped.height, source.depth, source.palette);
+		int[] pixels = new int[clipped.width];
+		for (int y = 0; y < clipped.height; y++) {
+			source.getPixels(clipped.x, clipped.y + y, clipped.width, pixels, 0);
+			result.setPixels(0, y, clipped.width, pixels, 0);
+		}
+		return result;
+	}
+
+	/**
+	 * Saves already captured image data as a screenshot on failure. The same
+	 * directory and file naming is used as by
+	 * {@link #captureScreenshotOnFailure(String, String)}. Does not require UI
+	 * thread so image data can be encoded off the UI thread.
+	 * 
+	 * @param config configuration file under which the test is running
+	 * @param name file name of screenshot
+	 * @param imageData image data to save
+	 * @throws CaptureScreenshotException on occurrence of any exception
+	 */
+	public void saveScreenshotOnFailure(String config, String name, ImageData imageData)
+			throws CaptureScreenshotException {
+		if (!RedDeerProperties.CAPTURE_SCREENSHOT.getBooleanValue()) {
+			return;
+		}
+		String path = getPath(config);
+		createDirectories(path);
+		String fileName = getAlteredScreenshotFileName(path + name + ".png");
+		try {
+			ImageLoader imageLoader = new ImageLoader();
+			imageLoader.data = new ImageData[] { imageData };
+			imageLoader.save(fileName, SWT.IMAGE_PNG);
+			logger.debug("Screenshot successfully saved in " + new File(fileName).getAbsolutePath());
+		} catch (Exception ex) {
+			logger.error("Saving screenshot failed", ex);
+			handleCorruptedScreenshot(fileName);
+		}
+	}
+
 	/**
 	 * Removes corrupted screenshot.
 	 * 
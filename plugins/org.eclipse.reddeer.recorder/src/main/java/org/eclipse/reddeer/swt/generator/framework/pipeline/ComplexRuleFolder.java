@@ -0,0 +1,88 @@
+/*******************************************************************************
+ * Copyright (c) 2017 Red Hat, Inc and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.reddeer.swt.generator.framework.pipeline;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.swtbot.generator.framework.GenerationComplexRule;
+import org.eclipse.swtbot.generator.framework.GenerationSimpleRule;
+
+/**
+ * Folds consecutive simple rules into complex rules. Folder is not thread safe
+ * and is meant to be used from a single (pipeline) thread.
+ */
+class ComplexRuleFolder {
+
+	private final List<GenerationComplexRule> complexRules;
+	private final RecordedRuleListener listener;
+	private final List<GenerationSimpleRule> pending = new ArrayList<GenerationSimpleRule>();
+	private GenerationComplexRule active;
+
+	ComplexRuleFolder(List<GenerationComplexRule> complexRules, RecordedRuleListener listener) {
+		this.complexRules = complexRules;
+		this.listener = listener;
+	}
+
+	/**
+	 * Adds simple rule. Rule is either appended to currently folded complex
+	 * rule, starts a new complex rule or is recorded directly.
+	 * 
+	 * @param rule simple rule to fold
+	 */
+	void add(GenerationSimpleRule rule) {
+		if (active != null && active.appliesToPartially(rule, pending.size())) {
+			pending.add(rule);
+			return;
+		}
+		flush();
+		active = createComplexRule(rule);
+		if (active != null) {
+			pending.add(rule);
+		} else {
+			listener.ruleRecorded(rule);
+		}
+	}
+
+	/**
+	 * Records currently folded rules.
+	 */
+	void flush() {
+		if (pending.isEmpty()) {
+			return;
+		}
+		if (active != null && active.appliesTo(pending)) {
+			active.initializeForRules(new ArrayList<GenerationSimpleRule>(pending));
+			listener.ruleRecorded(active);
+		} else {
+			for (GenerationSimpleRule rule : pending) {
+				listener.ruleRecorded(rule);
+			}
+		}
+		pending.clear();
+		active = null;
+	}
+
+	private GenerationComplexRule createComplexRule(GenerationSimpleRule rule) {
+		for (GenerationComplexRule prototype : complexRules) {
+			GenerationComplexRule complexRule;
+			try {
+				complexRule = prototype.getClass().newInstance();
+			} catch (InstantiationException | IllegalAccessException e) {
+				continue;
+			}
+			if (complexRule.appliesToPartially(rule, 0)) {
+				return complexRule;
+			}
+		}
+		return null;
+	}
+}
@@ -0,0 +1,27 @@
+/*******************************************************************************
+ * Copyright (c) 2017 Red Hat, Inc and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.reddeer.swt.generator.framework.pipeline;
+
+import org.eclipse.swtbot.generator.framework.GenerationRule;
+
+/**
+ * Listener notified about rules produced by {@link RecorderEventPipeline}.
+ * Listener is notified from the pipeline folding thread, not from UI thread.
+ */
+public interface RecordedRuleListener {
+
+	/**
+	 * Called when simple rule or folded complex rule was recorded.
+	 * 
+	 * @param rule recorded rule
+	 */
+	void ruleRecorded(GenerationRule rule);
+}
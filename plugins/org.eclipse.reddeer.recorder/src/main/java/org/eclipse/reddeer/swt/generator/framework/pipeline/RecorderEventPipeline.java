@@ -0,0 +1,264 @@
+/*******************************************************************************
+ * Copyright (c) 2017 Red Hat, Inc and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.reddeer.swt.generator.framework.pipeline;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.reddeer.swt.generator.framework.rules.simple.AbstractSimpleRedDeerRule;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Event;
+import org.eclipse.swt.widgets.Listener;
+import org.eclipse.swt.widgets.Widget;
+import org.eclipse.swtbot.generator.framework.GenerationComplexRule;
+import org.eclipse.swtbot.generator.framework.GenerationSimpleRule;
+import org.eclipse.swtbot.generator.framework.Generator;
+
+/**
+ * Event pipeline for recorder. Pipeline keeps work done on UI thread low:
+ * <ul>
+ * <li>simple rules are pre-filtered into per widget class buckets so only
+ * candidate rules are evaluated for an event,</li>
+ * <li>consecutive Modify/KeyDown events of the same widget within coalesce
+ * window are merged, only the last event of each type is dispatched,</li>
+ * <li>folding of simple rules into complex rules runs on a background
+ * thread.</li>
+ * </ul>
+ * Rules are still matched and initialized on UI thread because they read
+ * widget state. Activation and closing of workbench parts is dispatched as
+ * Selection event without widget carrying the part reference, detail of the
+ * event is {@link org.eclipse.swtbot.generator.listener.WorkbenchListener#PART_CLOSED}
+ * if the part was closed.
+ */
+public class RecorderEventPipeline implements Listener {
+
+	/**
+	 * Default coalesce window in milliseconds.
+	 */
+	public static final int DEFAULT_COALESCE_WINDOW = 300;
+
+	private static final int[] EVENT_TYPES = new int[] { SWT.Selection, SWT.Modify, SWT.KeyDown, SWT.MouseDown,
+			SWT.Activate, SWT.Close, SWT.Dispose };
+
+	private static final long STOP_TIMEOUT = 5000;
+
+	private final List<GenerationSimpleRule> simpleRules;
+	private final Map<Class<?>, List<GenerationSimpleRule>> buckets = new HashMap<Class<?>, List<GenerationSimpleRule>>();
+	private final ComplexRuleFolder folder;
+	private final int coalesceWindow;
+	private final ExecutorService executor;
+	private final WorkbenchPartEvents partEvents = new WorkbenchPartEvents(this);
+	private final Runnable coalescedFlush = new Runnable() {
+
+		@Override
+		public void run() {
+			flushCoalesced();
+		}
+	};
+
+	private Display display;
+	private Widget coalescedWidget;
+	// last event of each coalesced type in the order of their arrival
+	private final Map<Integer, Event> coalesced = new LinkedHashMap<Integer, Event>();
+
+	/**
+	 * Creates pipeline with default coalesce window.
+	 * 
+	 * @param generator generator providing simple and complex rules
+	 * @param listener listener notified about recorded rules
+	 */
+	public RecorderEventPipeline(Generator generator, RecordedRuleListener listener) {
+		this(generator, listener, DEFAULT_COALESCE_WINDOW);
+	}
+
+	/**
+	 * Creates pipeline.
+	 * 
+	 * @param generator generator providing simple and complex rules
+	 * @param listener listener notified about recorded rules
+	 * @param coalesceWindow coalesce window of Modify/KeyDown events in milliseconds
+	 */
+	public RecorderEventPipeline(Generator generator, RecordedRuleListener listener, int coalesceWindow) {
+		this(generator.createSimpleRules(), generator.createComplexRules(), listener, coalesceWindow);
+	}
+
+	/**
+	 * Creates pipeline for given rules.
+	 * 
+	 * @param simpleRules prototypes of simple rules
+	 * @param complexRules prototypes of complex rules
+	 * @param listener listener notified about recorded rules
+	 * @param coalesceWindow coalesce window of Modify/KeyDown events in milliseconds
+	 */
+	public RecorderEventPipeline(List<GenerationSimpleRule> simpleRules, List<GenerationComplexRule> complexRules,
+			RecordedRuleListener listener, int coalesceWindow) {
+		this.simpleRules = simpleRules;
+		this.folder = new ComplexRuleFolder(complexRules, listener);
+		this.coalesceWindow = coalesceWindow;
+		this.executor = Executors.newSingleThreadExecutor(new ThreadFactory() {
+
+			@Override
+			public Thread newThread(Runnable r) {
+				Thread thread = new Thread(r, "RedDeer recorder pipeline");
+				thread.setDaemon(true);
+				return thread;
+			}
+		});
+	}
+
+	/**
+	 * Starts listening to events of given display and to workbench parts if
+	 * workbench is running. Has to be called from UI thread.
+	 * 
+	 * @param display display to record
+	 */
+	public void start(Display display) {
+		this.display = display;
+		for (int type : EVENT_TYPES) {
+			display.addFilter(type, this);
+		}
+		partEvents.start();
+	}
+
+	/**
+	 * Stops listening, records all pending events and rules and stops folding
+	 * thread. Rules are recorded when the method returns. Has to be called from
+	 * UI thread.
+	 */
+	public void stop() {
+		partEvents.stop();
+		if (display != null && !display.isDisposed()) {
+			for (int type : EVENT_TYPES) {
+				display.removeFilter(type, this);
+			}
+			display.timerExec(-1, coalescedFlush);
+		}
+		flushCoalesced();
+		flush();
+		executor.shutdown();
+		try {
+			executor.awaitTermination(STOP_TIMEOUT, TimeUnit.MILLISECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * Records rules which are currently being folded into complex rule.
+	 */
+	public void flush() {
+		executor.execute(new Runnable() {
+
+			@Override
+			public void run() {
+				folder.flush();
+			}
+		});
+	}
+
+	@Override
+	public void handleEvent(Event event) {
+		if (event.type == SWT.Modify || event.type == SWT.KeyDown) {
+			if (coalescedWidget != event.widget) {
+				flushCoalesced();
+			}
+			coalescedWidget = event.widget;
+			coalesced.remove(event.type);
+			coalesced.put(event.type, copy(event));
+			if (display != null) {
+				display.timerExec(coalesceWindow, coalescedFlush);
+			}
+		} else {
+			flushCoalesced();
+			dispatch(event);
+		}
+	}
+
+	private void flushCoalesced() {
+		if (coalesced.isEmpty()) {
+			return;
+		}
+		List<Event> events = new ArrayList<Event>(coalesced.values());
+		coalesced.clear();
+		coalescedWidget = null;
+		for (Event event : events) {
+			dispatch(event);
+		}
+	}
+
+	private void dispatch(Event event) {
+		if (event.widget != null && event.widget.isDisposed()) {
+			return;
+		}
+		for (GenerationSimpleRule prototype : getBucket(event.widget)) {
+			if (prototype.appliesTo(event)) {
+				final GenerationSimpleRule rule;
+				try {
+					rule = prototype.getClass().newInstance();
+				} catch (InstantiationException | IllegalAccessException e) {
+					continue;
+				}
+				rule.initializeForEvent(event);
+				executor.execute(new Runnable() {
+
+					@Override
+					public void run() {
+						folder.add(rule);
+					}
+				});
+			}
+		}
+	}
+
+	private List<GenerationSimpleRule> getBucket(Widget widget) {
+		Class<?> widgetClass = widget == null ? null : widget.getClass();
+		List<GenerationSimpleRule> bucket = buckets.get(widgetClass);
+		if (bucket == null) {
+			bucket = new ArrayList<GenerationSimpleRule>();
+			for (GenerationSimpleRule rule : simpleRules) {
+				if (!(rule instanceof AbstractSimpleRedDeerRule)
+						|| ((AbstractSimpleRedDeerRule) rule).appliesToWidgetClass(widgetClass)) {
+					bucket.add(rule);
+				}
+			}
+			buckets.put(widgetClass, bucket);
+		}
+		return bucket;
+	}
+
+	private static Event copy(Event event) {
+		Event copy = new Event();
+		copy.display = event.display;
+		copy.widget = event.widget;
+		copy.type = event.type;
+		copy.detail = event.detail;
+		copy.item = event.item;
+		copy.index = event.index;
+		copy.data = event.data;
+		copy.x = event.x;
+		copy.y = event.y;
+		copy.button = event.button;
+		copy.character = event.character;
+		copy.keyCode = event.keyCode;
+		copy.stateMask = event.stateMask;
+		copy.text = event.text;
+		copy.time = event.time;
+		return copy;
+	}
+}
@@ -0,0 +1,140 @@
+/*******************************************************************************
+ * Copyright (c) 2017 Red Hat, Inc and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.reddeer.swt.generator.framework.pipeline;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Event;
+import org.eclipse.swt.widgets.Listener;
+import org.eclipse.swtbot.generator.listener.WorkbenchListener;
+import org.eclipse.ui.IPartListener2;
+import org.eclipse.ui.IWindowListener;
+import org.eclipse.ui.IWorkbench;
+import org.eclipse.ui.IWorkbenchPartReference;
+import org.eclipse.ui.IWorkbenchWindow;
+import org.eclipse.ui.PlatformUI;
+
+/**
+ * Translates activation and closing of workbench parts into Selection events
+ * without widget, which are the events workbench part rules are matched
+ * against. Parts are not SWT widgets, so they are not seen by display filters.
+ * Listeners are registered to all workbench windows, including windows opened
+ * while recording. Used only from UI thread.
+ */
+class WorkbenchPartEvents implements IPartListener2, IWindowListener {
+
+	private final Listener listener;
+	private final List<IWorkbenchWindow> windows = new ArrayList<IWorkbenchWindow>();
+	private IWorkbench workbench;
+
+	WorkbenchPartEvents(Listener listener) {
+		this.listener = listener;
+	}
+
+	/**
+	 * Starts listening to parts of all workbench windows. Does nothing if
+	 * workbench is not running.
+	 */
+	void start() {
+		if (workbench != null || !PlatformUI.isWorkbenchRunning()) {
+			return;
+		}
+		workbench = PlatformUI.getWorkbench();
+		workbench.addWindowListener(this);
+		for (IWorkbenchWindow window : workbench.getWorkbenchWindows()) {
+			windowOpened(window);
+		}
+	}
+
+	/**
+	 * Removes all listeners registered by {@link #start()}.
+	 */
+	void stop() {
+		if (workbench == null) {
+			return;
+		}
+		workbench.removeWindowListener(this);
+		for (IWorkbenchWindow window : windows) {
+			window.getPartService().removePartListener(this);
+		}
+		windows.clear();
+		workbench = null;
+	}
+
+	@Override
+	public void windowOpened(IWorkbenchWindow window) {
+		if (!windows.contains(window)) {
+			windows.add(window);
+			window.getPartService().addPartListener(this);
+		}
+	}
+
+	@Override
+	public void windowClosed(IWorkbenchWindow window) {
+		if (windows.remove(window)) {
+			window.getPartService().removePartListener(this);
+		}
+	}
+
+	@Override
+	public void windowActivated(IWorkbenchWindow window) {
+	}
+
+	@Override
+	public void windowDeactivated(IWorkbenchWindow window) {
+	}
+
+	@Override
+	public void partActivated(IWorkbenchPartReference partRef) {
+		fire(partRef, SWT.NONE);
+	}
+
+	@Override
+	public void partClosed(IWorkbenchPartReference partRef) {
+		fire(partRef, WorkbenchListener.PART_CLOSED);
+	}
+
+	@Override
+	public void partBroughtToTop(IWorkbenchPartReference partRef) {
+	}
+
+	@Override
+	public void partDeactivated(IWorkbenchPartReference partRef) {
+	}
+
+	@Override
+	public void partOpened(IWorkbenchPartReference partRef) {
+	}
+
+	@Override
+	public void partHidden(IWorkbenchPartReference partRef) {
+	}
+
+	@Override
+	public void partVisible(IWorkbenchPartReference partRef) {
+	}
+
+	@Override
+	public void partInputChanged(IWorkbenchPartReference partRef) {
+	}
+
+	private void fire(IWorkbenchPartReference partRef, int detail) {
+		Event event = new Event();
+		event.display = Display.getCurrent();
+		event.type = SWT.Selection;
+		event.data = partRef;
+		event.detail = detail;
+		listener.handleEvent(event);
+	}
+}
@@ -0,0 +1,130 @@
+/*******************************************************************************
+ * Copyright (c) 2017 Red Hat, Inc and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.reddeer.swt.generator.framework.recorder;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.eclipse.reddeer.swt.generator.framework.pipeline.RecordedRuleListener;
+import org.eclipse.reddeer.swt.generator.framework.pipeline.RecorderEventPipeline;
+import org.eclipse.reddeer.swt.generator.framework.rules.RedDeerSWTGeneratorRules;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.swtbot.generator.framework.GenerationRule;
+import org.eclipse.swtbot.generator.framework.Generator;
+
+/**
+ * Records RedDeer rules of user actions performed in a display. Events are
+ * processed by {@link RecorderEventPipeline}, recorded rules are collected in
+ * the order they were recorded.
+ */
+public class RedDeerRecorder implements RecordedRuleListener {
+
+	private final Generator generator;
+	private final List<GenerationRule> rules = new ArrayList<GenerationRule>();
+	private RecorderEventPipeline pipeline;
+
+	/**
+	 * Creates recorder of RedDeer SWT rules.
+	 */
+	public RedDeerRecorder() {
+		this(new RedDeerSWTGeneratorRules());
+	}
+
+	/**
+	 * Creates recorder of rules provided by given generator.
+	 *
+	 * @param generator generator providing simple and complex rules
+	 */
+	public RedDeerRecorder(Generator generator) {
+		this.generator = generator;
+	}
+
+	/**
+	 * Starts recording of current display. Has to be called from UI thread.
+	 */
+	public void start() {
+		if (pipeline != null) {
+			return;
+		}
+		pipeline = new RecorderEventPipeline(generator, this);
+		pipeline.start(Display.getCurrent());
+	}
+
+	/**
+	 * Stops recording. All pending events are recorded when the method returns.
+	 * Has to be called from UI thread.
+	 */
+	public void stop() {
+		if (pipeline == null) {
+			return;
+		}
+		pipeline.stop();
+		pipeline = null;
+	}
+
+	/**
+	 * Finds out whether recorder is recording.
+	 *
+	 * @return true if recording was started and not stopped, false otherwise
+	 */
+	public boolean isRecording() {
+		return pipeline != null;
+	}
+
+	@Override
+	public synchronized void ruleRecorded(GenerationRule rule) {
+		rules.add(rule);
+	}
+
+	/**
+	 * Gets recorded rules.
+	 *
+	 * @return rules in the order they were recorded
+	 */
+	public synchronized List<GenerationRule> getRecordedRules() {
+		return new ArrayList<GenerationRule>(rules);
+	}
+
+	/**
+	 * Gets actions of all recorded rules.
+	 *
+	 * @return code of recorded actions
+	 */
+	public synchronized List<String> getActions() {
+		List<String> actions = new ArrayList<String>();
+		for (GenerationRule rule : rules) {
+			actions.addAll(rule.getActions());
+		}
+		return actions;
+	}
+
+	/**
+	 * Gets imports required by actions of recorded rules.
+	 *
+	 * @return imports without duplicates
+	 */
+	public synchronized Set<String> getImports() {
+		Set<String> imports = new LinkedHashSet<String>();
+		for (GenerationRule rule : rules) {
+			imports.addAll(rule.getImports());
+		}
+		return imports;
+	}
+
+	/**
+	 * Removes all recorded rules.
+	 */
+	public synchronized void clear() {
+		rules.clear();
+	}
+}
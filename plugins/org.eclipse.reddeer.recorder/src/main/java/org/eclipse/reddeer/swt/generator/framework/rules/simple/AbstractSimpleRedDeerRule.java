@@ -61,4 +61,36 @@ public abstract class AbstractSimpleRedDeerRule extends GenerationSimpleRule{
 		return widget;
 	}
 	
+	/**
+	 * Checks whether this rule can ever apply to events of widgets of given class.
+	 * Used by the recorder event pipeline to pre-filter rules into per-class buckets
+	 * so {@link #appliesTo(org.eclipse.swt.widgets.Event)} is evaluated only for
+	 * candidate rules. Default implementation accepts every widget class.
+	 * 
+	 * @param widgetClass class of event widget, null for events without widget
+	 * @return true if rule may apply to events of given widget class, false otherwise
+	 */
+	public boolean appliesToWidgetClass(Class<?> widgetClass) {
+		return true;
+	}
+	
+	/**
+	 * Checks whether widget class is assignable to one of accepted classes.
+	 * 
+	 * @param widgetClass class of event widget, can be null
+	 * @param accepted accepted widget classes
+	 * @return true if widget class is not null and is subclass of one of accepted classes
+	 */
+	protected static boolean isWidgetClass(Class<?> widgetClass, Class<?>... accepted) {
+		if (widgetClass == null) {
+			return false;
+		}
+		for (Class<?> clazz : accepted) {
+			if (clazz.isAssignableFrom(widgetClass)) {
+				return true;
+			}
+		}
+		return false;
+	}
+	
 }
\ No newline at end of file
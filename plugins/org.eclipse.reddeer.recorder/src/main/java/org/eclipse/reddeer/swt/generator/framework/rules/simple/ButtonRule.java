@@ -35,6 +35,11 @@ public class ButtonRule extends AbstractSimpleRedDeerRule {
 		return event.widget instanceof Button && event.type == SWT.Selection;
 	}
 
+	@Override
+	public boolean appliesToWidgetClass(Class<?> widgetClass) {
+		return isWidgetClass(widgetClass, Button.class);
+	}
+
 	@Override
 	public void initializeForEvent(Event event) {
 		this.widget = event.widget;
@@ -33,6 +33,11 @@ public class CTabRule extends AbstractSimpleRedDeerRule{
 		return event.widget instanceof CTabFolder && event.type == SWT.Selection;
 	}
 
+	@Override
+	public boolean appliesToWidgetClass(Class<?> widgetClass) {
+		return isWidgetClass(widgetClass, CTabFolder.class);
+	}
+
 	@Override
 	public void initializeForEvent(Event event) {
 		this.widget = event.widget;
@@ -30,6 +30,11 @@ public class CTabWorkbenchRule extends AbstractSimpleRedDeerRule{
 		return event.widget == null && event.data instanceof IWorkbenchPartReference && event.type==SWT.Selection;
 	}
 
+	@Override
+	public boolean appliesToWidgetClass(Class<?> widgetClass) {
+		return widgetClass == null;
+	}
+
 	@Override
 	public void initializeForEvent(Event event) {
 		this.widget = event.widget;
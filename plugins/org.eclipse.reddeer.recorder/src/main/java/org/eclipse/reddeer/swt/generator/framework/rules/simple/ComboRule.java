@@ -34,6 +34,11 @@ public class ComboRule extends AbstractSimpleRedDeerRule{
 		return event.widget instanceof Combo && event.type == SWT.Modify;
 	}
 
+	@Override
+	public boolean appliesToWidgetClass(Class<?> widgetClass) {
+		return isWidgetClass(widgetClass, Combo.class);
+	}
+
 	@Override
 	public void initializeForEvent(Event event) {  // check combo style and decide if setText or setSelection is better ?
 		Combo c = (Combo) event.widget;
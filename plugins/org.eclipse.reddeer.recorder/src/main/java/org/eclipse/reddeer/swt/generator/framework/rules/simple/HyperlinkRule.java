@@ -32,6 +32,11 @@ public class HyperlinkRule extends AbstractSimpleRedDeerRule{
 		return (event.widget instanceof Hyperlink || event.widget instanceof ImageHyperlink) && event.type == SWT.MouseDown;
 	}
 
+	@Override
+	public boolean appliesToWidgetClass(Class<?> widgetClass) {
+		return isWidgetClass(widgetClass, Hyperlink.class);
+	}
+
 	@Override
 	public void initializeForEvent(Event event) {
 		this.widget = event.widget;
@@ -31,6 +31,11 @@ public class LinkRule extends AbstractSimpleRedDeerRule {
 		 return event.widget instanceof Link && event.type == SWT.MouseDown;
 	}
 
+	@Override
+	public boolean appliesToWidgetClass(Class<?> widgetClass) {
+		return isWidgetClass(widgetClass, Link.class);
+	}
+
 	@Override
 	public void initializeForEvent(Event event) {
 		Link link = (Link)event.widget;
@@ -31,6 +31,11 @@ public class ListRule extends AbstractSimpleRedDeerRule{
 		return event.widget instanceof List && event.type == SWT.Selection;
 	}
 
+	@Override
+	public boolean appliesToWidgetClass(Class<?> widgetClass) {
+		return isWidgetClass(widgetClass, List.class);
+	}
+
 	@Override
 	public void initializeForEvent(Event event) {
 		this.widget = event.widget;
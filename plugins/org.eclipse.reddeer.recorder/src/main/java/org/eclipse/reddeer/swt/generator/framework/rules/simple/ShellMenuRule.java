@@ -40,6 +40,11 @@ public class ShellMenuRule extends AbstractSimpleRedDeerRule{
 		return event.type == SWT.Selection && menu && (style & SWT.BAR)!=0;
 	}
 
+	@Override
+	public boolean appliesToWidgetClass(Class<?> widgetClass) {
+		return isWidgetClass(widgetClass, MenuItem.class);
+	}
+
 	@Override
 	public void initializeForEvent(Event event) {
 		MenuItem item = (MenuItem) event.widget;
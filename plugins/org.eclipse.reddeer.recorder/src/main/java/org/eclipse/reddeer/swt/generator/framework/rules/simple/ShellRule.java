@@ -40,6 +40,11 @@ public class ShellRule extends AbstractSimpleRedDeerRule{
 		return event.widget instanceof Shell && event.type == SWT.Close;
 	}
 
+	@Override
+	public boolean appliesToWidgetClass(Class<?> widgetClass) {
+		return isWidgetClass(widgetClass, Shell.class);
+	}
+
 	@Override
 	public void initializeForEvent(Event event) {
 		this.widget = event.widget;
@@ -27,6 +27,11 @@ public class TabRule extends AbstractSimpleRedDeerRule{
 		return event.widget instanceof TabFolder && event.type == SWT.Selection;
 	}
 
+	@Override
+	public boolean appliesToWidgetClass(Class<?> widgetClass) {
+		return isWidgetClass(widgetClass, TabFolder.class);
+	}
+
 	@Override
 	public void initializeForEvent(Event event) {
 		this.widget = event.widget;
@@ -38,6 +38,11 @@ public class TableRule extends AbstractSimpleRedDeerRule{
 		return event.widget instanceof Table && event.type == SWT.Selection;
 	}
 
+	@Override
+	public boolean appliesToWidgetClass(Class<?> widgetClass) {
+		return isWidgetClass(widgetClass, Table.class);
+	}
+
 	@Override
 	public void initializeForEvent(Event event) {
 		Table table = (Table)event.widget;
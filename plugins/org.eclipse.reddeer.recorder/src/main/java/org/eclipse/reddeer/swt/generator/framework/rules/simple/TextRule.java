@@ -34,6 +34,11 @@ public class TextRule extends AbstractSimpleRedDeerRule{
 				!((Text)event.widget).getMessage().equals(((Text)event.widget).getText());
 	}
 
+	@Override
+	public boolean appliesToWidgetClass(Class<?> widgetClass) {
+		return isWidgetClass(widgetClass, Text.class);
+	}
+
 	@Override
 	public void initializeForEvent(Event event) {
 		this.widget = event.widget;
@@ -35,6 +35,11 @@ public class ToolBarRule extends AbstractSimpleRedDeerRule{
 		return event.widget instanceof ToolItem && event.type == SWT.Selection;
 	}
 
+	@Override
+	public boolean appliesToWidgetClass(Class<?> widgetClass) {
+		return isWidgetClass(widgetClass, ToolItem.class);
+	}
+
 	@Override
 	public void initializeForEvent(Event event) {
 		this.widget = event.widget;
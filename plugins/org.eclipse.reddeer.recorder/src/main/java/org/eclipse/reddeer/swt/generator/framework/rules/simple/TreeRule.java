@@ -41,6 +41,11 @@ public class TreeRule extends AbstractSimpleRedDeerRule{
 		return event.widget instanceof Tree && event.item instanceof TreeItem && (event.type == SWT.Selection);
 	}
 
+	@Override
+	public boolean appliesToWidgetClass(Class<?> widgetClass) {
+		return isWidgetClass(widgetClass, Tree.class);
+	}
+
 	@Override
 	public void initializeForEvent(Event event) {
 		Widget w = event.widget;
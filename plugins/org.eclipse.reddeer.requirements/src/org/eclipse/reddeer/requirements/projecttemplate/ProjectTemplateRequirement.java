@@ -0,0 +1,135 @@
+/*******************************************************************************
+ * Copyright (c) 2017 Red Hat, Inc and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.reddeer.requirements.projecttemplate;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.reddeer.common.logging.Logger;
+import org.eclipse.reddeer.direct.project.Project;
+import org.eclipse.reddeer.direct.preferences.PreferencesUtil;
+import org.eclipse.reddeer.direct.project.ProjectTemplates;
+import org.eclipse.reddeer.junit.requirement.Requirement;
+import org.eclipse.reddeer.requirements.projecttemplate.ProjectTemplateRequirement.ProjectTemplate;
+
+/**
+ * Project template requirement<br><br>
+ * 
+ * This {@link Requirement} imports projects from prebuilt templates via
+ * {@link ProjectTemplates} instead of creating them by wizards. Imported
+ * projects are deleted during the cleanup phase. If the workspace is not built
+ * after the import, auto building is turned off until the cleanup phase so
+ * compiled output of templates is not cleaned.<br><br>
+ * 
+ * Example:<br>
+ * <pre>
+ * {@code @ProjectTemplate("resources/templates/java-project.zip")
+ * public class TestClass {
+ *    // projects from the template are in the workspace
+ * }
+ * }
+ * </pre>
+ * 
+ * @since 2.0
+ */
+public class ProjectTemplateRequirement implements Requirement<ProjectTemplate> {
+
+	private static final Logger log = Logger.getLogger(ProjectTemplateRequirement.class);
+
+	private ProjectTemplate projectTemplate;
+
+	private List<String> importedProjects = new ArrayList<>();
+
+	private boolean autoBuildingOriginalValue;
+
+	/**
+	 * Marks test class, which requires projects imported from templates.
+	 */
+	@Retention(RetentionPolicy.RUNTIME)
+	@Target(ElementType.TYPE)
+	@Documented
+	public @interface ProjectTemplate {
+
+		/**
+		 * Paths to templates, zip files or directories with projects.
+		 *
+		 * @return paths to templates
+		 */
+		String[] value();
+
+		/**
+		 * Whether the workspace is built after the import. The default value is true.
+		 * If false, auto building is turned off until the cleanup phase.
+		 *
+		 * @return true if the workspace should be built, false otherwise
+		 */
+		boolean build() default true;
+
+		/**
+		 * Cleanup. The default value is true.
+		 *
+		 * @return true if imported projects should be deleted, false otherwise
+		 */
+		boolean cleanup() default true;
+	}
+
+	@Override
+	public void fulfill() {
+		autoBuildingOriginalValue = PreferencesUtil.isAutoBuildingOn();
+		String[] templates = projectTemplate.value();
+		for (int i = 0; i < templates.length; i++) {
+			// build only once, after the last template
+			boolean build = projectTemplate.build() && i == templates.length - 1;
+			importedProjects.addAll(ProjectTemplates.importProjects(templates[i], build));
+		}
+		// auto building was left off by imports without a build
+		if (projectTemplate.build()) {
+			restoreAutoBuilding();
+		}
+	}
+
+	@Override
+	public void setDeclaration(ProjectTemplate projectTemplate) {
+		this.projectTemplate = projectTemplate;
+	}
+
+	@Override
+	public void cleanUp() {
+		if (projectTemplate.cleanup()) {
+			for (String projectName : importedProjects) {
+				if (Project.isProject(projectName)) {
+					log.debug("Deleting project " + projectName + " imported from a template");
+					Project.delete(projectName, true, true);
+				}
+			}
+			importedProjects.clear();
+		}
+		if (!projectTemplate.build()) {
+			restoreAutoBuilding();
+		}
+	}
+
+	private void restoreAutoBuilding() {
+		if (autoBuildingOriginalValue && !PreferencesUtil.isAutoBuildingOn()) {
+			PreferencesUtil.setAutoBuildingOn();
+		}
+	}
+
+	@Override
+	public ProjectTemplate getDeclaration() {
+		return projectTemplate;
+	}
+}
@@ -0,0 +1,109 @@
+/*******************************************************************************
+ * Copyright (c) 2017 Red Hat, Inc and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.reddeer.requirements.workspacesnapshot;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import org.eclipse.reddeer.junit.requirement.Requirement;
+import org.eclipse.reddeer.requirements.workspacesnapshot.WorkspaceSnapshotRequirement.WorkspaceSnapshot;
+import org.eclipse.reddeer.workbench.handler.EditorHandler;
+
+/**
+ * Workspace snapshot requirement<br><br>
+ * 
+ * This {@link Requirement} captures the workspace when it is fulfilled for the
+ * first time and restores the workspace to this snapshot after each annotated
+ * test class. Only files changed by the test class are restored, so isolation
+ * of test classes is cheap compared to {@code @CleanWorkspace}.<br><br>
+ * 
+ * Example:<br>
+ * <pre>
+ * {@code @WorkspaceSnapshot
+ * public class TestClass {
+ *    // workspace will be restored after tests execution
+ * }
+ * }
+ * </pre>
+ * 
+ * @since 2.0
+ */
+public class WorkspaceSnapshotRequirement implements Requirement<WorkspaceSnapshot> {
+
+	private static org.eclipse.reddeer.direct.workspace.WorkspaceSnapshot snapshot;
+
+	private WorkspaceSnapshot workspaceSnapshot;
+
+	/**
+	 * Marks test class, which restores the workspace after test cases are executed.
+	 */
+	@Retention(RetentionPolicy.RUNTIME)
+	@Target(ElementType.TYPE)
+	@Documented
+	public @interface WorkspaceSnapshot {
+
+		/**
+		 * Whether all editors are closed without saving before the workspace is
+		 * restored. The default value is true.
+		 *
+		 * @return true if editors should be closed, false otherwise
+		 */
+		boolean closeEditors() default true;
+	}
+
+	/**
+	 * Captures the workspace snapshot if it was not captured yet.
+	 */
+	@Override
+	public void fulfill() {
+		getSnapshot();
+	}
+
+	@Override
+	public void setDeclaration(WorkspaceSnapshot workspaceSnapshot) {
+		this.workspaceSnapshot = workspaceSnapshot;
+	}
+
+	/**
+	 * Restores the workspace to the snapshot.
+	 */
+	@Override
+	public void cleanUp() {
+		if (workspaceSnapshot.closeEditors()) {
+			EditorHandler.getInstance().closeAll(false);
+		}
+		getSnapshot().restore();
+	}
+
+	@Override
+	public WorkspaceSnapshot getDeclaration() {
+		return workspaceSnapshot;
+	}
+
+	private static synchronized org.eclipse.reddeer.direct.workspace.WorkspaceSnapshot getSnapshot() {
+		if (snapshot == null) {
+			EditorHandler.getInstance().closeAll(true);
+			final org.eclipse.reddeer.direct.workspace.WorkspaceSnapshot captured =
+					org.eclipse.reddeer.direct.workspace.WorkspaceSnapshot.capture();
+			Runtime.getRuntime().addShutdownHook(new Thread("RedDeer workspace snapshot cleanup") {
+				@Override
+				public void run() {
+					captured.dispose();
+				}
+			});
+			snapshot = captured;
+		}
+		return snapshot;
+	}
+}
@@ -21,6 +21,7 @@ import org.eclipse.swt.widgets.Display;
 import org.eclipse.swt.widgets.Event;
 import org.eclipse.swt.widgets.Listener;
 import org.eclipse.swt.widgets.Widget;
+import org.eclipse.reddeer.common.properties.RedDeerProperties;
 import org.eclipse.reddeer.spy.view.internal.RedDeerWidgetTracker;
 
 /**
@@ -35,7 +36,8 @@ public class RedDeerSpy {
 	
 	private Action action;
 	private StyledText spyOutput;
-	private Runnable widgetTracker;
+	private RedDeerWidgetTracker widgetTracker;
+	private int throttle = (int) Math.max(0, RedDeerProperties.SPY_THROTTLE.getLongValue());
 	
 	private final Composite	parent;
 	
@@ -100,14 +102,37 @@ public class RedDeerSpy {
 		return widgetTracker;
 	}
 	
+	/**
+	 * Gets throttle period of widget tracking. Output is refreshed once the cursor
+	 * stays still for this period.
+	 * 
+	 * @return throttle period in milliseconds
+	 */
+	public int getThrottle() {
+		return throttle;
+	}
+	
+	/**
+	 * Sets throttle period of widget tracking.
+	 * 
+	 * @param throttle throttle period in milliseconds
+	 */
+	public void setThrottle(int throttle) {
+		if (throttle < 0) {
+			throw new IllegalArgumentException("Throttle period cannot be negative");
+		}
+		this.throttle = throttle;
+	}
+	
 	private void createAction() {
 		action = new Action("Monitor", IAction.AS_CHECK_BOX) {
 			
 			@Override
 			public void run() {
 				if (action.isChecked() && !spyOutput.isDisposed()) {
-					Display display = spyOutput.getDisplay();
-					display.timerExec(70, widgetTracker);
+					widgetTracker.start();
+				} else {
+					widgetTracker.stop();
 				}
 			}
 		};
@@ -120,6 +145,13 @@ public class RedDeerSpy {
 		spyOutput = new StyledText(parent, SWT.MULTI | SWT.H_SCROLL | SWT.V_SCROLL | SWT.READ_ONLY);
 		spyOutput.setLayoutData(new GridData(GridData.FILL_HORIZONTAL, GridData.FILL_VERTICAL, true, true));
 		spyOutput.setText(SPY_VIEW_HEADER);
+		spyOutput.addListener(SWT.Dispose, new Listener() {
+			
+			@Override
+			public void handleEvent(Event event) {
+				widgetTracker.stop();
+			}
+		});
 		if (isMac()){
 			spyOutput.setFont(new Font(Display.getCurrent(), "Georgia", 11, SWT.NONE));
 		} else {
@@ -131,13 +163,10 @@ public class RedDeerSpy {
 		parent.getDisplay().addFilter(SWT.KeyDown, new Listener() {
 			@Override
 			public void handleEvent(Event event) {
-				if ((event.stateMask == SWT.CTRL) && (event.keyCode == SWT.ALT))
-					if (action.isChecked())
-						action.setChecked(false);
-					else {
-						action.setChecked(true);
-						action.run();
-					}
+				if ((event.stateMask == SWT.CTRL) && (event.keyCode == SWT.ALT)) {
+					action.setChecked(!action.isChecked());
+					action.run();
+				}
 			}
 		});
 	}
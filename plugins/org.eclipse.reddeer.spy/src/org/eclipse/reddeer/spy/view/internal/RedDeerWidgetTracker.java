@@ -11,8 +11,10 @@
 package org.eclipse.reddeer.spy.view.internal;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.browser.Browser;
@@ -21,12 +23,15 @@ import org.eclipse.swt.custom.StyleRange;
 import org.eclipse.swt.custom.StyledText;
 import org.eclipse.swt.widgets.Button;
 import org.eclipse.swt.widgets.Combo;
+import org.eclipse.swt.widgets.Composite;
 import org.eclipse.swt.widgets.Control;
 import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Event;
 import org.eclipse.swt.widgets.ExpandBar;
 import org.eclipse.swt.widgets.Group;
 import org.eclipse.swt.widgets.Label;
 import org.eclipse.swt.widgets.Link;
+import org.eclipse.swt.widgets.Listener;
 import org.eclipse.swt.widgets.Menu;
 import org.eclipse.swt.widgets.ProgressBar;
 import org.eclipse.swt.widgets.Scale;
@@ -48,16 +53,32 @@ import org.eclipse.reddeer.core.util.TextWidgetUtil;
  * RedDeerWidgetTracker provides tracking widgets and flushing their output onto RedDeer Spy View as styled texts.
  * Tracking currently works only for descendants of Control class but siblings, parents and children are resolved as 
  * any Widget.
+ * <br>
+ * Tracker is driven by display MouseMove/MouseEnter event filters. Events are debounced by throttle period of the spy
+ * and output is rendered in two steps - widget information is rendered immediately and siblings, children and widget
+ * tree are rendered asynchronously only if the cursor is still on the same widget. Rendered output is cached per widget
+ * until the widget changes.
  * 
  * @author mlabuda@redhat.com
  * @since 0.8.0
  */
-public class RedDeerWidgetTracker implements Runnable {
+public class RedDeerWidgetTracker implements Runnable, Listener {
 
+	private static final int[] TRACKED_EVENTS = new int[] {SWT.MouseMove, SWT.MouseEnter};
+	
 	private RedDeerSpy spy;
 	private WidgetResolver widgetResolver;
 	// Style ranges for headlines and significant information in output
 	private List<StyleRange> styleRanges;
+	private Display display;
+	private Map<Widget, WidgetInfo> cache = new HashMap<Widget, WidgetInfo>();
+	private Listener disposeListener = new Listener() {
+		
+		@Override
+		public void handleEvent(Event event) {
+			cache.remove(event.widget);
+		}
+	};
 	
 	private static final String ANONYMOUS_COMPOSITE = "anonymous org.eclipse.swt.widgets.Composite";
 	
@@ -65,37 +86,137 @@ public class RedDeerWidgetTracker implements Runnable {
 		this.spy= spy;
 		widgetResolver = WidgetResolver.getInstance();
 	}
+	
+	/**
+	 * Starts tracking of widgets under cursor.
+	 */
+	public void start() {
+		if (display != null || spy.getOutput() == null || spy.getOutput().isDisposed()) {
+			return;
+		}
+		display = spy.getOutput().getDisplay();
+		for (int eventType: TRACKED_EVENTS) {
+			display.addFilter(eventType, this);
+		}
+		display.timerExec(spy.getThrottle(), this);
+	}
+	
+	/**
+	 * Stops tracking of widgets and clears cached widget information.
+	 */
+	public void stop() {
+		if (display == null) {
+			return;
+		}
+		if (!display.isDisposed()) {
+			for (int eventType: TRACKED_EVENTS) {
+				display.removeFilter(eventType, this);
+			}
+			display.timerExec(-1, this);
+			for (Widget widget: cache.keySet()) {
+				if (!widget.isDisposed()) {
+					widget.removeListener(SWT.Dispose, disposeListener);
+				}
+			}
+		}
+		cache.clear();
+		display = null;
+	}
+	
+	/**
+	 * Debounces tracked mouse events. Rescheduling the same runnable by timerExec
+	 * postpones its execution so the output is rendered once the cursor stops for
+	 * throttle period.
+	 */
+	@Override
+	public void handleEvent(Event event) {
+		if (display != null && !display.isDisposed()) {
+			display.timerExec(spy.getThrottle(), this);
+		}
+	}
 
 	@Override
 	public void run() {
 		if (spy.getOutput() == null || spy.getOutput().isDisposed() || !spy.getAction().isChecked()) {
+			stop();
 			return;
-		} else {
-			Display display = spy.getOutput().getDisplay();
-			Control control = display.getCursorControl();			
-			
-			if (control == null) {
-				spy.getOutput().setText("");
-				spy.setLastWidget(null);
-			} else if (control != spy.getLastWidget()) {
-				spy.setLastWidget(control);
+		}
+		Control control = spy.getOutput().getDisplay().getCursorControl();
+		if (control == null) {
+			spy.getOutput().setText("");
+			spy.setLastWidget(null);
+		} else if (control != spy.getLastWidget() || !getInfo(control).isUpToDate(control)) {
+			spy.setLastWidget(control);
+			render(control);
+		}
+	}
+	
+	private WidgetInfo getInfo(Control control) {
+		WidgetInfo info = cache.get(control);
+		if (info == null) {
+			info = new WidgetInfo(getSignature(control));
+			cache.put(control, info);
+			control.addListener(SWT.Dispose, disposeListener);
+		}
+		return info;
+	}
 	
-				StringBuffer stringBuffer = new StringBuffer();
+	private void render(final Control control) {
+		final WidgetInfo info = getInfo(control);
+		if (!info.isUpToDate(control)) {
+			info.reset(getSignature(control));
+		}
+		if (info.widgetSection == null) {
+			StringBuffer stringBuffer = new StringBuffer();
+			styleRanges = new ArrayList<StyleRange>();
+			stringBuffer.append(RedDeerSpy.SPY_VIEW_HEADER);
+			getWidgetInformation(control, stringBuffer);
+			info.widgetSection = new Section(stringBuffer.toString(), styleRanges);
+		}
+		if (info.otherSections != null) {
+			show(info.widgetSection, info.otherSections);
+			return;
+		}
+		show(info.widgetSection, null);
+		spy.getOutput().getDisplay().asyncExec(new Runnable() {
+			
+			@Override
+			public void run() {
+				if (control.isDisposed() || spy.getOutput().isDisposed() || spy.getLastWidget() != control
+						|| info.widgetSection == null) {
+					return;
+				}
+				StringBuffer stringBuffer = new StringBuffer(info.widgetSection.text);
 				styleRanges = new ArrayList<StyleRange>();
-				getInformation(control, stringBuffer);
-				spy.getOutput().setText(stringBuffer.toString());
-				spy.getOutput().setStyleRanges(styleRanges.toArray(new StyleRange[styleRanges.size()]));
+				getSiblingsInformation(control, stringBuffer);
+				getChildrenInformation(control, stringBuffer);
+				getWidgetTreeInformation(control, stringBuffer);
+				int offset = info.widgetSection.text.length();
+				info.otherSections = new Section(stringBuffer.substring(offset), styleRanges, offset);
+				show(info.widgetSection, info.otherSections);
 			}
-			display.timerExec(70, spy.getWidgetTracker());
+		});
+	}
+	
+	private void show(Section widgetSection, Section otherSections) {
+		List<StyleRange> ranges = new ArrayList<StyleRange>(widgetSection.styleRanges);
+		String text = widgetSection.text;
+		if (otherSections != null) {
+			for (StyleRange range: otherSections.styleRanges) {
+				StyleRange copy = (StyleRange) range.clone();
+				copy.start += text.length();
+				ranges.add(copy);
+			}
+			text += otherSections.text;
 		}
+		spy.getOutput().setText(text);
+		spy.getOutput().setStyleRanges(ranges.toArray(new StyleRange[ranges.size()]));
 	}
 	
-	private void getInformation(Control control, StringBuffer stringBuffer) {
-		stringBuffer.append(RedDeerSpy.SPY_VIEW_HEADER);
-		getWidgetInformation(control, stringBuffer);
-		getSiblingsInformation(control, stringBuffer);
-		getChildrenInformation(control, stringBuffer);
-		getWidgetTreeInformation(control, stringBuffer);
+	// Cheap signature of widget state used to detect whether cached output is still valid
+	private String getSignature(Control control) {
+		int children = control instanceof Composite ? ((Composite) control).getChildren().length : 0;
+		return getText(control) + "#" + children;
 	}
 	
 	private void getWidgetInformation(Control control, StringBuffer stringBuffer) {
@@ -317,4 +438,46 @@ public class RedDeerWidgetTracker implements Runnable {
 		}
 		return output;
 	}	
+	
+	private static class Section {
+		
+		private final String text;
+		private final List<StyleRange> styleRanges;
+		
+		private Section(String text, List<StyleRange> styleRanges) {
+			this(text, styleRanges, 0);
+		}
+		
+		// Style ranges are relative to the whole output, offset is subtracted so the section can be reused
+		private Section(String text, List<StyleRange> styleRanges, int offset) {
+			this.text = text;
+			this.styleRanges = new ArrayList<StyleRange>();
+			for (StyleRange range: styleRanges) {
+				StyleRange copy = (StyleRange) range.clone();
+				copy.start -= offset;
+				this.styleRanges.add(copy);
+			}
+		}
+	}
+	
+	private class WidgetInfo {
+		
+		private String signature;
+		private Section widgetSection;
+		private Section otherSections;
+		
+		private WidgetInfo(String signature) {
+			this.signature = signature;
+		}
+		
+		private boolean isUpToDate(Control control) {
+			return signature.equals(getSignature(control));
+		}
+		
+		private void reset(String signature) {
+			this.signature = signature;
+			widgetSection = null;
+			otherSections = null;
+		}
+	}
 }
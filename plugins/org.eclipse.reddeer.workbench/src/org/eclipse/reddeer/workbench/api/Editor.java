@@ -14,6 +14,7 @@ import java.util.List;
 
 import org.eclipse.reddeer.jface.text.contentassist.ContentAssistant;
 import org.eclipse.reddeer.workbench.impl.editor.Marker;
+import org.eclipse.reddeer.workbench.impl.editor.MarkerIndex;
 import org.eclipse.reddeer.workbench.impl.editor.AbstractEditor.ContentAssistantEnum;
 
 /**
@@ -83,6 +84,16 @@ public interface Editor extends WorkbenchPart {
      * @return editor validation markers
      */
     List<Marker> getMarkers();
+
+    /**
+     * Returns index of editor validation markers which allows cheap repeated
+     * queries by type and line. Default implementation does not provide any index.
+     * @return index of editor validation markers or null if editor has no annotation
+     * model or does not support marker index
+     */
+    default MarkerIndex getMarkerIndex() {
+        return null;
+    }
     
     /**
      * Gets content assistant opened automatically by instructions defined within run method
@@ -16,6 +16,7 @@ import java.util.List;
 import org.eclipse.reddeer.common.condition.AbstractWaitCondition;
 import org.eclipse.reddeer.workbench.api.Editor;
 import org.eclipse.reddeer.workbench.impl.editor.Marker;
+import org.eclipse.reddeer.workbench.impl.editor.MarkerIndex;
 
 /**
  * Checks if specified editor contains validation markers
@@ -28,6 +29,8 @@ public class EditorHasValidationMarkers extends AbstractWaitCondition {
 	private String type;
 	private int line;
 	private List<Marker> resultMarkers;
+	private MarkerIndex index;
+	private long version = -1;
 	
 	/**
 	 * Default constructor.
@@ -77,43 +80,47 @@ public class EditorHasValidationMarkers extends AbstractWaitCondition {
 	 */
 	@Override
 	public boolean test() {
-		editor.activate();
-		List<Marker> markers = editor.getMarkers();
-		boolean toReturn = false;
-		if(type == null){
-			if(line == -1){
-				this.resultMarkers = markers;
-				toReturn = editor.getMarkers().size() > 0;
-			} else {
-				for(Marker m: markers){
-					if(m.getLineNumber() == line){
-						this.resultMarkers.add(m);
-						toReturn = true;
-						break;
-					}
-				}
+		if (index == null) {
+			editor.activate();
+			index = editor.getMarkerIndex();
+			if (index == null) {
+				return testMarkers();
 			}
+		}
+		// markers are evaluated again only when the index changed, lines of markers
+		// can move with document changes so line queries are always evaluated
+		long currentVersion = index.getVersion();
+		if (currentVersion == version && line == -1) {
+			return !resultMarkers.isEmpty();
+		}
+		version = currentVersion;
+		List<Marker> markers;
+		if (type == null) {
+			markers = line == -1 ? index.getMarkers() : index.getMarkers(line);
 		} else {
-			if(line == -1){
-				for(Marker m: markers){
-					if(m.getType().equals(type)){
-						this.resultMarkers.add(m);
-						toReturn = true;
-						break;
-					}
-				}
-			} else {
-				for(Marker m: markers){
-					if(m.getType().equals(type) && m.getLineNumber() == line){
-						this.resultMarkers.add(m);
-						toReturn = true;
-						break;
-					}
+			markers = line == -1 ? index.getMarkers(type) : index.getMarkers(type, line);
+		}
+		if (type != null || line != -1) {
+			// keep former result, first matching marker only
+			markers = markers.isEmpty() ? markers : new ArrayList<>(markers.subList(0, 1));
+		}
+		this.resultMarkers = markers;
+		return !resultMarkers.isEmpty();
+	}
+
+	private boolean testMarkers() {
+		// editor does not provide marker index, all its markers are evaluated
+		List<Marker> markers = new ArrayList<>();
+		for (Marker marker : editor.getMarkers()) {
+			if ((type == null || type.equals(marker.getType())) && (line == -1 || line == marker.getLineNumber())) {
+				markers.add(marker);
+				if (type != null || line != -1) {
+					break;
 				}
 			}
 		}
-		return toReturn;
-		
+		this.resultMarkers = markers;
+		return !resultMarkers.isEmpty();
 	}
 
 	/* (non-Javadoc)
@@ -0,0 +1,64 @@
+/******************************************************************************* 
+ * Copyright (c) 2017 Red Hat, Inc. 
+ * Distributed under license by Red Hat, Inc. All rights reserved. 
+ * This program is made available under the terms of the 
+ * Eclipse Public License v1.0 which accompanies this distribution, 
+ * and is available at http://www.eclipse.org/legal/epl-v10.html 
+ * 
+ * Contributors: 
+ * Red Hat, Inc. - initial API and implementation 
+ ******************************************************************************/ 
+package org.eclipse.reddeer.workbench.condition;
+
+import java.util.List;
+
+import org.eclipse.reddeer.common.condition.AbstractWaitCondition;
+import org.eclipse.reddeer.workbench.api.Editor;
+import org.eclipse.reddeer.workbench.exception.WorkbenchLayerException;
+import org.eclipse.reddeer.workbench.impl.editor.Marker;
+import org.eclipse.reddeer.workbench.impl.editor.MarkerIndex;
+
+/**
+ * Wait condition which is fulfilled when validation markers of an editor
+ * changed since the condition was created. Changes are tracked by marker index
+ * of the editor so testing the condition is cheap while nothing changes.
+ *
+ * @since 2.0
+ */
+public class EditorMarkersChanged extends AbstractWaitCondition {
+
+	private Editor editor;
+	private MarkerIndex index;
+	private long version;
+
+	/**
+	 * Creates a new condition. Markers present at the time of creation are
+	 * considered unchanged.
+	 *
+	 * @param editor editor to check validation markers of
+	 */
+	public EditorMarkersChanged(Editor editor) {
+		this.editor = editor;
+		this.index = editor.getMarkerIndex();
+		if (index == null) {
+			throw new WorkbenchLayerException("Editor '" + editor.getTitle() + "' has no validation markers model");
+		}
+		this.version = index.getVersion();
+	}
+
+	@Override
+	public boolean test() {
+		return index.getVersion() != version;
+	}
+
+	@Override
+	public String description() {
+		return "validation markers of editor '" + editor.getTitle() + "' changed";
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public List<Marker> getResult() {
+		return index.getMarkers();
+	}
+}
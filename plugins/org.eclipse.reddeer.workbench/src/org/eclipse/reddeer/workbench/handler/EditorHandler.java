@@ -11,13 +11,9 @@
 package org.eclipse.reddeer.workbench.handler;
 
 import java.util.ArrayList;
-import java.util.Iterator;
 import java.util.List;
 
 import org.eclipse.core.runtime.NullProgressMonitor;
-import org.eclipse.jface.text.source.Annotation;
-import org.eclipse.jface.text.source.IAnnotationModel;
-import org.eclipse.jface.text.source.ILineDiffInfo;
 import org.eclipse.reddeer.common.logging.Logger;
 import org.eclipse.reddeer.common.matcher.RegexMatcher;
 import org.eclipse.reddeer.common.util.Display;
@@ -32,12 +28,11 @@ import org.eclipse.reddeer.swt.condition.ShellIsAvailable;
 import org.eclipse.reddeer.swt.impl.button.PushButton;
 import org.eclipse.reddeer.swt.impl.shell.DefaultShell;
 import org.eclipse.reddeer.workbench.impl.editor.Marker;
+import org.eclipse.reddeer.workbench.impl.editor.MarkerIndex;
 import org.eclipse.ui.IEditorPart;
 import org.eclipse.ui.IEditorReference;
 import org.eclipse.ui.IWorkbenchWindow;
 import org.eclipse.ui.PlatformUI;
-import org.eclipse.ui.texteditor.IDocumentProvider;
-import org.eclipse.ui.texteditor.ITextEditor;
 
 /**
  * Editor handler handles operations for Editor instances.
@@ -144,25 +139,18 @@ public class EditorHandler extends WorkbenchPartHandler {
      * @return list of validation markers
      */
     public List<Marker> getMarkers(final IEditorPart editor) {
-        List<Marker> markers = new ArrayList<Marker>();
-        ITextEditor textEditor = (ITextEditor) editor.getAdapter(ITextEditor.class);
-        if (textEditor == null) {
-            return markers;
-        }
-        final IDocumentProvider documentProvider = textEditor.getDocumentProvider();
-        if (documentProvider == null) {
-            return markers;
-        }
-        IAnnotationModel model = documentProvider.getAnnotationModel(textEditor.getEditorInput());
-        Iterator<?> it = model.getAnnotationIterator();
-        while (it.hasNext()) {
-            Object o = it.next();
-            if (o instanceof Annotation && !(o instanceof ILineDiffInfo)) {
-            	Annotation annotation = (Annotation) o;
-            	markers.add(new Marker(annotation, editor));
-            }
-        }
-        return markers;
+        MarkerIndex index = getMarkerIndex(editor);
+        return index == null ? new ArrayList<Marker>() : index.getMarkers();
+    }
+
+    /**
+     * Returns index of validation markers. Index is updated by annotation model
+     * events so repeated queries do not iterate over the whole annotation model.
+     * @param editor to get marker index of
+     * @return marker index or null if editor has no annotation model
+     */
+    public MarkerIndex getMarkerIndex(final IEditorPart editor) {
+        return MarkerIndex.getIndex(editor);
     }
     
     /**
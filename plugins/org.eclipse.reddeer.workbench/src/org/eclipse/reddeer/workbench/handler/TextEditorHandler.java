@@ -10,15 +10,25 @@
  *******************************************************************************/
 package org.eclipse.reddeer.workbench.handler;
 
+import java.util.Map;
+import java.util.WeakHashMap;
+
 import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.DocumentRewriteSession;
+import org.eclipse.jface.text.DocumentRewriteSessionType;
 import org.eclipse.jface.text.IBlockTextSelection;
 import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentExtension4;
 import org.eclipse.jface.text.ITextSelection;
 import org.eclipse.jface.viewers.ISelection;
+import org.eclipse.text.edits.MalformedTreeException;
+import org.eclipse.text.edits.TextEdit;
+import org.eclipse.text.edits.UndoEdit;
 import org.eclipse.ui.texteditor.ITextEditor;
 import org.eclipse.reddeer.common.util.Display;
 import org.eclipse.reddeer.common.util.ResultRunnable;
 import org.eclipse.reddeer.workbench.exception.WorkbenchLayerException;
+import org.eclipse.reddeer.workbench.impl.editor.DocumentSnapshot;
 import org.eclipse.swt.graphics.Point;
 
 /**
@@ -29,6 +39,8 @@ public class TextEditorHandler extends EditorHandler{
 	
 	private static TextEditorHandler instance;
 	
+	private final Map<IDocument, DocumentSnapshot> snapshots = new WeakHashMap<>();
+	
 	/**
 	 * Gets instance of TextEditorHandler.
 	 * 
@@ -187,20 +199,8 @@ public class TextEditorHandler extends EditorHandler{
      * @return line number of text found, -1 otherwise
      */    
     public int getLineOfText(final ITextEditor editor, final String text, final int textIndex) {
-    	return Display.syncExec(new ResultRunnable<Integer>() {
-
-			@Override
-			public Integer run() {
-				int textOffset = getPositionOfText(editor, text, textIndex);
-				int line = -1;
-				try {
-					line = getDocument(editor).getLineOfOffset(textOffset);
-				} catch (BadLocationException e) {
-					line = -1;
-				}
-				return line;
-			}
-    	});
+    	DocumentSnapshot snapshot = getDocumentSnapshot(editor);
+    	return snapshot.getLineOfOffset(snapshot.indexOf(text, textIndex));
     }
 
     /**
@@ -237,54 +237,17 @@ public class TextEditorHandler extends EditorHandler{
      */
     public void selectText(final ITextEditor editor, final String text,
             final int textIndex) {
+        // searched in the calling thread, UI thread is used only to select
+        final int offset = getDocumentSnapshot(editor).indexOf(text, textIndex);
+        if (offset == -1) {
+            throw new WorkbenchLayerException("Unable to find " + text
+                    + " in editor");
+        }
         Display.syncExec(new Runnable() {
 
             @Override
             public void run() {
-                boolean found = false;
-                int iStartIndex = 0;
-                int iRow = 0;
-                String editorText = getDocument(editor).get();
-
-                if (editorText != null && editorText.length() > 0
-                        && editorText.contains(text)) {
-                    int iOccurenceIndex = 0;
-                    while (!found && iRow < getNumberOfLines(editor)) {
-                        String lineText = getTextAtLine(editor, iRow);
-                        System.out.println(lineText);
-                        iStartIndex = 0;
-                        while (!found && lineText.contains(text)) {
-                            if (iOccurenceIndex == textIndex) {
-                                found = true;
-                                iStartIndex += lineText.indexOf(text);
-                            } else {
-                                iOccurenceIndex++;
-                                int iNewStartIndex = lineText.indexOf(text)
-                                        + text.length();
-                                iStartIndex += iNewStartIndex;
-                                lineText = lineText.substring(iNewStartIndex);
-                            }
-                        }
-                        if (!found) {
-                            iRow++;
-                        }
-                    }
-                }
-
-                if (found) {
-                    int offset = 0;
-                    try {
-                        offset = getDocument(editor).getLineOffset(iRow)
-                                + iStartIndex;
-                    } catch (BadLocationException e) {
-                        throw new WorkbenchLayerException("Unable to find "
-                                + text + " in editor", e);
-                    }
-                    editor.selectAndReveal(offset, text.length());
-                } else {
-                    throw new WorkbenchLayerException("Unable to find " + text
-                            + " in editor");
-                }
+                editor.selectAndReveal(offset, text.length());
             }
         });
     }
@@ -309,27 +272,7 @@ public class TextEditorHandler extends EditorHandler{
 	 * @return position of first character of specified text if exists, -1 otherwise 
 	 */
 	public int getPositionOfText(final ITextEditor editor, final String text, final int index) {
-		return Display.syncExec(new ResultRunnable<Integer>() {
-
-			@Override
-			public Integer run() {
-				if(index < 0){
-					return -1;
-				}
-				String doc = getDocument(editor).get();
-				int textIndex = 0;
-				int i = 0;
-				while (i <= index){
-					i++;
-					textIndex = doc.indexOf(text,textIndex);
-					if(textIndex == -1){
-						return -1;
-					}
-					textIndex += text.length();
-				}
-				return textIndex - text.length();
-			}
-		});
+		return getDocumentSnapshot(editor).indexOf(text, index);
 	}
 
 	/**
@@ -440,6 +383,84 @@ public class TextEditorHandler extends EditorHandler{
 		});
 	}
 
+    /**
+     * Gets snapshot of the document of specified text editor. Snapshot is taken
+     * in UI thread and it is reused while the document is not modified.
+     * 
+     * @param editor editor to handle
+     * @return snapshot of the document of specified text editor
+     */
+    public DocumentSnapshot getDocumentSnapshot(final ITextEditor editor) {
+        return Display.syncExec(new ResultRunnable<DocumentSnapshot>() {
+            @Override
+            public DocumentSnapshot run() {
+                IDocument document = getDocument(editor);
+                long stamp = document instanceof IDocumentExtension4
+                        ? ((IDocumentExtension4) document).getModificationStamp()
+                        : IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP;
+                synchronized (snapshots) {
+                    DocumentSnapshot snapshot = snapshots.get(document);
+                    if (snapshot == null || stamp == IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP
+                            || snapshot.getModificationStamp() != stamp) {
+                        snapshot = new DocumentSnapshot(document.get(), stamp);
+                        snapshots.put(document, snapshot);
+                    }
+                    return snapshot;
+                }
+            }
+        });
+    }
+
+    /**
+     * Applies text edit to the document of specified text editor. All edits of
+     * the tree are applied at once in UI thread.
+     * 
+     * @param editor editor to handle
+     * @param edit text edit, e.g. {@link org.eclipse.text.edits.MultiTextEdit}
+     * @return undo edit reverting the changes
+     */
+    public UndoEdit applyEdit(final ITextEditor editor, final TextEdit edit) {
+        return applyEdit(editor, edit, null);
+    }
+
+    /**
+     * Applies text edit computed from a document snapshot to the document of
+     * specified text editor. Edit is applied only if the document was not
+     * modified since the snapshot was taken.
+     * 
+     * @param editor editor to handle
+     * @param edit text edit, e.g. {@link org.eclipse.text.edits.MultiTextEdit}
+     * @param snapshot snapshot the edit offsets are computed from, null to skip the check
+     * @return undo edit reverting the changes
+     */
+    public UndoEdit applyEdit(final ITextEditor editor, final TextEdit edit, final DocumentSnapshot snapshot) {
+        return Display.syncExec(new ResultRunnable<UndoEdit>() {
+            @Override
+            public UndoEdit run() {
+                IDocument document = getDocument(editor);
+                IDocumentExtension4 extension = document instanceof IDocumentExtension4
+                        ? (IDocumentExtension4) document : null;
+                if (snapshot != null && (extension == null
+                        || snapshot.getModificationStamp() == IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP
+                        || extension.getModificationStamp() != snapshot.getModificationStamp())) {
+                    throw new WorkbenchLayerException("Document was modified since the snapshot was taken");
+                }
+                // rewrite session lets the document update its line tracker only once
+                DocumentRewriteSession session = extension != null && edit.getChildrenSize() > 1
+                        ? extension.startRewriteSession(DocumentRewriteSessionType.SEQUENTIAL) : null;
+                try {
+                    return edit.apply(document);
+                } catch (MalformedTreeException | BadLocationException e) {
+                    throw new WorkbenchLayerException("Unable to apply text edit to this editor", e);
+                } finally {
+                    if (session != null) {
+                        extension.stopRewriteSession(session);
+                    }
+                }
+            }
+        });
+    }
+
     /**
      * Gets {@link IDocument} element of specified text editor.
      * 
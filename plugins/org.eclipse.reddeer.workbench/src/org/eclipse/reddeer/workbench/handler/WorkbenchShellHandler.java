@@ -12,14 +12,26 @@ package org.eclipse.reddeer.workbench.handler;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.widgets.Button;
+import org.eclipse.swt.widgets.Composite;
+import org.eclipse.swt.widgets.Event;
+import org.eclipse.swt.widgets.Listener;
 import org.eclipse.swt.widgets.Shell;
 import org.hamcrest.Matcher;
+import org.eclipse.reddeer.common.exception.WaitTimeoutExpiredException;
 import org.eclipse.reddeer.common.logging.Logger;
+import org.eclipse.reddeer.common.util.Display;
+import org.eclipse.reddeer.common.util.ResultRunnable;
 import org.eclipse.reddeer.common.wait.TimePeriod;
 import org.eclipse.reddeer.common.wait.WaitWhile;
 import org.eclipse.reddeer.core.exception.CoreLayerException;
@@ -38,6 +50,7 @@ public class WorkbenchShellHandler {
 	
 	private final Logger log = Logger.getLogger(this.getClass());
 	private static WorkbenchShellHandler instance;
+	private static final long CLOSE_POLL_MILLIS = 100;
 	
 	/**
 	 * Gets instance of WorkbenchShellHandler.
@@ -94,6 +107,90 @@ public class WorkbenchShellHandler {
 		} while ((shells.size() > 0) && (System.currentTimeMillis() < timeOut));
 	}
 	
+	/**
+	 * Closes given shells innermost first, i.e. child shells are closed before
+	 * their parent shells. Each shell is closed the same way as by
+	 * {@link #closeAllNonWorbenchShells(IBeforeShellIsClosed)}. Closing ends as
+	 * soon as the shell is disposed (signaled by its Dispose event) or it is no
+	 * longer available, e.g. it was only hidden.
+	 * 
+	 * @param shells shells to close
+	 */
+	public void closeShells(final List<Shell> shells) {
+		final Map<Shell, Integer> depths = Display.syncExec(new ResultRunnable<Map<Shell, Integer>>() {
+			@Override
+			public Map<Shell, Integer> run() {
+				Map<Shell, Integer> result = new HashMap<Shell, Integer>();
+				for (Shell shell : shells) {
+					int depth = 0;
+					for (Composite parent = shell.isDisposed() ? null : shell.getParent(); parent != null; parent = parent
+							.getParent()) {
+						depth++;
+					}
+					result.put(shell, depth);
+				}
+				return result;
+			}
+		});
+		List<Shell> ordered = new ArrayList<Shell>(shells);
+		Collections.sort(ordered, new Comparator<Shell>() {
+			@Override
+			public int compare(Shell first, Shell second) {
+				return depths.get(second) - depths.get(first);
+			}
+		});
+		for (Shell shell : ordered) {
+			closeShellAndWaitForDispose(shell);
+		}
+	}
+
+	private void closeShellAndWaitForDispose(final Shell swtShell) {
+		final CountDownLatch disposed = new CountDownLatch(1);
+		boolean alive = Display.syncExec(new ResultRunnable<Boolean>() {
+			@Override
+			public Boolean run() {
+				if (swtShell.isDisposed()) {
+					return false;
+				}
+				swtShell.addListener(SWT.Dispose, new Listener() {
+					@Override
+					public void handleEvent(Event event) {
+						disposed.countDown();
+					}
+				});
+				return true;
+			}
+		});
+		if (!alive) {
+			return;
+		}
+		try {
+			String text = ShellHandler.getInstance().getText(swtShell);
+			ShellIsAvailable available = new ShellIsAvailable(new DefaultShell(swtShell));
+			log.info("Close shell " + text);
+			try {
+				clickCancelButton(swtShell);
+			} catch (Exception e) {
+				ShellHandler.getInstance().notifyWidget(SWT.Close, swtShell);
+				ShellHandler.getInstance().closeShell(swtShell);
+			}
+			long timeout = System.currentTimeMillis() + TimePeriod.DEFAULT.getSeconds() * 1000;
+			// shell can be only hidden instead of disposed
+			while (!disposed.await(CLOSE_POLL_MILLIS, TimeUnit.MILLISECONDS) && available.test()) {
+				if (System.currentTimeMillis() > timeout) {
+					throw new WaitTimeoutExpiredException("Timed out after " + TimePeriod.DEFAULT.getSeconds()
+							+ " seconds while waiting for shell '" + text + "' to be closed");
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} catch (RuntimeException e) {
+			if (!ShellHandler.getInstance().isDisposed(swtShell)) {
+				throw e;
+			}
+		}
+	}
+
 	private List<Shell> getNonWorbenchShellsToClose() {
 		List<Shell> shellsToClose = new ArrayList<Shell>();
 		Shell[] currentShells = ShellLookup.getInstance().getShells();
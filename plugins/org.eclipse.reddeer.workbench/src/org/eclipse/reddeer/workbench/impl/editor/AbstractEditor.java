@@ -295,6 +295,11 @@ public abstract class AbstractEditor extends AbstractWorkbenchPart implements Ed
 		return EditorHandler.getInstance().getMarkers(editorPart);
 	}
 
+	@Override
+	public MarkerIndex getMarkerIndex() {
+		return EditorHandler.getInstance().getMarkerIndex(editorPart);
+	}
+
 	@Override
 	public ContentAssistant getAutoContentAssistant(Runnable execute) {
 		activate();
@@ -0,0 +1,276 @@
+/*******************************************************************************
+ * Copyright (c) 2017 Red Hat, Inc and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.reddeer.workbench.impl.editor;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentExtension4;
+import org.eclipse.jface.text.Position;
+import org.eclipse.jface.text.source.Annotation;
+import org.eclipse.jface.text.source.AnnotationModelEvent;
+import org.eclipse.jface.text.source.IAnnotationModel;
+import org.eclipse.jface.text.source.IAnnotationModelListener;
+import org.eclipse.jface.text.source.IAnnotationModelListenerExtension;
+import org.eclipse.jface.text.source.ILineDiffInfo;
+
+/**
+ * Index of annotations of one annotation model. It is kept up to date by
+ * annotation model events and provides annotations by type and by line.
+ * Index does not hold the annotation model nor the document so it does not
+ * prevent them from being garbage collected. Index stays registered on the
+ * annotation model until all of its owners release it.
+ *
+ * @since 2.0
+ */
+class AnnotationIndex implements IAnnotationModelListener, IAnnotationModelListenerExtension {
+
+	private static final Map<IAnnotationModel, AnnotationIndex> indexes = new WeakHashMap<>();
+
+	// insertion ordered so annotations are returned in the order of the model
+	private final Map<Annotation, Position> positions = new LinkedHashMap<>();
+
+	private final Map<String, List<Annotation>> byType = new HashMap<>();
+
+	// owners are weakly referenced so they do not keep the annotation model reachable
+	private final Set<Object> owners = Collections.newSetFromMap(new WeakHashMap<Object, Boolean>());
+
+	private Map<Integer, List<Annotation>> byLine;
+
+	private long byLineStamp = IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP;
+
+	private long version;
+
+	private AnnotationIndex() {
+		super();
+	}
+
+	/**
+	 * Gets index of the annotation model. Index is created and registered as a
+	 * listener on the first call. The owner has to release the index by
+	 * {@link #release(IAnnotationModel, Object)} once it does not need it.
+	 *
+	 * @param model annotation model
+	 * @param owner object using the index
+	 * @return index of the annotation model
+	 */
+	static AnnotationIndex getIndex(IAnnotationModel model, Object owner) {
+		synchronized (indexes) {
+			AnnotationIndex index = indexes.get(model);
+			if (index == null) {
+				index = new AnnotationIndex();
+				// register first so no change is missed while the index is built
+				model.addAnnotationModelListener(index);
+				index.rebuild(model);
+				indexes.put(model, index);
+			}
+			index.owners.add(owner);
+			return index;
+		}
+	}
+
+	/**
+	 * Releases index of the annotation model held by the owner. Index is
+	 * removed from the annotation model listeners when the last owner releases
+	 * it.
+	 *
+	 * @param model annotation model
+	 * @param owner object which used the index
+	 */
+	static void release(IAnnotationModel model, Object owner) {
+		synchronized (indexes) {
+			AnnotationIndex index = indexes.get(model);
+			if (index == null) {
+				return;
+			}
+			index.owners.remove(owner);
+			if (index.owners.isEmpty()) {
+				model.removeAnnotationModelListener(index);
+				indexes.remove(model);
+			}
+		}
+	}
+
+	@Override
+	public void modelChanged(IAnnotationModel model) {
+		rebuild(model);
+	}
+
+	@Override
+	public synchronized void modelChanged(AnnotationModelEvent event) {
+		if (event.isWorldChange() || !event.isValid()) {
+			rebuild(event.getAnnotationModel());
+			return;
+		}
+		for (Annotation annotation : event.getRemovedAnnotations()) {
+			remove(annotation);
+		}
+		for (Annotation annotation : event.getAddedAnnotations()) {
+			add(annotation, event.getAnnotationModel().getPosition(annotation));
+		}
+		for (Annotation annotation : event.getChangedAnnotations()) {
+			// type or position object could change
+			remove(annotation);
+			add(annotation, event.getAnnotationModel().getPosition(annotation));
+		}
+		changed();
+	}
+
+	/**
+	 * Gets counter of changes of the index.
+	 *
+	 * @return version of the index
+	 */
+	synchronized long getVersion() {
+		return version;
+	}
+
+	/**
+	 * Waits until the index changes.
+	 *
+	 * @param sinceVersion version of the index known by the caller
+	 * @param timeoutMillis maximal time to wait in milliseconds
+	 * @return true if the index changed, false if the timeout expired
+	 */
+	synchronized boolean waitForChange(long sinceVersion, long timeoutMillis) {
+		long deadline = System.nanoTime() + timeoutMillis * 1000000L;
+		while (version == sinceVersion) {
+			long remaining = (deadline - System.nanoTime()) / 1000000L;
+			if (remaining <= 0) {
+				return false;
+			}
+			try {
+				wait(remaining);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Gets all indexed annotations.
+	 *
+	 * @return annotations
+	 */
+	synchronized List<Annotation> getAnnotations() {
+		return new ArrayList<>(positions.keySet());
+	}
+
+	/**
+	 * Gets annotations of the specified type.
+	 *
+	 * @param type annotation type
+	 * @return annotations of the type
+	 */
+	synchronized List<Annotation> getAnnotations(String type) {
+		List<Annotation> annotations = byType.get(type);
+		return annotations == null ? Collections.<Annotation>emptyList() : new ArrayList<>(annotations);
+	}
+
+	/**
+	 * Gets annotations on the specified line. Line index is rebuilt only when
+	 * the index or the document changed.
+	 *
+	 * @param document document of the annotation model
+	 * @param line line number starting with 1
+	 * @return annotations on the line
+	 */
+	synchronized List<Annotation> getAnnotations(IDocument document, int line) {
+		long stamp = document instanceof IDocumentExtension4
+				? ((IDocumentExtension4) document).getModificationStamp()
+				: IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP;
+		if (byLine == null || stamp == IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP || stamp != byLineStamp) {
+			byLine = buildLineIndex(document);
+			byLineStamp = stamp;
+		}
+		List<Annotation> annotations = byLine.get(line);
+		return annotations == null ? Collections.<Annotation>emptyList() : new ArrayList<>(annotations);
+	}
+
+	private Map<Integer, List<Annotation>> buildLineIndex(IDocument document) {
+		Map<Integer, List<Annotation>> lines = new HashMap<>();
+		for (Map.Entry<Annotation, Position> entry : positions.entrySet()) {
+			Position position = entry.getValue();
+			if (position == null || position.isDeleted()) {
+				continue;
+			}
+			try {
+				Integer line = document.getLineOfOffset(position.getOffset()) + 1;
+				List<Annotation> annotations = lines.get(line);
+				if (annotations == null) {
+					annotations = new ArrayList<>();
+					lines.put(line, annotations);
+				}
+				annotations.add(entry.getKey());
+			} catch (BadLocationException e) {
+				// position is out of the document, annotation is not on any line
+			}
+		}
+		return lines;
+	}
+
+	private synchronized void rebuild(IAnnotationModel model) {
+		positions.clear();
+		byType.clear();
+		Iterator<?> it = model.getAnnotationIterator();
+		while (it.hasNext()) {
+			Object o = it.next();
+			if (o instanceof Annotation) {
+				Annotation annotation = (Annotation) o;
+				add(annotation, model.getPosition(annotation));
+			}
+		}
+		changed();
+	}
+
+	private void add(Annotation annotation, Position position) {
+		if (annotation instanceof ILineDiffInfo) {
+			return;
+		}
+		positions.put(annotation, position);
+		List<Annotation> annotations = byType.get(annotation.getType());
+		if (annotations == null) {
+			annotations = new ArrayList<>();
+			byType.put(annotation.getType(), annotations);
+		}
+		annotations.add(annotation);
+	}
+
+	private void remove(Annotation annotation) {
+		if (!positions.containsKey(annotation)) {
+			return;
+		}
+		positions.remove(annotation);
+		for (Iterator<List<Annotation>> it = byType.values().iterator(); it.hasNext();) {
+			List<Annotation> annotations = it.next();
+			if (annotations.remove(annotation) && annotations.isEmpty()) {
+				it.remove();
+			}
+		}
+	}
+
+	private void changed() {
+		byLine = null;
+		version++;
+		notifyAll();
+	}
+}
@@ -0,0 +1,243 @@
+/*******************************************************************************
+ * Copyright (c) 2017 Red Hat, Inc and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.reddeer.workbench.impl.editor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.eclipse.jface.text.IDocumentExtension4;
+import org.eclipse.jface.text.IRegion;
+import org.eclipse.jface.text.Region;
+import org.eclipse.reddeer.workbench.exception.WorkbenchLayerException;
+
+/**
+ * Immutable snapshot of a text editor document. Snapshot is captured in UI
+ * thread once per document modification stamp, all searches and line/offset
+ * mappings are then performed in the calling thread. Lines are delimited the
+ * same way as in the default document line tracker (CR, LF or CRLF) and are
+ * counted from 0.
+ *
+ * @since 2.0
+ */
+public class DocumentSnapshot {
+
+	private final String text;
+
+	private final long modificationStamp;
+
+	private volatile int[] lineOffsets;
+
+	/**
+	 * Creates a new snapshot.
+	 *
+	 * @param text content of the document
+	 * @param modificationStamp modification stamp of the document or
+	 *            {@link IDocumentExtension4#UNKNOWN_MODIFICATION_STAMP}
+	 */
+	public DocumentSnapshot(String text, long modificationStamp) {
+		this.text = text == null ? "" : text;
+		this.modificationStamp = modificationStamp;
+	}
+
+	/**
+	 * Gets content of the document.
+	 *
+	 * @return content of the document
+	 */
+	public String getText() {
+		return text;
+	}
+
+	/**
+	 * Gets modification stamp of the document at the time the snapshot was taken.
+	 *
+	 * @return modification stamp or {@link IDocumentExtension4#UNKNOWN_MODIFICATION_STAMP}
+	 */
+	public long getModificationStamp() {
+		return modificationStamp;
+	}
+
+	/**
+	 * Gets number of lines.
+	 *
+	 * @return number of lines
+	 */
+	public int getNumberOfLines() {
+		return getLineOffsets().length;
+	}
+
+	/**
+	 * Gets offset of the first character of the line.
+	 *
+	 * @param line line number
+	 * @return offset of the line
+	 */
+	public int getLineOffset(int line) {
+		checkLine(line);
+		return getLineOffsets()[line];
+	}
+
+	/**
+	 * Gets length of the line including its line delimiter.
+	 *
+	 * @param line line number
+	 * @return length of the line
+	 */
+	public int getLineLength(int line) {
+		checkLine(line);
+		int[] offsets = getLineOffsets();
+		int end = line + 1 < offsets.length ? offsets[line + 1] : text.length();
+		return end - offsets[line];
+	}
+
+	/**
+	 * Gets text of the line without its line delimiter.
+	 *
+	 * @param line line number
+	 * @return text of the line
+	 */
+	public String getTextAtLine(int line) {
+		int offset = getLineOffset(line);
+		int end = offset + getLineLength(line);
+		while (end > offset && isDelimiter(text.charAt(end - 1))) {
+			end--;
+		}
+		return text.substring(offset, end);
+	}
+
+	/**
+	 * Gets line containing the offset.
+	 *
+	 * @param offset offset in the document
+	 * @return line number or -1 if the offset is out of the document
+	 */
+	public int getLineOfOffset(int offset) {
+		if (offset < 0 || offset > text.length()) {
+			return -1;
+		}
+		int[] offsets = getLineOffsets();
+		int low = 0;
+		int high = offsets.length - 1;
+		while (low < high) {
+			int middle = (low + high + 1) >>> 1;
+			if (offsets[middle] <= offset) {
+				low = middle;
+			} else {
+				high = middle - 1;
+			}
+		}
+		return low;
+	}
+
+	/**
+	 * Gets offset of the specified occurrence of the text. Occurrences do not
+	 * overlap.
+	 *
+	 * @param searchedText text to search for
+	 * @param occurrence index of the occurrence starting with 0
+	 * @return offset of the occurrence or -1 if there is no such occurrence
+	 */
+	public int indexOf(String searchedText, int occurrence) {
+		if (occurrence < 0) {
+			return -1;
+		}
+		if (searchedText.isEmpty()) {
+			return 0;
+		}
+		int offset = -searchedText.length();
+		for (int i = 0; i <= occurrence; i++) {
+			offset = text.indexOf(searchedText, offset + searchedText.length());
+			if (offset == -1) {
+				return -1;
+			}
+		}
+		return offset;
+	}
+
+	/**
+	 * Finds all non overlapping occurrences of the text.
+	 *
+	 * @param searchedText text to search for
+	 * @return regions of occurrences
+	 */
+	public List<IRegion> findAll(String searchedText) {
+		List<IRegion> regions = new ArrayList<>();
+		if (searchedText.isEmpty()) {
+			return regions;
+		}
+		int offset = text.indexOf(searchedText);
+		while (offset != -1) {
+			regions.add(new Region(offset, searchedText.length()));
+			offset = text.indexOf(searchedText, offset + searchedText.length());
+		}
+		return regions;
+	}
+
+	/**
+	 * Finds all matches of the regular expression.
+	 *
+	 * @param pattern regular expression
+	 * @return regions of matches
+	 */
+	public List<IRegion> findAll(Pattern pattern) {
+		List<IRegion> regions = new ArrayList<>();
+		Matcher matcher = pattern.matcher(text);
+		while (matcher.find()) {
+			regions.add(new Region(matcher.start(), matcher.end() - matcher.start()));
+		}
+		return regions;
+	}
+
+	private void checkLine(int line) {
+		if (line < 0 || line >= getNumberOfLines()) {
+			throw new WorkbenchLayerException("Line " + line + " is invalid for this editor");
+		}
+	}
+
+	private int[] getLineOffsets() {
+		int[] offsets = lineOffsets;
+		if (offsets == null) {
+			// computed lazily so the snapshot is cheap to take in UI thread
+			offsets = computeLineOffsets(text);
+			lineOffsets = offsets;
+		}
+		return offsets;
+	}
+
+	private static int[] computeLineOffsets(String text) {
+		int[] offsets = new int[16];
+		int lines = 1;
+		int length = text.length();
+		for (int i = 0; i < length; i++) {
+			char c = text.charAt(i);
+			if (c == '\r' && i + 1 < length && text.charAt(i + 1) == '\n') {
+				i++;
+			} else if (c != '\r' && c != '\n') {
+				continue;
+			}
+			if (lines == offsets.length) {
+				int[] grown = new int[offsets.length * 2];
+				System.arraycopy(offsets, 0, grown, 0, lines);
+				offsets = grown;
+			}
+			offsets[lines++] = i + 1;
+		}
+		int[] result = new int[lines];
+		System.arraycopy(offsets, 0, result, 0, lines);
+		return result;
+	}
+
+	private static boolean isDelimiter(char c) {
+		return c == '\r' || c == '\n';
+	}
+}
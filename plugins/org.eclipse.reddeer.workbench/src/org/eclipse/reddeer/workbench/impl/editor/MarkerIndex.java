@@ -0,0 +1,235 @@
+/*******************************************************************************
+ * Copyright (c) 2017 Red Hat, Inc and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.reddeer.workbench.impl.editor;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.source.Annotation;
+import org.eclipse.jface.text.source.IAnnotationModel;
+import org.eclipse.ui.IEditorPart;
+import org.eclipse.ui.IPartListener;
+import org.eclipse.ui.IWorkbenchPage;
+import org.eclipse.ui.IWorkbenchPart;
+import org.eclipse.ui.texteditor.IDocumentProvider;
+import org.eclipse.ui.texteditor.ITextEditor;
+
+/**
+ * Index of validation markers of an editor. The index listens to the annotation
+ * model of the editor and is updated incrementally, so markers can be queried
+ * by type and by line without scanning the whole annotation model. Indexes are
+ * shared per annotation model and stop listening to it once all editors using
+ * them are closed.
+ *
+ * @since 2.0
+ */
+public class MarkerIndex {
+
+	private static final Map<IEditorPart, CloseListener> closeListeners = new HashMap<>();
+
+	private final IEditorPart editor;
+
+	private final AnnotationIndex index;
+
+	private MarkerIndex(IEditorPart editor, AnnotationIndex index) {
+		this.editor = editor;
+		this.index = index;
+	}
+
+	/**
+	 * Gets marker index of the editor.
+	 *
+	 * @param editor editor part
+	 * @return marker index or null if the editor has no annotation model
+	 */
+	public static MarkerIndex getIndex(IEditorPart editor) {
+		IAnnotationModel model = getAnnotationModel(editor);
+		if (model == null) {
+			return null;
+		}
+		AnnotationIndex index = AnnotationIndex.getIndex(model, editor);
+		releaseOnClose(editor, model);
+		return new MarkerIndex(editor, index);
+	}
+
+	/**
+	 * Gets counter of changes of the index. It changes whenever a marker is
+	 * added, removed or changed.
+	 *
+	 * @return version of the index
+	 */
+	public long getVersion() {
+		return index.getVersion();
+	}
+
+	/**
+	 * Waits until the index changes or the timeout expires.
+	 *
+	 * @param sinceVersion version returned by {@link #getVersion()}
+	 * @param timeoutMillis maximal time to wait in milliseconds
+	 * @return true if the index changed, false otherwise
+	 */
+	public boolean waitForChange(long sinceVersion, long timeoutMillis) {
+		return index.waitForChange(sinceVersion, timeoutMillis);
+	}
+
+	/**
+	 * Gets all markers.
+	 *
+	 * @return list of markers
+	 */
+	public List<Marker> getMarkers() {
+		return toMarkers(index.getAnnotations());
+	}
+
+	/**
+	 * Gets markers of the specified type.
+	 *
+	 * @param type marker type
+	 * @return list of markers of the type
+	 */
+	public List<Marker> getMarkers(String type) {
+		return toMarkers(index.getAnnotations(type));
+	}
+
+	/**
+	 * Gets markers on the specified line.
+	 *
+	 * @param line line number starting with 1
+	 * @return list of markers on the line
+	 */
+	public List<Marker> getMarkers(int line) {
+		IDocument document = getDocument(editor);
+		if (document == null) {
+			return new ArrayList<>();
+		}
+		return toMarkers(index.getAnnotations(document, line));
+	}
+
+	/**
+	 * Gets markers of the specified type on the specified line.
+	 *
+	 * @param type marker type
+	 * @param line line number starting with 1
+	 * @return list of markers of the type on the line
+	 */
+	public List<Marker> getMarkers(String type, int line) {
+		List<Marker> markers = getMarkers(line);
+		for (int i = markers.size() - 1; i >= 0; i--) {
+			if (!type.equals(markers.get(i).getType())) {
+				markers.remove(i);
+			}
+		}
+		return markers;
+	}
+
+	private List<Marker> toMarkers(List<Annotation> annotations) {
+		List<Marker> markers = new ArrayList<>(annotations.size());
+		for (Annotation annotation : annotations) {
+			markers.add(new Marker(annotation, editor));
+		}
+		return markers;
+	}
+
+	private static void releaseOnClose(IEditorPart editor, IAnnotationModel model) {
+		synchronized (closeListeners) {
+			CloseListener listener = closeListeners.get(editor);
+			if (listener != null) {
+				if (listener.model != model) {
+					// editor input changed, previous model is not used by the editor anymore
+					AnnotationIndex.release(listener.model, editor);
+					listener.model = model;
+				}
+				return;
+			}
+			IWorkbenchPage page = editor.getSite() == null ? null : editor.getSite().getPage();
+			if (page == null) {
+				return;
+			}
+			listener = new CloseListener(editor, page, model);
+			closeListeners.put(editor, listener);
+			page.addPartListener(listener);
+		}
+	}
+
+	private static IAnnotationModel getAnnotationModel(IEditorPart editor) {
+		ITextEditor textEditor = (ITextEditor) editor.getAdapter(ITextEditor.class);
+		if (textEditor == null) {
+			return null;
+		}
+		IDocumentProvider documentProvider = textEditor.getDocumentProvider();
+		if (documentProvider == null) {
+			return null;
+		}
+		return documentProvider.getAnnotationModel(textEditor.getEditorInput());
+	}
+
+	private static IDocument getDocument(IEditorPart editor) {
+		ITextEditor textEditor = (ITextEditor) editor.getAdapter(ITextEditor.class);
+		if (textEditor == null || textEditor.getDocumentProvider() == null) {
+			return null;
+		}
+		return textEditor.getDocumentProvider().getDocument(textEditor.getEditorInput());
+	}
+
+	/**
+	 * Releases annotation index used by an editor when the editor is closed.
+	 */
+	private static class CloseListener implements IPartListener {
+
+		private final IEditorPart editor;
+
+		private final IWorkbenchPage page;
+
+		private IAnnotationModel model;
+
+		private CloseListener(IEditorPart editor, IWorkbenchPage page, IAnnotationModel model) {
+			this.editor = editor;
+			this.page = page;
+			this.model = model;
+		}
+
+		@Override
+		public void partClosed(IWorkbenchPart part) {
+			if (part != editor) {
+				return;
+			}
+			page.removePartListener(this);
+			synchronized (closeListeners) {
+				closeListeners.remove(editor);
+				AnnotationIndex.release(model, editor);
+			}
+		}
+
+		@Override
+		public void partActivated(IWorkbenchPart part) {
+			// not interested
+		}
+
+		@Override
+		public void partBroughtToTop(IWorkbenchPart part) {
+			// not interested
+		}
+
+		@Override
+		public void partDeactivated(IWorkbenchPart part) {
+			// not interested
+		}
+
+		@Override
+		public void partOpened(IWorkbenchPart part) {
+			// not interested
+		}
+	}
+}
@@ -13,6 +13,8 @@ package org.eclipse.reddeer.workbench.impl.editor;
 import org.eclipse.jface.text.BadLocationException;
 import org.eclipse.jface.text.ITextSelection;
 import org.eclipse.swt.graphics.Point;
+import org.eclipse.text.edits.TextEdit;
+import org.eclipse.text.edits.UndoEdit;
 import org.eclipse.ui.texteditor.ITextEditor;
 import org.hamcrest.Matcher;
 import org.eclipse.reddeer.common.logging.Logger;
@@ -87,7 +89,45 @@ public class TextEditor extends AbstractEditor implements Editor {
 	 * @return content of this editor
 	 */
 	public String getText() {
-		return TextEditorHandler.getInstance().getDocument((ITextEditor)getEditorPart()).get();
+		return getDocumentSnapshot().getText();
+	}
+	
+	/**
+	 * Returns snapshot of the document of this editor. Snapshot is taken in one
+	 * UI thread call and it is shared while the document is not modified, so
+	 * searching and line/offset mapping of the snapshot do not access UI thread.
+	 *
+	 * @return snapshot of the document
+	 */
+	public DocumentSnapshot getDocumentSnapshot() {
+		return TextEditorHandler.getInstance().getDocumentSnapshot((ITextEditor)getEditorPart());
+	}
+	
+	/**
+	 * Applies text edit to the document of this editor. All edits of the tree,
+	 * e.g. children of {@link org.eclipse.text.edits.MultiTextEdit}, are applied
+	 * in one UI thread call.
+	 *
+	 * @param edit text edit to apply
+	 * @return undo edit reverting the changes
+	 */
+	public UndoEdit applyEdit(TextEdit edit) {
+		log.info("Apply text edit to editor");
+		return TextEditorHandler.getInstance().applyEdit((ITextEditor)getEditorPart(), edit);
+	}
+	
+	/**
+	 * Applies text edit with offsets computed from the snapshot to the document
+	 * of this editor. Edit is applied only if the document was not modified
+	 * since the snapshot was taken.
+	 *
+	 * @param edit text edit to apply
+	 * @param snapshot snapshot the edit is based on
+	 * @return undo edit reverting the changes
+	 */
+	public UndoEdit applyEdit(TextEdit edit, DocumentSnapshot snapshot) {
+		log.info("Apply text edit to editor");
+		return TextEditorHandler.getInstance().applyEdit((ITextEditor)getEditorPart(), edit, snapshot);
 	}
 	
 	/**
@@ -0,0 +1,61 @@
+/*******************************************************************************
+ * Copyright (c) 2017 Red Hat, Inc and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.reddeer.common.adaptable;
+
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.Constructor;
+
+import org.eclipse.reddeer.common.logging.Logger;
+import org.junit.Test;
+
+/**
+ * Compares {@link RedDeerAdaptable#getAdapter(Class)} with constructor lookup
+ * and reflective instantiation on every call. Measured times are only logged.
+ */
+public class RedDeerAdaptableBenchmarkTest {
+
+	private static final Logger log = Logger.getLogger(RedDeerAdaptableBenchmarkTest.class);
+
+	private static final int WARMUP = 20000;
+
+	private static final int ITERATIONS = 200000;
+
+	@Test
+	public void compareWithReflection() throws Exception {
+		MidClass midClass = new MidClass(1);
+		for (int i = 0; i < WARMUP; i++) {
+			midClass.getAdapter(BottomClassA.class);
+			reflectiveAdapter(midClass, BottomClassA.class);
+		}
+
+		long start = System.nanoTime();
+		int sum = 0;
+		for (int i = 0; i < ITERATIONS; i++) {
+			sum += reflectiveAdapter(midClass, BottomClassA.class).getFirstField();
+		}
+		long reflective = (System.nanoTime() - start) / ITERATIONS;
+
+		start = System.nanoTime();
+		for (int i = 0; i < ITERATIONS; i++) {
+			sum += midClass.getAdapter(BottomClassA.class).getFirstField();
+		}
+		long cached = (System.nanoTime() - start) / ITERATIONS;
+
+		log.info("RedDeerAdaptable.getAdapter: " + cached + " ns/op, reflection: " + reflective + " ns/op");
+		assertTrue(sum == 2 * ITERATIONS);
+	}
+
+	private static <V> V reflectiveAdapter(RedDeerAdaptable<?> adaptable, Class<V> clazz) throws Exception {
+		Constructor<V> constructor = clazz.getConstructor(adaptable.getAdapterConstructorClasses());
+		return constructor.newInstance(adaptable.getAdapterConstructorArguments());
+	}
+}
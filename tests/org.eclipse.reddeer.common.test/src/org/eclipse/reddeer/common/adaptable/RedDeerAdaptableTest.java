@@ -12,6 +12,7 @@ package org.eclipse.reddeer.common.adaptable;
 
 import static org.junit.Assert.assertTrue;
 
+import org.eclipse.reddeer.common.exception.AdaptableException;
 import org.junit.Test;
 
 public class RedDeerAdaptableTest {
@@ -31,4 +32,24 @@ public class RedDeerAdaptableTest {
 		
 		assertTrue(bottomClassB.getString().equals("BottomClassB"));
 	}
+
+	@Test
+	public void testAdapterIsAlwaysNewInstance() {
+		MidClass midClass = new MidClass(3);
+		BottomClassA first = midClass.getAdapter(BottomClassA.class);
+		BottomClassA second = midClass.getAdapter(BottomClassA.class);
+
+		assertTrue(first != second);
+		assertTrue(second.getFirstField() == 3);
+	}
+
+	@Test(expected = AdaptableException.class)
+	public void testAdaptToInterface() {
+		new MidClass(1).getAdapter(TopClass.class);
+	}
+
+	@Test(expected = AdaptableException.class)
+	public void testAdaptToNullClass() {
+		new MidClass(1).getAdapter(null);
+	}
 }
@@ -99,6 +99,32 @@ public class RedDeerPropertiesTest {
 		assertThat(RedDeerProperties.TIME_PERIOD_FACTOR.getFloatValue(), is(0.5f));
 	}
 
+	@Test
+	public void getLongSystemValue() {
+		System.setProperty(RedDeerProperties.SPY_THROTTLE.getName(), "150");
+		try {
+			assertThat(RedDeerProperties.SPY_THROTTLE.getLongValue(), is(150L));
+		} finally {
+			System.clearProperty(RedDeerProperties.SPY_THROTTLE.getName());
+		}
+	}
+
+	@Test
+	public void getLongSystemValue_malformed() {
+		System.setProperty(RedDeerProperties.SPY_THROTTLE.getName(), "abc");
+		try {
+			assertThat(RedDeerProperties.SPY_THROTTLE.getLongValue(),
+					is(Long.parseLong(RedDeerProperties.SPY_THROTTLE.getDefaultValue())));
+		} finally {
+			System.clearProperty(RedDeerProperties.SPY_THROTTLE.getName());
+		}
+	}
+
+	@Test(expected=RedDeerException.class)
+	public void getLongSystemValue_floatProperty() {
+		RedDeerProperties.TIME_PERIOD_FACTOR.getLongValue();
+	}
+
 	@Test(expected=RedDeerException.class)
 	public void getFloatSystemValue_textProperty() {
 		System.setProperty(RedDeerProperties.TIME_PERIOD_FACTOR.getName(), "abc");
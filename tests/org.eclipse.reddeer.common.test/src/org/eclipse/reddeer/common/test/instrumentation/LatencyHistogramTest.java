@@ -0,0 +1,69 @@
+/*******************************************************************************
+ * Copyright (c) 2017 Red Hat, Inc and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.reddeer.common.test.instrumentation;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.util.List;
+
+import org.eclipse.reddeer.common.instrumentation.LatencyHistogram;
+import org.eclipse.reddeer.common.instrumentation.MetricsCollector;
+import org.eclipse.reddeer.common.instrumentation.MetricsCollector.Metric;
+import org.junit.Test;
+
+public class LatencyHistogramTest {
+
+	@Test
+	public void emptyHistogram() {
+		LatencyHistogram histogram = new LatencyHistogram();
+
+		assertThat(histogram.getCount(), is(0L));
+		assertThat(histogram.getPercentile(0.99), is(0L));
+		assertThat(histogram.getMean(), is(0L));
+	}
+
+	@Test
+	public void singleValue() {
+		LatencyHistogram histogram = new LatencyHistogram();
+		histogram.record(123456789L);
+
+		assertThat(histogram.getPercentile(0.5), is(123456789L));
+		assertThat(histogram.getMax(), is(123456789L));
+	}
+
+	@Test
+	public void percentilePrecision() {
+		LatencyHistogram histogram = new LatencyHistogram();
+		for (long i = 1; i <= 1000; i++) {
+			histogram.record(i * 1000000L);
+		}
+
+		long median = histogram.getPercentile(0.5);
+		assertThat(median >= 500000000L && median < 535000000L, is(true));
+		assertThat(histogram.getCount(), is(1000L));
+		assertThat(histogram.getTotal(), is(500500L * 1000000L));
+	}
+
+	@Test
+	public void topTimeSinks() {
+		MetricsCollector collector = new MetricsCollector();
+		collector.record(MetricsCollector.WAIT, "fast", 10);
+		collector.record(MetricsCollector.WAIT, "slow", 1000);
+		collector.record(MetricsCollector.SYNC_EXEC, "medium", 100);
+		collector.record(MetricsCollector.TEST, "test", 5000);
+
+		List<Metric> top = collector.getTopTimeSinks(2);
+		assertThat(top.size(), is(2));
+		assertThat(top.get(0).getName(), is("slow"));
+		assertThat(top.get(1).getName(), is("medium"));
+	}
+}
@@ -0,0 +1,108 @@
+/*******************************************************************************
+ * Copyright (c) 2017 Red Hat, Inc and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.reddeer.common.test.instrumentation;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.reddeer.common.instrumentation.LatencyHistogram;
+import org.eclipse.reddeer.common.instrumentation.SyncExecProfiler;
+import org.eclipse.reddeer.common.properties.RedDeerProperties;
+import org.junit.After;
+import org.junit.Test;
+
+public class SyncExecProfilerTest {
+
+	private static final String CALLER = SyncExecProfilerTest.class.getName() + "#syncExec";
+
+	@After
+	public void cleanup() {
+		System.clearProperty(RedDeerProperties.UI_STALL_THRESHOLD.getName());
+	}
+
+	@Test
+	public void stallThresholdFromProperty() {
+		System.setProperty(RedDeerProperties.UI_STALL_THRESHOLD.getName(), "500");
+
+		assertThat(new SyncExecProfiler().getStallThreshold(), is(500L));
+	}
+
+	@Test
+	public void malformedStallThreshold() {
+		System.setProperty(RedDeerProperties.UI_STALL_THRESHOLD.getName(), "2s");
+
+		assertThat(new SyncExecProfiler().getStallThreshold(),
+				is(Long.parseLong(RedDeerProperties.UI_STALL_THRESHOLD.getDefaultValue())));
+	}
+
+	@Test
+	public void fastSyncExecsAreSampled() {
+		SyncExecProfiler profiler = new SyncExecProfiler(TimeUnit.MINUTES.toMillis(1));
+		for (int i = 0; i < SyncExecProfiler.SAMPLE_PERIOD - 1; i++) {
+			syncExec(profiler, 0, 1000);
+		}
+		assertThat(profiler.getCollector().getHistogram(SyncExecProfiler.RUN, CALLER), nullValue());
+
+		for (int i = 0; i < SyncExecProfiler.SAMPLE_PERIOD + 1; i++) {
+			syncExec(profiler, 0, 1000);
+		}
+		LatencyHistogram histogram = profiler.getCollector().getHistogram(SyncExecProfiler.RUN, CALLER);
+		assertThat(histogram.getCount(), is(2L));
+		assertThat(profiler.getCollector().getHistogram(SyncExecProfiler.QUEUE, CALLER).getCount(), is(2L));
+	}
+
+	@Test
+	public void slowSyncExecIsAlwaysRecorded() {
+		SyncExecProfiler profiler = new SyncExecProfiler(TimeUnit.MINUTES.toMillis(1));
+		syncExec(profiler, 0, TimeUnit.MINUTES.toNanos(2));
+
+		assertThat(profiler.getCollector().getHistogram(SyncExecProfiler.RUN, CALLER).getCount(), is(1L));
+	}
+
+	@Test
+	public void stalledSyncExecIsRecorded() {
+		SyncExecProfiler profiler = new SyncExecProfiler(50);
+		syncExec(profiler, 500, 1000);
+
+		LatencyHistogram histogram = profiler.getCollector().getHistogram(SyncExecProfiler.QUEUE, CALLER);
+		assertThat(histogram.getCount(), is(1L));
+		assertThat(histogram.getMax() >= TimeUnit.MILLISECONDS.toNanos(500), is(true));
+	}
+
+	@Test
+	public void notStartedSyncExecIsNotRecorded() {
+		SyncExecProfiler profiler = new SyncExecProfiler(TimeUnit.MINUTES.toMillis(1));
+		for (int i = 0; i < 2 * SyncExecProfiler.SAMPLE_PERIOD; i++) {
+			profiler.finished(profiler.enqueued(Thread.currentThread()), 0, 0);
+		}
+
+		assertThat(profiler.getCollector().getHistogram(SyncExecProfiler.RUN, CALLER), nullValue());
+	}
+
+	/*
+	 * Simulates a synchronous execution which waits in the queue for the specified
+	 * time and then runs for the specified time.
+	 */
+	private static void syncExec(SyncExecProfiler profiler, long queueMillis, long runNanos) {
+		Object token = profiler.enqueued(Thread.currentThread());
+		if (queueMillis > 0) {
+			try {
+				Thread.sleep(queueMillis);
+			} catch (InterruptedException e) {
+				throw new RuntimeException(e);
+			}
+		}
+		profiler.finished(token, System.nanoTime(), runNanos);
+	}
+}
@@ -0,0 +1,94 @@
+/*******************************************************************************
+ * Copyright (c) 2017 Red Hat, Inc and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.reddeer.common.test.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.eclipse.reddeer.common.logging.Logger;
+import org.eclipse.reddeer.common.util.Display;
+import org.eclipse.reddeer.common.util.ResultRunnable;
+import org.junit.Test;
+
+/**
+ * Micro-benchmark of display lookup and synchronous execution in UI thread.
+ * Measured times are only logged, they depend on the machine too much to be
+ * asserted.
+ */
+public class DisplayBenchmarkTest {
+
+	private static final Logger log = Logger.getLogger(DisplayBenchmarkTest.class);
+
+	private static final int WARMUP = 10000;
+
+	private static final int LOOKUPS = 1000000;
+
+	private static final int SYNC_EXECS = 10000;
+
+	@Test
+	public void getDisplayIsCached() {
+		org.eclipse.swt.widgets.Display display = Display.getDisplay();
+		for (int i = 0; i < WARMUP; i++) {
+			Display.getDisplay();
+		}
+
+		long start = System.nanoTime();
+		for (int i = 0; i < LOOKUPS; i++) {
+			assertSame(display, Display.getDisplay());
+		}
+		long nanosPerLookup = (System.nanoTime() - start) / LOOKUPS;
+		log.info("Display.getDisplay: " + nanosPerLookup + " ns/op");
+	}
+
+	@Test
+	public void isUIThread() {
+		for (int i = 0; i < WARMUP; i++) {
+			Display.isUIThread();
+		}
+
+		long start = System.nanoTime();
+		for (int i = 0; i < LOOKUPS; i++) {
+			assertFalse(Display.isUIThread());
+		}
+		long nanosPerCheck = (System.nanoTime() - start) / LOOKUPS;
+		log.info("Display.isUIThread: " + nanosPerCheck + " ns/op");
+		assertTrue(Display.syncExec(new ResultRunnable<Boolean>() {
+			@Override
+			public Boolean run() {
+				return Display.isUIThread();
+			}
+		}));
+	}
+
+	@Test
+	public void syncExecRoundTrip() {
+		ResultRunnable<Integer> runnable = new ResultRunnable<Integer>() {
+			@Override
+			public Integer run() {
+				return 1;
+			}
+		};
+		for (int i = 0; i < SYNC_EXECS / 10; i++) {
+			Display.syncExec(runnable);
+		}
+
+		long start = System.nanoTime();
+		int sum = 0;
+		for (int i = 0; i < SYNC_EXECS; i++) {
+			sum += Display.syncExec(runnable);
+		}
+		long nanosPerSyncExec = (System.nanoTime() - start) / SYNC_EXECS;
+		log.info("Display.syncExec: " + nanosPerSyncExec + " ns/op");
+		assertEquals(SYNC_EXECS, sum);
+	}
+}
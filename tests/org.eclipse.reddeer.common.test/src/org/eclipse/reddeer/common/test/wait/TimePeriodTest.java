@@ -13,6 +13,8 @@ package org.eclipse.reddeer.common.test.wait;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
 
+import java.time.Duration;
+
 import org.eclipse.reddeer.common.properties.RedDeerProperties;
 import org.eclipse.reddeer.common.wait.TimePeriod;
 import org.junit.AfterClass;
@@ -129,4 +131,49 @@ public class TimePeriodTest {
 		
 		assertThat(TimePeriod.getCustom(1).getSeconds(), is(0L));
 	}
+
+	@Test
+	public void getMilliseconds_factor1() {
+		System.setProperty(RedDeerProperties.TIME_PERIOD_FACTOR.getName(), "1");
+		TimePeriod.updateFactor();
+
+		assertThat(TimePeriod.getCustomMilliseconds(250).getMilliseconds(), is(250L));
+		assertThat(TimePeriod.getCustomMilliseconds(250).getSeconds(), is(0L));
+		assertThat(TimePeriod.getCustomMilliseconds(1500).getSeconds(), is(2L));
+	}
+
+	@Test
+	public void getMilliseconds_factor2() {
+		System.setProperty(RedDeerProperties.TIME_PERIOD_FACTOR.getName(), "2");
+		TimePeriod.updateFactor();
+
+		assertThat(TimePeriod.getCustomMilliseconds(150).getMilliseconds(), is(300L));
+		assertThat(TimePeriod.getCustom(Duration.ofMillis(150)).getNanoseconds(), is(300000000L));
+	}
+
+	@Test
+	public void getMilliseconds_eternal() {
+		System.setProperty(RedDeerProperties.TIME_PERIOD_FACTOR.getName(), "1");
+		TimePeriod.updateFactor();
+
+		assertThat(TimePeriod.ETERNAL.getMilliseconds(), is(Long.MAX_VALUE));
+		assertThat(TimePeriod.ETERNAL.getNanoseconds(), is(Long.MAX_VALUE));
+	}
+
+	@Test
+	public void getRemaining_factor2() {
+		System.setProperty(RedDeerProperties.TIME_PERIOD_FACTOR.getName(), "2");
+		TimePeriod.updateFactor();
+
+		long start = System.nanoTime();
+		long remaining = TimePeriod.getCustom(10).getRemaining(start).getMilliseconds();
+		assertThat(remaining > 19000L && remaining <= 20000L, is(true));
+		assertThat(TimePeriod.getCustom(10).getRemaining(start - 30000000000L).getMilliseconds(), is(0L));
+		assertThat(TimePeriod.ETERNAL.getRemaining(start).isEternal(), is(true));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void getCustomMilliseconds_negative() {
+		TimePeriod.getCustomMilliseconds(-1);
+	}
 }
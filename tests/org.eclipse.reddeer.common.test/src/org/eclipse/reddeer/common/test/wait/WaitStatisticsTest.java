@@ -0,0 +1,201 @@
+/*******************************************************************************
+ * Copyright (c) 2017 Red Hat, Inc and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.reddeer.common.test.wait;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.reddeer.common.condition.AbstractWaitCondition;
+import org.eclipse.reddeer.common.condition.WaitCondition;
+import org.eclipse.reddeer.common.properties.RedDeerProperties;
+import org.eclipse.reddeer.common.wait.TimePeriod;
+import org.eclipse.reddeer.common.wait.Wait;
+import org.eclipse.reddeer.common.wait.WaitStatistics;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class WaitStatisticsTest {
+
+	private static final Wait WAIT = new Wait() {
+
+		@Override
+		public void wait(WaitCondition condition, long testPeriod) {
+		}
+
+		@Override
+		public boolean stopWaiting(WaitCondition condition) {
+			return true;
+		}
+
+		@Override
+		public String description() {
+			return "Test wait ";
+		}
+	};
+
+	private static final WaitCondition CONDITION = new AbstractWaitCondition() {
+
+		@Override
+		public boolean test() {
+			return true;
+		}
+	};
+
+	private File file;
+
+	@Before
+	public void setup() throws IOException {
+		file = File.createTempFile("waitStatistics", ".properties");
+		file.delete();
+		System.setProperty(RedDeerProperties.TIME_PERIOD_FACTOR.getName(), "1");
+		TimePeriod.updateFactor();
+	}
+
+	@After
+	public void cleanup() {
+		file.delete();
+		System.clearProperty(RedDeerProperties.ADAPTIVE_TIMEOUT.getName());
+		System.clearProperty(RedDeerProperties.TIME_PERIOD_FACTOR.getName());
+		TimePeriod.updateFactor();
+	}
+
+	@Test
+	public void getPercentile_notEnoughSamples() {
+		WaitStatistics statistics = new WaitStatistics(file);
+		record(statistics, WaitStatistics.MIN_SAMPLES - 1, 100);
+
+		assertThat(statistics.getPercentile(WAIT, CONDITION, 0.99), nullValue());
+	}
+
+	@Test
+	public void getPercentile() {
+		WaitStatistics statistics = new WaitStatistics(file);
+		record(statistics, 99, 100);
+		record(statistics, 1, 5000);
+
+		assertThat(statistics.getPercentile(WAIT, CONDITION, 0.99).toMillis() < 200, is(true));
+		assertThat(statistics.getPercentile(WAIT, CONDITION, 1).toMillis() >= 5000, is(true));
+	}
+
+	@Test
+	public void saveAndLoad() {
+		WaitStatistics statistics = new WaitStatistics(file);
+		record(statistics, WaitStatistics.MIN_SAMPLES, 100);
+		statistics.save();
+
+		WaitStatistics loaded = new WaitStatistics(file);
+		assertThat(loaded.getPercentile(WAIT, CONDITION, 0.99), is(statistics.getPercentile(WAIT, CONDITION, 0.99)));
+	}
+
+	@Test
+	public void getTimeout_adaptiveTimeoutDisabled() {
+		WaitStatistics statistics = new WaitStatistics(file);
+		record(statistics, WaitStatistics.MIN_SAMPLES, 100);
+
+		assertThat(statistics.getTimeout(WAIT, CONDITION, TimePeriod.DEFAULT, 500), is(TimePeriod.DEFAULT));
+	}
+
+	@Test
+	public void getTimeout_adaptiveTimeoutEnabled() {
+		System.setProperty(RedDeerProperties.ADAPTIVE_TIMEOUT.getName(), "true");
+		WaitStatistics statistics = new WaitStatistics(file);
+		record(statistics, WaitStatistics.MIN_SAMPLES, 800);
+
+		TimePeriod timeout = statistics.getTimeout(WAIT, CONDITION, TimePeriod.DEFAULT, 500);
+		assertThat(timeout.getMilliseconds() < TimePeriod.DEFAULT.getMilliseconds(), is(true));
+		assertThat(timeout.getMilliseconds() >= 2400, is(true));
+	}
+
+	@Test
+	public void getTimeout_cappedByDeclaredTimeout() {
+		System.setProperty(RedDeerProperties.ADAPTIVE_TIMEOUT.getName(), "true");
+		WaitStatistics statistics = new WaitStatistics(file);
+		record(statistics, WaitStatistics.MIN_SAMPLES, 5000);
+
+		assertThat(statistics.getTimeout(WAIT, CONDITION, TimePeriod.DEFAULT, 500), is(TimePeriod.DEFAULT));
+	}
+
+	@Test
+	public void getTimeout_minimalTimeout() {
+		System.setProperty(RedDeerProperties.ADAPTIVE_TIMEOUT.getName(), "true");
+		WaitStatistics statistics = new WaitStatistics(file);
+		record(statistics, WaitStatistics.MIN_SAMPLES, 1);
+
+		assertThat(statistics.getTimeout(WAIT, CONDITION, TimePeriod.DEFAULT, 100).getMilliseconds(),
+				is(WaitStatistics.MIN_ADAPTIVE_TIMEOUT.toMillis()));
+	}
+
+	@Test
+	public void getTimeout_eternal() {
+		System.setProperty(RedDeerProperties.ADAPTIVE_TIMEOUT.getName(), "true");
+		WaitStatistics statistics = new WaitStatistics(file);
+		record(statistics, WaitStatistics.MIN_SAMPLES, 100);
+
+		assertThat(statistics.getTimeout(WAIT, CONDITION, TimePeriod.ETERNAL, 500), is(TimePeriod.ETERNAL));
+	}
+
+	@Test
+	public void getTimeout_timeoutIsRecorded() {
+		System.setProperty(RedDeerProperties.ADAPTIVE_TIMEOUT.getName(), "true");
+		WaitStatistics statistics = new WaitStatistics(file);
+		record(statistics, WaitStatistics.MIN_SAMPLES, 800);
+		TimePeriod adaptive = statistics.getTimeout(WAIT, CONDITION, TimePeriod.DEFAULT, 500);
+
+		statistics.recordTimeout(WAIT, CONDITION, adaptive.getNanoseconds());
+
+		assertThat(statistics.getTimeout(WAIT, CONDITION, TimePeriod.DEFAULT, 500), is(TimePeriod.DEFAULT));
+	}
+
+	@Test
+	public void getTimeout_timeoutsDoNotShrinkAdaptiveTimeout() {
+		System.setProperty(RedDeerProperties.ADAPTIVE_TIMEOUT.getName(), "true");
+		WaitStatistics statistics = new WaitStatistics(file);
+		record(statistics, WaitStatistics.MIN_SAMPLES, 800);
+
+		// the condition became slower than the adaptive timeout, waits are cut short by it
+		long durationMillis = 5000;
+		for (int i = 0; i < 2 * WaitStatistics.MIN_SAMPLES; i++) {
+			TimePeriod timeout = statistics.getTimeout(WAIT, CONDITION, TimePeriod.DEFAULT, 500);
+			if (durationMillis > timeout.getMilliseconds()) {
+				statistics.recordTimeout(WAIT, CONDITION, timeout.getNanoseconds());
+			} else {
+				statistics.record(WAIT, CONDITION, TimeUnit.MILLISECONDS.toNanos(durationMillis));
+			}
+		}
+
+		assertThat(statistics.getTimeout(WAIT, CONDITION, TimePeriod.DEFAULT, 500), is(TimePeriod.DEFAULT));
+		assertThat(statistics.getPercentile(WAIT, CONDITION, 0.9).toMillis() >= durationMillis, is(true));
+	}
+
+	@Test
+	public void saveAndLoad_timeout() {
+		System.setProperty(RedDeerProperties.ADAPTIVE_TIMEOUT.getName(), "true");
+		WaitStatistics statistics = new WaitStatistics(file);
+		record(statistics, WaitStatistics.MIN_SAMPLES, 800);
+		statistics.recordTimeout(WAIT, CONDITION, TimeUnit.SECONDS.toNanos(3));
+		statistics.save();
+
+		WaitStatistics loaded = new WaitStatistics(file);
+		assertThat(loaded.getTimeout(WAIT, CONDITION, TimePeriod.DEFAULT, 500), is(TimePeriod.DEFAULT));
+	}
+
+	private static void record(WaitStatistics statistics, int count, long millis) {
+		for (int i = 0; i < count; i++) {
+			statistics.record(WAIT, CONDITION, TimeUnit.MILLISECONDS.toNanos(millis));
+		}
+	}
+}
@@ -0,0 +1,250 @@
+/*******************************************************************************
+ * Copyright (c) 2017 Red Hat, Inc and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.reddeer.core.test.lookup;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.jface.viewers.ITreeContentProvider;
+import org.eclipse.jface.viewers.LabelProvider;
+import org.eclipse.jface.viewers.TreeViewer;
+import org.eclipse.jface.viewers.Viewer;
+import org.eclipse.reddeer.common.util.Display;
+import org.eclipse.reddeer.common.wait.AbstractWait;
+import org.eclipse.reddeer.common.wait.TimePeriod;
+import org.eclipse.reddeer.core.exception.CoreLayerException;
+import org.eclipse.reddeer.core.lookup.TreeItemLookup;
+import org.eclipse.reddeer.core.matcher.TreeItemRegexMatcher;
+import org.eclipse.reddeer.core.matcher.TreeItemTextMatcher;
+import org.eclipse.reddeer.junit.runner.RedDeerSuite;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.layout.FillLayout;
+import org.eclipse.swt.widgets.Shell;
+import org.eclipse.swt.widgets.Tree;
+import org.eclipse.swt.widgets.TreeItem;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Tests resolving of tree item paths in lazy trees whose items start with a
+ * placeholder child.
+ */
+@RunWith(RedDeerSuite.class)
+public class TreeItemLookupTest {
+
+	private static final String ROOT = "root";
+
+	private final Map<String, List<String>> children = new HashMap<>();
+
+	private final List<Object> populated = Collections.synchronizedList(new ArrayList<>());
+
+	private Shell shell;
+
+	private TreeViewer viewer;
+
+	@Before
+	public void createTree() {
+		children.put(ROOT, Arrays.asList("A", "B"));
+		children.put("A", Arrays.asList("A1", "A2"));
+		children.put("A1", Arrays.asList("A11"));
+		// has children according to the content provider but none are returned
+		children.put("B", Collections.<String>emptyList());
+		Display.syncExec(new Runnable() {
+
+			@Override
+			public void run() {
+				shell = new Shell(org.eclipse.swt.widgets.Display.getCurrent());
+				shell.setText("Tree Item Lookup Test");
+				shell.setLayout(new FillLayout());
+				viewer = new TreeViewer(shell, SWT.BORDER);
+				viewer.setContentProvider(new LazyContentProvider());
+				viewer.setLabelProvider(new LabelProvider());
+				viewer.setInput(ROOT);
+				shell.open();
+			}
+		});
+	}
+
+	@After
+	public void disposeShell() {
+		Display.syncExec(new Runnable() {
+
+			@Override
+			public void run() {
+				if (!shell.isDisposed()) {
+					shell.dispose();
+				}
+			}
+		});
+	}
+
+	@Test
+	public void testPathThroughPlaceholderChildren() {
+		// not expanded JFace item has only a placeholder child without data
+		assertTrue(Display.syncExec(() -> {
+			TreeItem item = viewer.getTree().getItem(0);
+			return item.getItemCount() == 1 && item.getItem(0).getData() == null;
+		}));
+
+		List<TreeItem> items = TreeItemLookup.getInstance().getTreeItems(getTree(), new TreeItemTextMatcher("A"),
+				new TreeItemTextMatcher("A1"), new TreeItemTextMatcher("A11"));
+
+		assertEquals(1, items.size());
+		assertEquals("A11", Display.syncExec(() -> items.get(0).getText()));
+		assertEquals(Arrays.asList("A", "A1"), populated);
+	}
+
+	@Test
+	public void testPopulatedChildrenAreNotPopulatedAgain() {
+		TreeItemLookup.getInstance().getTreeItems(getTree(), new TreeItemTextMatcher("A"),
+				new TreeItemTextMatcher("A1"));
+		populated.clear();
+
+		List<TreeItem> items = TreeItemLookup.getInstance().getTreeItems(getTree(), new TreeItemTextMatcher("A"),
+				new TreeItemTextMatcher("A2"));
+
+		assertEquals(1, items.size());
+		assertTrue("Populated item was populated again: " + populated, populated.isEmpty());
+	}
+
+	@Test
+	public void testLeafIsNotWaitedFor() {
+		TreeItem leaf = TreeItemLookup.getInstance().getTreeItem(getTree(), 0, new TreeItemTextMatcher("A"),
+				new TreeItemTextMatcher("A2"));
+
+		long start = System.currentTimeMillis();
+		List<TreeItem> items = TreeItemLookup.getInstance().getTreeItems(leaf);
+		long duration = System.currentTimeMillis() - start;
+
+		assertTrue(items.isEmpty());
+		assertTrue("Children of leaf were looked up for " + duration + " ms",
+				duration < TimePeriod.SHORT.getSeconds() * 1000);
+	}
+
+	@Test
+	public void testPlaceholderOfItemWithoutChildren() {
+		TreeItem item = TreeItemLookup.getInstance().getTreeItem(getTree(), 0, new TreeItemTextMatcher("B"));
+
+		long start = System.currentTimeMillis();
+		List<TreeItem> items = TreeItemLookup.getInstance().getTreeItems(item);
+		long duration = System.currentTimeMillis() - start;
+
+		// placeholder is removed by the viewer once the item is expanded
+		assertTrue(items.isEmpty());
+		assertTrue("Children of empty item were looked up for " + duration + " ms",
+				duration < TimePeriod.DEFAULT.getSeconds() * 1000 / 2);
+	}
+
+	@Test
+	public void testPathTimeoutIsShared() {
+		// items managed by a viewer whose placeholders are never populated
+		Tree tree = Display.syncExec(() -> {
+			viewer.getTree().dispose();
+			Tree newTree = new Tree(shell, SWT.BORDER);
+			for (int i = 0; i < 3; i++) {
+				TreeItem item = new TreeItem(newTree, SWT.NONE);
+				item.setText("C" + i);
+				item.setData("C" + i);
+				new TreeItem(item, SWT.NONE);
+			}
+			shell.layout();
+			return newTree;
+		});
+
+		long start = System.currentTimeMillis();
+		try {
+			TreeItemLookup.getInstance().getTreeItems(tree, new TreeItemRegexMatcher("C\\d"),
+					new TreeItemTextMatcher("D"));
+			fail("Item was found under placeholders");
+		} catch (CoreLayerException e) {
+			// expected
+		}
+		long duration = System.currentTimeMillis() - start;
+
+		long timeout = TimePeriod.DEFAULT.getSeconds() * 1000;
+		assertTrue("Path lookup took " + duration + " ms", duration < timeout + timeout / 2);
+		assertNull(Display.syncExec(() -> tree.getItem(2).getItem(0).getData()));
+	}
+
+	@Test
+	public void testChildrenAddedAfterLookupStarted() {
+		// item whose children are still being populated, e.g. after a refresh
+		Tree tree = Display.syncExec(() -> {
+			viewer.getTree().dispose();
+			Tree newTree = new Tree(shell, SWT.BORDER);
+			new TreeItem(newTree, SWT.NONE).setText("E");
+			shell.layout();
+			return newTree;
+		});
+		new Thread(new Runnable() {
+
+			@Override
+			public void run() {
+				AbstractWait.sleep(TimePeriod.getCustomMilliseconds(1000));
+				Display.syncExec(() -> new TreeItem(tree.getItem(0), SWT.NONE).setText("E1"));
+			}
+		}).start();
+
+		List<TreeItem> items = TreeItemLookup.getInstance().getTreeItems(tree, new TreeItemTextMatcher("E"),
+				new TreeItemTextMatcher("E1"));
+
+		assertEquals(1, items.size());
+		assertEquals("E1", Display.syncExec(() -> items.get(0).getText()));
+	}
+
+	private Tree getTree() {
+		return Display.syncExec(() -> viewer.getTree());
+	}
+
+	private class LazyContentProvider implements ITreeContentProvider {
+
+		@Override
+		public Object[] getElements(Object inputElement) {
+			return children.get(inputElement).toArray();
+		}
+
+		@Override
+		public Object[] getChildren(Object parentElement) {
+			populated.add(parentElement);
+			List<String> elementChildren = children.get(parentElement);
+			return elementChildren == null ? new Object[0] : elementChildren.toArray();
+		}
+
+		@Override
+		public Object getParent(Object element) {
+			return null;
+		}
+
+		@Override
+		public boolean hasChildren(Object element) {
+			return children.containsKey(element);
+		}
+
+		@Override
+		public void dispose() {
+		}
+
+		@Override
+		public void inputChanged(Viewer viewer, Object oldInput, Object newInput) {
+		}
+	}
+}
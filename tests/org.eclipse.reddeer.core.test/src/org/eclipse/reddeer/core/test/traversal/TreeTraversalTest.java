@@ -0,0 +1,113 @@
+/*******************************************************************************
+ * Copyright (c) 2017 Red Hat, Inc and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.reddeer.core.test.traversal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.reddeer.core.traversal.ChildResolver;
+import org.eclipse.reddeer.core.traversal.TreeTraversal;
+import org.eclipse.reddeer.core.traversal.TreeVisitor;
+import org.hamcrest.core.IsAnything;
+import org.hamcrest.core.IsEqual;
+import org.junit.Test;
+
+public class TreeTraversalTest {
+
+	private final Map<String, List<String>> tree = new HashMap<>();
+
+	private final ChildResolver<String> resolver = new ChildResolver<String>() {
+
+		@Override
+		public List<String> getChildren(String node) {
+			return tree.get(node);
+		}
+
+		@Override
+		public boolean isTraversable(String node) {
+			return !node.startsWith("hidden");
+		}
+	};
+
+	public TreeTraversalTest() {
+		tree.put("root", Arrays.asList("a", "b", "hidden"));
+		tree.put("a", Arrays.asList("a1", "a2"));
+		tree.put("b", Arrays.asList("b1", null));
+		tree.put("hidden", Arrays.asList("h1"));
+	}
+
+	@Test
+	public void findAllInPreOrderTest() {
+		assertEquals(Arrays.asList("root", "a", "a1", "a2", "b", "b1"),
+				new TreeTraversal<String>(resolver).findAll("root", new IsAnything<String>()));
+	}
+
+	@Test
+	public void findAllInReverseChildOrderTest() {
+		assertEquals(Arrays.asList("root", "b", "b1", "a", "a2", "a1"),
+				new TreeTraversal<String>(resolver, TreeTraversal.UNLIMITED_DEPTH, true).findAll("root",
+						new IsAnything<String>()));
+	}
+
+	@Test
+	public void findAllWithMaxDepthTest() {
+		assertEquals(Arrays.asList("root", "a", "b"),
+				new TreeTraversal<String>(resolver, 1, false).findAll("root", new IsAnything<String>()));
+		assertEquals(Arrays.asList("root"),
+				new TreeTraversal<String>(resolver, 0, false).findAll("root", new IsAnything<String>()));
+	}
+
+	@Test
+	public void findWithIndexTest() {
+		TreeTraversal<String> traversal = new TreeTraversal<String>(resolver);
+		assertEquals("a1", traversal.find("root", new IsAnything<String>(), 2));
+		assertEquals("b1", traversal.find("root", new IsEqual<String>("b1"), 0));
+		assertNull(traversal.find("root", new IsEqual<String>("b1"), 1));
+		assertNull(traversal.find("root", new IsEqual<String>("h1"), 0));
+	}
+
+	@Test
+	public void terminateTraversalTest() {
+		final List<String> visited = new ArrayList<>();
+		boolean completed = new TreeTraversal<String>(resolver).traverse("root", new TreeVisitor<String>() {
+
+			@Override
+			public boolean visit(String node, int depth) {
+				visited.add(node + depth);
+				return !node.equals("a1");
+			}
+		});
+		assertFalse(completed);
+		assertEquals(Arrays.asList("root0", "a1", "a12"), visited);
+	}
+
+	@Test
+	public void nestedTraversalTest() {
+		final TreeTraversal<String> traversal = new TreeTraversal<String>(resolver);
+		final List<String> visited = new ArrayList<>();
+		traversal.traverse("root", new TreeVisitor<String>() {
+
+			@Override
+			public boolean visit(String node, int depth) {
+				visited.add(node + traversal.findAll(node, new IsAnything<String>()).size());
+				return true;
+			}
+		});
+		assertEquals(Arrays.asList("root6", "a3", "a11", "a21", "b2", "b11"), visited);
+	}
+}
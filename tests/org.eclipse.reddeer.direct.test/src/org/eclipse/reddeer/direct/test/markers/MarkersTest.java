@@ -0,0 +1,82 @@
+/*******************************************************************************
+ * Copyright (c) 2017 Red Hat, Inc and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.reddeer.direct.test.markers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.eclipse.core.resources.IMarker;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.reddeer.direct.markers.MarkerFilter;
+import org.eclipse.reddeer.direct.markers.Markers;
+import org.eclipse.reddeer.direct.project.Project;
+import org.eclipse.reddeer.junit.runner.RedDeerSuite;
+import org.eclipse.reddeer.requirements.cleanworkspace.CleanWorkspaceRequirement;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Test for direct queries of workspace markers.
+ */
+@RunWith(RedDeerSuite.class)
+public class MarkersTest {
+
+	private static final String PROJECT_NAME = "test-markers";
+
+	private IProject project;
+
+	@Before
+	public void createProject() {
+		new CleanWorkspaceRequirement().fulfill();
+		Project.create(PROJECT_NAME);
+		project = ResourcesPlugin.getWorkspace().getRoot().getProject(PROJECT_NAME);
+	}
+
+	@Test
+	public void testFindingMarkers() throws CoreException {
+		MarkerFilter errors = new MarkerFilter().ofType(IMarker.PROBLEM).withSeverity(IMarker.SEVERITY_ERROR)
+				.onResource(project, IResource.DEPTH_INFINITE);
+		assertEquals(0, Markers.count(errors));
+
+		long version = Markers.getVersion();
+		createMarker(IMarker.SEVERITY_ERROR, "test error");
+		createMarker(IMarker.SEVERITY_WARNING, "test warning");
+
+		assertTrue(Markers.waitForChange(version, 5000));
+		assertEquals(1, Markers.count(errors));
+		assertEquals(Markers.findUncached(errors).size(), Markers.count(errors));
+		assertEquals("test error", Markers.find(errors).get(0).getAttribute(IMarker.MESSAGE, ""));
+	}
+
+	@Test
+	public void testRemovingMarkers() throws CoreException {
+		MarkerFilter problems = new MarkerFilter().ofType(IMarker.PROBLEM).onResource(project,
+				IResource.DEPTH_INFINITE);
+		createMarker(IMarker.SEVERITY_WARNING, "test warning");
+		assertEquals(1, Markers.count(problems));
+
+		long version = Markers.getVersion();
+		project.deleteMarkers(IMarker.PROBLEM, true, IResource.DEPTH_INFINITE);
+
+		assertTrue(Markers.waitForChange(version, 5000));
+		assertEquals(0, Markers.count(problems));
+	}
+
+	private void createMarker(int severity, String message) throws CoreException {
+		IMarker marker = project.createMarker(IMarker.PROBLEM);
+		marker.setAttribute(IMarker.SEVERITY, severity);
+		marker.setAttribute(IMarker.MESSAGE, message);
+	}
+}
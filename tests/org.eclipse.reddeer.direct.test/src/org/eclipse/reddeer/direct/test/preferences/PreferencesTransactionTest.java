@@ -0,0 +1,90 @@
+/*******************************************************************************
+ * Copyright (c) 2017 Red Hat, Inc and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.reddeer.direct.test.preferences;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.eclipse.core.runtime.preferences.InstanceScope;
+import org.eclipse.reddeer.direct.preferences.Preferences;
+import org.eclipse.reddeer.direct.preferences.PreferencesSnapshot;
+import org.eclipse.reddeer.direct.preferences.PreferencesTransaction;
+import org.eclipse.reddeer.junit.runner.RedDeerSuite;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Test for batched changes, snapshots and cached reads of preferences.
+ */
+@RunWith(RedDeerSuite.class)
+public class PreferencesTransactionTest {
+
+	private static final String FIRST_PLUGIN = "org.eclipse.reddeer.direct.test.first";
+	private static final String SECOND_PLUGIN = "org.eclipse.reddeer.direct.test.second";
+
+	private PreferencesSnapshot snapshot;
+
+	@Before
+	public void captureSnapshot() {
+		snapshot = PreferencesSnapshot.capture(FIRST_PLUGIN, SECOND_PLUGIN);
+	}
+
+	@After
+	public void restoreSnapshot() {
+		snapshot.restore();
+	}
+
+	@Test
+	public void commitTest() {
+		PreferencesTransaction transaction = new PreferencesTransaction().set(FIRST_PLUGIN, "a", "1")
+				.set(FIRST_PLUGIN, "b", "2").set(SECOND_PLUGIN, "c", "3");
+		assertFalse(transaction.isEmpty());
+		assertEquals(3, transaction.commit());
+		assertTrue(transaction.isEmpty());
+
+		assertEquals("1", Preferences.get(FIRST_PLUGIN, "a"));
+		assertEquals("2", Preferences.get(FIRST_PLUGIN, "b"));
+		assertEquals("3", Preferences.get(SECOND_PLUGIN, "c"));
+	}
+
+	@Test
+	public void unchangedValuesAreNotWrittenTest() {
+		new PreferencesTransaction().set(FIRST_PLUGIN, "a", "1").commit();
+		assertEquals(1, new PreferencesTransaction().set(FIRST_PLUGIN, "a", "1").set(FIRST_PLUGIN, "b", "2")
+				.commit());
+		assertEquals(1, new PreferencesTransaction().remove(FIRST_PLUGIN, "b").remove(FIRST_PLUGIN, "c").commit());
+	}
+
+	@Test
+	public void cachedReadTest() {
+		assertFalse(Preferences.isSet(FIRST_PLUGIN, "a", "1"));
+		// written directly, the cache is updated by the change event
+		InstanceScope.INSTANCE.getNode(FIRST_PLUGIN).put("a", "1");
+		assertTrue(Preferences.isSet(FIRST_PLUGIN, "a", "1"));
+		InstanceScope.INSTANCE.getNode(FIRST_PLUGIN).remove("a");
+		assertNull(Preferences.get(FIRST_PLUGIN, "a"));
+	}
+
+	@Test
+	public void restoreSnapshotTest() {
+		new PreferencesTransaction().set(FIRST_PLUGIN, "a", "1").commit();
+		PreferencesSnapshot changed = PreferencesSnapshot.capture(FIRST_PLUGIN);
+		new PreferencesTransaction().set(FIRST_PLUGIN, "a", "2").set(FIRST_PLUGIN, "b", "3").commit();
+
+		assertEquals(2, changed.restore());
+		assertEquals("1", Preferences.get(FIRST_PLUGIN, "a"));
+		assertNull(Preferences.get(FIRST_PLUGIN, "b"));
+	}
+}
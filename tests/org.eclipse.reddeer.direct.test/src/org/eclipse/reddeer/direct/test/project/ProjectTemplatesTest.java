@@ -0,0 +1,185 @@
+/*******************************************************************************
+ * Copyright (c) 2017 Red Hat, Inc and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.reddeer.direct.test.project;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.reddeer.common.exception.RedDeerException;
+import org.eclipse.reddeer.direct.preferences.PreferencesUtil;
+import org.eclipse.reddeer.direct.project.Project;
+import org.eclipse.reddeer.direct.project.ProjectTemplates;
+import org.eclipse.reddeer.junit.runner.RedDeerSuite;
+import org.eclipse.reddeer.requirements.cleanworkspace.CleanWorkspaceRequirement;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Test for importing projects from templates.
+ */
+@RunWith(RedDeerSuite.class)
+public class ProjectTemplatesTest {
+
+	private final List<Path> templates = new ArrayList<>();
+
+	private boolean autoBuilding;
+
+	@Before
+	public void cleanWorkspace() {
+		new CleanWorkspaceRequirement().fulfill();
+		autoBuilding = PreferencesUtil.isAutoBuildingOn();
+	}
+
+	@After
+	public void deleteTemplates() throws IOException {
+		if (autoBuilding) {
+			PreferencesUtil.setAutoBuildingOn();
+		}
+		for (Path template : templates) {
+			delete(template);
+		}
+		templates.clear();
+	}
+
+	@Test
+	public void testImportingDirectoryTemplate() throws IOException {
+		Path template = Files.createTempDirectory("template");
+		templates.add(template);
+		writeFile(template.resolve("first/.project"), projectDescription("template-first"));
+		writeFile(template.resolve("first/file.txt"), "first");
+		writeFile(template.resolve("second/.project"), projectDescription("template-second"));
+
+		List<String> projects = ProjectTemplates.importProjects(template.toString(), true);
+
+		assertEquals(Arrays.asList("template-first", "template-second"), projects);
+		assertTrue(Project.isOpen("template-first"));
+		assertTrue(Project.isOpen("template-second"));
+		assertTrue(ResourcesPlugin.getWorkspace().getRoot().getProject("template-first").getFile("file.txt")
+				.exists());
+	}
+
+	@Test
+	public void testImportingZipTemplate() throws IOException {
+		File template = createZip(projectDescription("template-zip"), "src/file.txt");
+
+		List<String> projects = ProjectTemplates.importProjects(template.getAbsolutePath(), false);
+
+		assertEquals(Arrays.asList("template-zip"), projects);
+		assertTrue(Project.isOpen("template-zip"));
+		assertTrue(ResourcesPlugin.getWorkspace().getRoot().getProject("template-zip").getFile("src/file.txt")
+				.exists());
+	}
+
+	@Test
+	public void testAutoBuildingIsRestoredAfterBuild() throws IOException {
+		PreferencesUtil.setAutoBuildingOn();
+		File template = createZip(projectDescription("template-built"), "bin/Compiled.class");
+
+		ProjectTemplates.importProjects(template.getAbsolutePath(), true);
+
+		assertTrue(PreferencesUtil.isAutoBuildingOn());
+	}
+
+	@Test
+	public void testAutoBuildingIsLeftOffWithoutBuild() throws IOException {
+		PreferencesUtil.setAutoBuildingOn();
+		File template = createZip(projectDescription("template-compiled"), "bin/Compiled.class");
+
+		ProjectTemplates.importProjects(template.getAbsolutePath(), false);
+
+		assertFalse("Auto build would clean compiled output", PreferencesUtil.isAutoBuildingOn());
+		assertTrue(ResourcesPlugin.getWorkspace().getRoot().getProject("template-compiled")
+				.getFile("bin/Compiled.class").exists());
+	}
+
+	@Test
+	public void testPartiallyCopiedTemplateIsDeleted() throws IOException {
+		// the last entry points outside of the project directory
+		File template = createZip(projectDescription("template-broken"), "src/file.txt", "../outside.txt");
+		Path target = ResourcesPlugin.getWorkspace().getRoot().getLocation().toFile().toPath()
+				.resolve("template-broken");
+
+		try {
+			ProjectTemplates.importProjects(template.getAbsolutePath(), false);
+			fail("Template with an entry outside of the project was imported");
+		} catch (RedDeerException e) {
+			// expected
+		}
+
+		assertFalse("Partially copied project was not deleted", Files.exists(target));
+		assertFalse(Project.isProject("template-broken"));
+	}
+
+	private File createZip(String projectDescription, String... files) throws IOException {
+		File template = File.createTempFile("template", ".zip");
+		templates.add(template.toPath());
+		try (ZipOutputStream zip = new ZipOutputStream(new FileOutputStream(template))) {
+			zip.putNextEntry(new ZipEntry(".project"));
+			zip.write(projectDescription.getBytes(StandardCharsets.UTF_8));
+			for (String file : files) {
+				zip.putNextEntry(new ZipEntry(file));
+				zip.write(file.getBytes(StandardCharsets.UTF_8));
+			}
+		}
+		return template;
+	}
+
+	private static void delete(Path path) throws IOException {
+		if (!Files.exists(path)) {
+			return;
+		}
+		Files.walkFileTree(path, new SimpleFileVisitor<Path>() {
+
+			@Override
+			public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+				Files.delete(file);
+				return FileVisitResult.CONTINUE;
+			}
+
+			@Override
+			public FileVisitResult postVisitDirectory(Path dir, IOException exc) throws IOException {
+				Files.delete(dir);
+				return FileVisitResult.CONTINUE;
+			}
+		});
+	}
+
+	private static String projectDescription(String name) {
+		return "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<projectDescription>\n\t<name>" + name
+				+ "</name>\n\t<comment></comment>\n\t<projects>\n\t</projects>\n\t<buildSpec>\n\t</buildSpec>\n"
+				+ "\t<natures>\n\t</natures>\n</projectDescription>\n";
+	}
+
+	private static void writeFile(Path file, String content) throws IOException {
+		Files.createDirectories(file.getParent());
+		Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+	}
+}
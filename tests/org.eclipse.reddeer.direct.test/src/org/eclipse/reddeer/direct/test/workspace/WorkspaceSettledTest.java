@@ -0,0 +1,69 @@
+/*******************************************************************************
+ * Copyright (c) 2017 Red Hat, Inc and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.reddeer.direct.test.workspace;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IncrementalProjectBuilder;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.reddeer.common.wait.TimePeriod;
+import org.eclipse.reddeer.common.wait.WaitUntil;
+import org.eclipse.reddeer.direct.project.Project;
+import org.eclipse.reddeer.direct.workspace.WorkspaceIsBuilt;
+import org.eclipse.reddeer.direct.workspace.WorkspaceIsQuiet;
+import org.eclipse.reddeer.junit.runner.RedDeerSuite;
+import org.eclipse.reddeer.requirements.cleanworkspace.CleanWorkspaceRequirement;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Test for conditions waiting until the workspace is built or quiet.
+ */
+@RunWith(RedDeerSuite.class)
+public class WorkspaceSettledTest {
+
+	private static final String PROJECT_NAME = "test-settled";
+
+	@Before
+	public void createProject() {
+		new CleanWorkspaceRequirement().fulfill();
+		Project.create(PROJECT_NAME);
+	}
+
+	@Test
+	public void testWaitingForQuietWorkspace() throws CoreException {
+		WorkspaceIsQuiet quiet = new WorkspaceIsQuiet();
+		createFile("quiet.txt");
+		assertFalse(quiet.test());
+		assertTrue(quiet.waitFor(TimePeriod.DEFAULT));
+		assertTrue(quiet.test());
+	}
+
+	@Test
+	public void testWaitingForBuiltWorkspace() throws CoreException {
+		WorkspaceIsBuilt built = new WorkspaceIsBuilt();
+		createFile("built.txt");
+		ResourcesPlugin.getWorkspace().build(IncrementalProjectBuilder.INCREMENTAL_BUILD, null);
+		assertTrue(built.waitFor(TimePeriod.DEFAULT));
+		new WaitUntil(built, TimePeriod.SHORT);
+	}
+
+	private void createFile(String name) throws CoreException {
+		IFile file = ResourcesPlugin.getWorkspace().getRoot().getProject(PROJECT_NAME).getFile(name);
+		file.create(new ByteArrayInputStream("test".getBytes()), true, null);
+	}
+}
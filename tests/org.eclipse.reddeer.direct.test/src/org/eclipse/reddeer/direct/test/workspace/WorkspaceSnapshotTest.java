@@ -0,0 +1,125 @@
+/*******************************************************************************
+ * Copyright (c) 2017 Red Hat, Inc and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.reddeer.direct.test.workspace;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.reddeer.direct.preferences.Preferences;
+import org.eclipse.reddeer.direct.project.Project;
+import org.eclipse.reddeer.direct.workspace.WorkspaceSnapshot;
+import org.eclipse.reddeer.junit.runner.RedDeerSuite;
+import org.eclipse.reddeer.requirements.cleanworkspace.CleanWorkspaceRequirement;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Test for capturing and restoring workspace snapshots.
+ */
+@RunWith(RedDeerSuite.class)
+public class WorkspaceSnapshotTest {
+
+	private static final String PROJECT_NAME = "test-snapshot";
+
+	private static final String PLUGIN = "org.eclipse.reddeer.direct.test";
+
+	private WorkspaceSnapshot snapshot;
+
+	@Before
+	public void captureSnapshot() throws CoreException {
+		new CleanWorkspaceRequirement().fulfill();
+		Project.create(PROJECT_NAME);
+		getFile("kept.txt").create(stream("original"), true, null);
+		snapshot = WorkspaceSnapshot.capture();
+	}
+
+	@After
+	public void disposeSnapshot() {
+		snapshot.dispose();
+	}
+
+	@Test
+	public void testRestoringFiles() throws Exception {
+		getFile("kept.txt").setContents(stream("changed content"), true, false, null);
+		getFile("added.txt").create(stream("added"), true, null);
+
+		snapshot.restore();
+
+		assertFalse(getFile("added.txt").exists());
+		assertEquals("original", new String(Files.readAllBytes(getFile("kept.txt").getLocation().toFile().toPath()),
+				StandardCharsets.UTF_8));
+		assertTrue(getFile("kept.txt").isSynchronized(0));
+	}
+
+	@Test
+	public void testRestoringFileWithSameSizeAndModificationTime() throws Exception {
+		Path file = getFile("kept.txt").getLocation().toFile().toPath();
+		FileTime lastModified = Files.getLastModifiedTime(file);
+		Files.write(file, "ORIGINAL".getBytes(StandardCharsets.UTF_8));
+		Files.setLastModifiedTime(file, lastModified);
+
+		snapshot.restore();
+
+		assertEquals("original", new String(Files.readAllBytes(file), StandardCharsets.UTF_8));
+	}
+
+	@Test
+	public void testRestoringPreferencesOfNewNode() {
+		Preferences.set(PLUGIN + ".snapshot", "snapshot.key", "added");
+
+		snapshot.restore();
+
+		assertEquals(null, Preferences.get(PLUGIN + ".snapshot", "snapshot.key"));
+	}
+
+	@Test
+	public void testRestoringProjects() throws CoreException {
+		Project.delete(PROJECT_NAME, true, true);
+		Project.create("test-snapshot-added");
+
+		snapshot.restore();
+
+		assertFalse(Project.isProject("test-snapshot-added"));
+		assertTrue(Project.isOpen(PROJECT_NAME));
+		assertTrue(getFile("kept.txt").exists());
+	}
+
+	@Test
+	public void testRestoringPreferences() {
+		Preferences.set(PLUGIN, "snapshot.key", "changed");
+
+		snapshot.restore();
+
+		assertEquals(null, Preferences.get(PLUGIN, "snapshot.key"));
+	}
+
+	private static IFile getFile(String name) {
+		IProject project = ResourcesPlugin.getWorkspace().getRoot().getProject(PROJECT_NAME);
+		return project.getFile(name);
+	}
+
+	private static ByteArrayInputStream stream(String content) {
+		return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+	}
+}
@@ -13,6 +13,7 @@ package org.eclipse.reddeer.eclipse.test.ui.problems;
 import static org.eclipse.reddeer.common.wait.WaitProvider.waitUntil;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
@@ -42,6 +43,7 @@ import org.eclipse.reddeer.eclipse.ui.markers.matcher.MarkerPathMatcher;
 import org.eclipse.reddeer.eclipse.ui.markers.matcher.MarkerResourceMatcher;
 import org.eclipse.reddeer.eclipse.ui.markers.matcher.MarkerTypeMatcher;
 import org.eclipse.reddeer.eclipse.ui.problems.Problem;
+import org.eclipse.reddeer.eclipse.ui.problems.ProblemsSource;
 import org.eclipse.reddeer.eclipse.ui.views.markers.ProblemsView;
 import org.eclipse.reddeer.eclipse.ui.views.markers.QuickFixPage;
 import org.eclipse.reddeer.eclipse.ui.views.markers.QuickFixWizard;
@@ -276,6 +278,38 @@ public class ProblemsViewTest {
 		}
 	}
 	
+	@Test
+	public void testProblemsExistInWorkspaceMarkers() {
+		createWarning();
+		createError();
+		new WaitUntil(new ProblemExists(ProblemsSource.WORKSPACE_MARKERS, ProblemType.ERROR,
+				new MarkerDescriptionMatcher(Is.is(ERROR_DESCRIPTION)),
+				new MarkerLocationMatcher(Is.is(ERROR_LOCATION))), TimePeriod.DEFAULT);
+		new WaitUntil(new ExactNumberOfProblemsExists(ProblemsSource.WORKSPACE_MARKERS, ProblemType.ERROR, 1),
+				TimePeriod.DEFAULT);
+		new WaitUntil(new ExactNumberOfProblemsExists(ProblemsSource.WORKSPACE_MARKERS, ProblemType.ALL, 2),
+				TimePeriod.DEFAULT);
+		assertFalse(new ProblemExists(ProblemsSource.WORKSPACE_MARKERS, ProblemType.ERROR,
+				new MarkerLocationMatcher(Is.is(WARNING_LOCATION))).test());
+	}
+	
+	@Test
+	public void testProblemsExistInVerifiedWorkspaceMarkers() {
+		createWarning();
+		createError();
+		new WaitUntil(new ProblemExists(ProblemsSource.WORKSPACE_MARKERS_VERIFIED, ProblemType.WARNING),
+				TimePeriod.DEFAULT);
+		new WaitUntil(new ExactNumberOfProblemsExists(ProblemsSource.WORKSPACE_MARKERS_VERIFIED, ProblemType.ALL, 2),
+				TimePeriod.DEFAULT);
+
+		// counts of markers and of Problems view are reported separately
+		ExactNumberOfProblemsExists condition = new ExactNumberOfProblemsExists(
+				ProblemsSource.WORKSPACE_MARKERS_VERIFIED, ProblemType.ERROR, 1);
+		assertTrue(condition.test());
+		assertThat(condition.description(),
+				StringStartsWith.startsWith("number of problems in workspace markers is 1 and in Problems view is 1."));
+	}
+	
 	@Test
 	public void testFilterErrors() {
 		final String projectPath = "/" + PROJECT_NAME + "/" + "src";
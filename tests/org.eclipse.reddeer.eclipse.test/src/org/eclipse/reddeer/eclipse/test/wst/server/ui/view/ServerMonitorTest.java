@@ -0,0 +1,129 @@
+/*******************************************************************************
+ * Copyright (c) 2017 Red Hat, Inc and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.reddeer.eclipse.test.wst.server.ui.view;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import org.eclipse.reddeer.eclipse.condition.ServerHasPublishState;
+import org.eclipse.reddeer.eclipse.condition.ServerHasState;
+import org.eclipse.reddeer.eclipse.condition.ServerModuleHasPublishState;
+import org.eclipse.reddeer.eclipse.condition.ServerModuleHasState;
+import org.eclipse.reddeer.eclipse.wst.server.ServerMonitor;
+import org.eclipse.reddeer.eclipse.wst.server.ui.cnf.Server;
+import org.eclipse.reddeer.eclipse.wst.server.ui.cnf.ServerModule;
+import org.eclipse.reddeer.eclipse.wst.server.ui.cnf.ServersViewEnums.ServerPublishState;
+import org.eclipse.reddeer.eclipse.wst.server.ui.cnf.ServersViewEnums.ServerState;
+import org.eclipse.reddeer.eclipse.wst.server.ui.wizard.ModifyModulesDialog;
+import org.eclipse.reddeer.eclipse.wst.server.ui.wizard.ModifyModulesPage;
+import org.eclipse.reddeer.requirements.cleanworkspace.CleanWorkspaceRequirement;
+import org.eclipse.wst.server.core.IServer;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Test for {@link ServerMonitor} and server conditions using it.
+ */
+public class ServerMonitorTest extends ServersViewTestCase {
+
+	private static final String SERVER = "Monitored server";
+
+	private static Server server;
+
+	@BeforeClass
+	public static void createServer() {
+		importProjects();
+		createServer(SERVER);
+		server = getServersView().getServer(SERVER);
+	}
+
+	@AfterClass
+	public static void removeProjects() {
+		new CleanWorkspaceRequirement().fulfill();
+	}
+
+	@After
+	public void stopServer() {
+		for (ServerModule module : server.getModules()) {
+			module.remove();
+		}
+		if (!ServerState.STOPPED.equals(server.getLabel().getState())) {
+			server.stop();
+		}
+	}
+
+	@Test
+	public void testServerState() {
+		ServerMonitor monitor = ServerMonitor.getInstance();
+		IServer eclipseServer = ServerMonitor.getServer(server.getTreeItem());
+		assertNotNull(eclipseServer);
+		assertEquals(ServerState.STOPPED, monitor.getState(eclipseServer));
+		assertTrue(new ServerHasState(server, ServerState.STOPPED, false).test());
+		assertFalse(new ServerHasState(server, ServerState.STARTED, false).test());
+
+		long version = monitor.getVersion();
+		server.start();
+
+		assertNotEquals(version, monitor.getVersion());
+		assertEquals(ServerState.STARTED, monitor.getState(eclipseServer));
+		assertTrue(new ServerHasState(server, ServerState.STARTED, false).test());
+		assertTrue(new ServerHasState(server, ServerState.STARTED, true).test());
+		assertTrue(new ServerHasState(server, ServerState.STARTED).test());
+		assertFalse(new ServerHasState(server, ServerState.STOPPED).test());
+	}
+
+	@Test
+	public void testServerPublishState() {
+		ServerMonitor monitor = ServerMonitor.getInstance();
+		IServer eclipseServer = ServerMonitor.getServer(server.getTreeItem());
+		addModule();
+		server.start();
+		long publishCount = monitor.getPublishCount(eclipseServer);
+
+		server.publish();
+
+		assertTrue(monitor.getPublishCount(eclipseServer) > publishCount);
+		assertEquals(ServerPublishState.SYNCHRONIZED, monitor.getPublishState(eclipseServer));
+		assertTrue(new ServerHasPublishState(server, ServerPublishState.SYNCHRONIZED, false).test());
+		assertTrue(new ServerHasPublishState(server, ServerPublishState.SYNCHRONIZED).test());
+		assertFalse(new ServerHasPublishState(server, ServerPublishState.PUBLISHING, false).test());
+	}
+
+	@Test
+	public void testServerModuleStates() {
+		ServerModule module = addModule();
+		server.start();
+		module.start();
+
+		assertTrue(new ServerModuleHasState(module, ServerState.STARTED, false).test());
+		assertTrue(new ServerModuleHasState(module, ServerState.STARTED).test());
+		assertFalse(new ServerModuleHasState(module, ServerState.STOPPED, false).test());
+
+		server.publish();
+
+		assertTrue(new ServerModuleHasPublishState(module, ServerPublishState.SYNCHRONIZED, false).test());
+		assertTrue(new ServerModuleHasPublishState(module, ServerPublishState.SYNCHRONIZED).test());
+		assertFalse(new ServerModuleHasPublishState(module, ServerPublishState.REPUBLISH, false).test());
+	}
+
+	private ServerModule addModule() {
+		ModifyModulesDialog dialog = server.addAndRemoveModules();
+		ModifyModulesPage page = new ModifyModulesPage(dialog);
+		page.add(PROJECT_1);
+		dialog.finish();
+		return server.getModules().get(0);
+	}
+}
@@ -0,0 +1,196 @@
+/*******************************************************************************
+ * Copyright (c) 2017 Red Hat, Inc and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.reddeer.gef.test.lookup;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.draw2d.Figure;
+import org.eclipse.draw2d.IFigure;
+import org.eclipse.draw2d.Label;
+import org.eclipse.gef.EditDomain;
+import org.eclipse.gef.EditPart;
+import org.eclipse.gef.GraphicalEditPart;
+import org.eclipse.gef.GraphicalViewer;
+import org.eclipse.gef.editparts.AbstractGraphicalEditPart;
+import org.eclipse.gef.ui.parts.GraphicalViewerImpl;
+import org.eclipse.reddeer.common.matcher.RegexMatcher;
+import org.eclipse.reddeer.gef.finder.EditPartFinder;
+import org.eclipse.reddeer.gef.lookup.EditPartIndex;
+import org.eclipse.reddeer.gef.matcher.IsEditPartWithLabel;
+import org.eclipse.reddeer.gef.matcher.IsEditPartWithTooltip;
+import org.hamcrest.core.IsAnything;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test for EditPartIndex
+ */
+public class EditPartIndexTest {
+
+	private GraphicalViewer viewer;
+	private Node root;
+
+	@Before
+	public void createViewer() {
+		root = new Node("root", null);
+		Node first = root.add(new Node("first", "tooltip"));
+		first.add(new Node("child", null));
+		root.add(new Node("second", null));
+		root.add(new Node("first", null));
+
+		viewer = new GraphicalViewerImpl();
+		viewer.setEditDomain(new EditDomain());
+		viewer.setContents(new NodeEditPart(root));
+	}
+
+	@Test
+	public void testIndexKeepsFinderOrder() {
+		List<EditPart> expected = new EditPartFinder().find(viewer.getContents(), new IsAnything<EditPart>());
+		assertEquals(expected, EditPartIndex.getIndex(viewer).getEditParts());
+	}
+
+	@Test
+	public void testIndexIsStoredInViewer() {
+		EditPartIndex index = EditPartIndex.getIndex(viewer);
+		assertSame(index, EditPartIndex.getIndex(viewer));
+
+		GraphicalViewer other = new GraphicalViewerImpl();
+		other.setEditDomain(new EditDomain());
+		other.setContents(new NodeEditPart(new Node("other", null)));
+		assertNotSame(index, EditPartIndex.getIndex(other));
+	}
+
+	@Test
+	public void testFindEditPartsWithLabel() {
+		EditPartIndex index = EditPartIndex.getIndex(viewer);
+		// figures of children are nested in the figure of their parent so the parent has their labels too
+		assertEquals(3, new IsEditPartWithLabel("first").find(index).size());
+		assertEquals(2, new IsEditPartWithLabel("second").find(index).size());
+		assertEquals(0, new IsEditPartWithLabel("third").find(index).size());
+		assertEquals(2, new IsEditPartWithLabel(new RegexMatcher("s.*d")).find(index).size());
+	}
+
+	@Test
+	public void testFindEditPartsWithTooltip() {
+		EditPartIndex index = EditPartIndex.getIndex(viewer);
+		List<EditPart> editParts = new IsEditPartWithTooltip("tooltip").find(index);
+		assertEquals(1, editParts.size());
+		assertEquals("first", ((Node) editParts.get(0).getModel()).label);
+	}
+
+	@Test
+	public void testIndexIsInvalidatedWhenChildIsAdded() {
+		EditPartIndex index = EditPartIndex.getIndex(viewer);
+		assertEquals(0, index.getEditPartsWithLabel("third").size());
+
+		root.add(new Node("third", null));
+		viewer.getContents().refresh();
+
+		assertEquals(2, index.getEditPartsWithLabel("third").size());
+		assertEquals(new EditPartFinder().find(viewer.getContents(), new IsAnything<EditPart>()), index.getEditParts());
+	}
+
+	@Test
+	public void testLabelChangedOutsideOfCommandStackIsFound() {
+		EditPartIndex index = EditPartIndex.getIndex(viewer);
+		assertEquals(2, index.getEditPartsWithLabel("second").size());
+
+		GraphicalEditPart second = (GraphicalEditPart) viewer.getContents().getChildren().get(1);
+		((Label) second.getFigure().getChildren().get(0)).setText("renamed");
+
+		assertEquals(0, index.getEditPartsWithLabel("second").size());
+		List<EditPart> editParts = new IsEditPartWithLabel("renamed").find(index);
+		assertEquals(2, editParts.size());
+		assertSame(second, editParts.get(1));
+	}
+
+	@Test
+	public void testTooltipChangedOutsideOfCommandStackIsFound() {
+		EditPartIndex index = EditPartIndex.getIndex(viewer);
+		assertEquals(1, index.getEditPartsWithTooltip("tooltip").size());
+
+		GraphicalEditPart second = (GraphicalEditPart) viewer.getContents().getChildren().get(1);
+		second.getFigure().setToolTip(new Label("new tooltip"));
+
+		List<EditPart> editParts = new IsEditPartWithTooltip("new tooltip").find(index);
+		assertEquals(1, editParts.size());
+		assertSame(second, editParts.get(0));
+	}
+
+	@Test
+	public void testMatcherOverridingMatchesIsApplied() {
+		EditPartIndex index = EditPartIndex.getIndex(viewer);
+		IsEditPartWithLabel matcher = new IsEditPartWithLabel("first") {
+
+			@Override
+			public boolean matches(Object obj) {
+				return super.matches(obj) && ((EditPart) obj).getChildren().isEmpty();
+			}
+		};
+		List<EditPart> editParts = matcher.find(index);
+		assertEquals(1, editParts.size());
+		assertSame(viewer.getContents().getChildren().get(2), editParts.get(0));
+	}
+
+	private static class Node {
+
+		private final String label;
+		private final String tooltip;
+		private final List<Node> children = new ArrayList<Node>();
+
+		private Node(String label, String tooltip) {
+			this.label = label;
+			this.tooltip = tooltip;
+		}
+
+		private Node add(Node child) {
+			children.add(child);
+			return child;
+		}
+	}
+
+	private static class NodeEditPart extends AbstractGraphicalEditPart {
+
+		private NodeEditPart(Node node) {
+			setModel(node);
+		}
+
+		@Override
+		protected IFigure createFigure() {
+			Node node = (Node) getModel();
+			IFigure figure = new Figure();
+			figure.add(new Label(node.label));
+			if (node.tooltip != null) {
+				figure.setToolTip(new Label(node.tooltip));
+			}
+			return figure;
+		}
+
+		@Override
+		protected List<Node> getModelChildren() {
+			return ((Node) getModel()).children;
+		}
+
+		@Override
+		protected EditPart createChild(Object model) {
+			return new NodeEditPart((Node) model);
+		}
+
+		@Override
+		protected void createEditPolicies() {
+		}
+	}
+}
@@ -0,0 +1,174 @@
+/*******************************************************************************
+ * Copyright (c) 2017 Red Hat, Inc and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.reddeer.gef.test.lookup;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.eclipse.draw2d.Figure;
+import org.eclipse.draw2d.FigureCanvas;
+import org.eclipse.draw2d.FreeformLayer;
+import org.eclipse.draw2d.IFigure;
+import org.eclipse.draw2d.Layer;
+import org.eclipse.draw2d.LayeredPane;
+import org.eclipse.draw2d.geometry.Point;
+import org.eclipse.draw2d.geometry.Rectangle;
+import org.eclipse.gef.ui.parts.ScrollingGraphicalViewer;
+import org.eclipse.reddeer.common.util.Display;
+import org.eclipse.reddeer.gef.lookup.FigureSpatialIndex;
+import org.eclipse.swt.widgets.Shell;
+import org.hamcrest.core.IsAnything;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test for FigureSpatialIndex
+ */
+public class FigureSpatialIndexTest {
+
+	private Shell shell;
+	private ScrollingGraphicalViewer viewer;
+	private IFigure root;
+	private IFigure first;
+	private IFigure covered;
+	private IFigure second;
+	private IFigure container;
+	private IFigure child;
+
+	@Before
+	public void createViewer() {
+		Display.syncExec(new Runnable() {
+
+			@Override
+			public void run() {
+				shell = new Shell(org.eclipse.swt.widgets.Display.getCurrent());
+				shell.setSize(500, 500);
+				viewer = new ScrollingGraphicalViewer();
+				viewer.createControl(shell);
+
+				root = add(null, new Figure(), new Rectangle(0, 0, 400, 400));
+				first = add(root, new Figure(), new Rectangle(10, 10, 100, 100));
+				covered = add(root, new Figure(), new Rectangle(70, 70, 20, 20));
+				second = add(root, new Figure(), new Rectangle(50, 50, 100, 100));
+				container = add(root, new LocalCoordinatesFigure(), new Rectangle(0, 250, 100, 100));
+				child = add(container, new Figure(), new Rectangle(10, 10, 20, 20));
+				((FigureCanvas) viewer.getControl()).setContents(root);
+			}
+		});
+	}
+
+	@After
+	public void disposeShell() {
+		Display.syncExec(new Runnable() {
+
+			@Override
+			public void run() {
+				shell.dispose();
+			}
+		});
+	}
+
+	@Test
+	public void testFindTopMostFigureAt() {
+		assertSame(first, findFigureAt(20, 20));
+		assertSame(second, findFigureAt(60, 60));
+		assertSame(second, findFigureAt(75, 75));
+		assertSame(root, findFigureAt(300, 30));
+	}
+
+	@Test
+	public void testFindFiguresInRectangle() {
+		List<IFigure> figures = Display.syncExec(() -> FigureSpatialIndex.getIndex(viewer)
+				.findFigures(new Rectangle(60, 60, 5, 5), new IsAnything<IFigure>()));
+		assertEquals(Arrays.asList(root, first, second), figures);
+	}
+
+	@Test
+	public void testIndexIsUpdatedWhenFigureMoves() {
+		assertSame(first, findFigureAt(20, 20));
+		Display.syncExec(() -> first.setBounds(new Rectangle(200, 200, 50, 50)));
+		assertSame(root, findFigureAt(20, 20));
+		assertSame(first, findFigureAt(210, 210));
+	}
+
+	@Test
+	public void testChildrenOfLocalCoordinatesFigureAreUpdated() {
+		assertSame(child, findFigureAt(15, 265));
+		Display.syncExec(() -> container.setLocation(new Point(100, 250)));
+		assertSame(root, findFigureAt(15, 265));
+		assertSame(child, findFigureAt(115, 265));
+	}
+
+	@Test
+	public void testFindClickablePoint() {
+		// the center of the first figure is covered by the second one
+		Point point = findClickablePoint(first);
+		assertNotNull(point);
+		assertSame(first, findFigureAt(point.x, point.y));
+
+		point = findClickablePoint(second);
+		assertEquals(new Point(100, 100), point);
+
+		assertNull(findClickablePoint(covered));
+	}
+
+	@Test
+	public void testTransparentLayersAreNotFound() {
+		IFigure node = Display.syncExec(() -> {
+			// layers of a real editor, handle and feedback layers cover the whole diagram and they are painted last
+			LayeredPane layers = new LayeredPane();
+			layers.setBounds(new Rectangle(0, 0, 400, 400));
+			layers.setPreferredSize(400, 400);
+			Layer primary = new Layer();
+			layers.add(primary);
+			IFigure figure = add(primary, new Figure(), new Rectangle(10, 10, 100, 100));
+			layers.add(new FreeformLayer());
+			layers.add(new FreeformLayer());
+			((FigureCanvas) viewer.getControl()).setContents(layers);
+			layers.validate();
+			return figure;
+		});
+
+		assertSame(node, findFigureAt(20, 20));
+		assertNull(findFigureAt(300, 300));
+		assertEquals(new Point(60, 60), findClickablePoint(node));
+	}
+
+	private Point findClickablePoint(IFigure figure) {
+		return Display.syncExec(() -> FigureSpatialIndex.getIndex(viewer).findClickablePoint(figure));
+	}
+
+	private IFigure findFigureAt(int x, int y) {
+		return Display.syncExec(() -> FigureSpatialIndex.getIndex(viewer).findFigureAt(x, y));
+	}
+
+	private static IFigure add(IFigure parent, IFigure figure, Rectangle bounds) {
+		if (parent != null) {
+			parent.add(figure);
+		}
+		figure.setBounds(bounds);
+		return figure;
+	}
+
+	private static class LocalCoordinatesFigure extends Figure {
+
+		@Override
+		protected boolean useLocalCoordinates() {
+			return true;
+		}
+	}
+}
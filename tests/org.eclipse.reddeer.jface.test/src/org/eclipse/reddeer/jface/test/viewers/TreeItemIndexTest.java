@@ -0,0 +1,203 @@
+/*******************************************************************************
+ * Copyright (c) 2017 Red Hat, Inc and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.reddeer.jface.test.viewers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.jface.viewers.ArrayContentProvider;
+import org.eclipse.jface.viewers.ITreeContentProvider;
+import org.eclipse.jface.viewers.LabelProvider;
+import org.eclipse.jface.viewers.TreeViewer;
+import org.eclipse.jface.viewers.ViewerComparator;
+import org.eclipse.reddeer.common.util.Display;
+import org.eclipse.reddeer.jface.viewers.TreeItemIndex;
+import org.eclipse.reddeer.junit.runner.RedDeerSuite;
+import org.eclipse.reddeer.swt.api.TreeItem;
+import org.eclipse.reddeer.swt.impl.tree.DefaultTree;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.layout.FillLayout;
+import org.eclipse.swt.widgets.Shell;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Tests that {@link TreeItemIndex} follows changes of the tree done by the
+ * viewer without any event.
+ */
+@RunWith(RedDeerSuite.class)
+public class TreeItemIndexTest {
+
+	private final List<Element> elements = new ArrayList<>();
+
+	private Shell shell;
+
+	private TreeViewer viewer;
+
+	private TreeItemIndex index;
+
+	@Before
+	public void createTree() {
+		elements.add(new Element("beta"));
+		elements.add(new Element("alpha"));
+		elements.add(new Element("gamma"));
+		Display.syncExec(new Runnable() {
+
+			@Override
+			public void run() {
+				shell = new Shell(org.eclipse.swt.widgets.Display.getCurrent());
+				shell.setText("Tree Item Index Test");
+				shell.setLayout(new FillLayout());
+				viewer = new TreeViewer(shell, SWT.BORDER);
+				viewer.setContentProvider(new ElementContentProvider());
+				viewer.setLabelProvider(new LabelProvider());
+				viewer.setInput(elements);
+				shell.open();
+			}
+		});
+		index = TreeItemIndex.getIndex(new DefaultTree(Display.syncExec(() -> viewer.getTree())));
+	}
+
+	@After
+	public void disposeShell() {
+		Display.syncExec(new Runnable() {
+
+			@Override
+			public void run() {
+				if (!shell.isDisposed()) {
+					shell.dispose();
+				}
+			}
+		});
+	}
+
+	@Test
+	public void testTexts() {
+		assertEquals(Arrays.asList("beta", "alpha", "gamma"), index.getTexts());
+		assertTrue(index.contains("alpha"));
+		assertEquals("alpha", index.getItem("alpha").getText());
+		assertNull(index.getItem("delta"));
+	}
+
+	@Test
+	public void testItemsByText() {
+		elements.get(2).name = "beta";
+		Display.syncExec(() -> viewer.refresh());
+
+		Map<String, List<TreeItem>> items = index.getItemsByText();
+
+		assertEquals(Arrays.asList("beta", "alpha"), new ArrayList<>(items.keySet()));
+		assertEquals(2, items.get("beta").size());
+		assertEquals(1, items.get("alpha").size());
+	}
+
+	@Test
+	public void testRenamedItem() {
+		assertTrue(index.contains("alpha"));
+
+		// viewer reuses the tree item and only sets its new label
+		elements.get(1).name = "delta";
+		Display.syncExec(() -> viewer.refresh());
+
+		assertEquals(Arrays.asList("beta", "delta", "gamma"), index.getTexts());
+		assertFalse(index.contains("alpha"));
+		assertNull(index.getItem("alpha"));
+		assertNotNull(index.getItem("delta"));
+	}
+
+	@Test
+	public void testRenamedItemToExistingText() {
+		assertEquals(1, index.getItems("beta").size());
+
+		elements.get(2).name = "beta";
+		Display.syncExec(() -> viewer.refresh());
+
+		assertEquals(2, index.getItems("beta").size());
+		assertFalse(index.contains("gamma"));
+	}
+
+	@Test
+	public void testResortedItems() {
+		assertEquals(Arrays.asList("beta", "alpha", "gamma"), index.getTexts());
+
+		Display.syncExec(() -> viewer.setComparator(new ViewerComparator()));
+
+		assertEquals(Arrays.asList("alpha", "beta", "gamma"), index.getTexts());
+		assertEquals("alpha", Display.syncExec(() -> viewer.getTree().getItem(0).getText()));
+		assertEquals(Display.syncExec(() -> viewer.getTree().getItem(0)),
+				index.getItem("alpha").getSWTWidget());
+	}
+
+	@Test
+	public void testRemovedItem() {
+		assertTrue(index.contains("gamma"));
+
+		elements.remove(2);
+		Display.syncExec(() -> viewer.refresh());
+
+		assertEquals(Arrays.asList("beta", "alpha"), index.getTexts());
+		assertFalse(index.contains("gamma"));
+		assertTrue(index.getItems("gamma").isEmpty());
+	}
+
+	@Test
+	public void testDisposedTree() {
+		assertTrue(index.contains("beta"));
+
+		Display.syncExec(() -> viewer.getTree().dispose());
+
+		assertEquals(Collections.emptyList(), index.getTexts());
+		assertFalse(index.contains("beta"));
+	}
+
+	private static class Element {
+
+		private String name;
+
+		Element(String name) {
+			this.name = name;
+		}
+
+		@Override
+		public String toString() {
+			return name;
+		}
+	}
+
+	private static class ElementContentProvider extends ArrayContentProvider implements ITreeContentProvider {
+
+		@Override
+		public Object[] getChildren(Object parentElement) {
+			return new Object[0];
+		}
+
+		@Override
+		public Object getParent(Object element) {
+			return null;
+		}
+
+		@Override
+		public boolean hasChildren(Object element) {
+			return false;
+		}
+	}
+}
@@ -12,15 +12,24 @@ package org.eclipse.reddeer.junit.test.internal.requirement;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 
+import java.lang.annotation.Annotation;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 
 import org.eclipse.reddeer.junit.internal.requirement.Requirements;
+import org.eclipse.reddeer.junit.requirement.ConcurrentRequirement;
 import org.eclipse.reddeer.junit.requirement.Requirement;
 import org.junit.Test;
 
@@ -92,7 +101,145 @@ public class RequirementsTest {
 		assertSame("TestRequirementA was expected", requirement1, iterator.next());
 	}
 	
+	@Test
+	public void fulfillConcurrently() {
+		List<String> log = Collections.synchronizedList(new ArrayList<String>());
+		Thread testThread = Thread.currentThread();
+		RecordingRequirement ui = new RecordingRequirement("ui", true, log);
+		RecordingRequirement background = new RecordingRequirement("background", false, log);
+		Requirement<?> plain = mock(Requirement.class);
+
+		requirements = new Requirements(asList(ui, background, plain), String.class, null);
+		requirements.fulfill();
+
+		verify(plain).fulfill();
+		assertTrue(log.containsAll(Arrays.asList("prepare ui", "fulfill ui", "prepare background", "fulfill background")));
+		assertSame(testThread, ui.fulfillThread);
+		assertNotSame(testThread, ui.prepareThread);
+		assertNotSame(testThread, background.fulfillThread);
+	}
+	
+	@Test
+	public void fulfillRespectsDependencies() {
+		List<String> log = Collections.synchronizedList(new ArrayList<String>());
+		RecordingRequirement first = new RecordingRequirement("first", false, log);
+		RecordingRequirement second = new DependentRequirement("second", true, log);
+
+		// dependent requirement is declared first on purpose
+		requirements = new Requirements(asList(second, first), String.class, null);
+		requirements.fulfill();
+
+		assertEquals(Arrays.asList("prepare first", "fulfill first", "prepare second", "fulfill second"), log);
+	}
+	
+	@Test
+	public void fulfillBackgroundRequirementsByPriority() {
+		List<String> log = Collections.synchronizedList(new ArrayList<String>());
+		RecordingRequirement low = new RecordingRequirement("low", false, log);
+		RecordingRequirement high = new RecordingRequirement("high", false, log) {
+
+			@Override
+			public void fulfill() {
+				try {
+					// gives lower priority requirement a chance to overtake
+					Thread.sleep(200);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				super.fulfill();
+			}
+
+			@Override
+			public long getPriority() {
+				return 10;
+			}
+		};
+
+		requirements = new Requirements(asList(low, high), String.class, null);
+		requirements.fulfill();
+
+		assertEquals(Arrays.asList("prepare high", "fulfill high", "prepare low", "fulfill low"), log);
+	}
+	
+	@Test
+	public void fulfillConcurrentlyFailure() {
+		List<String> log = Collections.synchronizedList(new ArrayList<String>());
+		RecordingRequirement failing = new RecordingRequirement("failing", false, log);
+		failing.failure = new IllegalStateException("expected");
+		RecordingRequirement dependent = new DependentRequirement("dependent", true, log);
+
+		requirements = new Requirements(asList(failing, dependent), String.class, null);
+		try {
+			requirements.fulfill();
+			fail("Exception of the failing requirement was expected");
+		} catch (IllegalStateException e) {
+			assertSame(failing.failure, e);
+		}
+		assertFalse(log.contains("fulfill dependent"));
+	}
+	
 	private List<Requirement<?>> asList(Requirement<?>... requirements) {
 		return Arrays.asList(requirements);
 	}
+	
+	private static class RecordingRequirement implements ConcurrentRequirement<Annotation> {
+
+		private final String name;
+		private final boolean uiRequired;
+		private final List<String> log;
+		private RuntimeException failure;
+		private Thread prepareThread;
+		private Thread fulfillThread;
+
+		RecordingRequirement(String name, boolean uiRequired, List<String> log) {
+			this.name = name;
+			this.uiRequired = uiRequired;
+			this.log = log;
+		}
+
+		@Override
+		public void prepare() {
+			prepareThread = Thread.currentThread();
+			log.add("prepare " + name);
+		}
+
+		@Override
+		public void fulfill() {
+			fulfillThread = Thread.currentThread();
+			if (failure != null) {
+				throw failure;
+			}
+			log.add("fulfill " + name);
+		}
+
+		@Override
+		public boolean isUIRequired() {
+			return uiRequired;
+		}
+
+		@Override
+		public void setDeclaration(Annotation declaration) {
+		}
+
+		@Override
+		public Annotation getDeclaration() {
+			return null;
+		}
+
+		@Override
+		public void cleanUp() {
+		}
+	}
+	
+	private static class DependentRequirement extends RecordingRequirement {
+
+		DependentRequirement(String name, boolean uiRequired, List<String> log) {
+			super(name, uiRequired, log);
+		}
+
+		@Override
+		public List<Class<?>> getDependencies() {
+			return Arrays.<Class<?>>asList(RecordingRequirement.class);
+		}
+	}
 }
@@ -12,11 +12,14 @@ package org.eclipse.reddeer.junit.test.requirement.configuration;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import org.eclipse.reddeer.common.properties.RedDeerProperties;
 import org.eclipse.reddeer.junit.configuration.RedDeerConfigurationException;
+import org.eclipse.reddeer.junit.requirement.configuration.ImmutableRequirementConfiguration;
 import org.eclipse.reddeer.junit.requirement.configuration.RequirementConfiguration;
 import org.eclipse.reddeer.junit.requirement.configuration.RequirementConfigurationPool;
 import org.eclipse.reddeer.junit.test.internal.configuration.reader.JSONConfigurationReaderTest;
@@ -95,9 +98,34 @@ public class RequirementConfigurationPoolTest {
 		assertThat("There should be 3 complex requirement configurations, but there are " + list.size(), list.size() == 3);
 	}
 	
+	@Test
+	public void getImmutableRequirementConfigurationsFromPool() {
+		ImmutableConfiguration configuration = new ImmutableConfiguration();
+		List<RequirementConfiguration> configurations = new ArrayList<>();
+		configurations.add(configuration);
+		RequirementConfigurationPool.getInstance().setRequirementsConfigurations(configurations);
+		
+		List<RequirementConfiguration> list = RequirementConfigurationPool.getInstance().getConfigurations(ImmutableConfiguration.class);
+		assertSame("Immutable configuration should not be copied", configuration, list.get(0));
+	}
+	
 	@After
 	public void cleanup() {
 		System.clearProperty(RedDeerProperties.CONFIG_FILE.getName());
 		RequirementConfigurationPool.destroyPool();
 	}
+	
+	public static class ImmutableConfiguration implements ImmutableRequirementConfiguration {
+		
+		public ImmutableConfiguration() {
+		}
+		
+		public ImmutableConfiguration(ImmutableConfiguration configuration) {
+		}
+
+		@Override
+		public String getId() {
+			return "immutable";
+		}
+	}
 }
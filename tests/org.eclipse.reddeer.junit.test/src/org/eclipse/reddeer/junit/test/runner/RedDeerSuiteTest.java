@@ -19,13 +19,16 @@ import java.io.File;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.eclipse.reddeer.common.exception.RedDeerException;
 import org.eclipse.reddeer.common.matcher.RegexMatcher;
 import org.eclipse.reddeer.common.matcher.VersionMatcher;
 import org.eclipse.reddeer.common.properties.RedDeerProperties;
 import org.eclipse.reddeer.junit.annotation.RequirementRestriction;
+import org.eclipse.reddeer.junit.internal.configuration.RequirementConfigurationSet;
 import org.eclipse.reddeer.junit.internal.configuration.SuiteConfiguration;
 import org.eclipse.reddeer.junit.internal.runner.NamedSuite;
 import org.eclipse.reddeer.junit.internal.runner.TestsWithoutExecutionSuite;
@@ -61,6 +64,7 @@ public class RedDeerSuiteTest {
 	@After
 	public void tearDown() {
 		System.clearProperty(RedDeerProperties.CONFIG_FILE.getName());
+		System.clearProperty(RedDeerProperties.SUITE_PLAN_CACHE.getName());
 	}
 	
 	
@@ -117,6 +121,41 @@ public class RedDeerSuiteTest {
 		assertThat(runners, hasItem(new NamedSuiteMatcher("no-configuration")));
 	}
 	
+	@Test
+	public void testRequirementsSuiteWithCachedPlan() throws Exception {
+		File cacheDirectory = java.nio.file.Files.createTempDirectory("suite-plan").toFile();
+		System.setProperty(RedDeerProperties.CONFIG_FILE.getName(), REDDEER_SUITE_CONFIG);
+		System.setProperty(RedDeerProperties.SUITE_PLAN_CACHE.getName(), cacheDirectory.getAbsolutePath());
+		
+		Map<String, List<Class<?>>> computed = getPlan(new SuiteConfiguration(RequirementSuite.class));
+		File cacheFile = new File(cacheDirectory, "suite-plan-" + RequirementSuite.class.getName() + ".txt");
+		assertTrue("Suite plan was not cached", cacheFile.isFile());
+		
+		RequirementConfigurationPool.destroyPool();
+		Map<String, List<Class<?>>> cached = getPlan(new SuiteConfiguration(RequirementSuite.class));
+		
+		assertEquals(computed, cached);
+		assertThat(RedDeerSuite.createSuites(RequirementSuite.class, new SuiteConfiguration(RequirementSuite.class))
+				.size(), is(6));
+		cacheFile.delete();
+		cacheDirectory.delete();
+	}
+	
+	private Map<String, List<Class<?>>> getPlan(SuiteConfiguration configuration) {
+		Map<String, List<Class<?>>> plan = new HashMap<>();
+		for (Map.Entry<RequirementConfigurationSet, List<Class<?>>> entry : configuration
+				.getConfigurationSetsSuites().entrySet()) {
+			List<String> ids = new ArrayList<>();
+			for (org.eclipse.reddeer.junit.requirement.configuration.RequirementConfiguration requirementConfiguration : entry
+					.getKey().getConfigurationSet()) {
+				ids.add(requirementConfiguration.getId());
+			}
+			ids.sort(null);
+			plan.put(String.join("_", ids), entry.getValue());
+		}
+		return plan;
+	}
+	
 	@Test
 	public void testJavaServerTestWithConfiguration() throws Throwable {
 		System.setProperty(RedDeerProperties.CONFIG_FILE.getName(), REDDEER_SUITE_CONFIG);	
@@ -0,0 +1,286 @@
+/*******************************************************************************
+ * Copyright (c) 2017 Red Hat, Inc and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.reddeer.swt.test.recorder;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.reddeer.common.util.Display;
+import org.eclipse.reddeer.junit.runner.RedDeerSuite;
+import org.eclipse.reddeer.swt.generator.framework.pipeline.RecordedRuleListener;
+import org.eclipse.reddeer.swt.generator.framework.pipeline.RecorderEventPipeline;
+import org.eclipse.reddeer.swt.generator.framework.recorder.RedDeerRecorder;
+import org.eclipse.reddeer.swt.generator.framework.rules.simple.AbstractSimpleRedDeerRule;
+import org.eclipse.reddeer.swt.generator.framework.rules.simple.CTabWorkbenchRule;
+import org.eclipse.reddeer.swt.test.utils.ShellTestUtils;
+import org.eclipse.reddeer.workbench.impl.view.WorkbenchView;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.widgets.Event;
+import org.eclipse.swt.widgets.Label;
+import org.eclipse.swt.widgets.Shell;
+import org.eclipse.swt.widgets.Text;
+import org.eclipse.swt.widgets.Widget;
+import org.eclipse.swtbot.generator.framework.GenerationComplexRule;
+import org.eclipse.swtbot.generator.framework.GenerationRule;
+import org.eclipse.swtbot.generator.framework.GenerationSimpleRule;
+import org.eclipse.swtbot.generator.listener.WorkbenchListener;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+@RunWith(RedDeerSuite.class)
+public class RecorderEventPipelineTest {
+
+	private static final String SHELL_TITLE = "Recorder Event Pipeline Test";
+
+	private static final String NAME = "recorderTestName";
+
+	private final List<GenerationRule> recorded = Collections.synchronizedList(new ArrayList<GenerationRule>());
+
+	private final RecordedRuleListener listener = new RecordedRuleListener() {
+
+		@Override
+		public void ruleRecorded(GenerationRule rule) {
+			recorded.add(rule);
+		}
+	};
+
+	private Shell shell;
+
+	private Text text1;
+
+	private Text text2;
+
+	@Before
+	public void createShell() {
+		Display.syncExec(new Runnable() {
+
+			@Override
+			public void run() {
+				shell = ShellTestUtils.createShell(SHELL_TITLE);
+				shell.setData(NAME, "shell");
+				new Label(shell, SWT.NONE).setText("Name:");
+				text1 = new Text(shell, SWT.BORDER);
+				text1.setData(NAME, "text1");
+				text2 = new Text(shell, SWT.BORDER);
+				text2.setData(NAME, "text2");
+				shell.layout();
+			}
+		});
+	}
+
+	@After
+	public void closeShell() {
+		Display.syncExec(new Runnable() {
+
+			@Override
+			public void run() {
+				if (!shell.isDisposed()) {
+					shell.dispose();
+				}
+			}
+		});
+	}
+
+	@Test
+	public void testAlternatingEventsOfWidgetAreCoalesced() {
+		final RecorderEventPipeline pipeline = createPipeline(new EventTypeRule());
+		Display.syncExec(new Runnable() {
+
+			@Override
+			public void run() {
+				for (int i = 0; i < 5; i++) {
+					pipeline.handleEvent(event(text1, SWT.KeyDown));
+					pipeline.handleEvent(event(text1, SWT.Modify));
+				}
+				pipeline.stop();
+			}
+		});
+		assertEquals(Arrays.asList("text1:" + SWT.KeyDown, "text1:" + SWT.Modify), getActions());
+	}
+
+	@Test
+	public void testEventOfOtherWidgetFlushesCoalescedEvents() {
+		final RecorderEventPipeline pipeline = createPipeline(new EventTypeRule());
+		Display.syncExec(new Runnable() {
+
+			@Override
+			public void run() {
+				pipeline.handleEvent(event(text1, SWT.KeyDown));
+				pipeline.handleEvent(event(text1, SWT.Modify));
+				pipeline.handleEvent(event(text2, SWT.Modify));
+				pipeline.handleEvent(event(text2, SWT.Modify));
+				pipeline.handleEvent(event(text1, SWT.Modify));
+				pipeline.stop();
+			}
+		});
+		assertEquals(Arrays.asList("text1:" + SWT.KeyDown, "text1:" + SWT.Modify, "text2:" + SWT.Modify,
+				"text1:" + SWT.Modify), getActions());
+	}
+
+	@Test
+	public void testOtherEventFlushesCoalescedEvents() {
+		final RecorderEventPipeline pipeline = createPipeline(new EventTypeRule());
+		Display.syncExec(new Runnable() {
+
+			@Override
+			public void run() {
+				pipeline.handleEvent(event(text1, SWT.Modify));
+				pipeline.handleEvent(event(text1, SWT.Selection));
+				pipeline.handleEvent(event(text1, SWT.Modify));
+				pipeline.stop();
+			}
+		});
+		assertEquals(Arrays.asList("text1:" + SWT.Modify, "text1:" + SWT.Selection, "text1:" + SWT.Modify),
+				getActions());
+	}
+
+	@Test
+	public void testCloseAndDisposeEventsAreRecorded() {
+		final RecorderEventPipeline pipeline = createPipeline(new EventTypeRule());
+		Display.syncExec(new Runnable() {
+
+			@Override
+			public void run() {
+				pipeline.start(shell.getDisplay());
+				shell.close();
+				pipeline.stop();
+			}
+		});
+		List<String> actions = getActions();
+		int close = actions.indexOf("shell:" + SWT.Close);
+		int dispose = actions.indexOf("shell:" + SWT.Dispose);
+		assertTrue("Close of shell was not recorded: " + actions, close >= 0);
+		assertTrue("Dispose of shell was not recorded: " + actions, dispose > close);
+	}
+
+	@Test
+	public void testWorkbenchPartEventsAreRecorded() {
+		final RecorderEventPipeline pipeline = createPipeline(new CTabWorkbenchRule());
+		closeShell();
+		Display.syncExec(new Runnable() {
+
+			@Override
+			public void run() {
+				pipeline.start(org.eclipse.swt.widgets.Display.getCurrent());
+			}
+		});
+		WorkbenchView view = new WorkbenchView("Error Log");
+		view.open();
+		view.close();
+		Display.syncExec(new Runnable() {
+
+			@Override
+			public void run() {
+				pipeline.stop();
+			}
+		});
+		boolean activated = false;
+		boolean closed = false;
+		for (GenerationRule rule : getRecordedRules()) {
+			CTabWorkbenchRule partRule = (CTabWorkbenchRule) rule;
+			if ("Error Log".equals(partRule.getText())) {
+				closed |= partRule.getDetail() == WorkbenchListener.PART_CLOSED;
+				activated |= partRule.getDetail() != WorkbenchListener.PART_CLOSED;
+			}
+		}
+		assertTrue("Activation of view was not recorded", activated);
+		assertTrue("Closing of view was not recorded", closed);
+	}
+
+	@Test
+	public void testRecorderCoalescesTyping() {
+		final RedDeerRecorder recorder = new RedDeerRecorder();
+		Display.syncExec(new Runnable() {
+
+			@Override
+			public void run() {
+				recorder.start();
+				text1.setText("a");
+				text1.setText("ab");
+				text1.setText("abc");
+				recorder.stop();
+			}
+		});
+		int setText = 0;
+		for (String action : recorder.getActions()) {
+			if (action.contains(".setText(")) {
+				setText++;
+				assertTrue("Unexpected action " + action, action.contains(".setText(\"abc\")"));
+			}
+		}
+		assertEquals("Typing was not recorded as a single action: " + recorder.getActions(), 1, setText);
+	}
+
+	private RecorderEventPipeline createPipeline(GenerationSimpleRule rule) {
+		List<GenerationSimpleRule> simpleRules = new ArrayList<GenerationSimpleRule>();
+		simpleRules.add(rule);
+		return new RecorderEventPipeline(simpleRules, new ArrayList<GenerationComplexRule>(), listener,
+				RecorderEventPipeline.DEFAULT_COALESCE_WINDOW);
+	}
+
+	private List<GenerationRule> getRecordedRules() {
+		synchronized (recorded) {
+			return new ArrayList<GenerationRule>(recorded);
+		}
+	}
+
+	private List<String> getActions() {
+		List<String> actions = new ArrayList<String>();
+		for (GenerationRule rule : getRecordedRules()) {
+			actions.addAll(rule.getActions());
+		}
+		return actions;
+	}
+
+	private static Event event(Widget widget, int type) {
+		Event event = new Event();
+		event.display = widget.getDisplay();
+		event.widget = widget;
+		event.type = type;
+		return event;
+	}
+
+	/**
+	 * Records type of events of widgets created by the test.
+	 */
+	public static class EventTypeRule extends AbstractSimpleRedDeerRule {
+
+		private String action;
+
+		@Override
+		public boolean appliesTo(Event event) {
+			return event.widget != null && event.widget.getData(NAME) != null;
+		}
+
+		@Override
+		public void initializeForEvent(Event event) {
+			this.widget = event.widget;
+			this.action = event.widget.getData(NAME) + ":" + event.type;
+		}
+
+		@Override
+		public List<String> getActions() {
+			return Collections.singletonList(action);
+		}
+
+		@Override
+		public List<String> getImports() {
+			return Collections.emptyList();
+		}
+	}
+}
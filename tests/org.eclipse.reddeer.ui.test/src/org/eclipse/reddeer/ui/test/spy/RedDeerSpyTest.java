@@ -0,0 +1,130 @@
+/*******************************************************************************
+ * Copyright (c) 2017 Red Hat, Inc and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.reddeer.ui.test.spy;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import org.eclipse.reddeer.common.properties.RedDeerProperties;
+import org.eclipse.reddeer.common.util.Display;
+import org.eclipse.reddeer.common.wait.AbstractWait;
+import org.eclipse.reddeer.common.wait.TimePeriod;
+import org.eclipse.reddeer.junit.runner.RedDeerSuite;
+import org.eclipse.reddeer.spy.view.RedDeerSpy;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.layout.GridLayout;
+import org.eclipse.swt.widgets.Event;
+import org.eclipse.swt.widgets.Label;
+import org.eclipse.swt.widgets.Listener;
+import org.eclipse.swt.widgets.Shell;
+import org.eclipse.swt.widgets.Widget;
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Tests throttling of widget tracking of {@link RedDeerSpy}.
+ */
+@RunWith(RedDeerSuite.class)
+public class RedDeerSpyTest {
+
+	private static final int THROTTLE = 1000;
+
+	private Shell shell;
+
+	private RedDeerSpy spy;
+
+	private Widget notTracked;
+
+	@After
+	public void disposeShell() {
+		System.clearProperty(RedDeerProperties.SPY_THROTTLE.getName());
+		Display.syncExec(new Runnable() {
+
+			@Override
+			public void run() {
+				if (shell != null && !shell.isDisposed()) {
+					shell.dispose();
+				}
+			}
+		});
+	}
+
+	@Test
+	public void testThrottleFromProperty() {
+		System.setProperty(RedDeerProperties.SPY_THROTTLE.getName(), "150");
+		createSpy();
+
+		assertEquals(150, spy.getThrottle());
+	}
+
+	@Test
+	public void testMalformedThrottleProperty() {
+		System.setProperty(RedDeerProperties.SPY_THROTTLE.getName(), "fast");
+		createSpy();
+
+		assertEquals(Long.parseLong(RedDeerProperties.SPY_THROTTLE.getDefaultValue()), spy.getThrottle());
+	}
+
+	@Test
+	public void testTrackingIsPostponedByMouseEvents() {
+		createSpy();
+		Display.syncExec(new Runnable() {
+
+			@Override
+			public void run() {
+				spy.setThrottle(THROTTLE);
+				spy.setLastWidget(notTracked);
+				spy.getAction().setChecked(true);
+				spy.getAction().run();
+			}
+		});
+
+		// events come more often than the throttle period, output is not refreshed
+		long end = System.currentTimeMillis() + 2 * THROTTLE;
+		while (System.currentTimeMillis() < end) {
+			Display.syncExec(new Runnable() {
+
+				@Override
+				public void run() {
+					((Listener) spy.getWidgetTracker()).handleEvent(new Event());
+				}
+			});
+			AbstractWait.sleep(TimePeriod.getCustomMilliseconds(100));
+			assertSame("Output was refreshed before cursor stopped", notTracked, getLastWidget());
+		}
+
+		// cursor stopped, output is refreshed once the throttle period passes
+		AbstractWait.sleep(TimePeriod.getCustomMilliseconds(3 * THROTTLE));
+		assertNotSame("Output was not refreshed after cursor stopped", notTracked, getLastWidget());
+	}
+
+	private void createSpy() {
+		Display.syncExec(new Runnable() {
+
+			@Override
+			public void run() {
+				shell = new Shell(org.eclipse.swt.widgets.Display.getCurrent());
+				shell.setText("RedDeer Spy Test");
+				shell.setLayout(new GridLayout());
+				// label in a hidden shell is never under the cursor
+				notTracked = new Label(new Shell(shell), SWT.NONE);
+				spy = new RedDeerSpy(shell);
+				shell.open();
+			}
+		});
+	}
+
+	private Widget getLastWidget() {
+		return Display.syncExec(() -> spy.getLastWidget());
+	}
+}
@@ -0,0 +1,160 @@
+/*******************************************************************************
+ * Copyright (c) 2017 Red Hat, Inc and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.reddeer.workbench.test.editor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.util.List;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.Position;
+import org.eclipse.jface.text.source.Annotation;
+import org.eclipse.jface.text.source.IAnnotationModel;
+import org.eclipse.reddeer.common.util.Display;
+import org.eclipse.reddeer.eclipse.ui.navigator.resources.ProjectExplorer;
+import org.eclipse.reddeer.junit.runner.RedDeerSuite;
+import org.eclipse.reddeer.requirements.cleanworkspace.CleanWorkspaceRequirement;
+import org.eclipse.reddeer.requirements.cleanworkspace.CleanWorkspaceRequirement.CleanWorkspace;
+import org.eclipse.reddeer.workbench.core.lookup.EditorPartLookup;
+import org.eclipse.reddeer.workbench.handler.EditorHandler;
+import org.eclipse.reddeer.workbench.impl.editor.Marker;
+import org.eclipse.reddeer.workbench.impl.editor.MarkerIndex;
+import org.eclipse.reddeer.workbench.impl.editor.TextEditor;
+import org.eclipse.ui.IEditorPart;
+import org.eclipse.ui.texteditor.ITextEditor;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+@CleanWorkspace
+@RunWith(RedDeerSuite.class)
+public class MarkerIndexTest {
+
+	private static final String PROJECT_NAME = "MarkerIndexProject";
+	private static final String FILE_NAME = "markers.txt";
+	private static final String ERROR = "org.eclipse.ui.workbench.texteditor.error";
+	private static final String WARNING = "org.eclipse.ui.workbench.texteditor.warning";
+
+	private TextEditor editor;
+	private IEditorPart editorPart;
+	private IAnnotationModel model;
+
+	@BeforeClass
+	public static void createFile() throws CoreException {
+		IProject project = ResourcesPlugin.getWorkspace().getRoot().getProject(PROJECT_NAME);
+		if (!project.exists()) {
+			project.create(null);
+		}
+		if (!project.isOpen()) {
+			project.open(null);
+		}
+		IFile file = project.getFile(FILE_NAME);
+		if (!file.exists()) {
+			String content = "first line\nsecond line\nthird line\n";
+			file.create(new ByteArrayInputStream(content.getBytes()), IResource.NONE, null);
+		}
+	}
+
+	@AfterClass
+	public static void cleanWorkspace() {
+		new CleanWorkspaceRequirement().fulfill();
+	}
+
+	@Before
+	public void openEditor() {
+		ProjectExplorer explorer = new ProjectExplorer();
+		explorer.open();
+		explorer.getProject(PROJECT_NAME).getProjectItem(FILE_NAME).open();
+		editor = new TextEditor(FILE_NAME);
+		editorPart = EditorPartLookup.getInstance().getActiveEditor();
+		model = Display.syncExec(() -> {
+			ITextEditor textEditor = (ITextEditor) editorPart.getAdapter(ITextEditor.class);
+			return textEditor.getDocumentProvider().getAnnotationModel(textEditor.getEditorInput());
+		});
+	}
+
+	@After
+	public void closeEditor() {
+		EditorHandler.getInstance().closeAll(false);
+	}
+
+	@Test
+	public void testMarkersByTypeAndLine() {
+		addAnnotation(ERROR, "error on second line", 2);
+		addAnnotation(WARNING, "warning on third line", 3);
+
+		MarkerIndex index = editor.getMarkerIndex();
+		assertNotNull(index);
+		List<Marker> errors = index.getMarkers(ERROR);
+		assertEquals(1, errors.size());
+		assertEquals("error on second line", errors.get(0).getText());
+
+		List<Marker> secondLine = index.getMarkers(2);
+		assertEquals(1, secondLine.size());
+		assertEquals(ERROR, secondLine.get(0).getType());
+
+		assertEquals(1, index.getMarkers(WARNING, 3).size());
+		assertTrue(index.getMarkers(ERROR, 3).isEmpty());
+		assertTrue(index.getMarkers(1).isEmpty());
+	}
+
+	@Test
+	public void testIndexIsUpdatedWhenAnnotationIsAdded() {
+		MarkerIndex index = editor.getMarkerIndex();
+		long version = index.getVersion();
+		assertTrue(index.getMarkers(ERROR).isEmpty());
+
+		addAnnotation(ERROR, "added error", 1);
+
+		assertTrue(index.waitForChange(version, 5000));
+		assertEquals(1, index.getMarkers(ERROR).size());
+		assertEquals(1, index.getMarkers(ERROR, 1).size());
+	}
+
+	@Test
+	public void testIndexStopsListeningWhenEditorIsClosed() {
+		MarkerIndex index = editor.getMarkerIndex();
+		editor.close();
+		long version = index.getVersion();
+
+		// document provider of the closed editor is disposed, model is used directly
+		Display.syncExec(() -> model.addAnnotation(new Annotation(ERROR, false, "error after close"),
+				new Position(0, 1)));
+
+		assertFalse(index.waitForChange(version, 500));
+		assertEquals(version, index.getVersion());
+	}
+
+	private void addAnnotation(String type, String text, int line) {
+		Display.syncExec(() -> {
+			ITextEditor textEditor = (ITextEditor) editorPart.getAdapter(ITextEditor.class);
+			IDocument document = textEditor.getDocumentProvider().getDocument(textEditor.getEditorInput());
+			try {
+				model.addAnnotation(new Annotation(type, false, text), new Position(document.getLineOffset(line - 1), 1));
+			} catch (BadLocationException e) {
+				throw new IllegalStateException(e);
+			}
+		});
+	}
+}
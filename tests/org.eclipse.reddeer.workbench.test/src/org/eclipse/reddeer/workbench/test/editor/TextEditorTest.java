@@ -24,10 +24,13 @@ import org.eclipse.core.runtime.FileLocator;
 import org.eclipse.core.runtime.Platform;
 import org.eclipse.jface.text.BadLocationException;
 import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IRegion;
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.graphics.Point;
 import org.eclipse.swt.widgets.Event;
 import org.eclipse.swt.widgets.Listener;
+import org.eclipse.text.edits.MultiTextEdit;
+import org.eclipse.text.edits.ReplaceEdit;
 import org.eclipse.ui.IEditorPart;
 import org.eclipse.ui.texteditor.ITextEditor;
 import org.eclipse.reddeer.common.exception.RedDeerException;
@@ -54,6 +57,7 @@ import org.eclipse.reddeer.workbench.exception.WorkbenchLayerException;
 import org.eclipse.reddeer.workbench.handler.EditorHandler;
 import org.eclipse.reddeer.workbench.handler.WorkbenchShellHandler;
 import org.eclipse.reddeer.workbench.impl.editor.AbstractEditor.ContentAssistantEnum;
+import org.eclipse.reddeer.workbench.impl.editor.DocumentSnapshot;
 import org.eclipse.reddeer.workbench.impl.editor.TextEditor;
 import org.junit.After;
 import org.junit.AfterClass;
@@ -448,6 +452,39 @@ public class TextEditorTest {
 		textEditor.selectText("JavaClass", 2);
 	}
 
+	@Test
+	public void documentSnapshotTest() {
+		TextEditor textEditor = TextEditorTest.openJavaFile();
+		DocumentSnapshot snapshot = textEditor.getDocumentSnapshot();
+		assertTrue(snapshot == textEditor.getDocumentSnapshot());
+		assertEquals(textEditor.getNumberOfLines(), snapshot.getNumberOfLines());
+		assertEquals(textEditor.getTextAtLine(14), snapshot.getTextAtLine(14));
+		assertEquals(2, snapshot.findAll("JavaClass").size());
+		textEditor.insertText(0, " ");
+		assertFalse(snapshot == textEditor.getDocumentSnapshot());
+	}
+
+	@Test
+	public void applyEditTest() {
+		TextEditor textEditor = TextEditorTest.openJavaFile();
+		DocumentSnapshot snapshot = textEditor.getDocumentSnapshot();
+		MultiTextEdit edit = new MultiTextEdit();
+		for (IRegion region : snapshot.findAll("JavaClass")) {
+			edit.addChild(new ReplaceEdit(region.getOffset(), region.getLength(), "RenamedClass"));
+		}
+		textEditor.applyEdit(edit, snapshot);
+		assertEquals(-1, textEditor.getPositionOfText("JavaClass"));
+		assertEquals(13, textEditor.getLineOfText("RenamedClass", 1));
+	}
+
+	@Test(expected = WorkbenchLayerException.class)
+	public void applyEditToModifiedDocumentTest() {
+		TextEditor textEditor = TextEditorTest.openJavaFile();
+		DocumentSnapshot snapshot = textEditor.getDocumentSnapshot();
+		textEditor.insertText(0, " ");
+		textEditor.applyEdit(new ReplaceEdit(0, 1, ""), snapshot);
+	}
+
 	private void collapseTextInJavaFile() {
 		moveCursorDown(4);
 		if (RunningPlatform.isOSX()) {
@@ -0,0 +1,79 @@
+/*******************************************************************************
+ * Copyright (c) 2017 Red Hat, Inc and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.reddeer.workbench.test.handler;
+
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.eclipse.reddeer.common.util.Display;
+import org.eclipse.reddeer.junit.extension.after.test.impl.CloseAllShellsExt;
+import org.eclipse.reddeer.junit.runner.RedDeerSuite;
+import org.eclipse.swt.widgets.Shell;
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.model.FrameworkMethod;
+
+@RunWith(RedDeerSuite.class)
+public class CloseAllShellsExtTest {
+
+	private Shell parent;
+
+	private Shell child;
+
+	@After
+	public void disposeShells() {
+		Display.syncExec(new Runnable() {
+
+			@Override
+			public void run() {
+				if (parent != null && !parent.isDisposed()) {
+					parent.dispose();
+				}
+			}
+		});
+	}
+
+	@Test
+	public void testNoLeftoverShells() throws Exception {
+		runAfterTest();
+	}
+
+	@Test
+	public void testLeftoverShellsAreReportedAndClosed() throws Exception {
+		Display.syncExec(new Runnable() {
+
+			@Override
+			public void run() {
+				parent = new Shell(org.eclipse.swt.widgets.Display.getCurrent());
+				parent.setText("Leftover parent");
+				parent.open();
+				child = new Shell(parent);
+				child.setText("Leftover child");
+				child.open();
+			}
+		});
+
+		try {
+			runAfterTest();
+			fail("Leftover shells were not reported");
+		} catch (AssertionError e) {
+			assertTrue(e.getMessage(), e.getMessage().contains("Leftover parent"));
+			assertTrue(e.getMessage(), e.getMessage().contains("Leftover child"));
+		}
+		assertTrue(Display.syncExec(() -> parent.isDisposed() && child.isDisposed()));
+	}
+
+	private void runAfterTest() throws Exception {
+		new CloseAllShellsExt().runAfterTest(null, this,
+				new FrameworkMethod(CloseAllShellsExtTest.class.getMethod("testNoLeftoverShells")));
+	}
+}
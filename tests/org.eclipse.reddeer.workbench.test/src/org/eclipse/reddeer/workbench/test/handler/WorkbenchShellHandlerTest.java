@@ -0,0 +1,111 @@
+/*******************************************************************************
+ * Copyright (c) 2017 Red Hat, Inc and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.reddeer.workbench.test.handler;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.reddeer.common.util.Display;
+import org.eclipse.reddeer.common.wait.TimePeriod;
+import org.eclipse.reddeer.junit.runner.RedDeerSuite;
+import org.eclipse.reddeer.workbench.handler.WorkbenchShellHandler;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.widgets.Event;
+import org.eclipse.swt.widgets.Listener;
+import org.eclipse.swt.widgets.Shell;
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+@RunWith(RedDeerSuite.class)
+public class WorkbenchShellHandlerTest {
+
+	private final List<Shell> shells = new ArrayList<Shell>();
+
+	private final List<String> disposed = Collections.synchronizedList(new ArrayList<String>());
+
+	@After
+	public void disposeShells() {
+		Display.syncExec(new Runnable() {
+
+			@Override
+			public void run() {
+				for (Shell shell : shells) {
+					if (!shell.isDisposed()) {
+						shell.dispose();
+					}
+				}
+			}
+		});
+	}
+
+	@Test
+	public void testCloseShellsClosesChildShellsFirst() {
+		Shell parent = openShell(null, "Parent shell");
+		Shell child = openShell(parent, "Child shell");
+
+		WorkbenchShellHandler.getInstance().closeShells(Arrays.asList(parent, child));
+
+		assertEquals(Arrays.asList("Child shell", "Parent shell"), disposed);
+	}
+
+	@Test
+	public void testCloseShellsDoesNotWaitForHiddenShell() {
+		final Shell shell = openShell(null, "Hiding shell");
+		Display.syncExec(new Runnable() {
+
+			@Override
+			public void run() {
+				shell.addListener(SWT.Close, new Listener() {
+
+					@Override
+					public void handleEvent(Event event) {
+						event.doit = false;
+						shell.setVisible(false);
+					}
+				});
+			}
+		});
+
+		long start = System.currentTimeMillis();
+		WorkbenchShellHandler.getInstance().closeShells(Arrays.asList(shell));
+		long duration = System.currentTimeMillis() - start;
+
+		assertFalse(Display.syncExec(() -> shell.isDisposed()));
+		assertTrue("Closing of hidden shell took " + duration + " ms",
+				duration < TimePeriod.DEFAULT.getSeconds() * 1000 / 2);
+	}
+
+	private Shell openShell(final Shell parent, final String title) {
+		Shell shell = Display.syncExec(() -> {
+			Shell newShell = parent == null ? new Shell(org.eclipse.swt.widgets.Display.getCurrent())
+					: new Shell(parent);
+			newShell.setText(title);
+			newShell.addListener(SWT.Dispose, new Listener() {
+
+				@Override
+				public void handleEvent(Event event) {
+					disposed.add(title);
+				}
+			});
+			newShell.open();
+			return newShell;
+		});
+		shells.add(shell);
+		return shell;
+	}
+}